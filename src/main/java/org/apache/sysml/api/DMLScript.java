@@ -70,6 +70,7 @@ import org.apache.sysml.runtime.DMLScriptException;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -439,6 +440,19 @@ public class DMLScript
 		CacheableData.CACHING_BUFFER_SIZE = dmlconf.getDoubleValue(DMLConfig.CACHING_BUFFER_SIZE);
 		if(CacheableData.CACHING_BUFFER_SIZE < 0 || CacheableData.CACHING_BUFFER_SIZE > 1) 
 			throw new RuntimeException("Incorrect value (" + CacheableData.CACHING_BUFFER_SIZE + ") for the configuration " + DMLConfig.CACHING_BUFFER_SIZE);
+		String policy = dmlconf.getTextValue(DMLConfig.CACHING_EVICTION_POLICY).trim().toUpperCase();
+		try {
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.valueOf(policy);
+		}
+		catch(IllegalArgumentException ex) {
+			throw new RuntimeException("Incorrect value (" + policy + ") for the configuration " + DMLConfig.CACHING_EVICTION_POLICY);
+		}
+		CacheableData.CACHING_BUFFER_COMPRESS = dmlconf.getBooleanValue(DMLConfig.CACHING_BUFFER_COMPRESS);
+		CacheableData.CACHING_PREFETCH = dmlconf.getBooleanValue(DMLConfig.CACHING_PREFETCH);
+		CacheableData.CACHING_ASYNC_EVICTION = dmlconf.getBooleanValue(DMLConfig.CACHING_ASYNC_EVICTION);
+		CacheableData.CACHING_MAPPED_RESTORE = dmlconf.getBooleanValue(DMLConfig.CACHING_MAPPED_RESTORE);
+		CacheableData.CACHING_BUFFER_OFFHEAP = dmlconf.getBooleanValue(DMLConfig.CACHING_BUFFER_OFFHEAP);
+		CacheableData.CACHING_BUFFER_PAGECACHE = dmlconf.getBooleanValue(DMLConfig.CACHING_BUFFER_PAGECACHE);
 				
 		NativeHelper.initialize(dmlconf.getTextValue(DMLConfig.NATIVE_BLAS_DIR), dmlconf.getTextValue(DMLConfig.NATIVE_BLAS).trim());
 		
@@ -42,6 +42,7 @@ import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.conf.DMLOptions;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.codegen.SpoofCompiler;
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -54,6 +55,9 @@ import org.apache.sysml.runtime.io.FrameReaderFactory;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.io.MatrixReader;
 import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixStreamReader;
+import org.apache.sysml.runtime.io.ReadProperties;
+import org.apache.sysml.runtime.io.ReaderBinaryMapped;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -435,6 +439,71 @@ public class Connection implements Closeable
 		}
 	}
 	
+	/**
+	 * Reads an input matrix in local memory-mappable binary format (written via
+	 * WriterBinaryMapped) into a matrix block, which can be directly passed to
+	 * prepared scripts. Compared to binary block, this avoids deserialization
+	 * and is intended for models and feature matrices that are reloaded repeatedly.
+	 * 
+	 * @param fname the filename of the input matrix on the local file system
+	 * @param offHeap if true, dense matrices are returned as off-heap blocks
+	 * backed by a private mapping of the file (values faulted in on demand)
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock readMappedMatrix(String fname, boolean offHeap) 
+		throws IOException
+	{
+		setLocalConfigs();
+		
+		try {
+			MatrixReader reader = new ReaderBinaryMapped(
+				OptimizerUtils.getParallelBinaryReadParallelism(), offHeap);
+			return reader.readMatrixFromHDFS(fname, -1, -1, -1, -1, -1);
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+	}
+	
+	/**
+	 * Opens a streaming reader for an input matrix in csv, textcell (ordered 
+	 * by rows), or binary block format, which returns the matrix as a sequence 
+	 * of row chunks. In combination with {@link PreparedScript#executeScriptChunked},
+	 * this allows scoring inputs that do not fit into memory.
+	 * NOTE: this call currently only supports default configurations for CSV.
+	 * 
+	 * @param fname the filename of the input matrix
+	 * @param iinfo InputInfo object
+	 * @param rows number of rows in the matrix, -1 indicates unknown (csv only)
+	 * @param cols number of columns in the matrix
+	 * @param brlen number of rows per block
+	 * @param bclen number of columns per block
+	 * @param nnz number of non-zero values, -1 indicates unknown
+	 * @param chunkSize number of rows per chunk
+	 * @return streaming matrix reader, to be closed by the caller
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixStreamReader openMatrixStream(String fname, InputInfo iinfo, long rows, long cols, int brlen, int bclen, long nnz, int chunkSize) 
+		throws IOException
+	{
+		setLocalConfigs();
+		
+		try {
+			ReadProperties props = new ReadProperties();
+			props.inputInfo = iinfo;
+			props.rlen = rows;
+			props.clen = cols;
+			props.brlen = brlen;
+			props.bclen = bclen;
+			props.expectedNnz = nnz;
+			return MatrixReaderFactory.createMatrixStreamReader(fname, props, chunkSize);
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+	}
+	
 	/**
 	 * Converts an input string representation of a matrix in csv or textcell format
 	 * into a dense double array. The meta data string is the SystemML generated
@@ -593,8 +662,9 @@ public class Connection implements Closeable
 		//sanity check input format
 		if(!(DataExpression.FORMAT_TYPE_VALUE_TEXT.equals(format)
 			||DataExpression.FORMAT_TYPE_VALUE_MATRIXMARKET.equals(format)
-			||DataExpression.FORMAT_TYPE_VALUE_CSV.equals(format)) ) {
-			throw new IOException("Invalid input format (expected: csv, text or mm): "+format);
+			||DataExpression.FORMAT_TYPE_VALUE_CSV.equals(format)
+			||DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(format)) ) {
+			throw new IOException("Invalid input format (expected: csv, text, mm or libsvm): "+format);
 		}
 		
 		setLocalConfigs();
@@ -602,7 +672,8 @@ public class Connection implements Closeable
 		try {
 			//read input matrix
 			InputInfo iinfo = DataExpression.FORMAT_TYPE_VALUE_CSV.equals(format) ? 
-					InputInfo.CSVInputInfo : InputInfo.TextCellInputInfo;
+					InputInfo.CSVInputInfo : DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(format) ?
+					InputInfo.LIBSVMInputInfo : InputInfo.TextCellInputInfo;
 			MatrixReader reader = MatrixReaderFactory.createMatrixReader(iinfo);
 			int blksz = ConfigurationManager.getBlocksize();
 			ret = reader.readMatrixFromInputStream(input, 
@@ -19,6 +19,8 @@
 
 package org.apache.sysml.api.jmlc;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -53,6 +55,10 @@ import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
+import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixStreamReader;
+import org.apache.sysml.runtime.io.WriterTextCSV;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
@@ -60,6 +66,7 @@ import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.utils.Explain;
 import org.apache.sysml.utils.Statistics;
 
@@ -482,6 +489,132 @@ public class PreparedScript implements ConfigurableAPI
 		return rvars;
 	}
 	
+	/**
+	 * Executes the prepared script once per row chunk of the given stream reader,
+	 * where each chunk is bound to the given input variable, and concatenates
+	 * the matrix outputs of all chunks by rows. All other inputs (e.g., model
+	 * parameters) need to be bound with reuse beforehand. Since only a single 
+	 * input chunk is in memory at a time, this allows scoring inputs that 
+	 * exceed the available memory. The reader is closed on return.
+	 * 
+	 * @param reader streaming matrix reader
+	 * @param inVarname input variable name of the chunks
+	 * @param outVarname output variable name
+	 * @return row-wise concatenated output matrix
+	 */
+	public MatrixBlock executeScriptChunked(MatrixStreamReader reader, String inVarname, String outVarname) {
+		//execute script per chunk and append outputs into a result that is
+		//preallocated according to the output/input row ratio of the first
+		//chunk (and grown by doubling if this estimate is exceeded)
+		MatrixBlock ret = null;
+		long inRows = 0;
+		int rix = 0, clen = -1;
+		try {
+			while( reader.hasNext() ) {
+				MatrixBlock in = reader.next();
+				inRows += in.getNumRows();
+				MatrixBlock out = executeScriptChunk(in, inVarname, outVarname);
+				if( clen >= 0 && out.getNumColumns() != clen )
+					throw new DMLException("Inconsistent number of columns of chunk outputs: "
+						+ out.getNumColumns() + " vs " + clen + ".");
+				clen = out.getNumColumns();
+				long rlen = (long)rix + out.getNumRows();
+				if( rlen > Integer.MAX_VALUE )
+					throw new DMLException("Chunked output exceeds the maximum number of rows: "+rlen);
+				if( ret == null ) {
+					long totalRows = Math.max(reader.getNumRows(), inRows);
+					long cap = (long)Math.ceil((double)totalRows * out.getNumRows() / Math.max(inRows, 1));
+					cap = Math.min(Math.max(cap, rlen), Integer.MAX_VALUE);
+					ret = new MatrixBlock((int)cap, clen, out.isInSparseFormat(),
+						(long)Math.ceil(out.getSparsity() * cap * clen));
+				}
+				else if( rlen > ret.getNumRows() ) {
+					long cap = Math.min(Math.max(2L * ret.getNumRows(), rlen), Integer.MAX_VALUE);
+					ret = resizeRows(ret, rix, (int)cap);
+				}
+				if( out.getNumRows() > 0 && clen > 0 )
+					ret.copy(rix, rix+out.getNumRows()-1, 0, clen-1, out, true);
+				rix = (int)rlen;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		
+		//trim overallocated rows (if the estimate was too large)
+		if( ret == null )
+			return new MatrixBlock(0, 0, true);
+		if( ret.getNumRows() > rix )
+			ret = (rix > 0 && clen > 0) ? ret.slice(0, rix-1) :
+				new MatrixBlock(rix, Math.max(clen, 0), true);
+		ret.examSparsity();
+		return ret;
+	}
+	
+	private static MatrixBlock resizeRows(MatrixBlock in, int rows, int cap) {
+		MatrixBlock ret = new MatrixBlock(cap, in.getNumColumns(), in.isInSparseFormat(), in.getNonZeros());
+		if( rows > 0 && in.getNumColumns() > 0 && !in.isEmptyBlock(false) )
+			ret.copy(0, rows-1, 0, in.getNumColumns()-1, in.slice(0, rows-1), true);
+		return ret;
+	}
+	
+	/**
+	 * Executes the prepared script once per row chunk of the given stream reader,
+	 * where each chunk is bound to the given input variable, and incrementally
+	 * writes the matrix output of each chunk as a separate part file of the 
+	 * given csv output directory (including the meta data file). Hence, both 
+	 * inputs and outputs are processed with memory bounded by the chunk size.
+	 * All other inputs need to be bound with reuse beforehand. The reader is 
+	 * closed on return.
+	 * 
+	 * @param reader streaming matrix reader
+	 * @param inVarname input variable name of the chunks
+	 * @param outVarname output variable name
+	 * @param fname output file name (csv directory)
+	 * @return number of output rows
+	 */
+	public long executeScriptChunked(MatrixStreamReader reader, String inVarname, String outVarname, String fname) {
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV();
+		WriterTextCSV writer = new WriterTextCSV(props);
+		long rlen = 0, nnz = 0;
+		int clen = -1, pos = 0;
+		try {
+			MapReduceTool.deleteFileWithMTDIfExistOnHDFS(fname);
+			while( reader.hasNext() ) {
+				MatrixBlock out = executeScriptChunk(reader.next(), inVarname, outVarname);
+				if( clen >= 0 && out.getNumColumns() != clen )
+					throw new DMLException("Inconsistent number of columns of chunk outputs: "
+						+ out.getNumColumns() + " vs " + clen + ".");
+				clen = out.getNumColumns();
+				//write non-empty output chunk as part file
+				if( out.getNumRows() > 0 && clen > 0 ) {
+					writer.writeMatrixToHDFS(out, fname+"/"+IOUtilFunctions.getPartFileName(pos++),
+						out.getNumRows(), clen, -1, -1, out.getNonZeros(), false);
+				}
+				rlen += out.getNumRows();
+				nnz += out.getNonZeros();
+			}
+			
+			//write meta data file of entire output
+			MatrixCharacteristics mc = new MatrixCharacteristics(rlen, Math.max(clen, 0),
+				ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), nnz);
+			MapReduceTool.writeMetaDataFile(fname+".mtd", ValueType.DOUBLE, mc, OutputInfo.CSVOutputInfo, props);
+		}
+		catch(IOException ex) {
+			throw new DMLException("Failed to write chunked output to "+fname+".", ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		return rlen;
+	}
+	
+	private MatrixBlock executeScriptChunk(MatrixBlock chunk, String inVarname, String outVarname) {
+		setMatrix(inVarname, chunk, false);
+		ResultVariables rvars = executeScript();
+		return rvars.getMatrixBlock(outVarname);
+	}
+	
 	/**
 	 * Explain the DML/PyDML program and view result as a string.
 	 * 
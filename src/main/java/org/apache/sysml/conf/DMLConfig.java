@@ -82,6 +82,13 @@ public class DMLConfig
 	public static final String CODEGEN_PLANCACHE    = "sysml.codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "sysml.codegen.literals"; //1..heuristic, 2..always
 	public static final String CACHING_BUFFER_SIZE 	= "sysml.caching.bufferSize"; //double: default:0.15
+	public static final String CACHING_EVICTION_POLICY = "sysml.caching.eviction.policy"; //string: fifo, lru, cost
+	public static final String CACHING_BUFFER_COMPRESS = "sysml.caching.buffer.compress"; //boolean
+	public static final String CACHING_PREFETCH    = "sysml.caching.prefetch"; //boolean
+	public static final String CACHING_ASYNC_EVICTION = "sysml.caching.async.eviction"; //boolean
+	public static final String CACHING_MAPPED_RESTORE = "sysml.caching.mapped.restore"; //boolean
+	public static final String CACHING_BUFFER_OFFHEAP = "sysml.caching.buffer.offheap"; //boolean
+	public static final String CACHING_BUFFER_PAGECACHE = "sysml.caching.buffer.pagecache"; //boolean
 	public static final String EXTRA_FINEGRAINED_STATS = "sysml.stats.finegrained"; //boolean
 	public static final String STATS_MAX_WRAP_LEN   = "sysml.stats.maxWrapLength"; //int
 	public static final String AVAILABLE_GPUS       = "sysml.gpu.availableGPUs"; // String to specify which GPUs to use (a range, all GPUs, comma separated list or a specific GPU)
@@ -147,6 +154,13 @@ public class DMLConfig
 		_defaultVals.put(GPU_EVICTION_POLICY,    "min_evict");
 		_defaultVals.put(SYNCHRONIZE_GPU,        "false" );
 		_defaultVals.put(CACHING_BUFFER_SIZE,    "0.15" );
+		_defaultVals.put(CACHING_EVICTION_POLICY, "fifo" );
+		_defaultVals.put(CACHING_BUFFER_COMPRESS, "false" );
+		_defaultVals.put(CACHING_PREFETCH,        "false" );
+		_defaultVals.put(CACHING_ASYNC_EVICTION,  "false" );
+		_defaultVals.put(CACHING_MAPPED_RESTORE,  "false" );
+		_defaultVals.put(CACHING_BUFFER_OFFHEAP,  "false" );
+		_defaultVals.put(CACHING_BUFFER_PAGECACHE, "false" );
 		_defaultVals.put(EAGER_CUDA_FREE,        "false" );
 		_defaultVals.put(GPU_RECOMPUTE_ACTIVATIONS, "false" );
 		_defaultVals.put(FLOATING_POINT_PRECISION,        	 "double" );
@@ -430,7 +444,8 @@ public class DMLConfig
 				CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
 				COMPRESSED_LINALG, 
 				CODEGEN, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
-				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO, CACHING_BUFFER_SIZE,
+				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO, CACHING_BUFFER_SIZE, CACHING_EVICTION_POLICY, CACHING_BUFFER_COMPRESS,
+				CACHING_PREFETCH, CACHING_ASYNC_EVICTION, CACHING_MAPPED_RESTORE, CACHING_BUFFER_OFFHEAP, CACHING_BUFFER_PAGECACHE,
 				AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, EVICTION_SHADOW_BUFFERSIZE,
 				GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR, GPU_RECOMPUTE_ACTIVATIONS
 		}; 
@@ -304,7 +304,7 @@ public class BinaryOp extends MultiThreadedHop
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(), 
@@ -371,7 +371,7 @@ public class BinaryOp extends MultiThreadedHop
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -515,7 +515,7 @@ public class BinaryOp extends MultiThreadedHop
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) );
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -616,8 +616,9 @@ public class BinaryOp extends MultiThreadedHop
 			else //general case
 				ot = HopsOpOp2LopsU.get(op);
 
+			int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 			Unary unary1 = new Unary(getInput().get(0).constructLops(),
-				getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et);
+				getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et, k);
 		
 			setOutputDimensions(unary1);
 			setLineNumbers(unary1);
@@ -658,7 +659,7 @@ public class BinaryOp extends MultiThreadedHop
 				}
 				else
 					binary = new Binary(getInput().get(0).constructLops(), getInput().get(1).constructLops(), HopsOpOp2LopsB.get(op),
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 				
 				setOutputDimensions(binary);
 				setLineNumbers(binary);
@@ -39,7 +39,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimatorHops;
  * Note: Currently, we support expressions in function arguments along with function calls
  * in expressions with single outputs, leaving multiple outputs handling as it is.
  */
-public class FunctionOp extends Hop
+public class FunctionOp extends MultiThreadedHop
 {
 	public enum FunctionType{
 		DML,
@@ -253,8 +253,10 @@ public class FunctionOp extends Hop
 			tmp.add( in.constructLops() );
 		
 		//construct function call
+		int k = isMultiThreadedBuiltinFunction() && et == ExecType.CP ?
+			OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 		Lop fcall = _singleOutFun ? new FunctionCallCPSingle( tmp, _fnamespace, _fname, et ) :
-			new FunctionCallCP(tmp, _fnamespace, _fname, _inputNames, _outputNames, _outputHops, et);
+			new FunctionCallCP(tmp, _fnamespace, _fname, _inputNames, _outputNames, _outputHops, et, k);
 		setLineNumbers(fcall);
 		setLops(fcall);
 		
@@ -306,6 +308,19 @@ public class FunctionOp extends Hop
 	private boolean isBuiltinFunction() {
 		return getFunctionNamespace().equals(DMLProgram.INTERNAL_NAMESPACE);
 	}
+	
+	/**
+	 * Indicates if this function call is a multi-threaded builtin
+	 * function with multiple returns (i.e., qr, lu, eigen).
+	 * 
+	 * @return true if multi-threaded builtin function
+	 */
+	public boolean isMultiThreadedBuiltinFunction() {
+		return isBuiltinFunction()
+			&& (getFunctionName().equalsIgnoreCase("qr")
+			|| getFunctionName().equalsIgnoreCase("lu")
+			|| getFunctionName().equalsIgnoreCase("eigen"));
+	}
 
 	@Override
 	public void refreshSizeInformation() {
@@ -328,6 +343,7 @@ public class FunctionOp extends Hop
 		ret._outputNames = _outputNames.clone();
 		if( _outputHops != null )
 			ret._outputHops = (ArrayList<Hop>) _outputHops.clone();
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -783,7 +783,7 @@ public class OptimizerUtils
 		long bsize = MatrixBlock.estimateSizeOnDisk(rows, cols, nnz);
 		if( oinfo == OutputInfo.TextCellOutputInfo || oinfo == OutputInfo.MatrixMarketOutputInfo )
 			return bsize * 3;
-		else if( oinfo == OutputInfo.CSVOutputInfo )
+		else if( oinfo == OutputInfo.CSVOutputInfo || oinfo == OutputInfo.LIBSVMOutputInfo )
 			return bsize * 2;
 		
 		//unknown output info
@@ -398,7 +398,8 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop
 		
 		if( et == ExecType.CP )
 		{
-			ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops,HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et);
+			int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
+			ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops,HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et, k);
 			setOutputDimensions(pbilop);
 			setLineNumbers(pbilop);
 			setLops(pbilop);
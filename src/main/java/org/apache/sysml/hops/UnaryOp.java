@@ -236,7 +236,7 @@ public class UnaryOp extends MultiThreadedHop
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) );
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -344,7 +344,7 @@ public class UnaryOp extends MultiThreadedHop
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					input.constructLops(), 
 					SortKeys.OperationTypes.WithoutWeights, 
-					DataType.MATRIX, ValueType.DOUBLE, et );
+					DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) );
 			sort.getOutputParameters().setDimensions(
 					input.getDim1(),
 					input.getDim2(),
@@ -657,7 +657,9 @@ public class UnaryOp extends MultiThreadedHop
 	public boolean isExpensiveUnaryOperation()  {
 		return (_op == OpOp1.EXP 
 			|| _op == OpOp1.LOG
-			|| _op == OpOp1.SIGMOID);
+			|| _op == OpOp1.SIGMOID
+			|| _op == OpOp1.INVERSE
+			|| _op == OpOp1.CHOLESKY);
 	}
 	
 	@Override
@@ -1312,6 +1312,7 @@ public class Recompiler
 		//special case for persistent reads with unknown size (read-after-write)
 		else if( HopRewriteUtils.isData(hop, DataOpTypes.PERSISTENTREAD)
 			&& !hop.dimsKnown() && ((DataOp)hop).getInputFormatType()!=FileFormatTypes.CSV
+			&& ((DataOp)hop).getInputFormatType()!=FileFormatTypes.LIBSVM
 			&& !ConfigurationManager.getCompilerConfigFlag(ConfigType.IGNORE_READ_WRITE_METADATA) )
 		{
 			//update hop with read meta data
@@ -1562,6 +1563,7 @@ public class Recompiler
 				if((   iimd.getInputInfo()==InputInfo.TextCellInputInfo
 					|| iimd.getInputInfo()==InputInfo.MatrixMarketInputInfo
 					|| iimd.getInputInfo()==InputInfo.CSVInputInfo
+					|| iimd.getInputInfo()==InputInfo.LIBSVMInputInfo
 					|| iimd.getInputInfo()==InputInfo.BinaryCellInputInfo)
 					&& !mo.isDirty() )
 				{
@@ -39,7 +39,7 @@ import org.apache.sysml.parser.VariableSet;
  * Rule: Split Hop DAG after CSV reads with unknown size. This is
  * important to create recompile hooks if format is read from mtd
  * (we are not able to split it on statementblock creation) and 
- * mtd has unknown size (which can only happen for CSV). 
+ * mtd has unknown size (which can only happen for CSV and LIBSVM). 
  * 
  */
 public class RewriteSplitDagUnknownCSVRead extends StatementBlockRewriteRule
@@ -152,7 +152,8 @@ public class RewriteSplitDagUnknownCSVRead extends StatementBlockRewriteRule
 		{
 			DataOp dop = (DataOp) hop;
 			if(    dop.getDataOpType() == DataOpTypes.PERSISTENTREAD
-				&& dop.getInputFormatType() == FileFormatTypes.CSV
+				&& (dop.getInputFormatType() == FileFormatTypes.CSV
+					|| dop.getInputFormatType() == FileFormatTypes.LIBSVM)
 				&& !dop.dimsKnown()
 				&& !HopRewriteUtils.hasOnlyWriteParents(dop, true, false) )
 			{
@@ -213,8 +213,8 @@ public class Binary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
-		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//append degree of parallelism for matrix multiplications and cell-wise matrix operations
+		if( getExecType()==ExecType.CP && (operation == OperationTypes.MATMULT || getDataType().isMatrix()) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}
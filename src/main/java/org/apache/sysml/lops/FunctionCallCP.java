@@ -38,10 +38,17 @@ public class FunctionCallCP extends Lop
 	private String[] _inputNames;
 	private String[] _outputNames;
 	private ArrayList<Lop> _outputLops = null;
+	private int _numThreads = 1;
 
 	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, 
 		String[] inputNames, String[] outputNames, ArrayList<Hop> outputHops, ExecType et) {
+		this(inputs, fnamespace, fname, inputNames, outputNames, outputHops, et, 1);
+	}
+	
+	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, 
+		String[] inputNames, String[] outputNames, ArrayList<Hop> outputHops, ExecType et, int k) {
 		this(inputs, fnamespace, fname, inputNames, outputNames, et);
+		_numThreads = k;
 		if(outputHops != null) {
 			_outputLops = new ArrayList<>();
 			setLevel();
@@ -104,6 +111,12 @@ public class FunctionCallCP extends Lop
 			sb.append(_outputNames[i]);
 		}
 		
+		//append degree of parallelism for multi-threaded builtins (qr, lu, eigen)
+		if( getExecType() == ExecType.CP && _numThreads > 1 ) {
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(_numThreads);
+		}
+		
 		return sb.toString();
 	}
 	
@@ -40,6 +40,7 @@ public class SortKeys extends Lop
 	
 	private OperationTypes operation;
 	private boolean descending = false;
+	private int _numThreads = 1;
 	
 	public OperationTypes getOpType() {
 		return operation;
@@ -56,9 +57,19 @@ public class SortKeys extends Lop
 		descending = desc;
 	}
 
+	public SortKeys(Lop input, OperationTypes op, DataType dt, ValueType vt, ExecType et, int k) {
+		this(input, op, dt, vt, et);
+		_numThreads = k;
+	}
+
 	public SortKeys(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et) {
+		this(input1, input2, op, dt, vt, et, 1);
+	}
+	
+	public SortKeys(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et, int k) {
 		super(Lop.Type.SortKeys, dt, vt);		
 		init(input1, input2, op, et);
+		_numThreads = k;
 	}
 	
 	private void init(Lop input1, Lop input2, OperationTypes op, ExecType et) {
@@ -119,6 +130,10 @@ public class SortKeys extends Lop
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( descending );
 		}
+		else if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
 		
 		return sb.toString();
 	}
@@ -136,6 +151,11 @@ public class SortKeys extends Lop
 		sb.append( Lop.OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 		
+		if( getExecType() == ExecType.CP ) {
+			sb.append( Lop.OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -144,6 +164,11 @@ public class SortKeys extends Lop
 	// 2) Unweighted SortKeys executes in CP
 	public static SortKeys constructSortByValueLop(Lop input1, OperationTypes op, 
 			DataType dt, ValueType vt, ExecType et) {
+		return constructSortByValueLop(input1, op, dt, vt, et, 1);
+	}
+	
+	public static SortKeys constructSortByValueLop(Lop input1, OperationTypes op, 
+			DataType dt, ValueType vt, ExecType et, int k) {
 		
 		for (Lop lop  : input1.getOutputs()) {
 			if ( lop.type == Lop.Type.SortKeys ) {
@@ -151,7 +176,7 @@ public class SortKeys extends Lop
 			}
 		}
 		
-		SortKeys retVal = new SortKeys(input1, op, dt, vt, et);
+		SortKeys retVal = new SortKeys(input1, op, dt, vt, et, k);
 		retVal.setAllPositions(input1.getFilename(), input1.getBeginLine(), input1.getBeginColumn(), input1.getEndLine(), input1.getEndColumn());
 		return retVal;
 	}
@@ -159,6 +184,11 @@ public class SortKeys extends Lop
 	// This method is invoked ONLY for the case of Weighted SortKeys executing in CP
 	public static SortKeys constructSortByValueLop(Lop input1, Lop input2, OperationTypes op, 
 			DataType dt, ValueType vt, ExecType et) {
+		return constructSortByValueLop(input1, input2, op, dt, vt, et, 1);
+	}
+	
+	public static SortKeys constructSortByValueLop(Lop input1, Lop input2, OperationTypes op, 
+			DataType dt, ValueType vt, ExecType et, int k) {
 		
 		HashSet<Lop> set1 = new HashSet<>();
 		set1.addAll(input1.getOutputs());
@@ -171,7 +201,7 @@ public class SortKeys extends Lop
 			}
 		}
 		
-		SortKeys retVal = new SortKeys(input1, input2, op, dt, vt, et);
+		SortKeys retVal = new SortKeys(input1, input2, op, dt, vt, et, k);
 		retVal.setAllPositions(input1.getFilename(), input1.getBeginLine(), input1.getBeginColumn(), input1.getEndLine(), input1.getEndColumn());
 		return retVal;
 	}
@@ -73,6 +73,7 @@ public class DataExpression extends DataIdentifier
 	public static final String FORMAT_TYPE_VALUE_BINARY = "binary";
 	public static final String FORMAT_TYPE_VALUE_CSV = "csv";
 	public static final String FORMAT_TYPE_VALUE_MATRIXMARKET = "mm";
+	public static final String FORMAT_TYPE_VALUE_LIBSVM = "libsvm";
 	
 	public static final String ROWBLOCKCOUNTPARAM = "rows_in_block";
 	public static final String COLUMNBLOCKCOUNTPARAM = "cols_in_block";
@@ -724,6 +725,9 @@ public class DataExpression extends DataIdentifier
 	        
 			boolean isCSV = false;
 			isCSV = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV));
+			
+			// libsvm allows unknown dimensions as well (determined on read)
+			boolean isLIBSVM = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM));
 			if (isCSV){
 				 // Handle delimited file format
 				 // 
@@ -833,8 +837,8 @@ public class DataExpression extends DataIdentifier
 				// initialize size of target data identifier to UNKNOWN
 				getOutput().setDimensions(-1, -1);
 				
-				if ( !isCSV && ConfigurationManager.getCompilerConfig()
-						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv format / jmlc api
+				if ( !isCSV && !isLIBSVM && ConfigurationManager.getCompilerConfig()
+						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv/libsvm format / jmlc api
 					&& (getVarParam(READROWPARAM) == null || getVarParam(READCOLPARAM) == null) ) {
 						raiseValidateError("Missing or incomplete dimension information in read statement: "
 								+ mtdFileName, conditional, LanguageErrorCodes.INVALID_PARAMETERS);
@@ -846,7 +850,7 @@ public class DataExpression extends DataIdentifier
 					// these are strings that are long values
 					Long dim1 = (getVarParam(READROWPARAM) == null) ? null : Long.valueOf( getVarParam(READROWPARAM).toString());
 					Long dim2 = (getVarParam(READCOLPARAM) == null) ? null : Long.valueOf( getVarParam(READCOLPARAM).toString());
-					if ( !isCSV && (dim1 < 0 || dim2 < 0) && ConfigurationManager
+					if ( !isCSV && !isLIBSVM && (dim1 < 0 || dim2 < 0) && ConfigurationManager
 							.getCompilerConfig().getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) ) {
 						raiseValidateError("Invalid dimension information in read statement", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
 					}
@@ -854,7 +858,7 @@ public class DataExpression extends DataIdentifier
 					// set dim1 and dim2 values 
 					if (dim1 != null && dim2 != null){
 						getOutput().setDimensions(dim1, dim2);
-					} else if (!isCSV && ((dim1 != null) || (dim2 != null))) {
+					} else if (!isCSV && !isLIBSVM && ((dim1 != null) || (dim2 != null))) {
 						raiseValidateError("Partial dimension information in read statement", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
 					}
 				}
@@ -881,6 +885,13 @@ public class DataExpression extends DataIdentifier
 				{
 					getOutput().setFormatType(FormatType.MM);
 					format = 1;
+				} 
+				else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM) )
+				{
+					if( !isMatrix )
+						raiseValidateError("Format '" + fmt + "' only supported for matrices: " + this.toString(), conditional);
+					getOutput().setFormatType(FormatType.LIBSVM);
+					format = 1;
 				} else {
 					raiseValidateError("Invalid format '" + fmt+ "' in statement: " + this.toString(), conditional);
 				}
@@ -994,6 +1005,8 @@ public class DataExpression extends DataIdentifier
 				getOutput().setBlockDimensions(ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
 			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_MATRIXMARKET) || (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV)))
 				getOutput().setBlockDimensions(-1, -1);
+			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM))
+				getOutput().setBlockDimensions(-1, -1);
 			
 			else{
 				raiseValidateError("Invalid format " + getVarParam(FORMAT_TYPE) +  " in statement: " + this.toString(), conditional);
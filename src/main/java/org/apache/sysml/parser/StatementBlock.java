@@ -1016,7 +1016,7 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 	 		Expression formatTypeExpr = s.getExprParam(DataExpression.FORMAT_TYPE);
 			if (!(formatTypeExpr instanceof StringIdentifier)){
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
-						+ " can only be a string with one of following values: binary, text, mm, csv.", false, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, libsvm.", false, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 			String ft = formatTypeExpr.toString();
 			if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_BINARY)){
@@ -1027,9 +1027,11 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 				s.getIdentifier().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getIdentifier().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM)){
+				s.getIdentifier().setFormatType(FormatType.LIBSVM);
 			} else{
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
-						+ " can only be a string with one of following values: binary, text, mm, csv; invalid format: '"+ft+"'.", false, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, libsvm; invalid format: '"+ft+"'.", false, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 		}
 		//case of unspecified format parameter, use default
@@ -1062,9 +1064,11 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 				s.getTarget().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getTarget().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM)){
+				s.getTarget().setFormatType(FormatType.LIBSVM);
 			} else{
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
-						+ " can only be a string with one of following values: binary, text, mm, csv", conditionalValidate, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, libsvm", conditionalValidate, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 		} else {
 			dataExpr.addVarParam(DataExpression.FORMAT_TYPE,
@@ -20,6 +20,8 @@
 package org.apache.sysml.runtime.compress;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
 import org.apache.sysml.runtime.compress.utils.DblArray;
 import org.apache.sysml.runtime.compress.utils.DblArrayIntListHashMap;
@@ -93,6 +95,103 @@ public class BitmapEncoder
 		}
 	}
 
+	/**
+	 * Merges the bitmaps of two disjoint column groups, extracted from the same
+	 * rows, into the bitmap of the combined column group. This is equivalent to
+	 * extracting the bitmap of the combined columns but only requires a pass
+	 * over the offset lists of both inputs, which allows reusing already
+	 * extracted bitmaps (e.g., of a sample) across co-coding candidates.
+	 * 
+	 * @param colIndices1 sorted column indexes of the first group
+	 * @param ubm1 bitmap of the first group
+	 * @param colIndices2 sorted column indexes of the second group
+	 * @param ubm2 bitmap of the second group
+	 * @return bitmap of the combined group over the sorted union of column indexes
+	 */
+	public static UncompressedBitmap mergeBitmaps(int[] colIndices1, UncompressedBitmap ubm1,
+			int[] colIndices2, UncompressedBitmap ubm2) 
+	{
+		//encode rows of both inputs as value codes (-1 for zero tuples)
+		final int len = Math.max(getMaxOffset(ubm1), getMaxOffset(ubm2)) + 1;
+		int[] codes1 = getValueCodes(ubm1, len);
+		int[] codes2 = getValueCodes(ubm2, len);
+		
+		//probe/build distinct code pairs in row order (sorted offset lists),
+		//via a direct code map if small enough and a hash map otherwise
+		final int nv2 = ubm2.getNumValues() + 1;
+		final long ncodes = (long)(ubm1.getNumValues() + 1) * nv2;
+		int[] dmap = (ncodes <= Math.max(len, BITMAP_BLOCK_SZ)) ? new int[(int)ncodes] : null;
+		HashMap<Long, Integer> hmap = (dmap == null) ? new HashMap<>() : null;
+		ArrayList<IntArrayList> offsets = new ArrayList<>();
+		IntArrayList tuples = new IntArrayList();
+		for( int i=0; i<len; i++ ) {
+			if( codes1[i] < 0 && codes2[i] < 0 )
+				continue; //skip zero tuples
+			long key = (long)(codes1[i] + 1) * nv2 + codes2[i] + 1;
+			int id = -1;
+			if( dmap != null )
+				id = dmap[(int)key] - 1;
+			else {
+				Integer tmp = hmap.get(key);
+				id = (tmp != null) ? tmp : -1;
+			}
+			if( id < 0 ) { //new distinct tuple
+				id = offsets.size();
+				if( dmap != null )
+					dmap[(int)key] = id + 1;
+				else
+					hmap.put(key, id);
+				offsets.add(new IntArrayList());
+				tuples.appendValue(i);
+			}
+			offsets.get(id).appendValue(i);
+		}
+		
+		//construct linearized value tuples over merged column indexes
+		final int numCols = colIndices1.length + colIndices2.length;
+		final int numVals = offsets.size();
+		double[] vals1 = ubm1.getValues();
+		double[] vals2 = ubm2.getValues();
+		double[] values = new double[numVals * numCols];
+		int[] rows = tuples.extractValues();
+		for( int k=0; k<numVals; k++ ) {
+			int c1 = codes1[rows[k]], c2 = codes2[rows[k]];
+			for( int j=0, p1=0, p2=0; j<numCols; j++ ) {
+				if( p2 >= colIndices2.length || (p1 < colIndices1.length 
+					&& colIndices1[p1] < colIndices2[p2]) ) {
+					values[k*numCols+j] = (c1 >= 0) ? vals1[c1*colIndices1.length+p1] : 0;
+					p1++;
+				}
+				else {
+					values[k*numCols+j] = (c2 >= 0) ? vals2[c2*colIndices2.length+p2] : 0;
+					p2++;
+				}
+			}
+		}
+		
+		return new UncompressedBitmap(values, 
+			offsets.toArray(new IntArrayList[0]), numCols);
+	}
+	
+	private static int getMaxOffset(UncompressedBitmap ubm) {
+		int ret = -1;
+		for( int k=0; k<ubm.getNumValues(); k++ )
+			ret = Math.max(ret, ubm.getOffsetsList(k)
+				.extractValues()[ubm.getNumOffsets(k)-1]);
+		return ret;
+	}
+	
+	private static int[] getValueCodes(UncompressedBitmap ubm, int len) {
+		int[] ret = new int[len];
+		Arrays.fill(ret, -1);
+		for( int k=0; k<ubm.getNumValues(); k++ ) {
+			int[] off = ubm.getOffsetsList(k).extractValues();
+			for( int j=0; j<ubm.getNumOffsets(k); j++ )
+				ret[off[j]] = k;
+		}
+		return ret;
+	}
+	
 	/**
 	 * Encodes the bitmap as a series of run lengths and offsets.
 	 * 
@@ -29,6 +29,7 @@ import java.util.List;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 /**
@@ -45,7 +46,9 @@ public abstract class ColGroup implements Serializable
 		RLE_BITMAP,  //RLE bitmap
 		OLE_BITMAP,  //OLE bitmap
 		DDC1, //DDC 1 byte
-		DDC2; //DDC 2 byte
+		DDC2, //DDC 2 byte
+		DDCBP, //DDC bit-packed codes (1-16 bits)
+		FOR; //frame-of-reference bit-packed offsets
 	}
 	
 	/**
@@ -272,6 +275,19 @@ public abstract class ColGroup implements Serializable
 	 * @return version of this column group with the operation applied
 	 */
 	public abstract ColGroup scalarOperation(ScalarOperator op);
+	
+	/**
+	 * Perform the specified binary operation with a row vector, broadcast
+	 * over all rows, directly on the compressed column group, without
+	 * decompressing individual cells if possible.
+	 * 
+	 * @param op
+	 *            binary operation to perform
+	 * @param v
+	 *            dense row vector of the entire matrix (indexed by column)
+	 * @return version of this column group with the operation applied
+	 */
+	public abstract ColGroup binaryRowOperation(BinaryOperator op, double[] v);
 
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result);
 	
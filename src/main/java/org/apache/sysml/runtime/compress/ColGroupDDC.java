@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.compress;
 import java.util.Arrays;
 import java.util.Iterator;
 
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
@@ -242,6 +243,13 @@ public abstract class ColGroupDDC extends ColGroupValue
 	
 	protected abstract int getCode(int r);
 	
+	@Override
+	public void rightMultByMatrix(double[] preagg, double[] c, int n, int rl, int ru) {
+		//iterate over codes and add pre-aggregated rows to output
+		for( int i=rl, cix=rl*n; i<ru; i++, cix+=n )
+			LinearAlgebraUtils.vectAdd(preagg, c, getCode(i)*n, cix, n);
+	}
+	
 	@Override
 	public long estimateInMemorySize() {
 		return super.estimateInMemorySize();
@@ -30,6 +30,7 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 /**
@@ -363,4 +364,11 @@ public class ColGroupDDC2 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC2(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		//fast path: sparse-safe and -unsafe operations
+		//as zero are represented, it is sufficient to rewrite the dictionary
+		return new ColGroupDDC2(_colIndexes, _numRows, applyBinaryRowOp(op, v, false), _data);
+	}
 }
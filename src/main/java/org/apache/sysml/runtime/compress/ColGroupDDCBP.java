@@ -0,0 +1,493 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.functionobjects.KahanFunction;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Class to encapsulate information about a column group that is encoded with
+ * dense dictionary encoding (DDC) using bit-packed codes of 1 to 16 bits.
+ *
+ * The codes are packed into 64bit words such that no code spans two words,
+ * which allows decoding blocks of rows word by word with shifts and masks
+ * and processing the decoded codes in tight loops.
+ */
+public class ColGroupDDCBP extends ColGroupDDC
+{
+	private static final long serialVersionUID = -4785246713291082369L;
+
+	public static final int MAX_CODE_WIDTH = 16; //bits
+	private static final int BLOCK_SZ = 1024; //decoded codes per block (4KB)
+
+	private long[] _data;
+	private int _bits;  //code width
+	private int _cpw;   //codes per word
+	private long _mask; //code mask
+
+	public ColGroupDDCBP() {
+		super();
+	}
+
+	public ColGroupDDCBP(int[] colIndices, int numRows, UncompressedBitmap ubm) {
+		super(colIndices, numRows, ubm);
+
+		int numVals = ubm.getNumValues();
+		int numCols = ubm.getNumColumns();
+
+		//materialize zero values, if necessary
+		int zeroIx = -1;
+		if( ubm.getNumOffsets() < (long)numRows * numCols ) {
+			zeroIx = containsAllZeroValue();
+			if( zeroIx < 0 ) {
+				zeroIx = numVals;
+				_values = Arrays.copyOf(_values, _values.length+numCols);
+			}
+		}
+		allocateData(getNumValues());
+		if( zeroIx > 0 )
+			for( int i=0; i<numRows; i++ )
+				setData(i, zeroIx);
+
+		//iterate over values and write dictionary codes
+		for( int i=0; i<numVals; i++ ) {
+			int[] tmpList = ubm.getOffsetsList(i).extractValues();
+			int tmpListSize = ubm.getNumOffsets(i);
+			for( int k=0; k<tmpListSize; k++ )
+				setData(tmpList[k], i);
+		}
+	}
+
+	public ColGroupDDCBP(int[] colIndices, int numRows, double[] values, long[] data) {
+		super(colIndices, numRows, values);
+		setCodeWidth(getNumValues());
+		_data = data;
+	}
+
+	/**
+	 * Obtain the code width in bits required to encode the given number
+	 * of distinct value tuples.
+	 *
+	 * @param numVals number of distinct value tuples
+	 * @return code width in bits
+	 */
+	public static int getCodeWidth(int numVals) {
+		return Math.max(1, 32 - Integer.numberOfLeadingZeros(numVals-1));
+	}
+
+	/**
+	 * Obtain the number of 64bit words required to encode the given
+	 * number of rows with codes of the given width.
+	 *
+	 * @param numRows number of rows
+	 * @param bits code width in bits
+	 * @return number of words
+	 */
+	public static int getNumWords(int numRows, int bits) {
+		int cpw = 64 / bits;
+		return (numRows + cpw - 1) / cpw;
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.DDCBP;
+	}
+
+	public int getCodeWidth() {
+		return _bits;
+	}
+
+	@Override
+	protected double getData(int r) {
+		return _values[getCode(r)];
+	}
+
+	@Override
+	protected double getData(int r, int colIx) {
+		return _values[getCode(r)*getNumCols()+colIx];
+	}
+
+	@Override
+	protected void setData(int r, int code) {
+		int wix = r / _cpw;
+		int shift = (r % _cpw) * _bits;
+		_data[wix] = (_data[wix] & ~(_mask << shift)) | ((long)code << shift);
+	}
+
+	@Override
+	protected int getCode(int r) {
+		return (int)((_data[r / _cpw] >>> ((r % _cpw) * _bits)) & _mask);
+	}
+
+	/**
+	 * Decodes the codes of the given row range into the given buffer,
+	 * word by word.
+	 *
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @param codes output buffer of length at least ru-rl
+	 */
+	private void decode(int rl, int ru, int[] codes) {
+		final int cpw = _cpw;
+		final int bits = _bits;
+		final long mask = _mask;
+		int wix = rl / cpw;
+		int pos = rl % cpw;
+		int i = rl;
+		while( i < ru ) {
+			long w = _data[wix++] >>> (pos * bits);
+			int len = Math.min(cpw - pos, ru - i);
+			for( int k=0; k<len; k++, w >>>= bits )
+				codes[i-rl+k] = (int)(w & mask);
+			i += len;
+			pos = 0;
+		}
+	}
+
+	private void setCodeWidth(int numVals) {
+		_bits = getCodeWidth(numVals);
+		if( _bits > MAX_CODE_WIDTH )
+			throw new RuntimeException("Unsupported code width of "+_bits+" bits for "+numVals+" values.");
+		_cpw = 64 / _bits;
+		_mask = (1L << _bits) - 1;
+	}
+
+	private void allocateData(int numVals) {
+		setCodeWidth(numVals);
+		_data = new long[getNumWords(_numRows, _bits)];
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		int numCols = getNumCols();
+		int numVals = getNumValues();
+		out.writeInt(_numRows);
+		out.writeInt(numCols);
+		out.writeInt(numVals);
+
+		//write col indices
+		for( int i=0; i<_colIndexes.length; i++ )
+			out.writeInt( _colIndexes[i] );
+
+		//write distinct values
+		for( int i=0; i<_values.length; i++ )
+			out.writeDouble(_values[i]);
+
+		//write data (code width derived from num values)
+		for( int i=0; i<_data.length; i++ )
+			out.writeLong(_data[i]);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+		int numVals = in.readInt();
+
+		//read col indices
+		_colIndexes = new int[ numCols ];
+		for( int i=0; i<numCols; i++ )
+			_colIndexes[i] = in.readInt();
+
+		//read distinct values
+		_values = new double[numVals*numCols];
+		for( int i=0; i<numVals*numCols; i++ )
+			_values[i] = in.readDouble();
+
+		//read data
+		allocateData(numVals);
+		for( int i=0; i<_data.length; i++ )
+			_data[i] = in.readLong();
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 12; //header
+		//col indices
+		ret += 4 * _colIndexes.length;
+		//distinct values (groups of values)
+		ret += 8 * _values.length;
+		//data
+		ret += 8 * _data.length;
+
+		return ret;
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+
+		//adding data size and code meta data
+		size += 16;
+		if (_data != null)
+			size += 8 * _data.length;
+
+		return size;
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		int ncol = getNumCols();
+		int[] codes = new int[Math.min(BLOCK_SZ, ru-rl)];
+		for( int bi=rl; bi<ru; bi+=BLOCK_SZ ) {
+			int bimax = Math.min(bi+BLOCK_SZ, ru);
+			decode(bi, bimax, codes);
+			for( int i=bi; i<bimax; i++ ) {
+				int valOff = codes[i-bi]*ncol;
+				for( int j=0; j<ncol; j++ )
+					target.appendValue(i, _colIndexes[j], _values[valOff+j]);
+			}
+		}
+		//note: append ok because final sort per row
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		int nrow = getNumRows();
+		int ncol = getNumCols();
+		double[] c = target.getDenseBlockValues();
+		int[] codes = new int[Math.min(BLOCK_SZ, nrow)];
+		int nnz = 0;
+		for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+			int bimax = Math.min(bi+BLOCK_SZ, nrow);
+			decode(bi, bimax, codes);
+			for( int i=bi; i<bimax; i++ )
+				nnz += ((c[i] = _values[codes[i-bi]*ncol+colpos])!=0) ? 1 : 0;
+		}
+		target.setNonZeros(nnz);
+	}
+
+	@Override
+	public int[] getCounts(int[] counts) {
+		return getCounts(0, getNumRows(), counts);
+	}
+
+	@Override
+	public int[] getCounts(int rl, int ru, int[] counts) {
+		final int numVals = getNumValues();
+		Arrays.fill(counts, 0, numVals, 0);
+		int[] codes = new int[Math.min(BLOCK_SZ, ru-rl)];
+		for( int bi=rl; bi<ru; bi+=BLOCK_SZ ) {
+			int blen = Math.min(BLOCK_SZ, ru-bi);
+			decode(bi, bi+blen, codes);
+			for( int i=0; i<blen; i++ )
+				counts[codes[i]] ++;
+		}
+		return counts;
+	}
+
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+
+		//pre-aggregate nnz per value tuple
+		int[] counts = new int[numVals];
+		for( int k=0, valOff=0; k<numVals; k++, valOff+=ncol )
+			for( int j=0; j<ncol; j++ )
+				counts[k] += (_values[valOff+j]!=0) ? 1 : 0;
+
+		//scan data and add counts to output rows
+		int[] codes = new int[Math.min(BLOCK_SZ, ru-rl)];
+		for( int bi=rl; bi<ru; bi+=BLOCK_SZ ) {
+			int blen = Math.min(BLOCK_SZ, ru-bi);
+			decode(bi, bi+blen, codes);
+			for( int i=0; i<blen; i++ )
+				rnnz[bi-rl+i] += counts[codes[i]];
+		}
+	}
+
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
+		double[] b = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+
+		//prepare reduced rhs w/ relevant values
+		double[] sb = new double[numCols];
+		for (int j = 0; j < numCols; j++) {
+			sb[j] = b[_colIndexes[j]];
+		}
+
+		//pre-aggregate all distinct values
+		double[] vals = preaggValues(numVals, sb);
+
+		//decode blocks of codes and add to output
+		int[] codes = new int[Math.min(BLOCK_SZ, ru-rl)];
+		for( int bi=rl; bi<ru; bi+=BLOCK_SZ ) {
+			int blen = Math.min(BLOCK_SZ, ru-bi);
+			decode(bi, bi+blen, codes);
+			for( int i=0; i<blen; i++ )
+				c[bi+i] += vals[codes[i]];
+		}
+	}
+
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) {
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+		int[] codes = new int[Math.min(BLOCK_SZ, nrow)];
+
+		if( 8*numVals < getNumRows() )
+		{
+			//decode blocks of codes and pre-aggregate inputs per code
+			//temporary array also avoids false sharing in multi-threaded environments
+			double[] vals = allocDVector(numVals, true);
+			for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+				int blen = Math.min(BLOCK_SZ, nrow-bi);
+				decode(bi, bi+blen, codes);
+				for( int i=0; i<blen; i++ )
+					vals[codes[i]] += a[bi+i];
+			}
+
+			//post-scaling of pre-aggregate with distinct values
+			postScaling(vals, c);
+		}
+		else //general case
+		{
+			//decode blocks of codes, compute all, and add to the result
+			for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+				int blen = Math.min(BLOCK_SZ, nrow-bi);
+				decode(bi, bi+blen, codes);
+				for( int i=0; i<blen; i++ ) {
+					double aval = a[bi+i];
+					if( aval != 0 )
+						for( int j=0, valOff=codes[i]*ncol; j<ncol; j++ )
+							c[_colIndexes[j]] += aval * _values[valOff+j];
+				}
+			}
+		}
+	}
+
+	@Override
+	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) {
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+		int[] codes = new int[Math.min(BLOCK_SZ, nrow)];
+
+		if( 8*numVals < getNumRows() )
+		{
+			//decode blocks of codes and pre-aggregate inputs per code
+			//temporary array also avoids false sharing in multi-threaded environments
+			double[] vals = allocDVector(numVals, true);
+			for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+				int blen = Math.min(BLOCK_SZ, nrow-bi);
+				decode(bi, bi+blen, codes);
+				for( int i=0; i<blen; i++ )
+					vals[codes[i]] += a.getData(bi+i);
+			}
+
+			//post-scaling of pre-aggregate with distinct values
+			postScaling(vals, c);
+		}
+		else //general case
+		{
+			//decode blocks of codes, compute all, and add to the result
+			for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+				int blen = Math.min(BLOCK_SZ, nrow-bi);
+				decode(bi, bi+blen, codes);
+				for( int i=0; i<blen; i++ ) {
+					double aval = a.getData(bi+i, 0);
+					if( aval != 0 )
+						for( int j=0, valOff=codes[i]*ncol; j<ncol; j++ )
+							c[_colIndexes[j]] += aval * _values[valOff+j];
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void computeSum(MatrixBlock result, KahanFunction kplus) {
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+
+		//iterative over codes and count per code (guaranteed <=64K)
+		int[] counts = getCounts();
+
+		//post-scaling of pre-aggregate with distinct values
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
+		for( int k=0, valOff=0; k<numVals; k++, valOff+=ncol ) {
+			int cntk = counts[k];
+			for( int j=0; j<ncol; j++ )
+				kplus.execute3(kbuff, _values[ valOff+j], cntk);
+		}
+
+		result.quickSetValue(0, 0, kbuff._sum);
+		result.quickSetValue(0, 1, kbuff._correction);
+	}
+
+	@Override
+	protected void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		//note: due to corrections the output might be a large dense block
+		DenseBlock c = result.getDenseBlock();
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
+
+		//pre-aggregate nnz per value tuple
+		double[] vals = sumAllValues(kplus, kbuff, false);
+
+		//scan data and add to result (use kahan plus not general KahanFunction
+		//for correctness in case of sqk+)
+		int[] codes = new int[Math.min(BLOCK_SZ, ru-rl)];
+		for( int bi=rl; bi<ru; bi+=BLOCK_SZ ) {
+			int bimax = Math.min(bi+BLOCK_SZ, ru);
+			decode(bi, bimax, codes);
+			for( int i=bi; i<bimax; i++ ) {
+				double[] cvals = c.values(i);
+				int cix = c.pos(i);
+				kbuff.set(cvals[cix], cvals[cix+1]);
+				kplus2.execute2(kbuff, vals[codes[i-bi]]);
+				cvals[cix] = kbuff._sum;
+				cvals[cix+1] = kbuff._correction;
+			}
+		}
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		//fast path: sparse-safe and -unsafe operations
+		//as zero are represented, it is sufficient to simply apply the scalar op
+		return new ColGroupDDCBP(_colIndexes, _numRows, applyScalarOp(op), _data);
+	}
+
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		//fast path: sparse-safe and -unsafe operations
+		//as zero are represented, it is sufficient to rewrite the dictionary
+		return new ColGroupDDCBP(_colIndexes, _numRows, applyBinaryRowOp(op, v, false), _data);
+	}
+}
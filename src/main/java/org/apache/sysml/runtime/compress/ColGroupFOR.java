@@ -0,0 +1,738 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.KahanFunction;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysml.runtime.functionobjects.ReduceAll;
+import org.apache.sysml.runtime.functionobjects.ReduceCol;
+import org.apache.sysml.runtime.functionobjects.ReduceRow;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Class to encapsulate information about a single-column group that is
+ * encoded with frame-of-reference (FOR) encoding, i.e., as a reference
+ * value plus bit-packed integer offsets. This encoding targets columns
+ * with many distinct but narrowly ranged integer values (e.g., timestamps
+ * or counters), for which dictionary and bitmap encodings are ineffective.
+ *
+ * Optionally, the offsets are delta-encoded, i.e., we store the first value
+ * of each block of rows and the bit-packed differences of subsequent values
+ * relative to the minimum difference. Delta encoding is chosen on
+ * construction if it yields a smaller representation (e.g., for sorted
+ * timestamps).
+ */
+public class ColGroupFOR extends ColGroup
+{
+	private static final long serialVersionUID = 3506913712744537128L;
+
+	public static final int MAX_CODE_WIDTH = 32; //bits
+	private static final int BLOCK_SZ = 1024; //rows per delta/decode block
+	private static final double MAX_EXACT = 9007199254740992d; //2^53
+
+	private double _base;      //reference value (min value or min delta)
+	private boolean _delta;    //delta encoding of offsets
+	private double[] _anchors; //first value per block of rows (delta only)
+	private long[] _data;      //bit-packed offsets
+	private int _bits;         //code width
+	private int _cpw;          //codes per word
+	private long _mask;        //code mask
+
+	public ColGroupFOR() {
+		super((int[])null, -1);
+	}
+
+	/**
+	 * Main constructor. Encodes the values of the given bitmap, which must
+	 * satisfy {@link #isEncodable(double)} and span a range of at most
+	 * {@link #MAX_CODE_WIDTH} bits.
+	 *
+	 * @param colIndices indices (within the block) of the column (only one)
+	 * @param numRows total number of rows in the parent block
+	 * @param ubm uncompressed bitmap of the column
+	 */
+	public ColGroupFOR(int[] colIndices, int numRows, UncompressedBitmap ubm) {
+		this(colIndices, numRows, getColumnValues(numRows, ubm));
+	}
+
+	protected ColGroupFOR(int[] colIndices, int numRows, double[] vals) {
+		super(colIndices, numRows);
+		if( colIndices.length != 1 )
+			throw new RuntimeException("Unsupported FOR encoding of "+colIndices.length+" columns.");
+		encode(vals);
+	}
+
+	/**
+	 * Indicates if the given value can be represented as reference value
+	 * plus exact integer offset.
+	 *
+	 * @param v value
+	 * @return true if the value is integral and exactly representable
+	 */
+	public static boolean isEncodable(double v) {
+		return Math.abs(v) <= MAX_EXACT && v == Math.rint(v);
+	}
+
+	/**
+	 * Obtain the code width in bits required to encode the offsets
+	 * of the given value range.
+	 *
+	 * @param min minimum value
+	 * @param max maximum value
+	 * @return code width in bits
+	 */
+	public static int getCodeWidth(double min, double max) {
+		double range = max - min;
+		if( range >= (double)(1L << MAX_CODE_WIDTH) )
+			return Long.SIZE;
+		return Math.max(1, Long.SIZE - Long.numberOfLeadingZeros((long)range));
+	}
+
+	/**
+	 * Creates a FOR column group for the given column values if possible,
+	 * and an uncompressed column group otherwise.
+	 *
+	 * @param colIndices indices (within the block) of the column (only one)
+	 * @param numRows total number of rows in the parent block
+	 * @param vals column values
+	 * @return column group
+	 */
+	public static ColGroup create(int[] colIndices, int numRows, double[] vals) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for( int i=0; i<numRows; i++ ) {
+			if( !isEncodable(vals[i]) ) {
+				min = Double.NaN;
+				break;
+			}
+			min = Math.min(min, vals[i]);
+			max = Math.max(max, vals[i]);
+		}
+		if( numRows > 0 && !Double.isNaN(min) && getCodeWidth(min, max) <= MAX_CODE_WIDTH )
+			return new ColGroupFOR(colIndices, numRows, vals);
+
+		//fallback to uncompressed column group
+		MatrixBlock data = new MatrixBlock(numRows, 1, false);
+		data.init(vals, numRows, 1);
+		data.examSparsity();
+		return new ColGroupUncompressed(colIndices, numRows, data);
+	}
+
+	private static double[] getColumnValues(int numRows, UncompressedBitmap ubm) {
+		double[] ret = new double[numRows];
+		double[] values = ubm.getValues();
+		for( int k=0; k<values.length; k++ ) {
+			int[] tmpList = ubm.getOffsetsList(k).extractValues();
+			int tmpListSize = ubm.getNumOffsets(k);
+			for( int i=0; i<tmpListSize; i++ )
+				ret[tmpList[i]] = values[k];
+		}
+		return ret;
+	}
+
+	private void encode(double[] vals) {
+		final int nrow = getNumRows();
+
+		//compute value and delta ranges
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		double dmin = Double.POSITIVE_INFINITY, dmax = Double.NEGATIVE_INFINITY;
+		for( int i=0; i<nrow; i++ ) {
+			min = Math.min(min, vals[i]);
+			max = Math.max(max, vals[i]);
+			if( i % BLOCK_SZ != 0 ) {
+				double d = vals[i] - vals[i-1];
+				dmin = Math.min(dmin, d);
+				dmax = Math.max(dmax, d);
+			}
+		}
+		if( dmin > dmax ) //single row per block
+			dmin = dmax = 0;
+
+		//choose delta encoding if smaller than plain FOR encoding
+		int numBlocks = (nrow + BLOCK_SZ - 1) / BLOCK_SZ;
+		int bits = getCodeWidth(min, max);
+		int dbits = getCodeWidth(dmin, dmax);
+		_delta = dbits <= MAX_CODE_WIDTH
+			&& 8L * (getNumWords(nrow, dbits) + numBlocks) < 8L * getNumWords(nrow, bits);
+
+		//allocate and write bit-packed offsets
+		_base = _delta ? dmin : min;
+		setCodeWidth(_delta ? dbits : bits);
+		_data = new long[getNumWords(nrow, _bits)];
+		if( _delta ) {
+			_anchors = new double[numBlocks];
+			for( int i=0; i<nrow; i++ ) {
+				if( i % BLOCK_SZ == 0 )
+					_anchors[i / BLOCK_SZ] = vals[i];
+				else
+					setCode(i, (long)(vals[i] - vals[i-1] - _base));
+			}
+		}
+		else {
+			for( int i=0; i<nrow; i++ )
+				setCode(i, (long)(vals[i] - _base));
+		}
+	}
+
+	private static int getNumWords(int numRows, int bits) {
+		return ColGroupDDCBP.getNumWords(numRows, bits);
+	}
+
+	private void setCodeWidth(int bits) {
+		if( bits > MAX_CODE_WIDTH )
+			throw new RuntimeException("Unsupported code width of "+bits+" bits.");
+		_bits = bits;
+		_cpw = 64 / _bits;
+		_mask = (1L << _bits) - 1;
+	}
+
+	private void setCode(int r, long code) {
+		int wix = r / _cpw;
+		int shift = (r % _cpw) * _bits;
+		_data[wix] = (_data[wix] & ~(_mask << shift)) | (code << shift);
+	}
+
+	private long getCode(int r) {
+		return (_data[r / _cpw] >>> ((r % _cpw) * _bits)) & _mask;
+	}
+
+	/**
+	 * Decodes the values of the given row range into the given buffer,
+	 * word by word. For delta encoding, the decoding starts at the
+	 * beginning of the block of rl, so callers should align rl.
+	 *
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @param vals output buffer of length at least ru-rl
+	 */
+	private void decode(int rl, int ru, double[] vals) {
+		final int cpw = _cpw;
+		final int bits = _bits;
+		final long mask = _mask;
+		final double base = _base;
+		if( !_delta ) {
+			int wix = rl / cpw;
+			int pos = rl % cpw;
+			for( int i=rl; i<ru; pos=0 ) {
+				long w = _data[wix++] >>> (pos * bits);
+				int len = Math.min(cpw - pos, ru - i);
+				for( int k=0; k<len; k++, w >>>= bits )
+					vals[i-rl+k] = base + (w & mask);
+				i += len;
+			}
+		}
+		else {
+			int r = rl - rl % BLOCK_SZ;
+			int wix = r / cpw;
+			int pos = r % cpw;
+			double v = 0;
+			while( r < ru ) {
+				long w = _data[wix++] >>> (pos * bits);
+				int len = Math.min(cpw - pos, ru - r);
+				for( int k=0; k<len; k++, r++, w >>>= bits ) {
+					v = (r % BLOCK_SZ == 0) ? _anchors[r / BLOCK_SZ] : v + (base + (w & mask));
+					if( r >= rl )
+						vals[r-rl] = v;
+				}
+				pos = 0;
+			}
+		}
+	}
+
+	private double getValue(int r) {
+		if( !_delta )
+			return _base + getCode(r);
+		int bl = r - r % BLOCK_SZ;
+		double v = _anchors[r / BLOCK_SZ];
+		for( int i=bl+1; i<=r; i++ )
+			v += _base + getCode(i);
+		return v;
+	}
+
+	private double[] getAllValues() {
+		double[] ret = new double[getNumRows()];
+		decode(0, getNumRows(), ret);
+		return ret;
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.FOR;
+	}
+
+	public boolean isDeltaEncoded() {
+		return _delta;
+	}
+
+	public int getCodeWidth() {
+		return _bits;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(_numRows);
+		out.writeInt(getNumCols());
+
+		//write col indices
+		for( int i=0; i<_colIndexes.length; i++ )
+			out.writeInt( _colIndexes[i] );
+
+		//write encoding meta data
+		out.writeDouble(_base);
+		out.writeBoolean(_delta);
+		out.writeInt(_bits);
+
+		//write anchors and data
+		if( _delta )
+			for( int i=0; i<_anchors.length; i++ )
+				out.writeDouble(_anchors[i]);
+		for( int i=0; i<_data.length; i++ )
+			out.writeLong(_data[i]);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+
+		//read col indices
+		_colIndexes = new int[ numCols ];
+		for( int i=0; i<numCols; i++ )
+			_colIndexes[i] = in.readInt();
+
+		//read encoding meta data
+		_base = in.readDouble();
+		_delta = in.readBoolean();
+		setCodeWidth(in.readInt());
+
+		//read anchors and data
+		if( _delta ) {
+			_anchors = new double[(_numRows + BLOCK_SZ - 1) / BLOCK_SZ];
+			for( int i=0; i<_anchors.length; i++ )
+				_anchors[i] = in.readDouble();
+		}
+		_data = new long[getNumWords(_numRows, _bits)];
+		for( int i=0; i<_data.length; i++ )
+			_data[i] = in.readLong();
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 8; //header
+		//col indices
+		ret += 4 * _colIndexes.length;
+		//base, delta flag, and code width
+		ret += 13;
+		//anchors and data
+		if( _delta )
+			ret += 8 * _anchors.length;
+		ret += 8 * _data.length;
+		return ret;
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+
+		//adding meta data and array references
+		size += 8 + 1 + 4 + 4 + 8 + 16;
+		if( _anchors != null )
+			size += 32 + 8 * _anchors.length;
+		if( _data != null )
+			size += 32 + 8 * _data.length;
+
+		return size;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		if( c != _colIndexes[0] )
+			throw new RuntimeException("Column index "+c+" not in FOR group.");
+		return getValue(r);
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		final int col = _colIndexes[0];
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				target.appendValue(i, col, vals[i-bi]);
+		}
+		//note: append ok because final sort per row
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int[] colIndexTargets) {
+		final int nrow = getNumRows();
+		final int col = colIndexTargets[_colIndexes[0]];
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+			int bimax = Math.min(bi+BLOCK_SZ, nrow);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				target.quickSetValue(i, col, vals[i-bi]);
+		}
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		final int nrow = getNumRows();
+		double[] c = target.getDenseBlockValues();
+		double[] vals = new double[BLOCK_SZ];
+		int nnz = 0;
+		for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+			int bimax = Math.min(bi+BLOCK_SZ, nrow);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				nnz += ((c[i] = vals[i-bi])!=0) ? 1 : 0;
+		}
+		target.setNonZeros(nnz);
+	}
+
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
+		double[] b = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final double bval = b[_colIndexes[0]];
+		if( bval == 0 )
+			return;
+
+		//decode blocks of values and add scaled values to output
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				c[i] += vals[i-bi] * bval;
+		}
+	}
+
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) {
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+
+		//decode blocks of values and compute dot product
+		double[] vals = new double[BLOCK_SZ];
+		double sum = 0;
+		for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+			int bimax = Math.min(bi+BLOCK_SZ, nrow);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				sum += a[i] * vals[i-bi];
+		}
+		c[_colIndexes[0]] += sum;
+	}
+
+	/**
+	 * Vector-matrix multiplication with a single-column DDC group
+	 * as lhs vector, to avoid the DDC uncompression.
+	 *
+	 * @param a lhs vector as DDC column group
+	 * @param result matrix block result
+	 */
+	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) {
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+
+		//decode blocks of values and compute dot product
+		double[] vals = new double[BLOCK_SZ];
+		double sum = 0;
+		for( int bi=0; bi<nrow; bi+=BLOCK_SZ ) {
+			int bimax = Math.min(bi+BLOCK_SZ, nrow);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				sum += a.getData(i) * vals[i-bi];
+		}
+		c[_colIndexes[0]] += sum;
+	}
+
+	/**
+	 * Multiply the slice of the matrix that this column group represents by
+	 * a dense matrix on the right, and add the result to the output rows.
+	 *
+	 * @param b dense rhs matrix in row-major format
+	 * @param c dense output in row-major format
+	 * @param n number of columns of the rhs matrix and output
+	 * @param rl row lower, inclusive
+	 * @param ru row upper, exclusive
+	 */
+	public void rightMultByMatrix(double[] b, double[] c, int n, int rl, int ru) {
+		final int bix = _colIndexes[0] * n;
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=bi, cix=bi*n; i<bimax; i++, cix+=n ) {
+				double aval = vals[i-bi];
+				if( aval != 0 )
+					LinearAlgebraUtils.vectMultiplyAdd(aval, b, c, bix, cix, n);
+			}
+		}
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		//apply scalar operation to all values and re-encode, where we
+		//fall back to an uncompressed group if no longer encodable
+		double[] vals = getAllValues();
+		for( int i=0; i<vals.length; i++ )
+			vals[i] = op.executeScalar(vals[i]);
+		return create(_colIndexes, _numRows, vals);
+	}
+
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		//apply binary operation to all values and re-encode, where we
+		//fall back to an uncompressed group if no longer encodable
+		final double bval = v[_colIndexes[0]];
+		double[] vals = getAllValues();
+		for( int i=0; i<vals.length; i++ )
+			vals[i] = op.fn.execute(vals[i], bval);
+		return create(_colIndexes, _numRows, vals);
+	}
+
+	@Override
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) {
+		unaryAggregateOperations(op, result, 0, getNumRows());
+	}
+
+	/**
+	 *
+	 * @param op aggregation operator
+	 * @param result output matrix block
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 */
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result, int rl, int ru)
+	{
+		//sum and sumsq (reduceall/reducerow/reducecol over decoded values)
+		if( op.aggOp.increOp.fn instanceof KahanPlus || op.aggOp.increOp.fn instanceof KahanPlusSq )
+		{
+			KahanFunction kplus = (op.aggOp.increOp.fn instanceof KahanPlus) ?
+				KahanPlus.getKahanPlusFnObject() : KahanPlusSq.getKahanPlusSqFnObject();
+
+			if( op.indexFn instanceof ReduceAll )
+				computeSum(result, kplus, rl, ru);
+			else if( op.indexFn instanceof ReduceCol )
+				computeRowSums(result, kplus, rl, ru);
+			else if( op.indexFn instanceof ReduceRow )
+				computeColSums(result, kplus, rl, ru);
+		}
+		//min and max (reduceall/reducerow/reducecol over decoded values)
+		else if(op.aggOp.increOp.fn instanceof Builtin
+				&& (((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX
+				|| ((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MIN))
+		{
+			Builtin builtin = (Builtin) op.aggOp.increOp.fn;
+
+			if( op.indexFn instanceof ReduceAll )
+				result.quickSetValue(0, 0, builtin.execute(
+					result.quickGetValue(0, 0), computeMxx(builtin, rl, ru)));
+			else if( op.indexFn instanceof ReduceCol )
+				computeRowMxx(result, builtin, rl, ru);
+			else if( op.indexFn instanceof ReduceRow )
+				result.quickSetValue(0, _colIndexes[0], computeMxx(builtin, rl, ru));
+		}
+	}
+
+	private void computeSum(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
+		sumValues(kbuff, kplus, rl, ru);
+		result.quickSetValue(0, 0, kbuff._sum);
+		result.quickSetValue(0, 1, kbuff._correction);
+	}
+
+	private void computeColSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		final int col = _colIndexes[0];
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, col), result.quickGetValue(1, col));
+		sumValues(kbuff, kplus, rl, ru);
+		result.quickSetValue(0, col, kbuff._sum);
+		result.quickSetValue(1, col, kbuff._correction);
+	}
+
+	private void sumValues(KahanObject kbuff, KahanFunction kplus, int rl, int ru) {
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=0; i<bimax-bi; i++ )
+				kplus.execute2(kbuff, vals[i]);
+		}
+	}
+
+	private void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		//note: due to corrections the output might be a large dense block
+		DenseBlock c = result.getDenseBlock();
+		KahanObject kbuff = new KahanObject(0, 0);
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ ) {
+				double[] cvals = c.values(i);
+				int cix = c.pos(i);
+				kbuff.set(cvals[cix], cvals[cix+1]);
+				kplus.execute2(kbuff, vals[i-bi]);
+				cvals[cix] = kbuff._sum;
+				cvals[cix+1] = kbuff._correction;
+			}
+		}
+	}
+
+	private double computeMxx(Builtin builtin, int rl, int ru) {
+		double val = (builtin.getBuiltinCode()==BuiltinCode.MAX) ?
+			Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=0; i<bimax-bi; i++ )
+				val = builtin.execute(val, vals[i]);
+		}
+		return val;
+	}
+
+	private void computeRowMxx(MatrixBlock result, Builtin builtin, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				c[i] = builtin.execute(c[i], vals[i-bi]);
+		}
+	}
+
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		double[] vals = new double[BLOCK_SZ];
+		for( int bi=rl, bimax; bi<ru; bi=bimax ) {
+			bimax = Math.min(bi - bi%BLOCK_SZ + BLOCK_SZ, ru);
+			decode(bi, bimax, vals);
+			for( int i=bi; i<bimax; i++ )
+				rnnz[i-rl] += (vals[i-bi] != 0) ? 1 : 0;
+		}
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros, boolean rowMajor) {
+		//FOR iterator is always row major, so no need for custom handling
+		return new FORIterator(rl, ru, inclZeros);
+	}
+
+	@Override
+	public ColGroupRowIterator getRowIterator(int rl, int ru) {
+		return new FORRowIterator(rl, ru);
+	}
+
+	/**
+	 * Cursor over blocks of decoded values for forward row access.
+	 */
+	private class FORValueCursor
+	{
+		private final double[] _vals = new double[BLOCK_SZ];
+		private int _bl = -1; //start of decoded block
+
+		public double get(int r) {
+			if( _bl < 0 || r < _bl || r >= _bl + BLOCK_SZ ) {
+				_bl = r - r % BLOCK_SZ;
+				decode(_bl, Math.min(_bl + BLOCK_SZ, getNumRows()), _vals);
+			}
+			return _vals[r - _bl];
+		}
+	}
+
+	private class FORIterator implements Iterator<IJV>
+	{
+		//iterator configuration
+		private final int _ru;
+		private final boolean _inclZeros;
+		private final FORValueCursor _cursor = new FORValueCursor();
+
+		//iterator state
+		private final IJV _buff = new IJV();
+		private int _rpos = -1;
+		private double _value = 0;
+
+		public FORIterator(int rl, int ru, boolean inclZeros) {
+			_ru = ru;
+			_inclZeros = inclZeros;
+			_rpos = rl-1;
+			getNextValue();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (_rpos < _ru);
+		}
+
+		@Override
+		public IJV next() {
+			_buff.set(_rpos, _colIndexes[0], _value);
+			getNextValue();
+			return _buff;
+		}
+
+		private void getNextValue() {
+			do {
+				_rpos++;
+				if( _rpos >= _ru )
+					return; //reached end
+				_value = _cursor.get(_rpos);
+			}
+			while( !_inclZeros && _value==0);
+		}
+	}
+
+	private class FORRowIterator extends ColGroupRowIterator
+	{
+		private final FORValueCursor _cursor = new FORValueCursor();
+
+		public FORRowIterator(int rl, int ru) {
+			//do nothing
+		}
+
+		@Override
+		public void next(double[] buff, int rowIx, int segIx, boolean last) {
+			buff[_colIndexes[0]] = _cursor.get(rowIx);
+		}
+	}
+}
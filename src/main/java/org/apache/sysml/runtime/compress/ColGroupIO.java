@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysml.runtime.compress.ColGroup.CompressionType;
+import org.apache.sysml.runtime.compress.utils.LZ4Utils;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.runtime.util.ByteBufferDataInput;
+
+/**
+ * Versioned, columnar serialization format of the column groups of a
+ * compressed matrix block. After the block header (see
+ * {@link CompressedMatrixBlock#write(DataOutput)}), the format consists of
+ *
+ * <ul>
+ *   <li>the shared DDC1 dictionary (int length and values),</li>
+ *   <li>the number of column groups,</li>
+ *   <li>a directory with one entry per column group (type, codec, column
+ *   indexes, stored and raw payload length), and</li>
+ *   <li>the column group payloads in the order of the directory.</li>
+ * </ul>
+ *
+ * The directory allows to locate and deserialize individual column groups
+ * without reading the preceding payloads (see {@link CompressedBlockReader}).
+ * Payloads are either stored as is, or compressed with an LZ4-style byte
+ * codec, which mainly pays off for large dictionaries and offset lists.
+ * Single-column DDC1 groups that use the shared dictionary are written
+ * without their dictionary.
+ */
+public class ColGroupIO
+{
+	public static final byte FORMAT_VERSION = 1;
+	
+	//block header flags (byte of the former compressed boolean), where
+	//the legacy row-wise format of column groups is still readable
+	public static final byte FLAG_UNCOMPRESSED = 0;
+	public static final byte FLAG_LEGACY = 1;
+	public static final byte FLAG_COLUMNAR = 2;
+
+	public enum Codec {
+		NONE, //raw column group payload
+		LZ4,  //LZ4-style compressed payload
+	}
+
+	/**
+	 * Creates an empty column group of the given compression type,
+	 * which is subsequently populated via readFields.
+	 *
+	 * @param ctype compression type
+	 * @return empty column group
+	 */
+	public static ColGroup createColGroup(CompressionType ctype) {
+		switch( ctype ) {
+			case UNCOMPRESSED: return new ColGroupUncompressed();
+			case OLE_BITMAP:   return new ColGroupOLE();
+			case RLE_BITMAP:   return new ColGroupRLE();
+			case DDC1:         return new ColGroupDDC1();
+			case DDC2:         return new ColGroupDDC2();
+			case DDCBP:        return new ColGroupDDCBP();
+			case FOR:          return new ColGroupFOR();
+			default:
+				throw new RuntimeException("Unsupported column group type: "+ctype);
+		}
+	}
+
+	/**
+	 * Indicates if the given column group is serialized without its
+	 * dictionary because it uses the shared DDC1 dictionary.
+	 *
+	 * @param grp column group
+	 * @param sharedDict shared DDC1 dictionary or null
+	 * @return true if the column group uses the shared dictionary
+	 */
+	public static boolean isSharedDict(ColGroup grp, double[] sharedDict) {
+		return sharedDict != null && grp instanceof ColGroupDDC1
+			&& grp.getNumCols() == 1;
+	}
+
+	/**
+	 * Obtains the shared DDC1 dictionary of the given column groups,
+	 * i.e., the dictionary of the first single-column DDC1 group.
+	 *
+	 * @param groups column groups
+	 * @param shared true if the column groups share a DDC1 dictionary
+	 * @return shared dictionary, or null if not shared
+	 */
+	public static double[] getSharedDict(List<ColGroup> groups, boolean shared) {
+		if( shared )
+			for( ColGroup grp : groups )
+				if( grp instanceof ColGroupDDC1 && grp.getNumCols()==1 )
+					return ((ColGroupDDC1)grp).getValues();
+		return null;
+	}
+
+	/**
+	 * Encodes the payloads of the given column groups with the given codec,
+	 * which allows reusing the encoded payloads for both the exact size
+	 * computation and the subsequent serialization.
+	 *
+	 * @param groups column groups
+	 * @param sharedDict shared DDC1 dictionary or null
+	 * @param codec payload codec
+	 * @return encoded payloads, or null for no codec
+	 */
+	public static byte[][] encodePayloads(List<ColGroup> groups, double[] sharedDict, Codec codec) {
+		if( codec == Codec.NONE )
+			return null;
+		byte[][] ret = new byte[groups.size()][];
+		for( int i=0; i<groups.size(); i++ )
+			ret[i] = encodePayload(groups.get(i), sharedDict, codec);
+		return ret;
+	}
+
+	/**
+	 * Obtains the exact serialized size of the given column groups including
+	 * the shared dictionary, directory, and payloads.
+	 *
+	 * @param groups column groups
+	 * @param sharedDict shared DDC1 dictionary or null
+	 * @param payloads encoded payloads (see {@link #encodePayloads}) or null
+	 * @return serialized size in bytes
+	 */
+	public static long getExactSizeOnDisk(List<ColGroup> groups, double[] sharedDict, byte[][] payloads) {
+		long ret = 4 + ((sharedDict!=null) ? 8L * sharedDict.length : 0) + 4;
+		for( int i=0; i<groups.size(); i++ ) {
+			ret += getDirectoryEntrySize(groups.get(i));
+			ret += (payloads == null) ? getRawSize(groups.get(i), sharedDict) :
+				payloads[i].length;
+		}
+		return ret;
+	}
+
+	/**
+	 * Serializes the shared DDC1 dictionary, which precedes the
+	 * column groups written via {@link #writeColGroups}.
+	 *
+	 * @param out data output
+	 * @param sharedDict shared DDC1 dictionary or null
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeSharedDict(DataOutput out, double[] sharedDict)
+		throws IOException
+	{
+		out.writeInt((sharedDict != null) ? sharedDict.length : -1);
+		if( sharedDict != null )
+			for( int i=0; i<sharedDict.length; i++ )
+				out.writeDouble(sharedDict[i]);
+	}
+
+	/**
+	 * Deserializes the shared DDC1 dictionary.
+	 *
+	 * @param in data input
+	 * @return shared DDC1 dictionary, or null if not shared
+	 * @throws IOException if IOException occurs
+	 */
+	public static double[] readSharedDict(DataInput in)
+		throws IOException
+	{
+		int len = in.readInt();
+		if( len < 0 )
+			return null;
+		double[] ret = new double[len];
+		for( int i=0; i<len; i++ )
+			ret[i] = in.readDouble();
+		return ret;
+	}
+
+	/**
+	 * Serializes the given column groups in the columnar format, i.e.,
+	 * the directory followed by the column group payloads.
+	 *
+	 * @param out data output
+	 * @param groups column groups
+	 * @param sharedDict shared DDC1 dictionary or null
+	 * @param payloads encoded payloads (see {@link #encodePayloads}) or null
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeColGroups(DataOutput out, List<ColGroup> groups, double[] sharedDict, byte[][] payloads)
+		throws IOException
+	{
+		if( payloads == null )
+			payloads = new byte[groups.size()][];
+
+		//write directory
+		out.writeInt(groups.size());
+		for( int i=0; i<groups.size(); i++ ) {
+			ColGroup grp = groups.get(i);
+			int rawLen = getRawSize(grp, sharedDict);
+			out.writeByte(grp.getCompType().ordinal());
+			out.writeByte(getCodec(payloads[i], rawLen).ordinal());
+			out.writeInt(grp.getNumCols());
+			for( int ix : grp.getColIndices() )
+				out.writeInt(ix);
+			out.writeInt((payloads[i] != null) ? payloads[i].length : rawLen);
+			out.writeInt(rawLen);
+		}
+
+		//write payloads
+		for( int i=0; i<groups.size(); i++ ) {
+			if( payloads[i] != null )
+				out.write(payloads[i]);
+			else
+				groups.get(i).write(out, isSharedDict(groups.get(i), sharedDict));
+		}
+	}
+
+	/**
+	 * Deserializes all column groups of the columnar format in a
+	 * streaming manner, i.e., without random access to the input.
+	 *
+	 * @param in data input
+	 * @param sharedDict shared DDC1 dictionary or null
+	 * @return column groups
+	 * @throws IOException if IOException occurs
+	 */
+	public static ArrayList<ColGroup> readColGroups(DataInput in, double[] sharedDict)
+		throws IOException
+	{
+		//read directory
+		int ncolGroups = in.readInt();
+		DirectoryEntry[] dir = new DirectoryEntry[ncolGroups];
+		for( int i=0; i<ncolGroups; i++ )
+			dir[i] = readDirectoryEntry(in);
+
+		//read payloads
+		ArrayList<ColGroup> ret = new ArrayList<>(ncolGroups);
+		for( int i=0; i<ncolGroups; i++ ) {
+			if( dir[i].codec == Codec.NONE )
+				ret.add(readColGroup(in, dir[i], sharedDict));
+			else {
+				byte[] tmp = PageCache.obtainPage(dir[i].storedLen);
+				in.readFully(tmp, 0, dir[i].storedLen);
+				ret.add(readColGroup(ByteBuffer.wrap(tmp), 0, dir[i], sharedDict));
+				PageCache.releasePage(tmp);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Deserializes all column groups of the legacy row-wise format (shared
+	 * dictionary flag, number of column groups, and per column group the 
+	 * type and serialized column group), which precedes the columnar format.
+	 * Within this format, only the first single-column DDC1 group carries 
+	 * the shared dictionary.
+	 *
+	 * @param in data input
+	 * @param shared true if the column groups share a DDC1 dictionary
+	 * @return column groups
+	 * @throws IOException if IOException occurs
+	 */
+	public static ArrayList<ColGroup> readLegacyColGroups(DataInput in, boolean shared)
+		throws IOException
+	{
+		int ncolGroups = in.readInt();
+		ArrayList<ColGroup> ret = new ArrayList<>(ncolGroups);
+		double[] sharedDict = null;
+		for( int i=0; i<ncolGroups; i++ ) {
+			ColGroup grp = createColGroup(CompressionType.values()[in.readByte()]);
+			grp.readFields(in, sharedDict!=null);
+			
+			//use shared DDC1 dictionary if applicable
+			if( shared && grp.getNumCols()==1 && grp instanceof ColGroupDDC1 ) {
+				if( sharedDict == null )
+					sharedDict = ((ColGroupValue)grp).getValues();
+				else
+					((ColGroupValue)grp).setValues(sharedDict);
+			}
+			ret.add(grp);
+		}
+		return ret;
+	}
+
+	static DirectoryEntry readDirectoryEntry(DataInput in) throws IOException {
+		CompressionType ctype = CompressionType.values()[in.readByte()];
+		Codec codec = Codec.values()[in.readByte()];
+		int[] colIndices = new int[in.readInt()];
+		for( int j=0; j<colIndices.length; j++ )
+			colIndices[j] = in.readInt();
+		return new DirectoryEntry(ctype, codec, colIndices, in.readInt(), in.readInt());
+	}
+
+	/**
+	 * Deserializes a single column group from the given buffer at the
+	 * given offset, where uncompressed payloads are read directly from
+	 * the buffer and compressed payloads are decompressed first.
+	 *
+	 * @param buff byte buffer
+	 * @param off offset of the column group payload
+	 * @param entry directory entry
+	 * @param sharedDict shared DDC1 dictionary or null
+	 * @return column group
+	 * @throws IOException if IOException occurs
+	 */
+	static ColGroup readColGroup(ByteBuffer buff, int off, DirectoryEntry entry, double[] sharedDict)
+		throws IOException
+	{
+		if( entry.codec == Codec.NONE ) {
+			ByteBuffer lbuff = buff.duplicate();
+			lbuff.limit(off + entry.storedLen);
+			lbuff.position(off);
+			return readColGroup(new ByteBufferDataInput(lbuff), entry, sharedDict);
+		}
+		
+		//decompress into temporary page (not referenced by column groups)
+		byte[] raw = PageCache.obtainPage(entry.rawLen);
+		LZ4Utils.decompress(buff, off, entry.storedLen, raw, entry.rawLen);
+		ColGroup ret = readColGroup(new ByteBufferDataInput(
+			ByteBuffer.wrap(raw, 0, entry.rawLen)), entry, sharedDict);
+		PageCache.releasePage(raw);
+		return ret;
+	}
+
+	private static ColGroup readColGroup(DataInput in, DirectoryEntry entry, double[] sharedDict)
+		throws IOException
+	{
+		//deserialize column group (flag for shared dictionary passed
+		//and numCols evaluated in DDC1 because numCols not available yet)
+		ColGroup grp = createColGroup(entry.ctype);
+		boolean shared = (sharedDict != null && entry.ctype == CompressionType.DDC1
+			&& entry.colIndices.length == 1);
+		grp.readFields(in, shared);
+		if( shared )
+			((ColGroupValue)grp).setValues(sharedDict);
+		return grp;
+	}
+
+	private static int getDirectoryEntrySize(ColGroup grp) {
+		return 1 + 1 + 4 + 4 * grp.getNumCols() + 4 + 4;
+	}
+
+	private static int getRawSize(ColGroup grp, double[] sharedDict) {
+		long ret = grp.getExactSizeOnDisk();
+		if( isSharedDict(grp, sharedDict) )
+			ret -= 8L * ((ColGroupDDC1)grp).getValues().length;
+		if( ret > Integer.MAX_VALUE )
+			throw new RuntimeException("Column group exceeds the maximum serialized size: "+ret);
+		return (int) ret;
+	}
+
+	private static Codec getCodec(byte[] payload, int rawLen) {
+		return (payload != null && payload.length < rawLen) ? Codec.LZ4 : Codec.NONE;
+	}
+
+	private static byte[] encodePayload(ColGroup grp, double[] sharedDict, Codec codec) {
+		int rawLen = getRawSize(grp, sharedDict);
+		byte[] raw = new byte[rawLen];
+		try {
+			grp.write(new CacheDataOutput(raw), isSharedDict(grp, sharedDict));
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+
+		//compress payload, but keep raw payload if not smaller
+		byte[] tmp = PageCache.obtainPage(LZ4Utils.maxCompressedLength(rawLen));
+		int len = LZ4Utils.compress(raw, rawLen, tmp);
+		byte[] ret = (len < rawLen) ? Arrays.copyOf(tmp, len) : raw;
+		PageCache.releasePage(tmp);
+		return ret;
+	}
+
+	static class DirectoryEntry {
+		final CompressionType ctype;
+		final Codec codec;
+		final int[] colIndices;
+		final int storedLen;
+		final int rawLen;
+
+		DirectoryEntry(CompressionType ctype, Codec codec, int[] colIndices, int storedLen, int rawLen) {
+			this.ctype = ctype;
+			this.codec = codec;
+			this.colIndices = colIndices;
+			this.storedLen = storedLen;
+			this.rawLen = rawLen;
+		}
+	}
+}
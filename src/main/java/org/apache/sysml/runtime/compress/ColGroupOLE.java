@@ -32,6 +32,7 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 /**
@@ -291,6 +292,35 @@ public class ColGroupOLE extends ColGroupOffset
 		return new ColGroupOLE(_colIndexes, _numRows, loff.length<_numRows,
 				rvalues, rbitmaps, rbitmapOffs);
 	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+	{
+		//fast path: sparse-safe operations w.r.t. the group columns
+		// Note that bitmaps don't change and are shallow-copied
+		if( isSparseSafeRowOp(op, v) ) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros,
+					applyBinaryRowOp(op, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (create new bitmap for zero rows)
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if( loff.length==0 ) { //empty offset list: go back to fast path
+			return new ColGroupOLE(_colIndexes, _numRows, true,
+					applyBinaryRowOp(op, v, false), _data, _ptr);
+		}
+		
+		double[] rvalues = applyBinaryRowOp(op, v, true);
+		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length;
+		
+		return new ColGroupOLE(_colIndexes, _numRows, loff.length<_numRows,
+				rvalues, rbitmaps, rbitmapOffs);
+	}
 
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
@@ -381,6 +411,33 @@ public class ColGroupOLE extends ColGroupOffset
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(double[] preagg, double[] c, int n, int rl, int ru) 
+	{
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		
+		//step 1: prepare position array
+		int[] apos = skipScan(numVals, rl);
+		
+		//step 2: horizontal segment scans over all values, 
+		//adding the pre-aggregated row per offset
+		for( int bi=rl; bi<ru; bi+=blksz ) {
+			for( int k = 0; k < numVals; k++ ) {
+				int boff = _ptr[k];
+				int blen = len(k);
+				int bix = apos[k];
+				if( bix >= blen )
+					continue;
+				int len = _data[boff+bix];
+				int pos = boff+bix+1;
+				for( int i=pos; i<pos+len; i++ )
+					LinearAlgebraUtils.vectAdd(preagg, c, k*n, (bi+_data[i])*n, n);
+				apos[k] += len + 1;
+			}
+		}
+	}
+
 	@Override
 	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result)
 	{
@@ -33,6 +33,7 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
@@ -359,6 +360,37 @@ public class ColGroupRLE extends ColGroupOffset
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(double[] preagg, double[] c, int n, int rl, int ru)
+	{
+		final int numVals = getNumValues();
+		
+		//current pos / values per RLE list
+		int[] astart = new int[numVals];
+		int[] apos = skipScan(numVals, rl, astart);
+		
+		for (int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int bix = apos[k];
+			int start = astart[k];
+			
+			//add pre-aggregated row for all rows of runs, not aligned
+			while( bix<blen ) {
+				int lstart = _data[boff + bix];
+				int llen = _data[boff + bix + 1];
+				int from = Math.max(rl, start+lstart);
+				int to = Math.min(start+lstart+llen, ru);
+				for( int i=from, cix=from*n; i<to; i++, cix+=n )
+					LinearAlgebraUtils.vectAdd(preagg, c, k*n, cix, n);
+				if(start+lstart+llen >= ru)
+					break;
+				start += lstart + llen;
+				bix += 2;
+			}
+		}
+	}
+
 	@Override
 	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result)
 	{
@@ -497,6 +529,35 @@ public class ColGroupRLE extends ColGroupOffset
 		return new ColGroupRLE(_colIndexes, _numRows, loff.length<_numRows,
 				rvalues, rbitmaps, rbitmapOffs);
 	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+	{
+		//fast path: sparse-safe operations w.r.t. the group columns
+		// Note that bitmaps don't change and are shallow-copied
+		if( isSparseSafeRowOp(op, v) ) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros,
+					applyBinaryRowOp(op, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (create new bitmap for zero rows)
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if( loff.length==0 ) { //empty offset list: go back to fast path
+			return new ColGroupRLE(_colIndexes, _numRows, true,
+					applyBinaryRowOp(op, v, false), _data, _ptr);
+		}
+		
+		double[] rvalues = applyBinaryRowOp(op, v, true);
+		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length;
+		
+		return new ColGroupRLE(_colIndexes, _numRows, loff.length<_numRows,
+				rvalues, rbitmaps, rbitmapOffs);
+	}
 
 	@Override
 	protected final void computeSum(MatrixBlock result, KahanFunction kplus)
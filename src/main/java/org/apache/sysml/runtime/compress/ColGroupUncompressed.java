@@ -35,6 +35,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
@@ -297,6 +298,44 @@ public class ColGroupUncompressed extends ColGroup
 		LibMatrixMult.matrixMult(_data, shortVector, result, k);	
 	}
 	
+	public void rightMultByMatrix(double[] b, int n, MatrixBlock result, int k) {
+		// Pull out the relevant rows of the matrix
+		int clen = _colIndexes.length;
+		
+		MatrixBlock shortMatrix = new MatrixBlock(clen, n, false);
+		shortMatrix.allocateDenseBlock();
+		double[] sb = shortMatrix.getDenseBlockValues();
+		for (int colIx = 0; colIx < clen; colIx++)
+			System.arraycopy(b, _colIndexes[colIx]*n, sb, colIx*n, n);
+		shortMatrix.recomputeNonZeros();
+		
+		// Multiply the selected columns by the appropriate parts of the matrix
+		MatrixBlock tmp = new MatrixBlock(getNumRows(), n, false);
+		LibMatrixMult.matrixMult(_data, shortMatrix, tmp, k);
+		if( tmp.isEmptyBlock(false) )
+			return;
+		
+		// adding the partial result to the output
+		double[] c = result.getDenseBlockValues();
+		if( tmp.isInSparseFormat() ) {
+			SparseBlock a = tmp.getSparseBlock();
+			for( int i=0; i<tmp.getNumRows(); i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					c[i*n+aix[j]] += avals[j];
+			}
+		}
+		else {
+			double[] a = tmp.getDenseBlockValues();
+			for( int i=0; i<a.length; i++ )
+				c[i] += a[i];
+		}
+	}
+	
 	@Override
 	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result)
 	{
@@ -335,6 +374,23 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		//slice row vector to the columns of this group
+		MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+		vect.allocateDenseBlock();
+		double[] c = vect.getDenseBlockValues();
+		for( int j = 0; j < _colIndexes.length; j++ )
+			c[j] = v[_colIndexes[j]];
+		vect.recomputeNonZeros();
+		
+		//execute binary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+			.binaryOperations(op, vect, new MatrixBlock());
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret) {
 		//execute unary aggregate operations
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.compress;
 
 import java.util.Arrays;
 
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
@@ -29,6 +30,7 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
@@ -265,6 +267,28 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	/**
+	 * Pre-aggregates all distinct value tuples with the rows of a dense
+	 * right-hand-side matrix that correspond to the columns of this group,
+	 * i.e., computes the numVals x n matrix of value tuples times rhs.
+	 * 
+	 * @param b dense rhs matrix in row-major format
+	 * @param n number of columns of the rhs matrix
+	 * @return pre-aggregated values (numVals x n, row-major)
+	 */
+	public final double[] preaggValues(double[] b, int n) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		double[] ret = new double[numVals * n];
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols )
+			for( int j = 0; j < numCols; j++ ) {
+				double aval = _values[valOff+j];
+				if( aval != 0 )
+					LinearAlgebraUtils.vectMultiplyAdd(aval, b, ret, _colIndexes[j]*n, k*n, n);
+			}
+		return ret;
+	}
+	
 	/**
 	 * NOTE: Shared across OLE/RLE/DDC because value-only computation. 
 	 * 
@@ -326,6 +350,20 @@ public abstract class ColGroupValue extends ColGroup
 	//additional vector-matrix multiplication to avoid DDC uncompression
 	public abstract void leftMultByRowVector(ColGroupDDC vector, MatrixBlock result);
 
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the right, and add the result to the output rows. The rhs
+	 * is given as pre-aggregated value tuples, which are added per row according
+	 * to the group-specific offsets.
+	 * 
+	 * @param preagg pre-aggregated values, see {@link #preaggValues(double[], int)}
+	 * @param c dense output in row-major format
+	 * @param n number of columns of the rhs matrix and output
+	 * @param rl row lower, inclusive (aligned with bitmap blocks)
+	 * @param ru row upper, exclusive
+	 */
+	public abstract void rightMultByMatrix(double[] preagg, double[] c, int n, int rl, int ru);
+
 	
 	/**
 	 * Method for use by subclasses. Applies a scalar operation to the value
@@ -357,6 +395,55 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	/**
+	 * Method for use by subclasses. Applies a binary operation with a row
+	 * vector to the value metadata stored in the superclass, where each
+	 * value tuple is combined with the vector entries of the group columns.
+	 * 
+	 * @param op
+	 *            binary operation to perform
+	 * @param v
+	 *            dense row vector of the entire matrix (indexed by column)
+	 * @param appendZero
+	 *            if true, append the tuple resulting from (0 op v)
+	 * @return transformed copy of value metadata for this column group
+	 */
+	protected double[] applyBinaryRowOp(BinaryOperator op, double[] v, boolean appendZero) {
+		final int numCols = getNumCols();
+		final int len = _values.length;
+		double[] ret = new double[appendZero ? len + numCols : len];
+		
+		//scan over linearized values
+		for( int i = 0; i < len; i+=numCols )
+			for( int j = 0; j < numCols; j++ )
+				ret[i+j] = op.fn.execute(_values[i+j], v[_colIndexes[j]]);
+		
+		//add new value tuple to the end
+		if( appendZero )
+			for( int j = 0; j < numCols; j++ )
+				ret[len+j] = op.fn.execute(0, v[_colIndexes[j]]);
+		
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the given row vector operation maps zeros of all group
+	 * columns to zero, in which case the offsets of unrepresented zero rows
+	 * can be left untouched.
+	 * 
+	 * @param op binary operation
+	 * @param v dense row vector of the entire matrix (indexed by column)
+	 * @return true if sparse-safe w.r.t. the group columns
+	 */
+	protected boolean isSparseSafeRowOp(BinaryOperator op, double[] v) {
+		if( op.sparseSafe )
+			return true;
+		for( int j = 0; j < _colIndexes.length; j++ )
+			if( op.fn.execute(0, v[_colIndexes[j]]) != 0 )
+				return false;
+		return true;
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) {
 		unaryAggregateOperations(op, result, 0, getNumRows());
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import org.apache.sysml.runtime.compress.ColGroup.CompressionType;
+import org.apache.sysml.runtime.compress.ColGroupIO.DirectoryEntry;
+import org.apache.sysml.runtime.util.ByteBufferDataInput;
+
+/**
+ * Random-access reader of serialized compressed matrix blocks, which parses
+ * the block header and column group directory upfront but deserializes
+ * individual column groups lazily on request. Uncompressed column group
+ * payloads are read directly from the given buffer without intermediate
+ * copies, which allows zero-copy deserialization from heap or direct
+ * (e.g., memory-mapped) byte buffers.
+ */
+public class CompressedBlockReader
+{
+	private final ByteBuffer _buff;
+	private final int _rlen;
+	private final int _clen;
+	private final long _nonZeros;
+	private final double[] _sharedDict;
+	private final DirectoryEntry[] _dir;
+	private final int[] _offsets;
+	private final ColGroup[] _colGroups;
+
+	/**
+	 * Creates a reader for the serialized compressed block starting at the
+	 * current position of the given buffer. The buffer position and limit
+	 * are not modified.
+	 *
+	 * @param buff byte buffer
+	 * @throws IOException if the buffer does not contain a compressed block
+	 */
+	public CompressedBlockReader(ByteBuffer buff)
+		throws IOException
+	{
+		_buff = buff.duplicate();
+		ByteBufferDataInput in = new ByteBufferDataInput(_buff.duplicate());
+
+		//read block header
+		if( in.readByte() != ColGroupIO.FLAG_COLUMNAR )
+			throw new IOException("Serialized block is not compressed in columnar format.");
+		byte version = in.readByte();
+		if( version != ColGroupIO.FORMAT_VERSION )
+			throw new IOException("Unsupported compressed block format version: "+version);
+		_rlen = in.readInt();
+		_clen = in.readInt();
+		_nonZeros = in.readLong();
+		_sharedDict = ColGroupIO.readSharedDict(in);
+
+		//read directory and compute payload offsets
+		int ncolGroups = in.readInt();
+		_dir = new DirectoryEntry[ncolGroups];
+		for( int i=0; i<ncolGroups; i++ )
+			_dir[i] = ColGroupIO.readDirectoryEntry(in);
+		_offsets = new int[ncolGroups];
+		int off = _buff.position() + (_buff.remaining() - in.available());
+		for( int i=0; i<ncolGroups; i++ ) {
+			_offsets[i] = off;
+			off += _dir[i].storedLen;
+		}
+		_colGroups = new ColGroup[ncolGroups];
+	}
+
+	public int getNumRows() {
+		return _rlen;
+	}
+
+	public int getNumColumns() {
+		return _clen;
+	}
+
+	public long getNonZeros() {
+		return _nonZeros;
+	}
+
+	public boolean hasSharedDictionary() {
+		return _sharedDict != null;
+	}
+
+	public int getNumColGroups() {
+		return _dir.length;
+	}
+
+	public int[] getColIndices(int ix) {
+		return _dir[ix].colIndices;
+	}
+
+	public CompressionType getCompType(int ix) {
+		return _dir[ix].ctype;
+	}
+
+	/**
+	 * Obtains the column group at the given position in the directory,
+	 * which is deserialized on first access.
+	 *
+	 * @param ix column group index
+	 * @return column group
+	 * @throws IOException if IOException occurs
+	 */
+	public synchronized ColGroup readColGroup(int ix)
+		throws IOException
+	{
+		if( _colGroups[ix] == null )
+			_colGroups[ix] = ColGroupIO.readColGroup(
+				_buff, _offsets[ix], _dir[ix], _sharedDict);
+		return _colGroups[ix];
+	}
+
+	/**
+	 * Obtains all column groups that cover any of the given columns,
+	 * which avoids the deserialization of unrelated column groups.
+	 *
+	 * @param cols column indexes
+	 * @return list of column groups in directory order
+	 * @throws IOException if IOException occurs
+	 */
+	public ArrayList<ColGroup> readColGroups(int[] cols)
+		throws IOException
+	{
+		ArrayList<ColGroup> ret = new ArrayList<>();
+		for( int i=0; i<_dir.length; i++ ) {
+			boolean found = false;
+			for( int ix : _dir[i].colIndices )
+				for( int j=0; j<cols.length && !found; j++ )
+					found = (ix == cols[j]);
+			if( found )
+				ret.add(readColGroup(i));
+		}
+		return ret;
+	}
+
+	/**
+	 * Obtains all column groups of the serialized block.
+	 *
+	 * @return list of column groups in directory order
+	 * @throws IOException if IOException occurs
+	 */
+	public ArrayList<ColGroup> readColGroups()
+		throws IOException
+	{
+		ArrayList<ColGroup> ret = new ArrayList<>(_dir.length);
+		for( int i=0; i<_dir.length; i++ )
+			ret.add(readColGroup(i));
+		return ret;
+	}
+}
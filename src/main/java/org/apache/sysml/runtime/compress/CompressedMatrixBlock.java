@@ -25,6 +25,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -70,6 +71,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell.BinaryAccessType;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -92,6 +94,7 @@ import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.ByteBufferDataInput;
 import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.SortUtils;
@@ -109,8 +112,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public static final boolean MATERIALIZE_ZEROS = false;
 	public static final long MIN_PAR_AGG_THRESHOLD = 16*1024*1024; //16MB
 	public static final boolean INVESTIGATE_ESTIMATES = false;
+	public static final double MIN_EST_COMPRESSION_RATIO = 1.1; //early abort threshold
 	public static boolean ALLOW_DDC_ENCODING = true;
+	public static boolean ALLOW_DDC_BITPACKING = true;
+	public static boolean ALLOW_FOR_ENCODING = true;
 	public static final boolean ALLOW_SHARED_DDC1_DICTIONARY = true;
+	public static ColGroupIO.Codec SERIALIZE_CODEC = ColGroupIO.Codec.NONE;
 	private static final boolean LDEBUG = true; //local debug flag
 	private static final Level LDEBUG_LEVEL = Level.INFO; //DEBUG/TRACE for details
 	
@@ -128,6 +135,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	protected CompressionStatistics _stats = null;
 	protected boolean _sharedDDC1Dict = false;
 	
+	//encoded payloads of the last exact size computation, reused by the
+	//subsequent write if the codec and column groups are unchanged
+	private transient ColGroup[] _payloadGroups = null;
+	private transient ColGroupIO.Codec _payloadCodec = null;
+	private transient byte[][] _payloads = null;
+	
 	public CompressedMatrixBlock() {
 		super(0, 0, true);
 	}
@@ -248,10 +261,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		final boolean sparse = isInSparseFormat();
 		MatrixBlock rawblock = !TRANSPOSE_INPUT ? new MatrixBlock(this) :
 			LibMatrixReorg.transpose(this, new MatrixBlock(numCols, numRows, sparse), k);
+		_stats.timeTranspose = time.stop();
 		
 		//construct sample-based size estimator
 		CompressedSizeEstimator bitmapSizeEstimator = 
 				SizeEstimatorFactory.getSizeEstimator(rawblock, numRows);
+		_stats.timeSample = time.stop();
 
 		// PHASE 1: Classify columns by compression type
 		// We start by determining which columns are amenable to compression
@@ -264,6 +279,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		CompressedSizeInfo[] sizeInfos = (k > 1) ?
 				computeCompressedSizeInfos(bitmapSizeEstimator, numCols, k) : 
 				computeCompressedSizeInfos(bitmapSizeEstimator, numCols);
+		_stats.timeEstimate = time.stop();
 		long nnzUC = 0;
 		for (int col = 0; col < numCols; col++)  {
 			double uncompSize = getUncompressedSize(numRows, 1, 
@@ -304,10 +320,22 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				colsUC.stream().map(c -> compRatios.get(c)).toArray()));
 		}
 		
+		// estimate compression ratio without co-coding, which is a lower bound 
+		// as co-coding only merges groups if it reduces the estimated size
+		double estSizeC = 0;
+		for( int col : colsC )
+			estSizeC += sizeInfos[col].getMinSize();
+		double estSizeUC = colsUC.isEmpty() ? 0 : MatrixBlock.estimateSizeInMemory(numRows,
+			colsUC.size(), OptimizerUtils.getSparsity(numRows, colsUC.size(), nnzUC));
+		_stats.estRatio = estimateSizeInMemory() / (estSizeC + estSizeUC);
+		
+		_stats.timePhase1 = _stats.timeTranspose + _stats.timeSample 
+			+ _stats.timeEstimate + time.stop();
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase1 = time.stop();
 			LOG.debug("Compression statistics:");
-			LOG.debug("--compression phase 1: "+_stats.timePhase1);
+			LOG.debug("--compression phase 1: "+_stats.timePhase1+" (transpose: "+_stats.timeTranspose
+				+", sample: "+_stats.timeSample+", estimate: "+_stats.timeEstimate+")");
+			LOG.debug("--estimated compression ratio: "+_stats.estRatio);
 		}
 		
 		if( colsC.isEmpty() ) {
@@ -316,14 +344,22 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			return new MatrixBlock().copyShallow(this);
 		}
 		
+		if( _stats.estRatio < MIN_EST_COMPRESSION_RATIO ) {
+			if( LOG.isDebugEnabled() )
+				LOG.debug("Abort block compression because estimated compression ratio is less than "
+					+ MIN_EST_COMPRESSION_RATIO + ".");
+			return new MatrixBlock().copyShallow(this);
+		}
+		
 		// PHASE 2: Grouping columns
 		// Divide the bitmap columns into column groups.
 		List<int[]> bitmapColGrps = PlanningCoCoder.findCocodesByPartitioning(
-				bitmapSizeEstimator, colsC, sizeInfos, numRows, k);
+				bitmapSizeEstimator, colsC, sizeInfos, numRows, k, _stats);
 
+		_stats.timePhase2 = time.stop();
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase2 = time.stop();
-			LOG.debug("--compression phase 2: "+_stats.timePhase2);
+			LOG.debug("--compression phase 2: "+_stats.timePhase2+" (partition: "+_stats.timePartition
+				+", cocode: "+_stats.timeCocode+")");
 		}
 			
 		if( INVESTIGATE_ESTIMATES ) {
@@ -349,10 +385,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			}
 		}
 		
-		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase3 = time.stop();
+		_stats.timePhase3 = time.stop();
+		if( LOG.isDebugEnabled() )
 			LOG.debug("--compression phase 3: "+_stats.timePhase3);
-		}
 		
 		// PHASE 4: Best-effort dictionary sharing for DDC1 single-col groups
 		double[] dict = createSharedDDC1Dictionary(_colGroups);
@@ -361,10 +396,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			_sharedDDC1Dict = true;
 		}
 		
-		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase4 = time.stop();
+		_stats.timePhase4 = time.stop();
+		if( LOG.isDebugEnabled() )
 			LOG.debug("--compression phase 4: "+_stats.timePhase4);
-		}
 		
 		// Phase 5: Cleanup
 		// The remaining columns are stored uncompressed as one big column group
@@ -387,15 +421,15 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		rawblock.cleanupBlock(true, true);
 		this.cleanupBlock(true, true);
 		
+		_stats.timePhase5 = time.stop();
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase5 = time.stop();
 			int[] counts = getColGroupCounts(_colGroups);
 			LOG.debug("--compression phase 5: "+_stats.timePhase5);
 			LOG.debug("--num col groups: "+_colGroups.size());
-			LOG.debug("--col groups types (OLE,RLE,DDC1,DDC2,UC): "
-					+counts[2]+","+counts[1]+","+counts[3]+","+counts[4]+","+counts[0]);
-			LOG.debug("--col groups sizes (OLE,RLE,DDC1,DDC2,UC): "
-					+counts[7]+","+counts[6]+","+counts[8]+","+counts[9]+","+counts[5]);
+			LOG.debug("--col groups types (OLE,RLE,DDC1,DDC2,DDCBP,FOR,UC): "
+					+counts[2]+","+counts[1]+","+counts[3]+","+counts[4]+","+counts[5]+","+counts[6]+","+counts[0]);
+			LOG.debug("--col groups sizes (OLE,RLE,DDC1,DDC2,DDCBP,FOR,UC): "
+					+counts[9]+","+counts[8]+","+counts[10]+","+counts[11]+","+counts[12]+","+counts[13]+","+counts[7]);
 			LOG.debug("--compressed size: "+_stats.size);
 			LOG.debug("--compression ratio: "+_stats.ratio);
 		}
@@ -415,10 +449,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	 * @return counts 
 	 */
 	private static int[] getColGroupCounts(ArrayList<ColGroup> colgroups) {
-		int[] ret = new int[10]; //5 x count, 5 x num_columns
+		int[] ret = new int[14]; //7 x count, 7 x num_columns
 		for( ColGroup c : colgroups ) {
 			ret[c.getCompType().ordinal()] ++;
-			ret[5+c.getCompType().ordinal()] += c.getNumCols();
+			ret[7+c.getCompType().ordinal()] += c.getNumCols();
 		}
 		return ret;
 	}
@@ -531,8 +565,18 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		long rleSize = sizeInfo.getRLESize();
 		long oleSize = sizeInfo.getOLESize();
 		long ddcSize = sizeInfo.getDDCSize();
+		long ddcbpSize = sizeInfo.getDDCBPSize();
+		long forSize = sizeInfo.getFORSize();
 		
-		if( ALLOW_DDC_ENCODING && ddcSize < rleSize && ddcSize < oleSize ) {
+		if( ALLOW_FOR_ENCODING && forSize < ddcbpSize && forSize < ddcSize
+			&& forSize < rleSize && forSize < oleSize ) {
+			return new ColGroupFOR(colIndexes, rlen, ubm);
+		}
+		else if( ALLOW_DDC_ENCODING && ALLOW_DDC_BITPACKING && ddcbpSize < ddcSize
+			&& ddcbpSize < rleSize && ddcbpSize < oleSize ) {
+			return new ColGroupDDCBP(colIndexes, rlen, ubm);
+		}
+		else if( ALLOW_DDC_ENCODING && ddcSize < rleSize && ddcSize < oleSize ) {
 			if( ubm.getNumValues()<=255 )
 				return new ColGroupDDC1(colIndexes, rlen, ubm);
 			else
@@ -737,7 +781,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		public double timePhase3 = -1;
 		public double timePhase4 = -1;
 		public double timePhase5 = -1;
+		//breakdown of phase 1 (classify) and phase 2 (co-coding)
+		public double timeTranspose = -1;
+		public double timeSample = -1;
+		public double timeEstimate = -1;
+		public double timePartition = -1;
+		public double timeCocode = -1;
 		public double estSize = -1;
+		public double estRatio = -1;
 		public double size = -1;
 		public double ratio = -1;
 		
@@ -776,15 +827,54 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 
 	@Override
 	public long getExactSizeOnDisk() {
-		//header information
-		long ret = 22;
-		for( ColGroup grp : _colGroups ) {
-			ret += 1; //type info
-			ret += grp.getExactSizeOnDisk();
-		}
+		return getExactSizeOnDisk(SERIALIZE_CODEC);
+	}
+	
+	/**
+	 * Obtains the exact serialized size for the given payload codec.
+	 * Note that the size for the LZ4 codec requires compressing all 
+	 * column groups, while the size for no codec is cheap to compute.
+	 * The compressed payloads are retained for the subsequent write.
+	 * 
+	 * @param codec payload codec
+	 * @return serialized size in bytes
+	 */
+	public long getExactSizeOnDisk(ColGroupIO.Codec codec) {
+		//uncompressed block w/ compression flag
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
+		//header information and serialized column groups
+		long ret = 18;
+		double[] sharedDict = ColGroupIO.getSharedDict(_colGroups, _sharedDDC1Dict);
+		ret += ColGroupIO.getExactSizeOnDisk(_colGroups, sharedDict,
+			getEncodedPayloads(sharedDict, codec));
 		return ret;
 	}
 	
+	private byte[][] getEncodedPayloads(double[] sharedDict, ColGroupIO.Codec codec) {
+		if( codec == ColGroupIO.Codec.NONE )
+			return null;
+		
+		//reuse payloads if the column groups are unchanged
+		boolean valid = (_payloads != null && _payloadCodec == codec
+			&& _payloadGroups.length == _colGroups.size());
+		for( int i=0; valid && i<_payloadGroups.length; i++ )
+			valid = (_payloadGroups[i] == _colGroups.get(i));
+		if( !valid ) {
+			_payloads = ColGroupIO.encodePayloads(_colGroups, sharedDict, codec);
+			_payloadGroups = _colGroups.toArray(new ColGroup[0]);
+			_payloadCodec = codec;
+		}
+		return _payloads;
+	}
+	
+	private void clearEncodedPayloads() {
+		_payloadGroups = null;
+		_payloadCodec = null;
+		_payloads = null;
+	}
+	
 	@Override
 	public boolean isShallowSerialize() {
 		return false;
@@ -804,64 +894,83 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public void readFields(DataInput in) 
 		throws IOException 
 	{
-		boolean compressed = in.readBoolean();
+		byte flag = in.readByte();
+		clearEncodedPayloads();
 		
 		//deserialize uncompressed block
-		if( !compressed ) {
+		if( flag == ColGroupIO.FLAG_UNCOMPRESSED ) {
 			super.readFields(in);
 			return;
 		}
 		
+		//deserialize compressed block of legacy format
+		if( flag == ColGroupIO.FLAG_LEGACY ) {
+			rlen = in.readInt();
+			clen = in.readInt();
+			nonZeros = in.readLong();
+			_sharedDDC1Dict = in.readBoolean();
+			_colGroups = ColGroupIO.readLegacyColGroups(in, _sharedDDC1Dict);
+			return;
+		}
+		
 		//deserialize compressed block
+		if( flag != ColGroupIO.FLAG_COLUMNAR )
+			throw new IOException("Unsupported compressed block format flag: "+flag);
+		byte version = in.readByte();
+		if( version != ColGroupIO.FORMAT_VERSION )
+			throw new IOException("Unsupported compressed block format version: "+version);
 		rlen = in.readInt();
 		clen = in.readInt();
 		nonZeros = in.readLong();
-		_sharedDDC1Dict = in.readBoolean();
-		int ncolGroups = in.readInt();
+		double[] sharedDict = ColGroupIO.readSharedDict(in);
+		_colGroups = ColGroupIO.readColGroups(in, sharedDict);
+		_sharedDDC1Dict = (sharedDict != null);
+	}
+	
+	/**
+	 * Deserializes a compressed or uncompressed block from the given byte
+	 * buffer, starting at its current position. In contrast to
+	 * {@link #readFields(DataInput)}, the column groups are read directly
+	 * from the buffer via random access, without intermediate copies of
+	 * uncompressed column group payloads.
+	 * 
+	 * @param buff byte buffer
+	 * @throws IOException if IOException occurs
+	 */
+	public void readFields(ByteBuffer buff) 
+		throws IOException 
+	{
+		//deserialize uncompressed block
+		byte flag = buff.get(buff.position());
+		if( flag == ColGroupIO.FLAG_UNCOMPRESSED ) {
+			ByteBuffer tmp = buff.duplicate();
+			tmp.position(buff.position() + 1);
+			super.readFields(new ByteBufferDataInput(tmp));
+			return;
+		}
 		
-		_colGroups = new ArrayList<>(ncolGroups);
-		double[] sharedDict = null;
-		for( int i=0; i<ncolGroups; i++ ) 
-		{
-			CompressionType ctype = CompressionType.values()[in.readByte()];
-			ColGroup grp = null;
-			
-			//create instance of column group
-			switch( ctype ) {
-				case UNCOMPRESSED:
-					grp = new ColGroupUncompressed(); break;
-				case OLE_BITMAP:
-					grp = new ColGroupOLE(); break;
-				case RLE_BITMAP:
-					grp = new ColGroupRLE(); break;
-				case DDC1:
-					grp = new ColGroupDDC1(); break;
-				case DDC2:
-					grp = new ColGroupDDC2(); break;
-			}
-			
-			//deserialize and add column group (flag for shared dictionary passed
-			//and numCols evaluated in DDC1 because numCols not available yet
-			grp.readFields(in, sharedDict!=null);
-			
-			//use shared DDC1 dictionary if applicable
-			if( _sharedDDC1Dict && grp.getNumCols()==1
-				&& grp instanceof ColGroupDDC1 ) {
-				if( sharedDict == null )
-					sharedDict = ((ColGroupValue)grp).getValues();
-				else
-					((ColGroupValue)grp).setValues(sharedDict);
-			}
-			
-			_colGroups.add(grp);
+		//deserialize compressed block of legacy format (streaming)
+		if( flag == ColGroupIO.FLAG_LEGACY ) {
+			readFields(new ByteBufferDataInput(buff.duplicate()));
+			return;
 		}
+		
+		//deserialize compressed block
+		clearEncodedPayloads();
+		CompressedBlockReader reader = new CompressedBlockReader(buff);
+		rlen = reader.getNumRows();
+		clen = reader.getNumColumns();
+		nonZeros = reader.getNonZeros();
+		_colGroups = reader.readColGroups();
+		_sharedDDC1Dict = reader.hasSharedDictionary();
 	}
 	
 	@Override
 	public void write(DataOutput out) 
 		throws IOException 
 	{
-		out.writeBoolean( isCompressed() );
+		out.writeByte( isCompressed() ? 
+			ColGroupIO.FLAG_COLUMNAR : ColGroupIO.FLAG_UNCOMPRESSED );
 		
 		//serialize uncompressed block
 		if( !isCompressed() ) {
@@ -869,21 +978,17 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			return;
 		}
 		
-		//serialize compressed matrix block
+		//serialize compressed matrix block (header and columnar
+		//format of column groups, incl shared DDC1 dictionary)
+		out.writeByte(ColGroupIO.FORMAT_VERSION);
 		out.writeInt(rlen);
 		out.writeInt(clen);
 		out.writeLong(nonZeros);
-		out.writeBoolean(_sharedDDC1Dict);
-		out.writeInt(_colGroups.size());
-		
-		boolean skipDict = false;
-		for( ColGroup grp : _colGroups ) {
-			boolean shared = (grp instanceof ColGroupDDC1
-				&& _sharedDDC1Dict && grp.getNumCols()==1);
-			out.writeByte( grp.getCompType().ordinal() );
-			grp.write(out, skipDict & shared); //delegate serialization
-			skipDict |= shared;
-		}
+		double[] sharedDict = ColGroupIO.getSharedDict(_colGroups, _sharedDDC1Dict);
+		ColGroupIO.writeSharedDict(out, sharedDict);
+		ColGroupIO.writeColGroups(out, _colGroups, sharedDict,
+			getEncodedPayloads(sharedDict, SERIALIZE_CODEC));
+		clearEncodedPayloads();
 	}
 	
 	
@@ -964,12 +1069,48 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		for (ColGroup grp : _colGroups) {
 			newColGroups.add(grp.scalarOperation(sop));
 		}
-		ret._colGroups = newColGroups;
+		ret._colGroups = mergeUncompressedColGroups(newColGroups);
 		ret.setNonZeros(rlen*clen);
 		
 		return ret;
 	}
 
+	@Override
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
+	{
+		MatrixBlock that = getUncompressed(thatValue);
+		
+		//call uncompressed matrix binary if necessary (all but row vector ops)
+		if( !isCompressed() || !LibMatrixBincell.isValidDimensionsBinary(this, that)
+			|| LibMatrixBincell.getBinaryAccessType(this, that) != BinaryAccessType.MATRIX_ROW_VECTOR ) {
+			printDecompressWarning("binaryOperations", that);
+			MatrixBlock left = isCompressed() ? decompress() : this;
+			return left.binaryOperations(op, that, result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		
+		// Apply the row vector operation to each of the column groups,
+		// which rewrites the dictionaries of all value-based groups
+		// (except for new zero tuples of sparse-unsafe operations).
+		double[] v = ConverterUtils.getDenseVector(that);
+		ArrayList<ColGroup> newColGroups = new ArrayList<>();
+		for (ColGroup grp : _colGroups) {
+			newColGroups.add(grp.binaryRowOperation(op, v));
+		}
+		ret._colGroups = mergeUncompressedColGroups(newColGroups);
+		ret.setNonZeros((long)rlen*clen);
+		
+		return ret;
+	}
+
 	@Override
 	public MatrixBlock append(MatrixBlock that, MatrixBlock ret) 
 	{
@@ -1145,6 +1286,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 					((CompressedMatrixBlock)that).decompress() : that;
 			}
 			
+			//MM right via pre-aggregated value tuples per column group
+			if( right && isPreaggRightMultApplicable(cl) ) {
+				rightMultByMatrix(that, ret, op.getNumThreads());
+				if( LOG.isDebugEnabled() )
+					LOG.debug("Compressed MM (pre-aggregated) in "+time.stop());
+				return ret;
+			}
+			
 			//transpose for sequential repeated column access 
 			if( right ) {
 				that = LibMatrixReorg.transpose(that, new MatrixBlock(that.getNumColumns(),
@@ -1235,7 +1384,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		//core unary aggregate
 		if(    op.getNumThreads() > 1 
-			&& getExactSizeOnDisk() > MIN_PAR_AGG_THRESHOLD ) 
+			&& getExactSizeOnDisk(ColGroupIO.Codec.NONE) > MIN_PAR_AGG_THRESHOLD ) 
 		{
 			//multi-threaded execution of all groups 
 			ArrayList<ColGroup>[] grpParts = createStaticTaskPartitioning(
@@ -1349,7 +1498,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		//process remaining groups (adds to output)
 		//note: UC group never passed into this function
 		for( ColGroup grp : groups )
-			if( !(grp instanceof ColGroupUncompressed) 
+			if( grp instanceof ColGroupFOR )
+				((ColGroupFOR)grp).unaryAggregateOperations(op, ret, rl, ru);
+			else if( !(grp instanceof ColGroupUncompressed) 
 				&& !(cacheDDC1 && grp instanceof ColGroupDDC1) )
 				((ColGroupValue)grp).unaryAggregateOperations(op, ret, rl, ru);
 	}
@@ -1550,6 +1701,106 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		ColGroupValue.cleanupThreadLocalMemory();
 	}
 	
+	/**
+	 * Indicates if a right matrix multiplication with n columns can be computed
+	 * via pre-aggregated value tuples, i.e., if the pre-aggregates of all 
+	 * compressed column groups are not larger than the dense output.
+	 * 
+	 * @param n number of columns of the rhs matrix
+	 * @return true if pre-aggregated right matrix mult applicable
+	 */
+	private boolean isPreaggRightMultApplicable(int n) {
+		long numVals = 0;
+		for( ColGroup grp : _colGroups )
+			if( grp instanceof ColGroupValue )
+				numVals += ((ColGroupValue)grp).getNumValues();
+		return numVals <= rlen 
+			&& (long)rlen * n < Integer.MAX_VALUE
+			&& (long)clen * n < Integer.MAX_VALUE;
+	}
+	
+	/**
+	 * Multiply this matrix block by a matrix on the right (i.e., X%*%W). For every
+	 * compressed column group, we pre-aggregate the distinct value tuples with W once
+	 * and add these pre-aggregated rows to the output rows via the group-specific 
+	 * offsets, multi-threaded over aligned row segments.
+	 * 
+	 * @param matrix right-hand operand of the multiplication
+	 * @param result matrix block result
+	 * @param k number of threads
+	 */
+	private void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int k)
+	{
+		final int n = matrix.getNumColumns();
+		double[] b = ConverterUtils.getDenseVector(matrix);
+		
+		// initialize and allocate the result
+		result.reset(rlen, n, false);
+		result.allocateDenseBlock();
+		
+		// pre-aggregate all compressed column groups once
+		ArrayList<ColGroupValue> groups = new ArrayList<>();
+		ArrayList<double[]> preaggs = new ArrayList<>();
+		for( ColGroup grp : _colGroups )
+			if( grp instanceof ColGroupValue ) {
+				groups.add((ColGroupValue)grp);
+				preaggs.add(((ColGroupValue)grp).preaggValues(b, n));
+			}
+		
+		// compute uncompressed column group (adds to output)
+		ColGroupUncompressed uc = getUncompressedColGroup();
+		if( uc != null )
+			uc.rightMultByMatrix(b, n, result, k);
+		
+		// compute frame-of-reference column groups (adds to output)
+		for( ColGroup grp : _colGroups )
+			if( grp instanceof ColGroupFOR )
+				((ColGroupFOR)grp).rightMultByMatrix(b, result.getDenseBlockValues(), n, 0, rlen);
+		
+		// compute remaining compressed column groups
+		if( k <= 1 ) {
+			rightMultByMatrix(groups, preaggs, result, 0, rlen);
+			result.recomputeNonZeros();
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				int blklen = BitmapEncoder.getAlignedBlocksize(
+					(int)(Math.ceil((double)rlen/k)));
+				ArrayList<RightMatrixMatrixMultTask> tasks = new ArrayList<>();
+				for( int i=0; i<k & i*blklen<rlen; i++ )
+					tasks.add(new RightMatrixMatrixMultTask(groups, preaggs,
+						result, i*blklen, Math.min((i+1)*blklen,rlen)));
+				List<Future<Long>> ret = pool.invokeAll(tasks);
+				pool.shutdown();
+				
+				//error handling and nnz aggregation
+				long lnnz = 0;
+				for( Future<Long> tmp : ret )
+					lnnz += tmp.get();
+				result.setNonZeros(lnnz);
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		// post-processing
+		result.examSparsity();
+	}
+	
+	private static void rightMultByMatrix(List<ColGroupValue> groups, List<double[]> preaggs, MatrixBlock ret, int rl, int ru) 
+	{
+		ColGroupValue.setupThreadLocalMemory(getMaxNumValues(groups));
+		
+		double[] c = ret.getDenseBlockValues();
+		int n = ret.getNumColumns();
+		for( int i=0; i<groups.size(); i++ )
+			groups.get(i).rightMultByMatrix(preaggs.get(i), c, n, rl, ru);
+		
+		ColGroupValue.cleanupThreadLocalMemory();
+	}
+	
 	/**
 	 * Multiply this matrix block by the transpose of a column vector (i.e.
 	 * t(v)%*%X)
@@ -1594,8 +1845,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		// initialize and allocate the result
 		result.reset();
 		// delegate matrix-vector operation to each column group
-		for( ColGroup grp : colGroups )
-			((ColGroupValue)grp).leftMultByRowVector(vector, result);
+		for( ColGroup grp : colGroups ) {
+			if( grp instanceof ColGroupFOR )
+				((ColGroupFOR)grp).leftMultByRowVector(vector, result);
+			else
+				((ColGroupValue)grp).leftMultByRowVector(vector, result);
+		}
 		// post-processing
 		result.recomputeNonZeros();
 	}
@@ -1729,7 +1984,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return grpParts;
 	}
 	
-	private static int getMaxNumValues(List<ColGroup> groups) {
+	private static int getMaxNumValues(List<? extends ColGroup> groups) {
 		int numVals = 1;
 		for( ColGroup grp : groups )
 			if( grp instanceof ColGroupValue )
@@ -1750,6 +2005,31 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return null;
 	}
 	
+	/**
+	 * Merges all uncompressed column groups into a single uncompressed
+	 * column group, which is expected by the remaining operations. Multiple
+	 * uncompressed groups might result from operations over FOR groups whose
+	 * output values are no longer encodable.
+	 * 
+	 * @param groups list of column groups
+	 * @return list of column groups with at most one uncompressed group
+	 */
+	private static ArrayList<ColGroup> mergeUncompressedColGroups(ArrayList<ColGroup> groups) {
+		ArrayList<ColGroup> ucGroups = new ArrayList<>();
+		for( ColGroup grp : groups )
+			if( grp instanceof ColGroupUncompressed )
+				ucGroups.add(grp);
+		if( ucGroups.size() <= 1 )
+			return groups;
+		
+		ArrayList<ColGroup> ret = new ArrayList<>();
+		for( ColGroup grp : groups )
+			if( !(grp instanceof ColGroupUncompressed) )
+				ret.add(grp);
+		ret.add(new ColGroupUncompressed(ucGroups));
+		return ret;
+	}
+	
 	private static boolean containsUncompressedColGroup(ArrayList<ColGroup> groups) {
 		for( ColGroup grp : groups )
 			if( grp instanceof ColGroupUncompressed ) 
@@ -1807,6 +2087,29 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
+	private static class RightMatrixMatrixMultTask implements Callable<Long> 
+	{
+		private final List<ColGroupValue> _groups;
+		private final List<double[]> _preaggs;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RightMatrixMatrixMultTask( List<ColGroupValue> groups, List<double[]> preaggs, MatrixBlock ret, int rl, int ru)  {
+			_groups = groups;
+			_preaggs = preaggs;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			rightMultByMatrix(_groups, _preaggs, _ret, _rl, _ru);
+			return _ret.recomputeNonZeros(_rl, _ru-1, 0, _ret.getNumColumns()-1);
+		}
+	}
+	
 	private static class MatrixMultTransposeTask implements Callable<Object> 
 	{
 		private final ArrayList<ColGroup> _groups;
@@ -1950,14 +2253,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return tmp.unaryOperations(op, result);
 	}
 
-	@Override
-	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) {
-		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		return left.binaryOperations(op, right, result);
-	}
-
 	@Override
 	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) {
 		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock)thatValue);
@@ -2105,14 +2400,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	}
 
 	@Override
-	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result) {
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k) {
 		printDecompressWarning("sortOperations");
 		MatrixBlock right = getUncompressed(weights);
 		if( !isCompressed() )
-			return super.sortOperations(right, result);
+			return super.sortOperations(right, result, k);
 		ColGroup grp = _colGroups.get(0);
 		if( grp instanceof ColGroupUncompressed )
-			return ((ColGroupUncompressed)grp).getData().sortOperations(right, result);
+			return ((ColGroupUncompressed)grp).getData().sortOperations(right, result, k);
 		
 		if( right == null ) {
 			ColGroupValue grpVal = (ColGroupValue)grp;
@@ -2121,10 +2416,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			double[] data = (vals.getDenseBlock()!=null) ? vals.getDenseBlockValues() : null;
 			SortUtils.sortByValue(0, vals.getNumRows(), data, counts);
 			MatrixBlock counts2 = ColGroupValue.getCountsAsBlock(counts);
-			return vals.sortOperations(counts2, result);
+			return vals.sortOperations(counts2, result, k);
 		}
 		else
-			return decompress().sortOperations(right, result);
+			return decompress().sortOperations(right, result, k);
 	}
 
 	@Override
@@ -2170,10 +2465,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	}
 
 	@Override
-	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select) {
+	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select, int k) {
 		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
+		if( !isCompressed() )
+			return super.removeEmptyOperations(ret, rows, emptyReturn, select, k);
+		return decompress(k).removeEmptyOperations(ret, rows, emptyReturn, select, k);
 	}
 
 	@Override
@@ -73,6 +73,13 @@ public final class UncompressedBitmap
 		_numCols = 1;
 	}
 	
+	public UncompressedBitmap( double[] values, IntArrayList[] offsetsLists, int numColumns ) 
+	{
+		_values = values;
+		_offsetsLists = offsetsLists;
+		_numCols = numColumns;
+	}
+	
 	public int getNumColumns() {
 		return _numCols;
 	}
@@ -22,7 +22,9 @@ package org.apache.sysml.runtime.compress.cocode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -30,8 +32,10 @@ import java.util.concurrent.Future;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock.CompressionStatistics;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysml.runtime.util.CommonThreadPool;
 
 public class PlanningCoCoder 
@@ -47,8 +51,10 @@ public class PlanningCoCoder
 	}
 	
 	public static List<int[]> findCocodesByPartitioning(CompressedSizeEstimator sizeEstimator, List<Integer> cols, 
-			CompressedSizeInfo[] colInfos, int numRows, int k) 
+			CompressedSizeInfo[] colInfos, int numRows, int k, CompressionStatistics stats) 
 	{
+		Timing time = new Timing(true);
+		
 		// filtering out non-groupable columns as singleton groups
 		// weight is the ratio of its cardinality to the number of rows 
 		int numCols = cols.size();
@@ -65,11 +71,15 @@ public class PlanningCoCoder
 		// use column group partitioner to create partitions of columns
 		List<int[]> bins = createColumnGroupPartitioner(COLUMN_PARTITIONER)
 				.partitionColumns(groupCols, groupColsInfo);
+		stats.timePartition = time.stop();
 
 		// brute force grouping within each partition
-		return (k > 1) ?
+		List<int[]> ret = (k > 1) ?
 				getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows, k) :
 				getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows);
+		stats.timeCocode = time.stop();
+		
+		return ret;
 	}
 
 	private static List<int[]> getCocodingGroupsBruteForce(List<int[]> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen) 
@@ -119,7 +129,9 @@ public class PlanningCoCoder
 	/**
 	 * Identify columns to code together. Uses a greedy approach that merges
 	 * pairs of column groups into larger groups. Each phase of the greedy
-	 * algorithm considers all combinations of pairs to merge.
+	 * algorithm merges the best pair of groups, where all candidate pairs are 
+	 * kept in a priority queue of the memo table and lazily estimated based on
+	 * merged bitmaps of the working set groups.
 	 * 
 	 * @param sizeEstimator compressed size estimator
 	 * @param numRowsWeight number of rows weight
@@ -133,54 +145,47 @@ public class PlanningCoCoder
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Cocoding: process "+singletonGroups.length);
 		
-		List<PlanningCoCodingGroup> workset = new ArrayList<>(Arrays.asList(singletonGroups));
+		Set<PlanningCoCodingGroup> workset = new LinkedHashSet<>(Arrays.asList(singletonGroups));
 		
-		//establish memo table for extracted column groups
+		//establish memo table for extracted column groups and
+		//enqueue all pairs of singleton groups as merge candidates
 		PlanningMemoTable memo = new PlanningMemoTable();
+		for( int i=0; i<singletonGroups.length; i++ )
+			for( int j=i+1; j<singletonGroups.length; j++ )
+				memo.addCandidate(singletonGroups[i], singletonGroups[j]);
 		
 		//process merging iterations until no more change
-		boolean changed = true;
-		while( changed && workset.size()>1 ) {
+		while( workset.size()>1 ) {
 			//find best merge, incl memoization
-			PlanningCoCodingGroup tmp = null;
-			for( int i=0; i<workset.size(); i++ ) {
-				for( int j=i+1; j<workset.size(); j++ ) {
-					PlanningCoCodingGroup c1 = workset.get(i);
-					PlanningCoCodingGroup c2 = workset.get(j);
-					memo.incrStats(1, 0, 0);
-					
-					//pruning filter: skip dominated candidates
-					if( -Math.min(c1.getEstSize(), c2.getEstSize()) > memo.getOptChangeInSize() )
-						continue;
-					
-					//memoization or newly created group (incl bitmap extraction)
-					PlanningCoCodingGroup c1c2 = memo.getOrCreate(c1, c2, estim, numRows);
-		
-					//keep best merged group only
-					if( tmp == null || c1c2.getChangeInSize() < tmp.getChangeInSize()
-						|| (c1c2.getChangeInSize() == tmp.getChangeInSize() 
-							&& c1c2.getColIndices().length < tmp.getColIndices().length))
-						tmp = c1c2;
-				}
-			}
+			PlanningCoCodingGroup tmp = memo.pollBest(workset, estim, numRows);
+			if( tmp == null || tmp.getChangeInSize() >= 0 )
+				break;
 			
-			//modify working set
-			if( tmp != null && tmp.getChangeInSize() < 0 ) {
-				workset.remove(tmp.getLeftGroup());
-				workset.remove(tmp.getRightGroup());
-				workset.add(tmp);
-				memo.remove(tmp);
-				
-				if( LOG.isTraceEnabled() ) {
-					LOG.trace("--merge groups: "+Arrays.toString(tmp.getLeftGroup().getColIndices())+" and "
-							+Arrays.toString(tmp.getRightGroup().getColIndices()));
-				}
-			}
-			else {
-				changed = false;
+			//modify working set (keep bitmaps of working set groups only)
+			PlanningCoCodingGroup c1 = tmp.getLeftGroup();
+			PlanningCoCodingGroup c2 = tmp.getRightGroup();
+			workset.remove(c1);
+			workset.remove(c2);
+			memo.remove(tmp);
+			tmp.getBitmap(estim);
+			c1.clearBitmap();
+			c2.clearBitmap();
+			
+			//enqueue merge candidates of new group
+			for( PlanningCoCodingGroup grp : workset )
+				memo.addCandidate(tmp, grp);
+			workset.add(tmp);
+			
+			if( LOG.isTraceEnabled() ) {
+				LOG.trace("--merge groups: "+Arrays.toString(c1.getColIndices())+" and "
+						+Arrays.toString(c2.getColIndices()));
 			}
 		}
 		
+		//release bitmaps of final groups
+		for( PlanningCoCodingGroup grp : workset )
+			grp.clearBitmap();
+		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("--stats: "+Arrays.toString(memo.getStats()));
 		
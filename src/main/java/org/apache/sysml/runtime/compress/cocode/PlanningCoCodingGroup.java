@@ -21,6 +21,8 @@ package org.apache.sysml.runtime.compress.cocode;
 
 import java.util.Arrays;
 
+import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.UncompressedBitmap;
 import org.apache.sysml.runtime.compress.cocode.PlanningCoCoder.GroupableColInfo;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
@@ -38,6 +40,9 @@ public class PlanningCoCodingGroup
 	private long _estSize;
 	private double _cardRatio;
 	
+	//bitmap over the estimator rows (kept for working set groups only)
+	private UncompressedBitmap _ubm;
+	
 	
 	/**
 	 * Constructor for a one-column group; i.e. do not co-code a given column.
@@ -64,9 +69,10 @@ public class PlanningCoCodingGroup
 	{
 		_colIndexes = getMergedIndexes(grp1._colIndexes, grp2._colIndexes);
 		
-		// estimating size info
-		CompressedSizeInfo groupSizeInfo = estim
-				.estimateCompressedColGroupSize(_colIndexes);
+		// estimating size info from the merged bitmaps of both groups,
+		// which avoids re-extracting the bitmap from the estimator rows
+		CompressedSizeInfo groupSizeInfo = estim.estimateCompressedColGroupSize(
+				_colIndexes, mergeBitmaps(grp1, grp2, estim));
 		_estSize = groupSizeInfo.getMinSize();
 		_cardRatio = groupSizeInfo.getEstCard() / numRows;
 		
@@ -96,6 +102,27 @@ public class PlanningCoCodingGroup
 			- _rightGrp.getEstSize();
 	}
 
+	/**
+	 * Obtain the bitmap of the grouped columns over the rows examined by
+	 * the given estimator, which is extracted or merged on demand and then
+	 * kept until cleared.
+	 * 
+	 * @param estim bitmap size estimator
+	 * @return bitmap of the grouped columns
+	 */
+	public UncompressedBitmap getBitmap(CompressedSizeEstimator estim) {
+		if( _ubm == null ) {
+			_ubm = (_leftGrp == null || _rightGrp == null) ?
+				estim.extractBitmap(_colIndexes) :
+				mergeBitmaps(_leftGrp, _rightGrp, estim);
+		}
+		return _ubm;
+	}
+	
+	public void clearBitmap() {
+		_ubm = null;
+	}
+
 	public double getCardinalityRatio() {
 		return _cardRatio;
 	}
@@ -127,6 +154,12 @@ public class PlanningCoCodingGroup
 		return Arrays.toString(_colIndexes);
 	}
 	
+	private static UncompressedBitmap mergeBitmaps(PlanningCoCodingGroup grp1, 
+			PlanningCoCodingGroup grp2, CompressedSizeEstimator estim) {
+		return BitmapEncoder.mergeBitmaps(grp1._colIndexes, grp1.getBitmap(estim),
+				grp2._colIndexes, grp2.getBitmap(estim));
+	}
+	
 	public static int[] getMergedIndexes(int[] indexes1, int[] indexes2) {
 		// merge sorted non-empty arrays
 		int[] ret = new int[indexes1.length + indexes2.length];		
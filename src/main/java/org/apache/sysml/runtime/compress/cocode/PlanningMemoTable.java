@@ -22,15 +22,23 @@ package org.apache.sysml.runtime.compress.cocode;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.Map.Entry;
 
 import org.apache.sysml.runtime.compress.cocode.PlanningCoCodingGroup.ColIndexes;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
 
+/**
+ * Memo table of merged column groups and priority queue of merge candidates
+ * for greedy co-coding. Candidates are ordered by their (estimated) change in
+ * size, where not yet estimated candidates are ordered by a lower bound of their
+ * change in size, i.e., they are only estimated once they could be the best merge.
+ */
 public class PlanningMemoTable 
 {
 	private HashMap<ColIndexes,PlanningCoCodingGroup> _memo = new HashMap<>();
-	private double _optChangeInSize = 0; 
+	private PriorityQueue<MergeCandidate> _queue = new PriorityQueue<>();
 	private int[] _stats = new int[3];
 	
 	public PlanningCoCodingGroup getOrCreate(PlanningCoCodingGroup c1, PlanningCoCodingGroup c2, CompressedSizeEstimator estim, int numRows) 
@@ -46,22 +54,60 @@ public class PlanningMemoTable
 		if( c1c2 == null ) { 
 			c1c2 = new PlanningCoCodingGroup(c1, c2, estim, numRows);
 			_memo.put(c1c2Indexes, c1c2);
-			_optChangeInSize = Math.min(_optChangeInSize, c1c2.getChangeInSize());
 			incrStats(0, 0, 1); //created plans
 		}
 		
 		return c1c2;
 	}
 	
+	/**
+	 * Adds the merge of two groups as a candidate, which is lazily estimated.
+	 * 
+	 * @param c1 first column group
+	 * @param c2 second column group
+	 */
+	public void addCandidate(PlanningCoCodingGroup c1, PlanningCoCodingGroup c2) {
+		//lower bound of change in size (merged group at least as large as its inputs)
+		double bound = -Math.min(c1.getEstSize(), c2.getEstSize());
+		_queue.add(new MergeCandidate(c1, c2, bound, null));
+		incrStats(1, 0, 0); //enumerated plans
+	}
+	
+	/**
+	 * Obtains the merged group with minimal change in size over all candidates
+	 * whose input groups are still in the given working set. Candidates are 
+	 * estimated in order of their lower bounds, and dominated candidates are
+	 * never estimated.
+	 * 
+	 * @param workset current working set of column groups
+	 * @param estim bitmap size estimator
+	 * @param numRows number of rows
+	 * @return best merged group, or null if no candidates left
+	 */
+	public PlanningCoCodingGroup pollBest(Set<PlanningCoCodingGroup> workset, CompressedSizeEstimator estim, int numRows) 
+	{
+		while( !_queue.isEmpty() ) {
+			MergeCandidate c = _queue.poll();
+			//skip outdated candidates of already merged groups
+			if( !workset.contains(c._left) || !workset.contains(c._right) )
+				continue;
+			//return best estimated candidate
+			if( c._merged != null )
+				return c._merged;
+			//estimate candidate (incl memoization) and re-enqueue
+			PlanningCoCodingGroup c1c2 = getOrCreate(c._left, c._right, estim, numRows);
+			_queue.add(new MergeCandidate(c._left, c._right, c1c2.getChangeInSize(), c1c2));
+		}
+		return null;
+	}
+	
 	public void remove(PlanningCoCodingGroup grp) {
 		//remove atomic groups
 		_memo.remove(new ColIndexes(grp.getColIndices()));
 		_memo.remove(new ColIndexes(grp.getLeftGroup().getColIndices()));
 		_memo.remove(new ColIndexes(grp.getRightGroup().getColIndices()));
 		
-		_optChangeInSize = 0;
-		
-		//remove overlapping groups and recompute min size
+		//remove overlapping groups
 		Iterator<Entry<ColIndexes,PlanningCoCodingGroup>> iter 
 			= _memo.entrySet().iterator();
 		while( iter.hasNext() ) {
@@ -73,8 +119,6 @@ public class PlanningMemoTable
 			{
 				iter.remove();
 			}
-			else
-				_optChangeInSize = Math.min(_optChangeInSize, tmp.getChangeInSize());
 		}
 	}
 	
@@ -83,12 +127,40 @@ public class PlanningMemoTable
 		_stats[1] += v2;
 		_stats[2] += v3;
 	}
-	
-	public double getOptChangeInSize() {
-		return _optChangeInSize;
-	}
 
 	public int[] getStats() {
 		return _stats;
 	}
+	
+	private static class MergeCandidate implements Comparable<MergeCandidate>
+	{
+		private final PlanningCoCodingGroup _left;
+		private final PlanningCoCodingGroup _right;
+		private final double _changeInSize;
+		private final PlanningCoCodingGroup _merged;
+		
+		public MergeCandidate(PlanningCoCodingGroup left, PlanningCoCodingGroup right,
+				double changeInSize, PlanningCoCodingGroup merged) {
+			_left = left;
+			_right = right;
+			_changeInSize = changeInSize;
+			_merged = merged;
+		}
+		
+		@Override
+		public int compareTo(MergeCandidate that) {
+			//order by change in size, estimated before bounded candidates,
+			//and smaller merged groups first
+			int ret = Double.compare(_changeInSize, that._changeInSize);
+			if( ret == 0 )
+				ret = Boolean.compare(_merged == null, that._merged == null);
+			if( ret == 0 )
+				ret = Integer.compare(getNumCols(), that.getNumCols());
+			return ret;
+		}
+		
+		private int getNumCols() {
+			return _left.getColIndices().length + _right.getColIndices().length;
+		}
+	}
 }
@@ -20,6 +20,8 @@
 package org.apache.sysml.runtime.compress.estim;
 
 import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.ColGroupDDCBP;
+import org.apache.sysml.runtime.compress.ColGroupFOR;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.compress.UncompressedBitmap;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -42,7 +44,37 @@ public abstract class CompressedSizeEstimator
 		return _numRows;
 	}
 
-	public abstract CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes);
+	/**
+	 * Estimates the compressed size of the given columns, which extracts
+	 * their bitmap over the rows examined by this estimator.
+	 * 
+	 * @param colIndexes column indexes
+	 * @return compressed size info
+	 */
+	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes) {
+		return estimateCompressedColGroupSize(colIndexes, extractBitmap(colIndexes));
+	}
+	
+	/**
+	 * Extracts the bitmap of the given columns over the rows examined by this
+	 * estimator (i.e., the sample for sample-based estimators). Such bitmaps 
+	 * can be merged via {@link BitmapEncoder#mergeBitmaps} to obtain the bitmaps
+	 * of co-coding candidates without re-extracting them from the data.
+	 * 
+	 * @param colIndexes column indexes
+	 * @return bitmap over the examined rows
+	 */
+	public abstract UncompressedBitmap extractBitmap(int[] colIndexes);
+	
+	/**
+	 * Estimates the compressed size of the given columns from their bitmap
+	 * over the rows examined by this estimator.
+	 * 
+	 * @param colIndexes column indexes
+	 * @param ubm bitmap as obtained via extractBitmap or merged from such bitmaps
+	 * @return compressed size info
+	 */
+	public abstract CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes, UncompressedBitmap ubm);
 
 	public abstract CompressedSizeInfo estimateCompressedColGroupSize(UncompressedBitmap ubm);
 
@@ -141,6 +173,66 @@ public abstract class CompressedSizeEstimator
 		return ret;
 	}
 
+	/**
+	 * Estimates the number of bytes needed to encode this column group 
+	 * in DDC format with bit-packed codes, where the number of value
+	 * tuples includes a materialized zero tuple if necessary.
+	 * 
+	 * @param numVals number of value tuples
+	 * @param numRows number of rows
+	 * @param numCols number of columns
+	 * @return number of bytes to encode column group in bit-packed DDC format
+	 */
+	protected static long getDDCBPSize(int numVals, int numRows, int numCols) {
+		int bits = ColGroupDDCBP.getCodeWidth(numVals);
+		if( bits > ColGroupDDCBP.MAX_CODE_WIDTH )
+			return Long.MAX_VALUE;
+		
+		long ret = 0;
+		//distinct value tuples [double per col]
+		ret += 8L * numVals * numCols;
+		//data [long per 64/bits rows]
+		ret += 8L * ColGroupDDCBP.getNumWords(numRows, bits);
+		return ret;
+	}
+
+	/**
+	 * Estimates the number of bytes needed to encode this column group 
+	 * in FOR format, i.e., as reference value plus bit-packed offsets. 
+	 * This encoding applies to single columns of integral values only;
+	 * the optional delta encoding is decided on construction and can
+	 * only reduce the size.
+	 * 
+	 * @param ubm uncompressed bitmap of the column
+	 * @param zeros indicator if the column contains zero values
+	 * @param numRows number of rows
+	 * @return number of bytes to encode column group in FOR format
+	 */
+	protected static long getFORSize(UncompressedBitmap ubm, boolean zeros, int numRows) {
+		if( ubm.getNumColumns() > 1 )
+			return Long.MAX_VALUE;
+		
+		//compute value range, incl zeros
+		double min = 0, max = 0;
+		double[] values = ubm.getValues();
+		for( int i=0; i<values.length; i++ ) {
+			if( !ColGroupFOR.isEncodable(values[i]) )
+				return Long.MAX_VALUE;
+			min = (i>0 || zeros) ? Math.min(min, values[i]) : values[i];
+			max = (i>0 || zeros) ? Math.max(max, values[i]) : values[i];
+		}
+		int bits = ColGroupFOR.getCodeWidth(min, max);
+		if( bits > ColGroupFOR.MAX_CODE_WIDTH )
+			return Long.MAX_VALUE;
+		
+		long ret = 0;
+		//reference value and meta data
+		ret += 16;
+		//data [long per 64/bits rows]
+		ret += 8L * ColGroupDDCBP.getNumWords(numRows, bits);
+		return ret;
+	}
+
 	protected static class SizeEstimationFactors {
  		protected int numVals;   //num value tuples
  		protected int numSegs;   //num OLE segments 
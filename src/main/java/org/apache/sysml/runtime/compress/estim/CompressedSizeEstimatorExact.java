@@ -34,9 +34,13 @@ public class CompressedSizeEstimatorExact extends CompressedSizeEstimator
 	}
 
 	@Override
-	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes) {
-		return estimateCompressedColGroupSize(
-			BitmapEncoder.extractBitmap(colIndexes, _data));
+	public UncompressedBitmap extractBitmap(int[] colIndexes) {
+		return BitmapEncoder.extractBitmap(colIndexes, _data);
+	}
+	
+	@Override
+	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes, UncompressedBitmap ubm) {
+		return estimateCompressedColGroupSize(ubm);
 	}
 
 	@Override
@@ -49,6 +53,8 @@ public class CompressedSizeEstimatorExact extends CompressedSizeEstimator
 		return new CompressedSizeInfo(fact.numVals, fact.numOffs,
 				getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
 				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
-				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()));
+				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()),
+				getDDCBPSize(fact.numVals + ((fact.numOffs < _numRows) ? 1 : 0), _numRows, ubm.getNumColumns()),
+				getFORSize(ubm, fact.numOffs < _numRows, _numRows));
 	}
 }
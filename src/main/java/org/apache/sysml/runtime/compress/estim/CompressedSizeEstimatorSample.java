@@ -49,6 +49,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
     
     private int[] _sampleRows = null;
     private HashMap<Integer, Double> _solveCache = null;
+    private UncompressedBitmap[] _colBitmaps = null;
 	
 	public CompressedSizeEstimatorSample(MatrixBlock data, int sampleSize) 
 	{
@@ -66,19 +67,37 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		
 		//establish estimator-local cache for numeric solve
 		_solveCache = new HashMap<>();
+		
+		//establish estimator-local cache for per-column sample bitmaps,
+		//which are reused by the co-coding of column groups
+		_colBitmaps = new UncompressedBitmap[CompressedMatrixBlock.TRANSPOSE_INPUT ?
+			_data.getNumRows() : _data.getNumColumns()];
+	}
+	
+	@Override
+	public UncompressedBitmap extractBitmap(int[] colIndexes) 
+	{
+		//probe cache of per-column sample bitmaps
+		if( colIndexes.length == 1 && _colBitmaps[colIndexes[0]] != null )
+			return _colBitmaps[colIndexes[0]];
+		
+		//extract statistics from sample
+		UncompressedBitmap ubm = SizeEstimatorFactory.EXTRACT_SAMPLE_ONCE ?
+				BitmapEncoder.extractBitmap(colIndexes, _data) :
+				BitmapEncoder.extractBitmapFromSample(colIndexes, _data, _sampleRows);
+		if( colIndexes.length == 1 )
+			_colBitmaps[colIndexes[0]] = ubm;
+		return ubm;
 	}
 
 	@Override
-	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes) 
+	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes, UncompressedBitmap ubm) 
 	{
 		int sampleSize = _sampleRows.length;
 		int numCols = colIndexes.length;
 		int[] sampleRows = _sampleRows;
 		
 		//extract statistics from sample
-		UncompressedBitmap ubm = SizeEstimatorFactory.EXTRACT_SAMPLE_ONCE ?
-				BitmapEncoder.extractBitmap(colIndexes, _data) :
-				BitmapEncoder.extractBitmapFromSample(colIndexes, _data, sampleRows);
 		SizeEstimationFactors fact = computeSizeEstimationFactors(ubm, false);
 		
 		//estimate number of distinct values (incl fixes for anomalies w/ large sample fraction)
@@ -110,7 +129,9 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		return new CompressedSizeInfo(totalCardinality, numNonZeros,
 				getRLESize(totalCardinality, totalNumRuns, numCols),
 				getOLESize(totalCardinality, numNonZeros, totalNumSeg, numCols),
-				getDDCSize(totalCardinality, _numRows, numCols));
+				getDDCSize(totalCardinality, _numRows, numCols),
+				getDDCBPSize(totalCardinality + ((numNonZeros < _numRows) ? 1 : 0), _numRows, numCols),
+				getFORSize(ubm, numNonZeros < _numRows, _numRows));
 	}
 
 	@Override
@@ -123,7 +144,9 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		return new CompressedSizeInfo(fact.numVals, fact.numOffs,
 				getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
 				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
-				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()));
+				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()),
+				getDDCBPSize(fact.numVals + ((fact.numOffs < _numRows) ? 1 : 0), _numRows, ubm.getNumColumns()),
+				getFORSize(ubm, fact.numOffs < _numRows, _numRows));
 	}
 
 	private static int getNumDistinctValues(UncompressedBitmap ubm, int numRows, int[] sampleRows, 
@@ -32,13 +32,17 @@ public class CompressedSizeInfo
 	private final long _rleSize; 
 	private final long _oleSize;
 	private final long _ddcSize;
+	private final long _ddcbpSize;
+	private final long _forSize;
 
-	public CompressedSizeInfo(int estCard, int estNnz, long rleSize, long oleSize, long ddcSize) {
+	public CompressedSizeInfo(int estCard, int estNnz, long rleSize, long oleSize, long ddcSize, long ddcbpSize, long forSize) {
 		_estCard = estCard;
 		_estNnz = estNnz;
 		_rleSize = rleSize;
 		_oleSize = oleSize;
 		_ddcSize = ddcSize;
+		_ddcbpSize = ddcbpSize;
+		_forSize = forSize;
 	}
 
 	public long getRLESize() {
@@ -53,12 +57,25 @@ public class CompressedSizeInfo
 		return CompressedMatrixBlock.ALLOW_DDC_ENCODING ? 
 			_ddcSize : Long.MAX_VALUE; 
 	}
+	
+	public long getDDCBPSize() {
+		return CompressedMatrixBlock.ALLOW_DDC_ENCODING
+			&& CompressedMatrixBlock.ALLOW_DDC_BITPACKING ?
+			_ddcbpSize : Long.MAX_VALUE;
+	}
+	
+	public long getFORSize() {
+		return CompressedMatrixBlock.ALLOW_FOR_ENCODING ? 
+			_forSize : Long.MAX_VALUE;
+	}
 
 	public long getMinSize() {
-		return Math.min(Math.min(
+		return Math.min(Math.min(Math.min(Math.min(
 			getRLESize(), 
 			getOLESize()),
-			getDDCSize());
+			getDDCSize()),
+			getDDCBPSize()),
+			getFORSize());
 	}
 
 	public int getEstCard() {
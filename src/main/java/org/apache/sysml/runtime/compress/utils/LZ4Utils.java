@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Pure-Java implementation of a lightweight LZ77-type byte compression
+ * that follows the LZ4 block format (sequences of a token, literals, a
+ * 2-byte little-endian match offset, and optional length extensions).
+ * The greedy single-probe match search trades compression ratio for
+ * speed, which makes it suitable for the serialization of compressed
+ * blocks where the payload is dominated by dictionaries and offset lists.
+ */
+public class LZ4Utils
+{
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MF_LIMIT = 12;
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 12;
+	private static final int SKIP_TRIGGER = 6;
+
+	/**
+	 * Obtain the maximum compressed length of an input of the given
+	 * length, which is required as minimum size of the output buffer.
+	 *
+	 * @param len input length in bytes
+	 * @return maximum compressed length in bytes
+	 */
+	public static int maxCompressedLength(int len) {
+		return len + len / 255 + 16;
+	}
+
+	/**
+	 * Compress the first len bytes of the given source array into the
+	 * given destination array, which needs to be of at least
+	 * {@link #maxCompressedLength(int)} bytes.
+	 *
+	 * @param src source array
+	 * @param len number of bytes to compress
+	 * @param dst destination array
+	 * @return compressed length in bytes
+	 */
+	public static int compress(byte[] src, int len, byte[] dst) {
+		int sp = 0, anchor = 0, dp = 0;
+
+		if( len >= MF_LIMIT + 1 ) {
+			int[] table = new int[1 << HASH_LOG];
+			Arrays.fill(table, -1);
+			int mflimit = len - MF_LIMIT;
+			int matchlimit = len - LAST_LITERALS;
+
+			while( sp < mflimit ) {
+				//probe hash table of 4-byte sequences
+				int seq = readInt(src, sp);
+				int h = hash(seq);
+				int ref = table[h];
+				table[h] = sp;
+				if( ref < 0 || sp - ref > MAX_OFFSET || readInt(src, ref) != seq ) {
+					//skip faster over incompressible regions
+					sp += 1 + ((sp - anchor) >>> SKIP_TRIGGER);
+					continue;
+				}
+
+				//extend match and emit sequence
+				int mlen = MIN_MATCH;
+				while( sp + mlen < matchlimit && src[ref + mlen] == src[sp + mlen] )
+					mlen++;
+				dp = writeSequence(src, anchor, sp - anchor, sp - ref, mlen, dst, dp);
+				sp += mlen;
+				anchor = sp;
+			}
+		}
+
+		//emit last literals (w/o match)
+		int llen = len - anchor;
+		dst[dp++] = (byte) (Math.min(llen, 15) << 4);
+		if( llen >= 15 )
+			dp = writeLength(llen - 15, dst, dp);
+		System.arraycopy(src, anchor, dst, dp, llen);
+		return dp + llen;
+	}
+
+	/**
+	 * Decompress the given range of the source buffer into the given
+	 * destination array. The source buffer is accessed with absolute
+	 * positions and hence, its position and limit remain unchanged.
+	 *
+	 * @param src source buffer
+	 * @param srcOff offset of compressed data in source buffer
+	 * @param srcLen length of compressed data
+	 * @param dst destination array
+	 * @param dstLen expected decompressed length
+	 * @throws IOException if the compressed data is corrupted
+	 */
+	public static void decompress(ByteBuffer src, int srcOff, int srcLen, byte[] dst, int dstLen)
+		throws IOException
+	{
+		ByteBuffer lsrc = src.duplicate();
+		int sp = srcOff, send = srcOff + srcLen, dp = 0;
+
+		while( sp < send ) {
+			int token = lsrc.get(sp++) & 0xFF;
+
+			//copy literals
+			int llen = token >>> 4;
+			if( llen == 15 ) {
+				int b;
+				do { llen += (b = lsrc.get(sp++) & 0xFF); } while( b == 255 );
+			}
+			if( dp + llen > dstLen || sp + llen > send )
+				throw new IOException("Corrupted LZ4 block: literals out of bounds.");
+			lsrc.position(sp);
+			lsrc.get(dst, dp, llen);
+			sp += llen;
+			dp += llen;
+			if( sp >= send )
+				break; //last sequence
+
+			//copy match (potentially overlapping)
+			int off = (lsrc.get(sp) & 0xFF) | ((lsrc.get(sp+1) & 0xFF) << 8);
+			sp += 2;
+			int mlen = token & 0x0F;
+			if( mlen == 15 ) {
+				int b;
+				do { mlen += (b = lsrc.get(sp++) & 0xFF); } while( b == 255 );
+			}
+			mlen += MIN_MATCH;
+			int ref = dp - off;
+			if( off == 0 || ref < 0 || dp + mlen > dstLen )
+				throw new IOException("Corrupted LZ4 block: match out of bounds.");
+			for( int i=0; i<mlen; i++ )
+				dst[dp++] = dst[ref++];
+		}
+
+		if( dp != dstLen )
+			throw new IOException("Corrupted LZ4 block: decompressed "
+				+ dp + " instead of " + dstLen + " bytes.");
+	}
+
+	private static int writeSequence(byte[] src, int anchor, int llen, int off, int mlen, byte[] dst, int dp) {
+		int ml = mlen - MIN_MATCH;
+		dst[dp++] = (byte) ((Math.min(llen, 15) << 4) | Math.min(ml, 15));
+		if( llen >= 15 )
+			dp = writeLength(llen - 15, dst, dp);
+		System.arraycopy(src, anchor, dst, dp, llen);
+		dp += llen;
+		dst[dp++] = (byte) off;
+		dst[dp++] = (byte) (off >>> 8);
+		if( ml >= 15 )
+			dp = writeLength(ml - 15, dst, dp);
+		return dp;
+	}
+
+	private static int writeLength(int len, byte[] dst, int dp) {
+		for( ; len >= 255; len -= 255 )
+			dst[dp++] = (byte) 255;
+		dst[dp++] = (byte) len;
+		return dp;
+	}
+
+	private static int readInt(byte[] src, int pos) {
+		return (src[pos] & 0xFF) | ((src[pos+1] & 0xFF) << 8)
+			| ((src[pos+2] & 0xFF) << 16) | ((src[pos+3] & 0xFF) << 24);
+	}
+
+	private static int hash(int seq) {
+		return (seq * -1640531535) >>> (32 - HASH_LOG);
+	}
+}
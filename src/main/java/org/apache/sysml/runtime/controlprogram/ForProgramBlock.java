@@ -28,6 +28,7 @@ import org.apache.sysml.parser.ForStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -113,10 +114,12 @@ public class ForProgramBlock extends ProgramBlock
 				+ "of variable '" + _iterPredVar + "' must evaluate to a non-zero value.");
 		
 		// execute for loop
+		ArrayList<CacheableData<?>> hints = null;
 		try 
 		{
-			// prepare update in-place variables
+			// prepare update in-place variables and read hints
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			hints = prepareReadHints(ec);
 			
 			// run for loop body for each instance of predicate sequence 
 			SequenceIterator seqIter = new SequenceIterator(from, to, incr);
@@ -142,6 +145,9 @@ public class ForProgramBlock extends ProgramBlock
 		catch (Exception e) {
 			throw new DMLRuntimeException(printBlockErrorLocation() + "Error evaluating for program block", e);
 		}
+		finally {
+			resetReadHints(hints);
+		}
 		
 		//execute exit instructions
 		try {
@@ -35,16 +35,22 @@ import org.apache.sysml.parser.ParseInfo;
 import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
@@ -205,6 +211,9 @@ public class ProgramBlock implements ParseInfo
 		for (int i = 0; i < inst.size(); i++) {
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
+			//prefetch inputs of upcoming instructions
+			if( CachePrefetcher.isActive() )
+				prefetchInputs(inst, i, ec);
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
@@ -334,6 +343,88 @@ public class ProgramBlock implements ParseInfo
 			}
 	}
 	
+	/**
+	 * Adds hints about upcoming reads of the loop-invariant inputs of this
+	 * program block (i.e., variables read but not updated in the loop body)
+	 * to the buffer pool, if used by the eviction policy.
+	 * 
+	 * @param ec execution context
+	 * @return list of hinted data objects, or null if not applicable
+	 */
+	protected ArrayList<CacheableData<?>> prepareReadHints(ExecutionContext ec) {
+		if( _sb == null || !LazyWriteBuffer.isReadHintsEnabled() )
+			return null;
+		
+		ArrayList<CacheableData<?>> ret = new ArrayList<>();
+		for( String varname : _sb.variablesRead().getVariableNames() ) {
+			if( _sb.variablesUpdated().containsVariable(varname) )
+				continue;
+			Data dat = ec.getVariable(varname);
+			if( dat instanceof CacheableData ) {
+				CacheableData<?> cd = (CacheableData<?>) dat;
+				cd.addReadHint();
+				ret.add(cd);
+			}
+		}
+		return ret;
+	}
+	
+	protected void resetReadHints(ArrayList<CacheableData<?>> hints) {
+		if( hints == null )
+			return;
+		for( CacheableData<?> cd : hints )
+			cd.removeReadHint();
+	}
+	
+	/**
+	 * Issues asynchronous restores (from the buffer pool or HDFS) for the
+	 * matrix and frame inputs of the instruction that enters the prefetch
+	 * window at the given position, i.e., the upcoming computation
+	 * instruction at distance CACHING_PREFETCH_LOOKAHEAD, or all upcoming
+	 * instructions of the initial window. Inputs that are (re)assigned by
+	 * instructions in between are skipped to avoid wasted prefetches.
+	 * 
+	 * @param inst list of instructions
+	 * @param pos position of the current instruction
+	 * @param ec execution context
+	 */
+	protected void prefetchInputs(ArrayList<Instruction> inst, int pos, ExecutionContext ec) {
+		int lookahead = CacheableData.CACHING_PREFETCH_LOOKAHEAD;
+		int end = Math.min(pos + lookahead, inst.size()-1);
+		for( int j=(pos==0) ? 1 : pos+lookahead; j<=end; j++ ) {
+			if( !(inst.get(j) instanceof ComputationCPInstruction) )
+				continue;
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst.get(j);
+			for( CPOperand in : new CPOperand[]{cinst.input1, cinst.input2, cinst.input3} ) {
+				if( in == null || !(in.isMatrix() || in.getDataType().isFrame())
+					|| isAssigned(inst, pos, j, in.getName()) )
+					continue;
+				Data dat = ec.getVariable(in.getName());
+				if( dat instanceof CacheableData )
+					((CacheableData<?>) dat).prefetch();
+			}
+		}
+	}
+	
+	private static boolean isAssigned(ArrayList<Instruction> inst, int from, int to, String varname) {
+		for( int i=from; i<to; i++ ) {
+			Instruction tmp = inst.get(i);
+			if( tmp instanceof ComputationCPInstruction 
+				&& varname.equals(((ComputationCPInstruction)tmp).getOutputVariableName()) )
+				return true;
+			if( tmp instanceof VariableCPInstruction ) {
+				//create, copy, move, and remove variable
+				VariableCPInstruction vinst = (VariableCPInstruction) tmp;
+				if( varname.equals(vinst.getOutputVariableName()) )
+					return true;
+				for( CPOperand in : vinst.getInputs() )
+					if( in != null && varname.equals(in.getName()) )
+						return true;
+			}
+		}
+		return false;
+	}
+	
 	private static void checkSparsity( Instruction lastInst, LocalVariableMap vars )
 	{
 		for( String varname : vars.keySet() )
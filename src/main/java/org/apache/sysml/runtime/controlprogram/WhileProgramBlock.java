@@ -27,6 +27,7 @@ import org.apache.sysml.parser.WhileStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -101,10 +102,12 @@ public class WhileProgramBlock extends ProgramBlock
 	public void execute(ExecutionContext ec)
 	{
 		//execute while loop
+		ArrayList<CacheableData<?>> hints = null;
 		try 
 		{
-			// prepare update in-place variables
+			// prepare update in-place variables and read hints
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			hints = prepareReadHints(ec);
 			
 			//run loop body until predicate becomes false
 			while( executePredicate(ec).getBooleanValue() ) {
@@ -125,6 +128,9 @@ public class WhileProgramBlock extends ProgramBlock
 		catch (Exception e) {
 			throw new DMLRuntimeException(printBlockErrorLocation() + "Error evaluating while program block", e);
 		}
+		finally {
+			resetReadHints(hints);
+		}
 		
 		//execute exit instructions
 		try {
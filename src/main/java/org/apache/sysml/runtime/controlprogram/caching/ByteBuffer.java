@@ -24,14 +24,21 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Arrays;
 
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.utils.LZ4Utils;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 /**
  * Wrapper for WriteBuffer byte array per matrix/frame in order to
- * support matrix/frame serialization outside global lock.
+ * support matrix/frame serialization outside global lock. Buffers
+ * can be compressed in memory (compressed tier of the write buffer),
+ * in which case they are decompressed on restore and eviction.
+ * Byte arrays are obtained from the page cache, where the serialized
+ * length might be smaller than the length of the array.
  * 
  */
 public class ByteBuffer
@@ -39,13 +46,26 @@ public class ByteBuffer
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
-	private final long _size;
+	private volatile boolean _compressed;
+	private volatile long _size;     //serialized size
+	private volatile long _capacity; //allocated size (charged to the buffer pool)
+	
+	//compressed in-memory tier (byte compressed serialized block)
+	private volatile boolean _lz4 = false;
+	private volatile boolean _incompressible = false;
+	private int _rawLen = -1;
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
 	
-	public ByteBuffer( long size ) {
+	//buffer pool meta data (modified under the stripe lock)
+	private volatile long _seq = -1;            //insert/access sequence number
+	private volatile boolean _evicting = false; //pending eviction to local FS
+	
+	public ByteBuffer( long size, boolean shallow ) {
 		_size = size;
+		_capacity = (!shallow && CacheableData.CACHING_BUFFER_PAGECACHE) ?
+			PageCache.getPageSize((int)size) : size;
 		_serialized = false;
 	}
 
@@ -54,16 +74,14 @@ public class ByteBuffer
 	{	
 		_shallow = cb.isShallowSerialize(true);
 		_matrix = (cb instanceof MatrixBlock);
+		_compressed = (cb instanceof CompressedMatrixBlock);
 		
 		try
 		{
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
-					_bdata = PageCache.getPage((int)_size);
-				if( _bdata==null )
-					_bdata = new byte[(int)_size];
+				_bdata = PageCache.obtainPage((int)_size);
 				DataOutput dout = new CacheDataOutput(_bdata);
 				cb.write(dout);
 			}
@@ -84,16 +102,26 @@ public class ByteBuffer
 		_serialized = true;
 	}
 
-	public CacheBlock deserializeBlock() 
+	public synchronized CacheBlock deserializeBlock() 
 		throws IOException
 	{
 		CacheBlock ret = null;
 		
-		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
-				new DataInputStream(new ByteArrayInputStream(_bdata));
+		if( _bdata == null && _cdata == null ) //freed by eviction or delete
+			return null;
+		else if( _compressed ) { //compressed matrix (w/o intermediate copies)
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock();
+			cmb.readFields(java.nio.ByteBuffer.wrap(_bdata));
+			ret = cmb;
+		}
+		else if( !_shallow ) { //sparse matrix / string frame
+			byte[] bdata = _lz4 ? decompressBuffer() : _bdata;
+			DataInput din = _matrix ? new CacheDataInput(bdata) :
+				new DataInputStream(new ByteArrayInputStream(bdata));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
 			ret.readFields(din);
+			if( _lz4 )
+				PageCache.releasePage(bdata);
 		}
 		else { //dense matrix/frame
 			ret = _cdata;
@@ -101,13 +129,107 @@ public class ByteBuffer
 		
 		return ret;
 	}
+	
+	/**
+	 * Compresses the serialized cache block for the compressed tier
+	 * of the write buffer, without modifying this buffer. Shallow
+	 * serialized blocks are serialized to a byte array beforehand.
+	 * Buffers of compressed matrix blocks, already compressed buffers,
+	 * and buffers that do not reach the given compression ratio are
+	 * not compressed.
+	 * 
+	 * @param minRatio minimum compression ratio (raw over compressed size)
+	 * @return compressed byte array, or null if not compressed
+	 * @throws IOException if IOException occurs
+	 */
+	public byte[] compressBuffer(double minRatio) 
+		throws IOException
+	{
+		if( _lz4 || _compressed || _incompressible )
+			return null;
+		
+		//obtain raw byte serialized array
+		byte[] raw = _bdata;
+		int len = (int)_size;
+		if( _shallow ) {
+			long size = _cdata.getExactSerializedSize();
+			if( size > Integer.MAX_VALUE ) {
+				_incompressible = true;
+				return null;
+			}
+			len = (int)size;
+			raw = PageCache.obtainPage(len);
+			DataOutput dout = new CacheDataOutput(raw);
+			_cdata.write(dout);
+		}
+		
+		//compress and probe compression ratio
+		byte[] tmp = PageCache.obtainPage(LZ4Utils.maxCompressedLength(len));
+		int clen = LZ4Utils.compress(raw, len, tmp);
+		byte[] ret = null;
+		if( (double)len / clen >= minRatio ) {
+			_rawLen = len;
+			ret = Arrays.copyOf(tmp, clen);
+		}
+		else
+			_incompressible = true;
+		
+		//return temporary pages
+		PageCache.releasePage(tmp);
+		if( _shallow )
+			PageCache.releasePage(raw);
+		return ret;
+	}
+	
+	/**
+	 * Replaces the serialized cache block by its compressed representation
+	 * obtained via {@link #compressBuffer(double)}.
+	 * 
+	 * @param cdata compressed byte array
+	 * @return number of released bytes
+	 */
+	public synchronized long setCompressedBuffer(byte[] cdata) {
+		if( !_shallow )
+			PageCache.releasePage(_bdata);
+		long oldSize = _capacity;
+		_bdata = cdata;
+		_cdata = null;
+		_shallow = false;
+		_lz4 = true;
+		_size = cdata.length;
+		_capacity = cdata.length;
+		return oldSize - _capacity;
+	}
+	
+	public boolean isCompressedBuffer() {
+		return _lz4;
+	}
+	
+	public long getRawSize() {
+		return _lz4 ? _rawLen : _size;
+	}
+	
+	private byte[] decompressBuffer() 
+		throws IOException
+	{
+		byte[] ret = PageCache.obtainPage(_rawLen);
+		LZ4Utils.decompress(java.nio.ByteBuffer.wrap(_bdata), 0, _bdata.length, ret, _rawLen);
+		return ret;
+	}
 
-	public void evictBuffer( String fname ) 
+	public synchronized void evictBuffer( String fname ) 
 		throws IOException
 	{
 		if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			byte[] bdata = _lz4 ? decompressBuffer() : _bdata;
+			LocalFileUtils.writeByteArrayToLocal(fname, bdata, _lz4 ? _rawLen : (int)_size);
+			if( _lz4 )
+				PageCache.releasePage(bdata);
+		}
+		else if( isMappableBlock(_cdata) ) {
+			//write dense matrix as mappable file (restored by remapping)
+			LocalFileUtils.writeMatrixBlockToMappedLocal(fname, (MatrixBlock)_cdata);
 		}
 		else {
 			//serialize cache block to output stream
@@ -116,24 +238,41 @@ public class ByteBuffer
 	}
 	
 	/**
-	 * Returns the buffer size in bytes.
+	 * Returns the buffer size in bytes, i.e., the allocated size
+	 * which might exceed the serialized size for pooled pages.
 	 * 
 	 * @return buffer size in bytes
 	 */
 	public long getSize() {
-		return _size;
+		return _capacity;
 	}
 
 	public boolean isShallow() {
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public long getSequence() {
+		return _seq;
+	}
+	
+	public void setSequence(long seq) {
+		_seq = seq;
+	}
+	
+	public boolean isEvicting() {
+		return _evicting;
+	}
+	
+	public void setEvicting(boolean flag) {
+		_evicting = flag;
+	}
+	
+	public synchronized void freeMemory()
 	{
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
-				PageCache.putPage(_bdata);
+			if( !_lz4 && _bdata != null )
+				PageCache.releasePage(_bdata);
 			_bdata = null;
 		}
 		else {
@@ -153,6 +292,21 @@ public class ByteBuffer
 		}
 	}
 	
+	public void checkEvicted()
+	{
+		//robust checking until pending eviction finished
+		while( _evicting ) {
+			try{Thread.sleep(1);} catch(Exception e) {}
+		}
+	}
+	
+	private static boolean isMappableBlock(CacheBlock cb) {
+		if( !CacheableData.CACHING_BUFFER_OFFHEAP || !(cb instanceof MatrixBlock) )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		return !mb.isInSparseFormat() && mb.getDenseBlock() != null;
+	}
+	
 	/**
 	 * Determines if byte buffer can hold the given size given this specific cache block.
 	 * This call is consistent with 'serializeBlock' and allows for internal optimization
@@ -41,6 +41,15 @@ public interface CacheBlock extends Writable
 	 */
 	public long getInMemorySize();
 	
+	/**
+	 * Get the size in bytes of data held outside the JVM heap (e.g., in
+	 * direct or memory-mapped buffers), which is not included in the
+	 * in-memory size of the cache block.
+	 * 
+	 * @return off-heap size in bytes of cache block
+	 */
+	public long getOffHeapSize();
+	
 	/**
 	 * Get the exact serialized size in bytes of the cache block.
 	 * 
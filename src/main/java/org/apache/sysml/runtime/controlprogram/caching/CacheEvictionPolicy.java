@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+
+/**
+ * Pluggable victim selection of the write buffer. Policies assign an
+ * eviction score to buffer entries, and the entry with the largest score
+ * over all stripes is evicted first. Queue-order policies (FIFO, LRU) only
+ * need to score the first entry of each stripe, while other policies score
+ * all entries that are not already being evicted.
+ */
+public interface CacheEvictionPolicy
+{
+	/**
+	 * Obtains the eviction score of a buffer entry, where entries
+	 * with larger scores are evicted first.
+	 * 
+	 * @param fname file name of the buffer entry
+	 * @param bbuff buffer entry
+	 * @param seq current global sequence number
+	 * @return eviction score
+	 */
+	public double getEvictionScore(String fname, ByteBuffer bbuff, long seq);
+	
+	/**
+	 * Indicates if the policy evicts in the insertion order of the
+	 * stripe queues, i.e., if only the first entries need scoring.
+	 * 
+	 * @return true if queue order policy
+	 */
+	public default boolean isQueueOrder() {
+		return false;
+	}
+	
+	/**
+	 * Indicates if buffer entries are reordered on access, i.e., if
+	 * reads update the sequence number of the accessed entry.
+	 * 
+	 * @return true if access order is maintained
+	 */
+	public default boolean isAccessOrder() {
+		return false;
+	}
+	
+	/**
+	 * Indicates if the policy uses compiler hints about upcoming reads,
+	 * which are only collected during runtime if required.
+	 * 
+	 * @return true if read hints are used
+	 */
+	public default boolean usesReadHints() {
+		return false;
+	}
+	
+	public static CacheEvictionPolicy create(RPolicy policy) {
+		switch( policy ) {
+			case FIFO: return new QueueOrderPolicy(false);
+			case LRU:  return new QueueOrderPolicy(true);
+			case COST: return new CostAwareEvictionPolicy();
+			default:
+				throw new RuntimeException("Unsupported eviction policy: "+policy);
+		}
+	}
+	
+	/**
+	 * First-in, first-out or least-recently-used eviction,
+	 * where older sequence numbers are evicted first.
+	 */
+	public static class QueueOrderPolicy implements CacheEvictionPolicy
+	{
+		private final boolean _lru;
+		
+		public QueueOrderPolicy(boolean lru) {
+			_lru = lru;
+		}
+		
+		@Override
+		public double getEvictionScore(String fname, ByteBuffer bbuff, long seq) {
+			return seq - bbuff.getSequence();
+		}
+		
+		@Override
+		public boolean isQueueOrder() {
+			return true;
+		}
+		
+		@Override
+		public boolean isAccessOrder() {
+			return _lru;
+		}
+		
+		@Override
+		public String toString() {
+			return _lru ? "LRU" : "FIFO";
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Prefetch service for asynchronous restores of evicted data blobs and
+ * reads of data blobs from HDFS, which allows overlapping the read latency
+ * of upcoming acquire reads with computation. The service uses a bounded
+ * pool of I/O threads and bounds the total size of pending prefetches
+ * (issued but not yet consumed) in order to prevent memory pressure.
+ */
+public class CachePrefetcher
+{
+	private static final Log LOG = LogFactory.getLog(CachePrefetcher.class.getName());
+	
+	private static volatile ExecutorService _pool = null;
+	private static AtomicLong _size = null; //total size of pending prefetches
+	private static long _limit = -1; //maximum size of pending prefetches
+	
+	public static synchronized void init() {
+		cleanup();
+		_pool = Executors.newFixedThreadPool(CacheableData.CACHING_PREFETCH_THREADS, r -> {
+			Thread t = new Thread(r, "CachePrefetcher");
+			t.setDaemon(true);
+			return t;
+		});
+		_size = new AtomicLong(0);
+		_limit = (long)(CacheableData.CACHING_PREFETCH_SIZE 
+			* InfrastructureAnalyzer.getLocalMaxMemory());
+	}
+	
+	public static synchronized void cleanup() {
+		if( _pool != null )
+			_pool.shutdownNow();
+		_pool = null;
+	}
+	
+	public static boolean isActive() {
+		return _pool != null;
+	}
+	
+	public static long getPrefetchSize() {
+		AtomicLong size = _size;
+		return (size != null) ? size.get() : 0;
+	}
+	
+	/**
+	 * Submits a prefetch task if the prefetch service is active and the
+	 * estimated size of the prefetched blob fits into the remaining budget
+	 * of pending prefetches.
+	 * 
+	 * @param fname source file name (local cache file or HDFS file)
+	 * @param hdfs true if the source is an HDFS file
+	 * @param size estimated in-memory size of the prefetched blob
+	 * @param task read task
+	 * @param <T> cache block type
+	 * @return prefetch handle, or null if no prefetch was issued
+	 */
+	public static synchronized <T extends CacheBlock> Prefetch<T> submit(
+		String fname, boolean hdfs, long size, Callable<T> task)
+	{
+		if( _pool == null || _size.get() + size > _limit )
+			return null;
+		_size.addAndGet(size);
+		return new Prefetch<>(fname, hdfs, size, _size, _pool.submit(task));
+	}
+	
+	/**
+	 * Handle of a single issued prefetch, which is either consumed by
+	 * an acquire read or discarded. Handles are only accessed while
+	 * holding the lock of the owning data object.
+	 */
+	public static class Prefetch<T extends CacheBlock>
+	{
+		private final String _fname;
+		private final boolean _hdfs;
+		private final long _psize;
+		private final AtomicLong _total;
+		private final Future<T> _future;
+		private boolean _released = false;
+		
+		private Prefetch(String fname, boolean hdfs, long size, AtomicLong total, Future<T> future) {
+			_fname = fname;
+			_hdfs = hdfs;
+			_psize = size;
+			_total = total;
+			_future = future;
+		}
+		
+		public String getFileName() {
+			return _fname;
+		}
+		
+		public boolean isFromHDFS() {
+			return _hdfs;
+		}
+		
+		/**
+		 * Obtains the prefetched blob, which waits for pending prefetches.
+		 * 
+		 * @return prefetched blob, or null if the prefetch failed
+		 */
+		public T get() {
+			long t0 = ConfigurationManager.isStatistics() && !_future.isDone() ? System.nanoTime() : 0;
+			T ret = null;
+			try {
+				ret = _future.get();
+			}
+			catch(InterruptedException | ExecutionException ex) {
+				//fallback to synchronous restore or read, which
+				//surfaces the error if the read fails again
+				LOG.warn("Prefetch of "+_fname+" failed: "+ex.getMessage());
+			}
+			if( t0 != 0 )
+				CacheStatistics.incrementPrefetchWaitTime(System.nanoTime()-t0);
+			release();
+			return ret;
+		}
+		
+		/**
+		 * Discards the prefetched blob, e.g., if the data object was
+		 * modified or cleared in the meantime.
+		 */
+		public void discard() {
+			_future.cancel(false);
+			release();
+			if( ConfigurationManager.isStatistics() )
+				CacheStatistics.incrementPrefetchWasted();
+		}
+		
+		private void release() {
+			if( !_released )
+				_total.addAndGet(-_psize);
+			_released = true;
+		}
+	}
+}
@@ -25,6 +25,10 @@ import java.util.concurrent.atomic.LongAdder;
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Write buffer statistics per lock stripe
+ * 3) Prefetch statistics (hits, misses, wasted prefetches)
+ * 4) Compressed tier and restore latency statistics per tier
+ * 5) Page cache statistics (requests, thread-local and shared hits)
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -49,6 +53,13 @@ public class CacheStatistics
 		CACHE_TIME_EXP, //export 
 	}
 	
+	//tiers of restores (for acquire read)
+	public enum Tier {
+		WB,            //write buffer
+		WB_COMPRESSED, //compressed tier of write buffer
+		FS,            //local file system
+	}
+	
 	//hit statistics (for acquire read)
 	private static final LongAdder _numHitsMem      = new LongAdder();
 	private static final LongAdder _numHitsFSBuff   = new LongAdder();
@@ -65,6 +76,32 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//write buffer statistics per lock stripe
+	private static final LongAdder[] _stripeWrites     = createStripeAdders();
+	private static final LongAdder[] _stripeHits       = createStripeAdders();
+	private static final LongAdder[] _stripeEvictions  = createStripeAdders();
+	private static final LongAdder[] _stripeContention = createStripeAdders();
+	private static final LongAdder _numAsyncEvictions  = new LongAdder();
+	private static final LongAdder _numHintedEvictions = new LongAdder();
+	
+	//prefetch statistics (for acquire read)
+	private static final LongAdder _numPrefetchHits    = new LongAdder();
+	private static final LongAdder _numPrefetchMisses  = new LongAdder();
+	private static final LongAdder _numPrefetchWasted  = new LongAdder();
+	private static final LongAdder _ctimePrefetchWait  = new LongAdder(); //in nano sec
+	
+	//compressed tier and restore statistics
+	private static final LongAdder _numCompressedWrites = new LongAdder();
+	private static final LongAdder _sizeCompressedRaw   = new LongAdder(); //in bytes
+	private static final LongAdder _sizeCompressed      = new LongAdder(); //in bytes
+	private static final LongAdder[] _numRestores       = createTierAdders();
+	private static final LongAdder[] _ctimeRestore      = createTierAdders(); //in nano sec
+	
+	//page cache statistics (serialization and I/O buffers)
+	private static final LongAdder _numPageRequests   = new LongAdder();
+	private static final LongAdder _numPageLocalHits  = new LongAdder();
+	private static final LongAdder _numPageGlobalHits = new LongAdder();
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -80,6 +117,32 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		for( int i=0; i<_stripeWrites.length; i++ ) {
+			_stripeWrites[i].reset();
+			_stripeHits[i].reset();
+			_stripeEvictions[i].reset();
+			_stripeContention[i].reset();
+		}
+		_numAsyncEvictions.reset();
+		_numHintedEvictions.reset();
+		
+		_numPrefetchHits.reset();
+		_numPrefetchMisses.reset();
+		_numPrefetchWasted.reset();
+		_ctimePrefetchWait.reset();
+		
+		_numCompressedWrites.reset();
+		_sizeCompressedRaw.reset();
+		_sizeCompressed.reset();
+		for( int i=0; i<_numRestores.length; i++ ) {
+			_numRestores[i].reset();
+			_ctimeRestore[i].reset();
+		}
+		
+		_numPageRequests.reset();
+		_numPageLocalHits.reset();
+		_numPageGlobalHits.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -198,6 +261,153 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementStripeWrites(int stripe) {
+		_stripeWrites[stripe].increment();
+	}
+	
+	public static long getStripeWrites(int stripe) {
+		return _stripeWrites[stripe].longValue();
+	}
+	
+	public static void incrementStripeHits(int stripe) {
+		_stripeHits[stripe].increment();
+	}
+	
+	public static long getStripeHits(int stripe) {
+		return _stripeHits[stripe].longValue();
+	}
+	
+	public static void incrementStripeEvictions(int stripe) {
+		_stripeEvictions[stripe].increment();
+	}
+	
+	public static long getStripeEvictions(int stripe) {
+		return _stripeEvictions[stripe].longValue();
+	}
+	
+	public static void incrementStripeContention(int stripe) {
+		_stripeContention[stripe].increment();
+	}
+	
+	public static long getStripeContention(int stripe) {
+		return _stripeContention[stripe].longValue();
+	}
+	
+	public static void incrementAsyncEvictions() {
+		_numAsyncEvictions.increment();
+	}
+	
+	public static long getAsyncEvictions() {
+		return _numAsyncEvictions.longValue();
+	}
+	
+	public static void incrementHintedEvictions() {
+		_numHintedEvictions.increment();
+	}
+	
+	public static long getHintedEvictions() {
+		return _numHintedEvictions.longValue();
+	}
+	
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+	
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+	
+	public static void incrementPrefetchMisses() {
+		_numPrefetchMisses.increment();
+	}
+	
+	public static long getPrefetchMisses() {
+		return _numPrefetchMisses.longValue();
+	}
+	
+	public static void incrementPrefetchWasted() {
+		_numPrefetchWasted.increment();
+	}
+	
+	public static long getPrefetchWasted() {
+		return _numPrefetchWasted.longValue();
+	}
+	
+	public static void incrementPrefetchWaitTime(long delta) {
+		_ctimePrefetchWait.add(delta);
+	}
+	
+	public static long getPrefetchWaitTime() {
+		return _ctimePrefetchWait.longValue();
+	}
+	
+	public static void incrementCompressedWrites(long rawSize, long size) {
+		_numCompressedWrites.increment();
+		_sizeCompressedRaw.add(rawSize);
+		_sizeCompressed.add(size);
+	}
+	
+	public static long getCompressedWrites() {
+		return _numCompressedWrites.longValue();
+	}
+	
+	public static double getCompressionRatio() {
+		long size = _sizeCompressed.longValue();
+		return (size > 0) ? (double)_sizeCompressedRaw.longValue() / size : 1;
+	}
+	
+	public static void incrementRestoreTime(Tier tier, long delta) {
+		_numRestores[tier.ordinal()].increment();
+		_ctimeRestore[tier.ordinal()].add(delta);
+	}
+	
+	public static long getRestores(Tier tier) {
+		return _numRestores[tier.ordinal()].longValue();
+	}
+	
+	/**
+	 * Obtains the average restore latency from the given tier.
+	 * 
+	 * @param tier restore tier
+	 * @return average restore latency in nano sec
+	 */
+	public static double getRestoreLatency(Tier tier) {
+		long num = _numRestores[tier.ordinal()].longValue();
+		return (num > 0) ? (double)_ctimeRestore[tier.ordinal()].longValue() / num : 0;
+	}
+	
+	public static void incrementPageRequests() {
+		_numPageRequests.increment();
+	}
+	
+	public static long getPageRequests() {
+		return _numPageRequests.longValue();
+	}
+	
+	public static void incrementPageHits(boolean local) {
+		if( local )
+			_numPageLocalHits.increment();
+		else
+			_numPageGlobalHits.increment();
+	}
+	
+	public static long getPageHits(boolean local) {
+		return local ? _numPageLocalHits.longValue() : _numPageGlobalHits.longValue();
+	}
+	
+	/**
+	 * Obtains the hit ratio of the write buffer, i.e., the fraction of
+	 * restores from the buffer over all restores from buffer and local FS,
+	 * which allows comparing eviction policies.
+	 * 
+	 * @return write buffer hit ratio
+	 */
+	public static double getBufferHitRatio() {
+		long hits = _numHitsFSBuff.longValue();
+		long total = hits + _numHitsFS.longValue();
+		return (total > 0) ? (double)hits / total : 1;
+	}
+	
 	public static String displayHits() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -222,6 +432,89 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	/**
+	 * Displays the write buffer statistics over all lock stripes as
+	 * total and maximum per stripe of writes, hits, evictions, and
+	 * contended lock acquisitions, as well as asynchronous evictions.
+	 * 
+	 * @return write buffer stripe statistics
+	 */
+	public static String displayStripes() {
+		LongAdder[][] stats = new LongAdder[][]{
+			_stripeWrites, _stripeHits, _stripeEvictions, _stripeContention};
+		StringBuilder sb = new StringBuilder();
+		StringBuilder sbMax = new StringBuilder();
+		for( int i=0; i<stats.length; i++ ) {
+			long total = 0, max = 0;
+			for( LongAdder stat : stats[i] ) {
+				total += stat.longValue();
+				max = Math.max(max, stat.longValue());
+			}
+			sb.append((i>0) ? "/" : "").append(total);
+			sbMax.append((i>0) ? "/" : "").append(max);
+		}
+		sb.append(" (max ").append(sbMax).append(", async ");
+		sb.append(_numAsyncEvictions.longValue()).append(")");
+		return sb.toString();
+	}
+	
+	public static String displayPolicy(String policy) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(policy);
+		sb.append("/");
+		sb.append(String.format("%.3f", getBufferHitRatio()));
+		sb.append("/");
+		sb.append(_numHintedEvictions.longValue());
+		
+		return sb.toString();
+	}
+	
+	public static String displayPrefetch() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetchHits.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchMisses.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchWasted.longValue());
+		sb.append(" (wait ");
+		sb.append(String.format("%.3f", ((double)_ctimePrefetchWait.longValue())/1000000000)); //in sec
+		sb.append(" sec)");
+		
+		return sb.toString();
+	}
+	
+	public static String displayCompression() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numCompressedWrites.longValue());
+		sb.append("/");
+		sb.append(_numRestores[Tier.WB_COMPRESSED.ordinal()].longValue());
+		sb.append("/");
+		sb.append(String.format("%.2f", getCompressionRatio()));
+		
+		return sb.toString();
+	}
+	
+	public static String displayRestoreLatency() {
+		StringBuilder sb = new StringBuilder();
+		for( Tier tier : Tier.values() ) {
+			sb.append((tier.ordinal()>0) ? "/" : "");
+			sb.append(String.format("%.3f", getRestoreLatency(tier)/1000000)); //in msec
+		}
+		
+		return sb.toString();
+	}
+	
+	public static String displayPages() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPageRequests.longValue());
+		sb.append("/");
+		sb.append(_numPageLocalHits.longValue());
+		sb.append("/");
+		sb.append(_numPageGlobalHits.longValue());
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
@@ -234,4 +527,18 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	private static LongAdder[] createStripeAdders() {
+		LongAdder[] ret = new LongAdder[CacheableData.CACHING_BUFFER_STRIPES];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = new LongAdder();
+		return ret;
+	}
+	
+	private static LongAdder[] createTierAdders() {
+		LongAdder[] ret = new LongAdder[Tier.values().length];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = new LongAdder();
+		return ret;
+	}
 }
@@ -79,12 +79,21 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long    CACHING_THRESHOLD = (long)Math.max(4*1024, //obj not s.t. caching
 		1e-5 * InfrastructureAnalyzer.getLocalMaxMemory());       //if below threshold [in bytes]
 	public static double CACHING_BUFFER_SIZE = 0.15; 
-	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
+	public static boolean CACHING_BUFFER_PAGECACHE = false; //size-class pooling of serialization buffers (opt-in)
+	public static boolean CACHING_BUFFER_OFFHEAP = false; //mapped eviction of dense blocks (opt-in)
+	public static boolean CACHING_BUFFER_COMPRESS = false; //compressed in-memory tier of write buffer (opt-in)
+	public static boolean CACHING_MAPPED_RESTORE = false; //restore of large evicted blocks via mapped files (opt-in)
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static boolean CACHING_ASYNC_EVICTION = false; //background eviction above watermark (opt-in)
+	public static final int     CACHING_BUFFER_STRIPES = 16; //lock stripes of write buffer (power of 2)
+	public static boolean CACHING_PREFETCH = false; //async restore of inputs of upcoming instructions (opt-in)
+	public static final int     CACHING_PREFETCH_THREADS = 2; //bounded I/O threads for prefetch
+	public static final int     CACHING_PREFETCH_LOOKAHEAD = 4; //prefetch window in number of instructions
+	public static final double  CACHING_PREFETCH_SIZE = 0.1; //max size of pending prefetches (fraction of max mem)
 	
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -125,6 +134,14 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private static ThreadLocal<Long> sizePinned = new ThreadLocal<Long>() {
 		@Override protected Long initialValue() { return 0L; }
 	};
+	
+	/**
+	 * Current off-heap state of pinned variables, which is not included
+	 * in the size of pinned variables because it does not consume heap.
+	 */
+	private static ThreadLocal<Long> sizePinnedOffHeap = new ThreadLocal<Long>() {
+		@Override protected Long initialValue() { return 0L; }
+	};
 
 	//current size of live broadcast objects (because Spark's ContextCleaner maintains 
 	//a buffer with references to prevent eager cleanup by GC); note that this is an 
@@ -150,6 +167,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	
 	/** Container object that holds the actual data. */
 	protected T _data = null;
+	
+	/** Pending or completed prefetch of the evicted data blob. */
+	private CachePrefetcher.Prefetch<T> _prefetch = null;
 
 	/**
 	 * Object that holds the metadata associated with the matrix, which
@@ -431,6 +451,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			}
 		}
 		
+		//get object from pending or completed prefetch
+		boolean prefetched = (_prefetch != null) && consumePrefetch();
+		if( _data == null && CachePrefetcher.isActive() && ConfigurationManager.isStatistics()
+			&& (isCached(false) || isEmpty(true)) )
+			CacheStatistics.incrementPrefetchMisses();
+		
 		//read data from HDFS/RDD if required
 		//(probe data for cache_nowrite / jvm_reuse)
 		if( _data==null && isEmpty(true) ) {
@@ -466,7 +492,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			}
 			_isAcquireFromEmpty = true;
 		}
-		else if( _data!=null && ConfigurationManager.isStatistics() ) {
+		else if( _data!=null && !prefetched && ConfigurationManager.isStatistics() ) {
 			CacheStatistics.incrementMemHits();
 		}
 		
@@ -475,6 +501,77 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _data;
 	}
 	
+	/**
+	 * Issues an asynchronous restore of the evicted data blob, or read of
+	 * the data blob from HDFS, in order to overlap the read latency of an
+	 * upcoming acquire read with computation. The prefetched blob is handed
+	 * over on the next acquire read, and discarded if the data object is
+	 * cleared or modified in the meantime.
+	 * 
+	 * @return true if a prefetch was issued
+	 */
+	public synchronized boolean prefetch() {
+		//probe for data in memory or already issued prefetch
+		if( !isCachingActive() || !CachePrefetcher.isActive() || _prefetch != null 
+			|| _data != null || (_cache != null && _cache.get() != null)
+			|| (_gpuObjects != null && !_gpuObjects.isEmpty()) 
+			|| _metaData == null || !getMatrixCharacteristics().dimsKnown() )
+			return false;
+		
+		MatrixCharacteristics mc = getMatrixCharacteristics();
+		long size = OptimizerUtils.estimateSizeExactSparsity(mc);
+		if( isCached(false) ) {
+			//restore evicted blob from write buffer or local FS
+			final String fname = getCacheFilePathAndName();
+			_prefetch = CachePrefetcher.submit(fname, false, size,
+				() -> readBlobFromCache(fname));
+		}
+		else if( isEmpty(true) && _hdfsFileName != null && isHDFSFileExists()
+			&& (getRDDHandle()==null || getRDDHandle().allowsShortCircuitRead()) ) {
+			//read blob from HDFS (w/o pending rdd operations)
+			final String fname = _hdfsFileName;
+			final long rlen = mc.getRows(), clen = mc.getCols();
+			_prefetch = CachePrefetcher.submit(fname, true, size,
+				() -> readBlobFromHDFS(fname, rlen, clen));
+		}
+		return (_prefetch != null);
+	}
+	
+	private boolean consumePrefetch() {
+		CachePrefetcher.Prefetch<T> prefetch = _prefetch;
+		_prefetch = null;
+		
+		//probe for unchanged source of prefetched blob
+		boolean hdfs = prefetch.isFromHDFS();
+		String fname = hdfs ? _hdfsFileName : getCacheFilePathAndName();
+		T data = (_data == null && prefetch.getFileName().equals(fname)
+			&& (hdfs ? isEmpty(true) : isCached(false))) ? prefetch.get() : null;
+		if( data == null ) {
+			prefetch.discard();
+			return false;
+		}
+		
+		//hand over prefetched blob (incl status of hdfs read)
+		_data = data;
+		if( hdfs ) {
+			if( ConfigurationManager.isStatistics() )
+				CacheStatistics.incrementHDFSHits();
+			_requiresLocalWrite = CACHING_WRITE_CACHE_ON_READ;
+			setDirty(false);
+			_isAcquireFromEmpty = true;
+		}
+		if( ConfigurationManager.isStatistics() )
+			CacheStatistics.incrementPrefetchHits();
+		return true;
+	}
+	
+	private void discardPrefetch() {
+		if( _prefetch != null ) {
+			_prefetch.discard();
+			_prefetch = null;
+		}
+	}
+	
 	/**
 	 * Acquires the exclusive "write" lock for a thread that wants to throw away the
 	 * old cache block data and link up with new cache block data. Abandons the old data
@@ -511,7 +608,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if (! isAvailableToModify ())
 			throw new DMLRuntimeException("CacheableData not available to modify.");
 		
-		//clear old data
+		//clear old data (incl pending prefetches, which would otherwise
+		//hand out stale blobs if cleanup is disabled)
+		discardPrefetch();
 		clearData();
 		
 		//cache status maintenance
@@ -560,6 +659,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			//set flags for write
 			write = true;
 			setDirty(true);
+			discardPrefetch();
 			
 			//update meta data
 			refreshMetaData();
@@ -610,14 +710,18 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new DMLRuntimeException("CacheableData (" + getDebugName() + ") not available to "
 					+ "modify. Status = " + _cacheStatus.name() + ".");
 		
-		// clear existing WB / FS representation (but prevent unnecessary probes)
+		// clear existing WB / FS representation (but prevent unnecessary probes),
+		// where blobs mapped from the evicted file are released before deletion
 		if( !(isEmpty(true)||(_data!=null && isBelowCachingThreshold()) 
-			  ||(_data!=null && !isCachingActive()) )) //additional condition for JMLC
+			  ||(_data!=null && !isCachingActive()) )) { //additional condition for JMLC
+			releaseMappedBlob((_data != null) ? _data : (_cache != null) ? _cache.get() : null);
 			freeEvictedBlob();
+		}
 
 		// clear the in-memory data
 		_data = null;
 		clearCache();
+		discardPrefetch();
 		
 		// clear rdd/broadcast back refs
 		if( _rddHandle != null )
@@ -853,6 +957,17 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected abstract T readBlobFromCache(String fname)
 		throws IOException;
 	
+	/**
+	 * Releases the given data blob if it is backed by a memory mapping
+	 * of the eviction file, which allows to delete this file afterwards.
+	 * By default, data blobs are never mapped and hence, nothing is done.
+	 * 
+	 * @param data data blob (restored from the eviction file), or null
+	 */
+	protected void releaseMappedBlob(T data) {
+		//do nothing
+	}
+	
 	/**
 	 * Low-level cache I/O method that deletes the file containing the
 	 * evicted data blob, without reading it.
@@ -879,6 +994,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return (_data != null) ?_data.getInMemorySize() : 0;
 	}
 	
+	public long getOffHeapDataSize() {
+		return (_data != null) ?_data.getOffHeapSize() : 0;
+	}
+	
 	protected ValueType[] getSchema() {
 		return null;
 	}
@@ -962,6 +1081,21 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	}
 	
 	
+	/**
+	 * Adds a hint about upcoming reads of this data object (e.g., as
+	 * loop-invariant input of an enclosing loop), which is used by 
+	 * cost-aware eviction policies of the write buffer.
+	 */
+	public void addReadHint() {
+		if( isCachingActive() )
+			LazyWriteBuffer.addReadHint(getCacheFilePathAndName());
+	}
+	
+	public void removeReadHint() {
+		if( isCachingActive() )
+			LazyWriteBuffer.removeReadHint(getCacheFilePathAndName());
+	}
+	
 	// ------------- IMPLEMENTED CACHE LOGIC METHODS --------------	
 	
 	protected String getCacheFilePathAndName () {
@@ -1166,12 +1300,20 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		long size = sizePinned.get();
 		size += (add ? 1 : -1) * _data.getInMemorySize();
 		sizePinned.set( Math.max(size,0) );
+		long osize = _data.getOffHeapSize();
+		if( osize > 0 )
+			sizePinnedOffHeap.set( Math.max(sizePinnedOffHeap.get()
+				+ (add ? 1 : -1) * osize, 0) );
 	}
 
 	protected static long getPinnedSize() {
 		return sizePinned.get();
 	}
 	
+	protected static long getPinnedOffHeapSize() {
+		return sizePinnedOffHeap.get();
+	}
+	
 	public static void addBroadcastSize(long size) {
 		_refBCs.addAndGet(size);
 	}
@@ -1186,8 +1328,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
-		//cleanup remaining cached writes
+		//cleanup remaining cached writes and prefetches
 		LazyWriteBuffer.cleanup();
+		CachePrefetcher.cleanup();
 		
 		//delete cache dir and files
 		cleanupCacheDir(true);
@@ -1253,8 +1396,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new IOException(e);
 		}
 	
-		//init write-ahead buffer
+		//init write-ahead buffer and prefetch service
 		LazyWriteBuffer.init();
+		if( CACHING_PREFETCH )
+			CachePrefetcher.init();
+		else
+			CachePrefetcher.cleanup();
 		_refBCs.set(0);
 		
 		_activeFlag = true; //turn on caching
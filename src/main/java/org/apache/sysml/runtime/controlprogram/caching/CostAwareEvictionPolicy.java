@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.runtime.controlprogram.caching;
+
+/**
+ * Cost-aware eviction policy that combines the access recency, block size,
+ * and restore costs of buffer entries with compiler hints about upcoming
+ * reads. The score of an entry is its age (in global accesses since its
+ * last access) times its size, divided by its restore cost, i.e., the
+ * policy prefers old and large entries that are cheap to restore per byte.
+ * The restore cost comprises a fixed per-file I/O latency and per-byte
+ * costs for writing, reading, and deserializing the block, where shallow
+ * entries (which are kept as objects) additionally require serialization.
+ * Entries with hints about upcoming reads (e.g., loop-invariant variables
+ * of enclosing loops) are penalized by a constant factor, so that dead or
+ * unused intermediates are evicted first.
+ */
+public class CostAwareEvictionPolicy implements CacheEvictionPolicy
+{
+	//restore cost model in bytes of I/O equivalent
+	private static final double FIXED_IO_COST = 64 * 1024;
+	private static final double DEEP_BYTE_COST = 2; //write, read/deserialize
+	private static final double SHALLOW_BYTE_COST = 3; //serialize, write, read/deserialize
+	
+	//score reduction of entries with upcoming reads
+	private static final double READ_HINT_FACTOR = 1e-3;
+	
+	@Override
+	public double getEvictionScore(String fname, ByteBuffer bbuff, long seq) {
+		double age = Math.max(seq - bbuff.getSequence(), 1);
+		double size = bbuff.getSize();
+		double cost = FIXED_IO_COST + size *
+			(bbuff.isShallow() ? SHALLOW_BYTE_COST : DEEP_BYTE_COST);
+		double score = age * size / cost;
+		return LazyWriteBuffer.hasReadHint(fname) ?
+			score * READ_HINT_FACTOR : score;
+	}
+	
+	@Override
+	public boolean isAccessOrder() {
+		return true;
+	}
+	
+	@Override
+	public boolean usesReadHints() {
+		return true;
+	}
+	
+	@Override
+	public String toString() {
+		return "COST";
+	}
+}
@@ -16,36 +16,76 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.apache.sysml.runtime.controlprogram.caching;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
+/**
+ * Write buffer of serialized cache blocks, which are evicted to local
+ * file system if the buffer exceeds its size limit. The buffer is 
+ * partitioned into lock stripes by file name to avoid serializing 
+ * concurrent writers (e.g., parfor workers) on a single global lock.
+ * Victims are selected across stripes by a pluggable eviction policy 
+ * (e.g., global FIFO/LRU order via sequence numbers, or cost-aware), 
+ * and evicted synchronously by writers that exceed the buffer limit. If
+ * background eviction is enabled (sysml.caching.async.eviction), victims
+ * are instead evicted by a background thread once the buffer size exceeds
+ * a high watermark, down to a low watermark, and writers evict synchronously
+ * only if the background eviction does not keep up. If the compressed tier is enabled,
+ * victims are first compressed in memory and only written to local file
+ * system if evicted again (or if they do not compress well).
+ */
 public class LazyWriteBuffer 
 {
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		COST, //cost-aware eviction w/ read hints
 	}
 	
+	//watermarks for background eviction (fractions of buffer limit)
+	public static final double EVICTION_HIGH_WATERMARK = 0.9;
+	public static final double EVICTION_LOW_WATERMARK = 0.75;
+	
+	//minimum compression ratio for entries of the compressed tier
+	public static final double COMPRESSION_MIN_RATIO = 2;
+	
+	//minimum file size for restores via memory-mapped files (in bytes)
+	public static final long MAPPED_RESTORE_THRESHOLD = 1024 * 1024;
+	
 	//global size limit in bytes
 	private static final long _limit;
 	
-	//current size in bytes
-	private static long _size;
+	//current size in bytes (incl reserved memory of pending writes)
+	private static final AtomicLong _size = new AtomicLong(0);
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map
-	//for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static EvictionQueue _mQueue;
+	//global sequence number for FIFO/LRU order across stripes
+	private static final AtomicLong _seq = new AtomicLong(0);
+	
+	//lock stripes, each with an eviction queue of <filename,buffer> pairs
+	private static Stripe[] _stripes;
+	
+	//victim selection policy, and hints about upcoming reads (file names
+	//with reference counts for nested scopes, e.g., of nested loops)
+	private static CacheEvictionPolicy _policy;
+	private static final ConcurrentHashMap<String, Integer> _readHints = new ConcurrentHashMap<>();
+	
+	//background eviction service
+	private static AsyncEvictor _evictor;
 	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
@@ -62,55 +102,61 @@ public class LazyWriteBuffer
 		//obtain basic meta data of cache block
 		long lSize = getCacheBlockSize(cb);
 		boolean requiresWrite = (lSize > _limit        //global buffer limit
-			|| !ByteBuffer.isValidCapacity(lSize, cb)); //local buffer limit
+			|| !ByteBuffer.isValidCapacity(lSize, cb)  //local buffer limit
+			|| isMappableBlock(cb));                   //off-heap blocks
 		int numEvicted = 0;
 		
 		//handle caching/eviction if it fits in writebuffer
 		if( !requiresWrite ) 
 		{
+			//check for failures of background eviction
+			if( _evictor != null )
+				_evictor.checkFailure();
+			
 			//create byte buffer handle (no block allocation yet)
-			ByteBuffer bbuff = new ByteBuffer( lSize );
+			//(charged with the allocated size, incl. page cache rounding)
+			ByteBuffer bbuff = new ByteBuffer( lSize, cb.isShallowSerialize(true) );
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size -= tmp.getSize();
-						numEvicted++;
-					}
-				}
-				
-				//put placeholder into buffer pool (reserve mem)
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;
+			//reserve memory and evict matrices synchronously to make room
+			//if the buffer exceeds its limit (by default FIFO)
+			long size = _size.addAndGet(bbuff.getSize());
+			while( size > _limit && evictOne(false) ) {
+				size = _size.get();
+				numEvicted++;
+			}
+			
+			//put placeholder into buffer pool stripe
+			int ix = getStripeIndex(fname);
+			Stripe stripe = _stripes[ix];
+			stripe.lock();
+			try {
+				bbuff.setSequence(_seq.incrementAndGet());
+				stripe._queue.addLast(fname, bbuff);
+			}
+			finally {
+				stripe.unlock();
 			}
 			
-			//serialize matrix (outside synchronized critical path)
+			//serialize matrix (outside critical path)
 			bbuff.serializeBlock(cb);
 			
+			//trigger background eviction ahead of demand
+			if( _evictor != null && size > _evictor._high )
+				_evictor.trigger();
+			
 			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSBuffWrites();
-				CacheStatistics.incrementFSWrites(numEvicted);
+				CacheStatistics.incrementStripeWrites(ix);
 			}
 		}
 		else
 		{
-			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			//write directly to local FS (bypass buffer if too large), where
+			//large dense blocks are written as mappable files if configured
+			if( isMappableBlock(cb) )
+				LocalFileUtils.writeMatrixBlockToMappedLocal(fname, (MatrixBlock)cb);
+			else
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
 			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -123,18 +169,30 @@ public class LazyWriteBuffer
 	public static void deleteBlock(String fname)
 	{
 		boolean requiresDelete = true;
+		ByteBuffer pending = null;
 		
-		synchronized( _mQueue )
-		{
-			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
-			if( ldata != null ) {
-				_size -= ldata.getSize();
+		Stripe stripe = _stripes[getStripeIndex(fname)];
+		stripe.lock();
+		try {
+			//remove queue entry (memory of pending evictions
+			//is released by the eviction itself)
+			ByteBuffer ldata = stripe._queue.remove(fname);
+			if( ldata != null && !ldata.isEvicting() ) {
+				_size.addAndGet(-ldata.getSize());
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
+			else if( ldata != null )
+				pending = ldata;
+		}
+		finally {
+			stripe.unlock();
 		}
 		
+		//wait for pending eviction before deleting its file
+		if( pending != null )
+			pending.checkEvicted();
+		
 		//delete from FS if required
 		if( requiresDelete )
 			_fClean.deleteFile(fname);
@@ -146,49 +204,83 @@ public class LazyWriteBuffer
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
 		
-		//probe write buffer
-		synchronized( _mQueue )
-		{
-			ldata = _mQueue.get(fname);
+		//probe write buffer stripe
+		int ix = getStripeIndex(fname);
+		Stripe stripe = _stripes[ix];
+		stripe.lock();
+		try {
+			ldata = stripe._queue.get(fname);
 			
 			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
-				&& ldata != null )
+			if( _policy.isAccessOrder() && ldata != null )
 			{
 				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				stripe._queue.remove( fname );
+				ldata.setSequence(_seq.incrementAndGet());
+				stripe._queue.addLast( fname, ldata );
 			}
 		}
+		finally {
+			stripe.unlock();
+		}
 		
-		//deserialize or read from FS if required
-		if( ldata != null )
-		{
+		//deserialize or read from FS if required (where buffers
+		//freed by a concurrent eviction are read from FS as well)
+		long t0 = ConfigurationManager.isStatistics() ? System.nanoTime() : 0;
+		if( ldata != null ) {
+			boolean compressed = ldata.isCompressedBuffer();
 			cb = ldata.deserializeBlock();
-			if( ConfigurationManager.isStatistics() )
+			if( cb != null && ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSBuffHits();
+				CacheStatistics.incrementStripeHits(ix);
+				CacheStatistics.incrementRestoreTime(compressed ? 
+					CacheStatistics.Tier.WB_COMPRESSED : CacheStatistics.Tier.WB, System.nanoTime()-t0);
+			}
 		}
-		else
+		if( cb == null )
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
-			if( ConfigurationManager.isStatistics() )
+			//restore mapped blocks by remapping (w/o deserialization),
+			//and large serialized blocks by deserializing from mapped file
+			if( matrix && CacheableData.CACHING_BUFFER_OFFHEAP 
+				&& LocalFileUtils.isMappedMatrixBlock(fname) )
+				cb = LocalFileUtils.readMatrixBlockFromMappedLocal(fname);
+			else if( CacheableData.CACHING_MAPPED_RESTORE 
+				&& new File(fname).length() >= MAPPED_RESTORE_THRESHOLD )
+				cb = LocalFileUtils.readCacheBlockFromLocalMapped(fname, matrix);
+			else
+				cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSHits();
+				CacheStatistics.incrementRestoreTime(
+					CacheStatistics.Tier.FS, System.nanoTime()-t0);
+			}
 		}
 		
 		return cb;
 	}
 
 	public static void init() {
-		_mQueue = new EvictionQueue();
+		_stripes = new Stripe[CacheableData.CACHING_BUFFER_STRIPES];
+		for( int i=0; i<_stripes.length; i++ )
+			_stripes[i] = new Stripe(i);
+		_policy = CacheEvictionPolicy.create(CacheableData.CACHING_BUFFER_POLICY);
+		_readHints.clear();
 		_fClean = new FileCleaner();
-		_size = 0;
+		_evictor = CacheableData.CACHING_ASYNC_EVICTION ? new AsyncEvictor() : null;
+		_size.set(0);
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
 
 	public static void cleanup() {
-		if( _mQueue != null )
-			_mQueue.clear();
+		if( _stripes != null )
+			for( Stripe stripe : _stripes ) {
+				stripe.lock();
+				try { stripe._queue.clear(); }
+				finally { stripe.unlock(); }
+			}
+		if( _evictor != null )
+			_evictor.close();
 		if( _fClean != null )
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -202,13 +294,11 @@ public class LazyWriteBuffer
 	}
 	
 	public static long getWriteBufferSize() {
-		synchronized( _mQueue ) {
-			return _size; }
+		return _size.get();
 	}
 	
 	public static long getWriteBufferFree() {
-		synchronized( _mQueue ) {
-			return _limit - _size; }
+		return _limit - _size.get();
 	}
 	
 	public static long getCacheBlockSize(CacheBlock cb) {
@@ -216,6 +306,202 @@ public class LazyWriteBuffer
 			cb.getInMemorySize() : cb.getExactSerializedSize();
 	}
 	
+	/**
+	 * Indicates if the given cache block is written as a memory-mappable
+	 * file, which applies to off-heap and large dense matrix blocks if
+	 * mapped eviction is enabled. Off-heap blocks always bypass the write
+	 * buffer because their in-memory size does not reflect their data.
+	 * 
+	 * @param cb cache block
+	 * @return true if written as mappable file
+	 */
+	private static boolean isMappableBlock(CacheBlock cb) {
+		if( !CacheableData.CACHING_BUFFER_OFFHEAP || !(cb instanceof MatrixBlock) )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		return !mb.isInSparseFormat() && mb.getDenseBlock() != null
+			&& (mb.isInOffHeap() || mb.getExactSerializedSize() > _limit);
+	}
+	
+	public static CacheEvictionPolicy getEvictionPolicy() {
+		return _policy;
+	}
+	
+	/**
+	 * Sets a custom eviction policy, which replaces the configured
+	 * policy until the next initialization of the buffer pool.
+	 * 
+	 * @param policy eviction policy
+	 */
+	public static void setEvictionPolicy(CacheEvictionPolicy policy) {
+		_policy = policy;
+	}
+	
+	public static boolean isReadHintsEnabled() {
+		return _policy != null && _policy.usesReadHints();
+	}
+	
+	/**
+	 * Adds a hint about upcoming reads of the given buffer entry, which
+	 * remains active until removed by the same number of calls to
+	 * {@link #removeReadHint(String)}.
+	 * 
+	 * @param fname file name of the buffer entry
+	 */
+	public static void addReadHint(String fname) {
+		_readHints.merge(fname, 1, Integer::sum);
+	}
+	
+	public static void removeReadHint(String fname) {
+		_readHints.computeIfPresent(fname, (k, v) -> (v > 1) ? v - 1 : null);
+	}
+	
+	public static boolean hasReadHint(String fname) {
+		return _readHints.containsKey(fname);
+	}
+	
+	private static int getStripeIndex(String fname) {
+		//spread hash codes, and mask by the power-of-two number of stripes
+		int h = fname.hashCode();
+		return (h ^ (h >>> 16)) & (_stripes.length - 1);
+	}
+	
+	/**
+	 * Evicts the buffer entry with the largest eviction score (according
+	 * to the eviction policy) over all stripes that is not already being
+	 * evicted. The entry remains in its stripe until it is written to local
+	 * FS, so that concurrent reads are served from the buffer.
+	 * 
+	 * @param async true if called by the background eviction
+	 * @return true if an entry was evicted
+	 * @throws IOException if IOException occurs
+	 */
+	private static boolean evictOne(boolean async)
+		throws IOException
+	{
+		//select stripe and entry with the largest eviction score
+		CacheEvictionPolicy policy = _policy;
+		long seq = _seq.get();
+		Stripe victim = null;
+		String fname = null;
+		ByteBuffer bbuff = null;
+		double maxScore = Double.NEGATIVE_INFINITY;
+		for( Stripe stripe : _stripes ) {
+			stripe.lock();
+			try {
+				for( Entry<String, ByteBuffer> entry : stripe._queue.entrySet() ) {
+					if( entry.getValue().isEvicting() )
+						continue;
+					double score = policy.getEvictionScore(entry.getKey(), entry.getValue(), seq);
+					if( score > maxScore ) {
+						maxScore = score;
+						victim = stripe;
+						fname = entry.getKey();
+						bbuff = entry.getValue();
+					}
+					if( policy.isQueueOrder() )
+						break; //first entry only
+				}
+			}
+			finally {
+				stripe.unlock();
+			}
+		}
+		if( victim == null )
+			return false;
+		
+		//mark entry as pending eviction (probe again because
+		//the stripe might have changed in the meantime)
+		victim.lock();
+		try {
+			if( victim._queue.get(fname) != bbuff || bbuff.isEvicting() )
+				return true; //retry
+			bbuff.setEvicting(true);
+		}
+		finally {
+			victim.unlock();
+		}
+		
+		//wait for pending serialization and write to local FS,
+		//or compress into the compressed tier if enabled
+		try {
+			bbuff.checkSerialized();
+			if( CacheableData.CACHING_BUFFER_COMPRESS ) {
+				byte[] cdata = bbuff.compressBuffer(COMPRESSION_MIN_RATIO);
+				if( cdata != null ) {
+					keepCompressed(victim, fname, bbuff, cdata);
+					return true;
+				}
+			}
+			bbuff.evictBuffer(fname);
+		}
+		catch(IOException ex) {
+			//keep entry for later eviction, unless deleted in the meantime
+			victim.lock();
+			try {
+				if( victim._queue.get(fname) != bbuff )
+					releaseEvicted(bbuff);
+				bbuff.setEvicting(false);
+			}
+			finally {
+				victim.unlock();
+			}
+			throw ex;
+		}
+		
+		//remove entry (unless deleted in the meantime, where the
+		//delete waits for this eviction and deletes the written file)
+		victim.lock();
+		try {
+			if( victim._queue.get(fname) == bbuff )
+				victim._queue.remove(fname);
+			releaseEvicted(bbuff);
+			bbuff.setEvicting(false);
+		}
+		finally {
+			victim.unlock();
+		}
+		
+		if( ConfigurationManager.isStatistics() ) {
+			CacheStatistics.incrementFSWrites();
+			CacheStatistics.incrementStripeEvictions(victim._id);
+			if( async )
+				CacheStatistics.incrementAsyncEvictions();
+			if( hasReadHint(fname) )
+				CacheStatistics.incrementHintedEvictions();
+		}
+		return true;
+	}
+	
+	private static void keepCompressed(Stripe victim, String fname, ByteBuffer bbuff, byte[] cdata) {
+		long rawSize = bbuff.getSize();
+		victim.lock();
+		try {
+			//release memory and reinsert entry at end of eviction
+			//queue (unless deleted in the meantime)
+			_size.addAndGet(-bbuff.setCompressedBuffer(cdata));
+			if( victim._queue.get(fname) == bbuff ) {
+				victim._queue.remove(fname);
+				bbuff.setSequence(_seq.incrementAndGet());
+				victim._queue.addLast(fname, bbuff);
+			}
+			else
+				releaseEvicted(bbuff);
+			bbuff.setEvicting(false);
+		}
+		finally {
+			victim.unlock();
+		}
+		
+		if( ConfigurationManager.isStatistics() )
+			CacheStatistics.incrementCompressedWrites(rawSize, cdata.length);
+	}
+	
+	private static void releaseEvicted(ByteBuffer bbuff) {
+		bbuff.freeMemory();
+		_size.addAndGet(-bbuff.getSize());
+	}
+	
 	/**
 	 * Print current status of buffer pool, including all entries.
 	 * NOTE: use only for debugging or testing.
@@ -226,21 +512,27 @@ public class LazyWriteBuffer
 	{
 		System.out.println("WRITE BUFFER STATUS ("+position+") --");
 		
-		synchronized( _mQueue ) {
-			//print buffer meta data
-			System.out.println("\tWB: Buffer Meta Data: " +
-				"limit="+_limit+", " +
-				"size[bytes]="+_size+", " +
-				"size[elements]="+_mQueue.size()+"/"+_mQueue.size());
-			
-			//print current buffer entries
-			int count = _mQueue.size();
-			for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() ) {
-				String fname = entry.getKey();
-				ByteBuffer bbuff = entry.getValue();
-				System.out.println("\tWB: buffer element ("+count+"): "
-					+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
-				count--;
+		//print buffer meta data
+		System.out.println("\tWB: Buffer Meta Data: " +
+			"limit="+_limit+", " +
+			"size[bytes]="+_size.get()+", " +
+			"stripes="+_stripes.length);
+		
+		//print current buffer entries
+		for( Stripe stripe : _stripes ) {
+			stripe.lock();
+			try {
+				int count = stripe._queue.size();
+				for( Entry<String, ByteBuffer> entry : stripe._queue.entrySet() ) {
+					String fname = entry.getKey();
+					ByteBuffer bbuff = entry.getValue();
+					System.out.println("\tWB: buffer element ("+stripe._id+", "+count+"): "
+						+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
+					count--;
+				}
+			}
+			finally {
+				stripe.unlock();
 			}
 		}
 	}
@@ -254,20 +546,19 @@ public class LazyWriteBuffer
 	public static void forceEviction()
 		throws IOException 
 	{
-		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
+		//evict all matrices and frames, incl waiting
+		//for pending background evictions
+		boolean empty = false;
+		while( !empty ) {
+			if( !evictOne(false) ) {
+				empty = true;
+				for( Stripe stripe : _stripes ) {
+					stripe.lock();
+					try { empty &= stripe._queue.isEmpty(); }
+					finally { stripe.unlock(); }
+				}
+				if( !empty )
+					try{Thread.sleep(1);} catch(Exception e) {}
 			}
 		}
 	}
@@ -277,8 +568,36 @@ public class LazyWriteBuffer
 	}
 	
 	/**
-	 * Extended LinkedHashMap with convenience methods for adding and removing
-	 * last/first entries.
+	 * Lock stripe of the write buffer with its own eviction queue. The
+	 * lock is first probed without blocking in order to maintain statistics
+	 * of contended lock acquisitions.
+	 */
+	private static class Stripe
+	{
+		private final int _id;
+		private final ReentrantLock _lock = new ReentrantLock();
+		private final EvictionQueue _queue = new EvictionQueue();
+		
+		public Stripe(int id) {
+			_id = id;
+		}
+		
+		public void lock() {
+			if( !_lock.tryLock() ) {
+				if( ConfigurationManager.isStatistics() )
+					CacheStatistics.incrementStripeContention(_id);
+				_lock.lock();
+			}
+		}
+		
+		public void unlock() {
+			_lock.unlock();
+		}
+	}
+	
+	/**
+	 * Extended LinkedHashMap with convenience methods for adding last
+	 * entries (iteration in insertion order).
 	 * 
 	 */
 	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
@@ -289,17 +608,61 @@ public class LazyWriteBuffer
 			//put entry into eviction queue w/ 'addLast' semantics
 			put(fname, bbuff);
 		}
+	}
+	
+	/**
+	 * Background eviction service, which is triggered by writers once
+	 * the buffer size exceeds the high watermark, and evicts entries until
+	 * the buffer size falls below the low watermark. Failures are kept and
+	 * rethrown on the next write in order to surface I/O errors.
+	 */
+	private static class AsyncEvictor
+	{
+		private final long _high = (long)(EVICTION_HIGH_WATERMARK * _limit);
+		private final long _low = (long)(EVICTION_LOW_WATERMARK * _limit);
+		private final AtomicBoolean _running = new AtomicBoolean(false);
+		private final ExecutorService _pool;
+		private volatile IOException _failure = null;
 		
-		public Entry<String, ByteBuffer> removeFirst()
-		{
-			//move iterator to first entry
-			Iterator<Entry<String, ByteBuffer>> iter = entrySet().iterator();
-			Entry<String, ByteBuffer> entry = iter.next();
-			
-			//remove current iterator entry
-			iter.remove();
-			
-			return entry;
+		public AsyncEvictor() {
+			_pool = Executors.newSingleThreadExecutor(r -> {
+				Thread t = new Thread(r, "LazyWriteBuffer-Evictor");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		
+		public void trigger() {
+			//submit eviction task if not already running
+			if( _running.compareAndSet(false, true) )
+				_pool.submit(this::run);
+		}
+		
+		public void checkFailure() throws IOException {
+			IOException tmp = _failure;
+			if( tmp != null ) {
+				_failure = null;
+				throw new IOException("Asynchronous buffer pool eviction failed.", tmp);
+			}
+		}
+		
+		public void close() {
+			_pool.shutdownNow();
+		}
+		
+		private void run() {
+			try {
+				while( _size.get() > _low && evictOne(true) );
+			}
+			catch(IOException ex) {
+				_failure = ex;
+			}
+			finally {
+				_running.set(false);
+			}
+			//re-trigger if writes exceeded the watermark in the meantime
+			if( _failure == null && _size.get() > _high )
+				trigger();
 		}
 	}
 	
@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.controlprogram.caching;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
 
@@ -37,6 +38,8 @@ import org.apache.sysml.runtime.io.FileFormatProperties;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaData;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.DenseBlockOffHeap;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
@@ -142,6 +145,17 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		_diag = diag;
 	}
 	
+	@Override
+	protected void releaseMappedBlob(MatrixBlock mb) {
+		//unmap dense blocks restored by remapping the eviction file
+		//(including widened blocks, which retain their mapped buffers)
+		if( mb != null && !mb.isInSparseFormat() && mb.getDenseBlock() instanceof DenseBlockOffHeap ) {
+			DenseBlockOffHeap db = (DenseBlockOffHeap) mb.getDenseBlock();
+			if( db.isMapped() && db.getFile().equals(new File(getCacheFilePathAndName())) )
+				db.release();
+		}
+	}
+	
 	@Override
 	public void updateMatrixCharacteristics (MatrixCharacteristics mc) {
 		_metaData.getMatrixCharacteristics().set(mc);
@@ -411,7 +425,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
-		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+		MatrixBlock mb = (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+		//restore single-precision representation if configured
+		return DenseBlockFactory.isSinglePrecision() ?
+			mb.toSinglePrecision() : mb;
 	}
 	
 
@@ -438,6 +455,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		if( newData == null )
 			throw new IOException("Unable to load matrix from file: "+fname);
 		
+		//convert dense inputs into single precision if configured
+		if( DenseBlockFactory.isSinglePrecision() )
+			newData.toSinglePrecision();
+		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Reading Completed: " + (System.currentTimeMillis()-begin) + " msec.");
 		
@@ -538,11 +559,11 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			if ( oinfo == OutputInfo.BinaryBlockOutputInfo && ConfigurationManager.getExecutionMode() == RUNTIME_PLATFORM.SINGLE_NODE &&
 				(mc.getRowsPerBlock() != ConfigurationManager.getBlocksize() || mc.getColsPerBlock() != ConfigurationManager.getBlocksize()) ) 
 			{
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, new MatrixCharacteristics(mc.getRows(), mc.getCols(),
+				DataConverter.writeMatrixToHDFS(_data.getDoubleArrayBacked(), fname, oinfo, new MatrixCharacteristics(mc.getRows(), mc.getCols(),
 					ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros()), rep, fprop, _diag);
 			}
 			else {
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, mc, rep, fprop, _diag);
+				DataConverter.writeMatrixToHDFS(_data.getDoubleArrayBacked(), fname, oinfo, mc, rep, fprop, _diag);
 			}
 
 			if( LOG.isTraceEnabled() )
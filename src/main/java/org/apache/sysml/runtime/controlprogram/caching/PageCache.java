@@ -20,48 +20,191 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Concurrent pool of byte arrays (pages) for serialization and I/O buffers,
+ * organized in power-of-two size classes. Requests are rounded up to the
+ * size of their class, and served from a small per-thread cache, a shared
+ * per-class pool, or new allocations (in this order). Requests outside the
+ * range of size classes are always served by exact-size allocations.
+ * 
+ * All pooled pages are held via soft references, and the total size of
+ * the shared pool is bounded, where returned pages beyond this bound are
+ * left to the garbage collector. Callers need to track the used length
+ * because pages might be larger than requested.
+ */
 public class PageCache 
 {
-	private static final int CLEANUP_THRESHOLD = 128;
-	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
+	//range of size classes (log2 of page sizes)
+	public static final int MIN_CLASS = 12; //4KB
+	public static final int MAX_CLASS = 26; //64MB
+	
+	//maximum class of thread-local pages (one per class and thread)
+	private static final int LOCAL_MAX_CLASS = 20; //1MB
+	
+	//maximum size of the shared pool (fraction of max mem)
+	private static final double POOL_SIZE = 0.05;
+	
+	private static final ConcurrentLinkedDeque<SoftReference<byte[]>>[] _pool = createPool();
+	private static final AtomicLong _size = new AtomicLong(0);
+	private static final long _limit = (long)(POOL_SIZE * InfrastructureAnalyzer.getLocalMaxMemory());
+	
+	@SuppressWarnings("unchecked")
+	private static final ThreadLocal<SoftReference<byte[]>[]> _local = 
+		ThreadLocal.withInitial(() -> new SoftReference[LOCAL_MAX_CLASS+1]);
 
 	public static void init() {
-		_pool = new HashMap<>();
+		clear();
 	}
 
-	public static void clear()
-	{
-		_pool = null;
+	public static void clear() {
+		for( int i=0; i<_pool.length; i++ )
+			while( _pool[i].pollFirst() != null )
+				_size.addAndGet(-(1L << i));
+		_local.remove(); //pages of calling thread
 	}
-
-	public static void putPage( byte[] data )
+	
+	/**
+	 * Obtains a page of at least the given size, which is either
+	 * a reused page of its size class or a newly allocated page.
+	 * 
+	 * @param size minimum page size in bytes
+	 * @return page
+	 */
+	public static byte[] getPage( int size )
 	{
-		//cleanup if too many different size lists
-		if( _pool.size()>CLEANUP_THRESHOLD )
-			_pool.clear();
+		int cls = getSizeClass(size);
+		if( cls < 0 )
+			return new byte[size];
+		if( ConfigurationManager.isStatistics() )
+			CacheStatistics.incrementPageRequests();
+		
+		//probe thread-local page of size class
+		if( cls <= LOCAL_MAX_CLASS ) {
+			SoftReference<byte[]>[] local = _local.get();
+			byte[] ret = (local[cls] != null) ? local[cls].get() : null;
+			local[cls] = null;
+			if( ret != null ) {
+				if( ConfigurationManager.isStatistics() )
+					CacheStatistics.incrementPageHits(true);
+				return ret;
+			}
+		}
 		
-		LinkedList<SoftReference<byte[]>> list = _pool.get( data.length );
-		if( list==null ){
-			list = new LinkedList<>();
-			_pool.put(data.length, list);
+		//probe shared pool of size class (most recently returned first),
+		//where pages collected by the garbage collector are discarded
+		SoftReference<byte[]> ref = null;
+		while( (ref = _pool[cls].pollFirst()) != null ) {
+			_size.addAndGet(-(1L << cls));
+			byte[] ret = ref.get();
+			if( ret != null ) {
+				if( ConfigurationManager.isStatistics() )
+					CacheStatistics.incrementPageHits(false);
+				return ret;
+			}
 		}
-		list.addLast(new SoftReference<>(data));	
+		
+		//allocate new page of class size
+		return new byte[1 << cls];
 	}
 
-	public static byte[] getPage( int size )
+	/**
+	 * Returns a page to the pool. Pages that do not match the size of
+	 * a size class (e.g., obtained via exact-size allocations) are ignored.
+	 * A page must not be used by the caller after it was returned.
+	 * 
+	 * @param data page
+	 */
+	public static void putPage( byte[] data )
 	{
-		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
-		if( list!=null ) {
-			while( !list.isEmpty() ){
-				SoftReference<byte[]> ref = list.removeFirst();
-				byte[] tmp = ref.get();
-				if( tmp!=null )
-					return tmp;
+		int cls = getSizeClass(data.length);
+		if( cls < 0 || data.length != (1 << cls) )
+			return;
+		
+		//put page into thread-local slot if empty
+		if( cls <= LOCAL_MAX_CLASS ) {
+			SoftReference<byte[]>[] local = _local.get();
+			if( local[cls] == null || local[cls].get() == null ) {
+				local[cls] = new SoftReference<>(data);
+				return;
 			}
 		}
-		return null;
+		
+		//put page into shared pool if within size limit
+		if( _size.addAndGet(data.length) <= _limit )
+			_pool[cls].addFirst(new SoftReference<>(data));
+		else
+			_size.addAndGet(-data.length);
+	}
+	
+	/**
+	 * Obtains a buffer of at least the given size, which is a page of
+	 * the pool if enabled (sysml.caching.buffer.pagecache) or an exact-size
+	 * allocation otherwise.
+	 * 
+	 * @param size minimum buffer size in bytes
+	 * @return buffer
+	 */
+	public static byte[] obtainPage( int size ) {
+		return CacheableData.CACHING_BUFFER_PAGECACHE ?
+			getPage(size) : new byte[size];
+	}
+	
+	/**
+	 * Returns a buffer obtained via {@link #obtainPage(int)} to the pool
+	 * if enabled, otherwise the buffer is left to the garbage collector.
+	 * 
+	 * @param data buffer
+	 */
+	public static void releasePage( byte[] data ) {
+		if( CacheableData.CACHING_BUFFER_PAGECACHE )
+			putPage(data);
+	}
+	
+	/**
+	 * Obtains the length of the page returned by {@link #getPage(int)}
+	 * for the given size, i.e., the size of its size class or the exact
+	 * size if outside the range of size classes.
+	 * 
+	 * @param size minimum page size in bytes
+	 * @return page length in bytes
+	 */
+	public static int getPageSize( int size ) {
+		int cls = getSizeClass(size);
+		return (cls < 0) ? size : (1 << cls);
+	}
+	
+	/**
+	 * Obtains the size class of the given size, i.e., the ceiling of its
+	 * log2, or -1 if the size is outside the range of size classes.
+	 * 
+	 * @param size size in bytes
+	 * @return size class or -1
+	 */
+	public static int getSizeClass( int size ) {
+		if( size <= 0 || size > (1 << MAX_CLASS) )
+			return -1;
+		return Math.max(MIN_CLASS, 32 - Integer.numberOfLeadingZeros(size - 1));
+	}
+	
+	public static long getPoolSize() {
+		return _size.get();
+	}
+	
+	public static long getPoolLimit() {
+		return _limit;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static ConcurrentLinkedDeque<SoftReference<byte[]>>[] createPool() {
+		ConcurrentLinkedDeque<SoftReference<byte[]>>[] ret = new ConcurrentLinkedDeque[MAX_CLASS+1];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = new ConcurrentLinkedDeque<>();
+		return ret;
 	}
 }
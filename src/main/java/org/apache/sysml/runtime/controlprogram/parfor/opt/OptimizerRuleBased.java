@@ -1344,6 +1344,18 @@ public class OptimizerRuleBased extends Optimizer
 						c.setK(1); //set optnode k (for explain)
 					}
 				}
+				else if( c.getNodeType() == NodeType.FUNCCALL
+					&& ConfigurationManager.isParallelMatrixOperations()
+					&& OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID()) instanceof FunctionOp
+					&& ((FunctionOp)OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID()))
+						.isMultiThreadedBuiltinFunction() )
+				{
+					//set degree of parallelism for multi-threaded builtin functions (qr, lu, eigen)
+					FunctionOp fop = (FunctionOp) OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID());
+					fop.setMaxNumThreads(opsK);
+					c.setK(opsK);
+					recompileSB = true;
+				}
 				else
 					rAssignRemainingParallelism(c, parforK, opsK);
 			}
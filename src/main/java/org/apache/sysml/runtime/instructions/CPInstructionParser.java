@@ -397,8 +397,8 @@ public class CPInstructionParser extends InstructionParser
 						UtilFunctions.isIntegerNumber(parts[3])) ) {
 						// B=log(A), y=log(x)
 						return UnaryCPInstruction.parseInstruction(str);
-					} else if ( parts.length == 4 ) {
-						// B=log(A,10), y=log(x,10)
+					} else if ( parts.length == 4 || parts.length == 5 ) {
+						// B=log(A,10), y=log(x,10), incl num threads
 						return BinaryCPInstruction.parseInstruction(str);
 					} else {
 						throw new DMLRuntimeException("Error parsing the instruction: " + str);
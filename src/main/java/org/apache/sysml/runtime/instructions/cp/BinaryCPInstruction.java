@@ -23,7 +23,9 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 public abstract class BinaryCPInstruction extends ComputationCPInstruction {
 
@@ -40,16 +42,28 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction {
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
+		String opcode = parts[0];
+		in1.split(parts[1]);
+		in2.split(parts[2]);
+		out.split(parts[3]);
+		int k = (parts.length == 5) ? Integer.parseInt(parts[4]) : 1;
 		
 		checkOutputDataType(in1, in2, out);
 		
 		Operator operator = InstructionUtils.parseBinaryOrBuiltinOperator(opcode, in1, in2);
 		
+		//set degree of parallelism for multi-threaded cell-wise matrix operations
+		if( operator instanceof BinaryOperator )
+			operator = ((BinaryOperator)operator).setNumThreads(k);
+		else if( operator instanceof ScalarOperator )
+			operator = ((ScalarOperator)operator).setNumThreads(k);
+		
 		if( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR ) 
 			return new BinaryScalarScalarCPInstruction(operator, in1, in2, out, opcode, str);
 		else if( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX )
-			return new BinaryMatrixMatrixCPInstruction(operator, in1, in2, out, opcode, str);
+			return new BinaryMatrixMatrixCPInstruction(operator, in1, in2, out, opcode, str, k);
 		else
 			return new BinaryMatrixScalarCPInstruction(operator, in1, in2, out, opcode, str);
 	}
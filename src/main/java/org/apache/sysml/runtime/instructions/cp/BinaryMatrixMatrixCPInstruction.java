@@ -26,17 +26,25 @@ import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
 public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
+	//degree of parallelism of operations without operator (e.g., solve)
+	private final int _numThreads;
 
 	protected BinaryMatrixMatrixCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out,
 			String opcode, String istr) {
+		this(op, in1, in2, out, opcode, istr, 1);
+	}
+
+	protected BinaryMatrixMatrixCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out,
+			String opcode, String istr, int k) {
 		super(CPType.Binary, op, in1, in2, out, opcode, istr);
+		_numThreads = k;
 	}
 
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		if ( LibCommonsMath.isSupportedMatrixMatrixOperation(getOpcode()) ) {
 			MatrixBlock solution = LibCommonsMath.matrixMatrixOperations(
-				ec.getMatrixInput(input1.getName()), ec.getMatrixInput(input2.getName()), getOpcode());
+				ec.getMatrixInput(input1.getName()), ec.getMatrixInput(input2.getName()), getOpcode(), _numThreads);
 			ec.setMatrixOutput(output.getName(), solution, getExtendedOpcode());
 			ec.releaseMatrixInput(input1.getName());
 			ec.releaseMatrixInput(input2.getName());
@@ -33,11 +33,13 @@ import org.apache.sysml.runtime.matrix.operators.Operator;
 public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 
 	protected ArrayList<CPOperand> _outputs;
+	private final int _numThreads;
 
 	private MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode,
-			String istr) {
+			String istr, int k) {
 		super(CPType.MultiReturnBuiltin, op, input1, null, outputs.get(0), opcode, istr);
 		_outputs = outputs;
+		_numThreads = k;
 	}
 	
 	public CPOperand getOutput(int i) {
@@ -55,8 +57,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 		}
 		else if ( opcode.equalsIgnoreCase("lu") ) {
 			CPOperand in1 = new CPOperand(parts[1]);
@@ -65,8 +68,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[4], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 5) ? Integer.parseInt(parts[5]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else if ( opcode.equalsIgnoreCase("eigen") ) {
@@ -74,8 +78,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else if ( opcode.equalsIgnoreCase("svd") ) {
@@ -85,8 +90,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[4], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 5) ? Integer.parseInt(parts[5]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 
 		}
 		else {
@@ -101,7 +107,7 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + getOpcode());
 		
 		MatrixBlock in = ec.getMatrixInput(input1.getName());
-		MatrixBlock[] out = LibCommonsMath.multiReturnOperations(in, getOpcode());
+		MatrixBlock[] out = LibCommonsMath.multiReturnOperations(in, getOpcode(), _numThreads);
 		ec.releaseMatrixInput(input1.getName(), getExtendedOpcode());
 		for(int i=0; i < _outputs.size(); i++) {
 			ec.setMatrixOutput(_outputs.get(i).getName(), out[i], getExtendedOpcode());
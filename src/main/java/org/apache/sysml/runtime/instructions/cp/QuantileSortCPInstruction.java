@@ -26,6 +26,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
  * This class supports two variants of sort operation on a 1-dimensional input matrix. 
@@ -33,17 +34,21 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
  * Example instructions: 
  *     sort:mVar1:mVar2 (input=mVar1, output=mVar2)
  *     sort:mVar1:mVar2:mVar3 (input=mVar1, weights=mVar2, output=mVar3)
+ * Both variants accept an optional trailing number of threads.
  *  
  */
 public class QuantileSortCPInstruction extends UnaryCPInstruction {
 
-	private QuantileSortCPInstruction(CPOperand in, CPOperand out, String opcode, String istr) {
-		this(in, null, out, opcode, istr);
+	private final int _numThreads;
+	
+	private QuantileSortCPInstruction(CPOperand in, CPOperand out, String opcode, String istr, int k) {
+		this(in, null, out, opcode, istr, k);
 	}
 
 	private QuantileSortCPInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode,
-			String istr) {
+			String istr, int k) {
 		super(CPType.QSort, null, in1, in2, out, opcode, istr);
+		_numThreads = k;
 	}
 
 	public static QuantileSortCPInstruction parseInstruction ( String str ) {
@@ -55,16 +60,25 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction {
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase(SortKeys.OPCODE) ) {
-			if ( parts.length == 3 ) {
+			//optional number of threads (the only operand w/o data and value type)
+			int k = 1;
+			int len = parts.length;
+			if( len > 3 && UtilFunctions.isIntegerNumber(parts[len-1]) )
+				k = Integer.parseInt(parts[--len]);
+			
+			if ( len == 3 ) {
 				// Example: sort:mVar1:mVar2 (input=mVar1, output=mVar2)
-				parseUnaryInstruction(str, in1, out);
-				return new QuantileSortCPInstruction(in1, out, opcode, str);
+				in1.split(parts[1]);
+				out.split(parts[2]);
+				return new QuantileSortCPInstruction(in1, out, opcode, str, k);
 			}
-			else if ( parts.length == 4 ) {
+			else if ( len == 4 ) {
 				// Example: sort:mVar1:mVar2:mVar3 (input=mVar1, weights=mVar2, output=mVar3)
 				in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-				parseUnaryInstruction(str, in1, in2, out);
-				return new QuantileSortCPInstruction(in1, in2, out, opcode, str);
+				in1.split(parts[1]);
+				in2.split(parts[2]);
+				out.split(parts[3]);
+				return new QuantileSortCPInstruction(in1, in2, out, opcode, str, k);
 			}
 			else {
 				throw new DMLRuntimeException("Invalid number of operands in instruction: " + str);
@@ -85,7 +99,7 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction {
 		}
 		
  		//process core instruction
-		MatrixBlock resultBlock = (MatrixBlock) matBlock.sortOperations(wtBlock, new MatrixBlock());
+		MatrixBlock resultBlock = (MatrixBlock) matBlock.sortOperations(wtBlock, new MatrixBlock(), _numThreads);
 		
 		//release inputs
 		ec.releaseMatrixInput(input1.getName(), getExtendedOpcode());
@@ -156,6 +156,20 @@ public class ReblockSPInstruction extends UnarySPInstruction {
 			csvInstruction.processInstruction(sec);
 			return;
 		}
+		else if(iinfo == InputInfo.LIBSVMInputInfo) {
+			//get the input libsvm rdd
+			JavaPairRDD<LongWritable, Text> lines = (JavaPairRDD<LongWritable, Text>)
+				sec.getRDDHandleForMatrixObject(mo, iinfo);
+			
+			//convert libsvm to binary block (w/o intermediate text cell, via
+			//labeled points as the libsvm converter, incl size analysis if required)
+			JavaPairRDD<MatrixIndexes, MatrixBlock> out = RDDConverterUtils.libsvmToBinaryBlock(
+				sec.getSparkContext(), lines, mcOut);
+			
+			//put output RDD handle into symbol table
+			sec.setRDDHandleForVariable(output.getName(), out);
+			sec.addLineageRDD(output.getName(), input1.getName());
+		}
 		else if(iinfo == InputInfo.BinaryCellInputInfo) 
 		{
 			JavaPairRDD<MatrixIndexes, MatrixCell> binaryCells = (JavaPairRDD<MatrixIndexes, MatrixCell>) sec.getRDDHandleForMatrixObject(mo, iinfo);
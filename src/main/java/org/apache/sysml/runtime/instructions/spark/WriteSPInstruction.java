@@ -205,6 +205,26 @@ public class WriteSPInstruction extends SPInstruction {
 			if( !mc.nnzKnown() )
 				mc.setNonZeros((long)aNnz.value().longValue());
 		}
+		else if( oi == OutputInfo.LIBSVMOutputInfo ) 
+		{
+			if( mc.getRows() == 0 || mc.getCols() == 0 ) {
+				throw new IOException("Write of matrices with zero rows or columns"
+					+ " not supported ("+mc.getRows()+"x"+mc.getCols()+").");
+			}
+			
+			//piggyback nnz computation on actual write
+			LongAccumulator aNnz = null;
+			if( !mc.nnzKnown() ) {
+				aNnz = sec.getSparkContext().sc().longAccumulator("nnz");
+				in1 = in1.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
+			}
+			
+			JavaRDD<String> out = RDDConverterUtils.binaryBlockToLibsvm(in1, mc, true);
+			customSaveTextFile(out, fname, false);
+			
+			if( !mc.nnzKnown() )
+				mc.setNonZeros((long)aNnz.value().longValue());
+		}
 		else if( oi == OutputInfo.BinaryBlockOutputInfo ) {
 			//piggyback nnz computation on actual write
 			LongAccumulator aNnz = null;
@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.instructions.spark.utils;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -33,6 +34,7 @@ import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.api.java.function.FlatMapFunction;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
 import org.apache.spark.ml.feature.LabeledPoint;
@@ -61,11 +63,14 @@ import org.apache.sysml.runtime.instructions.spark.functions.ConvertMatrixBlockT
 import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysml.runtime.io.FileFormatPropertiesMM;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderTextLIBSVM;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
 import org.apache.sysml.runtime.matrix.mapred.ReblockBuffer;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.FastStringTokenizer;
@@ -362,6 +367,69 @@ public class RDDConverterUtils
 		}
 	}
 	
+	/**
+	 * Converts a libsvm text input rdd into a binary block matrix, where the
+	 * label is stored as the last column and the features in the remaining
+	 * columns (consistent with the libsvm matrix readers). Similar to the 
+	 * libsvm file converter, the rows are parsed into labeled points, which
+	 * are then converted via the same labeled point to binary block function.
+	 * The rows are parsed with the libsvm matrix reader though, which skips 
+	 * query ids and rejects duplicate feature indexes. If the dimensions are 
+	 * unknown, they are determined via an additional analysis pass.
+	 * 
+	 * @param sc java spark context
+	 * @param input rdd of libsvm lines
+	 * @param mc matrix characteristics (incl label column)
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> libsvmToBinaryBlock(JavaSparkContext sc,
+			JavaPairRDD<LongWritable, Text> input, MatrixCharacteristics mc) 
+	{
+		//determine unknown dimensions if required (number of rows and
+		//max feature index), while unknown nnz fall back to sparse blocks
+		if( !mc.dimsKnown() ) {
+			long[] stats = input.values()
+				.map(new LIBSVMAnalysisFunction())
+				.reduce(new LIBSVMAnalysisAggFunction());
+			mc.set(stats[0], stats[1]+1, mc.getRowsPerBlock(), mc.getColsPerBlock());
+		}
+		
+		//parse libsvm to labeled points w/ row indexes (sorted by filenames)
+		JavaPairRDD<org.apache.spark.mllib.regression.LabeledPoint,Long> ilpoints = input.values()
+			.map(new LIBSVMToLabeledPointFunction(mc.getCols()))
+			.zipWithIndex();
+		
+		//convert labeled points to binary block (features w/ appended label)
+		JavaPairRDD<MatrixIndexes,MatrixBlock> out = ilpoints
+			.mapPartitionsToPair(new LabeledPointToBinaryBlockFunction(mc, false, true, null));
+		
+		//aggregate partial matrix blocks (w/ preferred number of output partitions)
+		int parts = SparkUtils.getNumPreferredPartitions(mc, out);
+		return RDDAggregateUtils.mergeByKey(out, parts, false); 
+	}
+	
+	public static JavaRDD<String> binaryBlockToLibsvm(JavaPairRDD<MatrixIndexes,MatrixBlock> in, MatrixCharacteristics mcIn, boolean strict)
+	{
+		JavaPairRDD<MatrixIndexes,MatrixBlock> input = in;
+		
+		//fast path without, general case with shuffle
+		if( mcIn.getCols()>mcIn.getColsPerBlock() ) {
+			//create row partitioned matrix
+			input = input
+					.flatMapToPair(new SliceBinaryBlockToRowsFunction(mcIn.getRowsPerBlock()))
+					.groupByKey()
+					.mapToPair(new ConcatenateBlocksFunction(mcIn.getCols(), mcIn.getColsPerBlock()));	
+		}
+		
+		//sort if required (on blocks/rows)
+		if( strict ) {
+			input = input.sortByKey(true);
+		}
+		
+		//convert binary block to libsvm (from blocks/rows)
+		return input.flatMap(new BinaryBlockToLIBSVMFunction());
+	}
+	
 	public static JavaPairRDD<LongWritable, Text> stringToSerializableText(JavaPairRDD<Long,String> in)
 	{
 		return in.mapToPair(new TextToSerTextFunction());
@@ -794,9 +862,14 @@ public class RDDConverterUtils
 		private final int _bclen;
 		private final boolean _sparseX;
 		private final boolean _labels;
+		private final boolean _appendLabels;
 		private final LongAccumulator _aNnz;
 		
 		public LabeledPointToBinaryBlockFunction(MatrixCharacteristics mc, boolean labels, LongAccumulator aNnz) {
+			this(mc, labels, false, aNnz);
+		}
+		
+		public LabeledPointToBinaryBlockFunction(MatrixCharacteristics mc, boolean labels, boolean appendLabels, LongAccumulator aNnz) {
 			_rlen = mc.getRows();
 			_clen = mc.getCols();
 			_brlen = mc.getRowsPerBlock();
@@ -804,6 +877,7 @@ public class RDDConverterUtils
 			_sparseX = MatrixBlock.evalSparseFormatInMemory(
 					mc.getRows(), mc.getCols(), mc.getNonZeros());
 			_labels = labels;
+			_appendLabels = appendLabels; //features w/ label as last column
 			_aNnz = aNnz;
 		}
 
@@ -840,7 +914,8 @@ public class RDDConverterUtils
 				if( _labels ) {
 					double val = row.label();
 					mb[0].appendValue(pos, 0, val);
-					_aNnz.add((val != 0) ? 1 : 0);
+					if( _aNnz != null )
+						_aNnz.add((val != 0) ? 1 : 0);
 				}
 				else { //features
 					int lnnz = row.features().numNonzeros();
@@ -856,13 +931,21 @@ public class RDDConverterUtils
 						}
 					}
 					else { //dense
-						for( int cix=1, pix=0; cix<=ncblks; cix++ ) {
+						int flen = _appendLabels ? (int)_clen-1 : (int)_clen;
+						for( int cix=1, pix=0; cix<=ncblks && pix<flen; cix++ ) {
 							int lclen = (int)UtilFunctions.computeBlockSize(_clen, cix, _bclen);
-							for( int j=0; j<lclen; j++ )
+							for( int j=0; j<lclen && pix<flen; j++ )
 								mb[cix-1].appendValue(pos, j, row.features().apply(pix++));
 						}
 					}
-					_aNnz.add(lnnz);
+					if( _appendLabels ) {
+						double val = row.label();
+						int j = UtilFunctions.computeCellInBlock(_clen, _bclen);
+						mb[ncblks-1].appendValue(pos, j, val);
+						lnnz += (val != 0) ? 1 : 0;
+					}
+					if( _aNnz != null )
+						_aNnz.add(lnnz);
 				}
 			}
 		
@@ -1010,6 +1093,111 @@ public class RDDConverterUtils
 		}
 	}
 
+	/////////////////////////////////
+	// LIBSVM-SPECIFIC FUNCTIONS
+
+	private static class LIBSVMAnalysisFunction implements Function<Text,long[]> 
+	{
+		private static final long serialVersionUID = -4384476423431735498L;
+
+		@Override
+		public long[] call(Text v1) 
+			throws Exception 
+		{
+			//determine max feature index of row (w/o parsing the values)
+			return new long[] {1, ReaderTextLIBSVM.getMaxFeatureIndex(v1.toString())};
+		}
+	}
+	
+	private static class LIBSVMAnalysisAggFunction implements Function2<long[],long[],long[]> 
+	{
+		private static final long serialVersionUID = 6209612519626379263L;
+
+		@Override
+		public long[] call(long[] v1, long[] v2) 
+			throws Exception 
+		{
+			return new long[] {v1[0]+v2[0], Math.max(v1[1], v2[1])};
+		}
+	}
+	
+	private static class LIBSVMToLabeledPointFunction implements Function<Text,org.apache.spark.mllib.regression.LabeledPoint> 
+	{
+		private static final long serialVersionUID = 6541386357294741428L;
+		
+		private final long _clen;
+		private transient SparseRowVector _vect = null;
+		
+		public LIBSVMToLabeledPointFunction(long clen) {
+			_clen = clen;
+		}
+
+		@Override
+		public org.apache.spark.mllib.regression.LabeledPoint call(Text v1) 
+			throws Exception 
+		{
+			//parse row w/ label as last column (sorted by column index)
+			if( _vect == null )
+				_vect = new SparseRowVector(1024);
+			int lnnz = ReaderTextLIBSVM.parseLIBSVMRow(v1.toString(), _vect, _clen);
+			int[] aix = _vect.indexes();
+			double[] avals = _vect.values();
+			
+			//split label and features (zero labels are not appended)
+			boolean label = lnnz > 0 && aix[lnnz-1] == _clen-1;
+			int fnnz = label ? lnnz-1 : lnnz;
+			return new org.apache.spark.mllib.regression.LabeledPoint(
+				label ? avals[lnnz-1] : 0, org.apache.spark.mllib.linalg.Vectors.sparse(
+				(int)_clen-1, Arrays.copyOf(aix, fnnz), Arrays.copyOf(avals, fnnz)));
+		}
+	}
+	
+	private static class BinaryBlockToLIBSVMFunction implements FlatMapFunction<Tuple2<MatrixIndexes,MatrixBlock>,String> 
+	{
+		private static final long serialVersionUID = -3153094541224497262L;
+
+		@Override
+		public Iterator<String> call(Tuple2<MatrixIndexes, MatrixBlock> arg0)
+			throws Exception 
+		{
+			MatrixBlock blk = arg0._2();
+			int clen = blk.getNumColumns();
+			ArrayList<String> ret = new ArrayList<>();
+			
+			//handle matrix block data (label as last column)
+			StringBuilder sb = new StringBuilder();
+			for(int i=0; i<blk.getNumRows(); i++) {
+				double label = blk.quickGetValue(i, clen-1);
+				if( label != 0 )
+					sb.append(label);
+				else
+					sb.append('0');
+				if( blk.isInSparseFormat() ) {
+					SparseBlock sblock = blk.getSparseBlock();
+					if( sblock != null && !sblock.isEmpty(i) ) {
+						int apos = sblock.pos(i);
+						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
+						double[] avals = sblock.values(i);
+						for( int j=apos; j<apos+alen && aix[j]<clen-1; j++ )
+							sb.append(' ').append(aix[j]+1).append(':').append(avals[j]);
+					}
+				}
+				else if( !blk.isEmptyBlock(false) ) {
+					for( int j=0; j<clen-1; j++ ) {
+						double val = blk.quickGetValue(i, j);
+						if( val != 0 )
+							sb.append(' ').append(j+1).append(':').append(val);
+					}
+				}
+				ret.add(sb.toString());
+				sb.setLength(0); //reset
+			}
+			
+			return ret.iterator();
+		}
+	}
+
 	/////////////////////////////////
 	// DATAFRAME-SPECIFIC FUNCTIONS
 
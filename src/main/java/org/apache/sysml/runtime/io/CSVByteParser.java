@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+/**
+ * Allocation-free parser of delimited text lines, which tokenizes the UTF-8
+ * bytes of a line (e.g., of a reused Hadoop text record) according to the
+ * quote rules of {@link IOUtilFunctions#splitCSV(String, String)} and parses
+ * numeric cells directly from these bytes. Plain decimals are parsed via
+ * an exact fast path, while all other numbers (e.g., with many significant
+ * digits, large exponents, NaN, or Infinity) fall back to Double.parseDouble.
+ * Parsed rows are written directly into the rows of dense or sparse blocks.
+ * 
+ * NOTE: Instances are reused across lines but are not thread-safe.
+ */
+public class CSVByteParser 
+{
+	private static final byte CSV_QUOTE = '"';
+	
+	//max number of significant digits and exact powers of ten,
+	//for which mant*10^exp and mant/10^exp are correctly rounded
+	private static final int MAX_DIGITS = 18;
+	private static final long MAX_EXACT_MANT = 1L << 53;
+	private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 
+		1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 
+		1e19, 1e20, 1e21, 1e22};
+	
+	private final byte[] _delim;
+	private final boolean _fill;
+	private final double _fillValue;
+	
+	//current line and trimmed token boundaries
+	private byte[] _buff = null;
+	private int _lbeg = 0;
+	private int _lend = 0;
+	private int[] _tbeg = new int[64];
+	private int[] _tend = new int[64];
+	private int _numTokens = 0;
+	private boolean _emptyFound = false;
+	private double[] _vals = new double[64];
+	
+	public CSVByteParser(String delim, boolean fill, double fillValue) {
+		_delim = delim.getBytes(StandardCharsets.UTF_8);
+		_fill = fill;
+		_fillValue = fillValue;
+	}
+	
+	public int tokenize(Text line) {
+		return tokenize(line.getBytes(), 0, line.getLength());
+	}
+	
+	/**
+	 * Splits the given line into all tokens including empty tokens, where
+	 * the line and individual tokens are trimmed consistent with String.trim.
+	 * 
+	 * @param buff byte buffer
+	 * @param off offset of the line
+	 * @param len length of the line in bytes
+	 * @return number of tokens
+	 */
+	public int tokenize(byte[] buff, int off, int len)
+	{
+		int from = off, end = off + len;
+		while( from < end && isWhitespace(buff[from]) )
+			from++;
+		while( end > from && isWhitespace(buff[end-1]) )
+			end--;
+		_buff = buff;
+		_lbeg = from;
+		_lend = end;
+		_numTokens = 0;
+		_emptyFound = false;
+		
+		// check for empty input
+		if( from == end ) {
+			addToken(from, from);
+			return _numTokens;
+		}
+		
+		// scan bytes and create individual tokens
+		int dlen = _delim.length;
+		while( from < end ) { // for all tokens
+			int to = -1;
+			if( buff[from] == CSV_QUOTE && indexOf(CSV_QUOTE, from+1, end) >= 0 ) {
+				to = indexOf(CSV_QUOTE, from+1, end);
+				// handle escaped inner quotes, e.g. "aa""a"
+				while( to+1 < end && buff[to+1] == CSV_QUOTE ) {
+					to = indexOf(CSV_QUOTE, to+2, end);
+					if( to < 0 ) { //unterminated quote
+						to = end - 1;
+						break;
+					}
+				}
+				to += 1; // last "
+				// handle remaining non-quoted characters "aa"a 
+				if( to < end-1 && !isDelim(to, end) )
+					to = indexOfDelim(to+1, end);
+			}
+			else if( isDelim(from, end) ) {
+				to = from; // empty string
+			}
+			else { // default: unquoted non-empty
+				to = indexOfDelim(from+1, end);
+			}
+			
+			// add token and advance position
+			to = (to >= 0) ? to : end;
+			addToken(from, to);
+			from = to + dlen;
+		}
+		
+		// handle empty string at end
+		if( from == end )
+			addToken(end, end);
+		
+		return _numTokens;
+	}
+	
+	public int getNumTokens() {
+		return _numTokens;
+	}
+	
+	public boolean isEmpty(int ix) {
+		return _tbeg[ix] == _tend[ix];
+	}
+	
+	public boolean hasEmptyTokens() {
+		return _emptyFound;
+	}
+	
+	public boolean startsWith(char c) {
+		return _lbeg < _lend && _buff[_lbeg] == c;
+	}
+	
+	/**
+	 * Obtains the trimmed line as string, which is meant
+	 * for error messages or the handling of special lines.
+	 * 
+	 * @return trimmed line
+	 */
+	public String getLine() {
+		return new String(_buff, _lbeg, _lend-_lbeg, StandardCharsets.UTF_8);
+	}
+	
+	public String getString(int ix) {
+		return new String(_buff, _tbeg[ix], _tend[ix]-_tbeg[ix], StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Parses the given token as double, where empty tokens
+	 * are replaced by the fill value.
+	 * 
+	 * @param ix token index
+	 * @return double value
+	 */
+	public double getDouble(int ix) {
+		return isEmpty(ix) ? _fillValue :
+			parseDouble(_buff, _tbeg[ix], _tend[ix]-_tbeg[ix]);
+	}
+	
+	public long getLong(int ix) {
+		return parseLong(_buff, _tbeg[ix], _tend[ix]-_tbeg[ix]);
+	}
+	
+	public boolean getBoolean(int ix) {
+		//consistent with Boolean.parseBoolean
+		int pos = _tbeg[ix];
+		return _tend[ix] - pos == 4
+			&& (_buff[pos] | 0x20) == 't' && (_buff[pos+1] | 0x20) == 'r'
+			&& (_buff[pos+2] | 0x20) == 'u' && (_buff[pos+3] | 0x20) == 'e';
+	}
+	
+	/**
+	 * Checks the current line for empty tokens (if not filled)
+	 * and the expected number of columns.
+	 * 
+	 * @param fname file name or split for error messages
+	 * @param ncol expected number of columns
+	 * @throws IOException if the checks failed
+	 */
+	public void checkLine(String fname, long ncol) 
+		throws IOException
+	{
+		if( (!_fill && _emptyFound) || _numTokens != ncol ) {
+			String line = getLine();
+			IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(line, _fill, _emptyFound);
+			IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(fname, line, _numTokens, ncol);
+		}
+	}
+	
+	/**
+	 * Parses all tokens of the current line as doubles and writes
+	 * the non-zero values into the given row of the dense block.
+	 * 
+	 * @param a dense block
+	 * @param r row index
+	 * @return number of non-zeros
+	 */
+	public int parseRow(DenseBlock a, int r) {
+		double[] vals = a.values(r);
+		int pos = a.pos(r);
+		int lnnz = 0;
+		for( int j=0; j<_numTokens; j++ ) {
+			double v = getDouble(j);
+			if( v != 0 ) {
+				vals[pos+j] = v;
+				lnnz++;
+			}
+		}
+		return lnnz;
+	}
+	
+	/**
+	 * Parses all tokens of the current line as doubles and appends
+	 * the non-zero values to the given row of the sparse block, 
+	 * which is allocated with the exact number of non-zeros.
+	 * 
+	 * @param a sparse block
+	 * @param r row index
+	 * @return number of non-zeros
+	 */
+	public int parseRow(SparseBlock a, int r) {
+		if( _vals.length < _numTokens )
+			_vals = new double[_numTokens];
+		int lnnz = 0;
+		for( int j=0; j<_numTokens; j++ ) {
+			_vals[j] = getDouble(j);
+			lnnz += (_vals[j] != 0) ? 1 : 0;
+		}
+		if( lnnz > 0 ) {
+			a.allocate(r, lnnz);
+			for( int j=0; j<_numTokens; j++ )
+				if( _vals[j] != 0 )
+					a.append(r, j, _vals[j]);
+		}
+		return lnnz;
+	}
+	
+	/**
+	 * Parses a double from the given bytes, using an exact fast path
+	 * for plain decimals with at most 18 significant digits and small
+	 * exponents, and Double.parseDouble for all other inputs.
+	 * 
+	 * @param buff byte buffer
+	 * @param off offset
+	 * @param len length in bytes
+	 * @return double value
+	 */
+	public static double parseDouble(byte[] buff, int off, int len) 
+	{
+		int pos = off, end = off + len;
+		boolean neg = false;
+		if( pos < end && (buff[pos] == '-' || buff[pos] == '+') )
+			neg = (buff[pos++] == '-');
+		
+		//parse integer and fraction digits into mantissa
+		long mant = 0;
+		int exp = 0, ndigits = 0;
+		boolean digits = false;
+		for( ; pos < end && isDigit(buff[pos]); pos++ ) {
+			if( ndigits >= MAX_DIGITS )
+				return parseDoubleSlow(buff, off, len);
+			mant = mant * 10 + (buff[pos] - '0');
+			ndigits += (mant > 0) ? 1 : 0;
+			digits = true;
+		}
+		if( pos < end && buff[pos] == '.' ) {
+			for( pos++; pos < end && isDigit(buff[pos]); pos++ ) {
+				if( ndigits >= MAX_DIGITS )
+					return parseDoubleSlow(buff, off, len);
+				mant = mant * 10 + (buff[pos] - '0');
+				ndigits += (mant > 0) ? 1 : 0;
+				exp--;
+				digits = true;
+			}
+		}
+		
+		//parse optional exponent
+		if( digits && pos < end && (buff[pos] == 'e' || buff[pos] == 'E') ) {
+			pos++;
+			boolean eneg = false;
+			if( pos < end && (buff[pos] == '-' || buff[pos] == '+') )
+				eneg = (buff[pos++] == '-');
+			int e = 0, epos = pos;
+			for( ; pos < end && isDigit(buff[pos]) && e < 1000; pos++ )
+				e = e * 10 + (buff[pos] - '0');
+			if( pos == epos )
+				return parseDoubleSlow(buff, off, len);
+			exp += eneg ? -e : e;
+		}
+		
+		//fallback for special values, suffixes, and inexact cases
+		if( !digits || pos != end )
+			return parseDoubleSlow(buff, off, len);
+		if( mant == 0 )
+			return neg ? -0d : 0d;
+		if( mant > MAX_EXACT_MANT || exp < -22 || exp > 22 )
+			return parseDoubleSlow(buff, off, len);
+		double ret = (exp >= 0) ? mant * POW10[exp] : mant / POW10[-exp];
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Parses a long from the given bytes, using a fast path for plain
+	 * integers with at most 18 digits, and Long.parseLong otherwise.
+	 * 
+	 * @param buff byte buffer
+	 * @param off offset
+	 * @param len length in bytes
+	 * @return long value
+	 */
+	public static long parseLong(byte[] buff, int off, int len) {
+		int pos = off, end = off + len;
+		boolean neg = false;
+		if( pos < end && (buff[pos] == '-' || buff[pos] == '+') )
+			neg = (buff[pos++] == '-');
+		long ret = 0;
+		int start = pos;
+		for( ; pos < end && isDigit(buff[pos]) && pos - start < MAX_DIGITS; pos++ )
+			ret = ret * 10 + (buff[pos] - '0');
+		if( pos == start || pos != end )
+			return Long.parseLong(new String(buff, off, len, StandardCharsets.UTF_8));
+		return neg ? -ret : ret;
+	}
+	
+	private static double parseDoubleSlow(byte[] buff, int off, int len) {
+		return IOUtilFunctions.parseDoubleParallel(
+			new String(buff, off, len, StandardCharsets.UTF_8));
+	}
+	
+	private void addToken(int from, int to) {
+		while( from < to && isWhitespace(_buff[from]) )
+			from++;
+		while( to > from && isWhitespace(_buff[to-1]) )
+			to--;
+		if( _numTokens == _tbeg.length ) {
+			_tbeg = Arrays.copyOf(_tbeg, 2 * _numTokens);
+			_tend = Arrays.copyOf(_tend, 2 * _numTokens);
+		}
+		_tbeg[_numTokens] = from;
+		_tend[_numTokens] = to;
+		_emptyFound |= (from == to);
+		_numTokens++;
+	}
+	
+	private boolean isDelim(int pos, int end) {
+		if( pos + _delim.length > end )
+			return false;
+		for( int i=0; i<_delim.length; i++ )
+			if( _buff[pos+i] != _delim[i] )
+				return false;
+		return true;
+	}
+	
+	private int indexOfDelim(int from, int end) {
+		for( int pos=from; pos<end; pos++ )
+			if( _buff[pos] == _delim[0] && isDelim(pos, end) )
+				return pos;
+		return -1;
+	}
+	
+	private int indexOf(byte b, int from, int end) {
+		for( int pos=from; pos<end; pos++ )
+			if( _buff[pos] == b )
+				return pos;
+		return -1;
+	}
+	
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+	
+	private static boolean isWhitespace(byte b) {
+		//consistent with String.trim (w/o multi-byte chars)
+		return b >= 0 && b <= ' ';
+	}
+}
@@ -140,44 +140,42 @@ public class FrameReaderTextCSV extends FrameReader
 			dest.setColumnNames(value.toString().split(delim));
 		}
 			
-		// Read the data
-		boolean emptyValuesFound = false;
+		// Read the data (parsed directly from the reused text bytes)
+		CSVByteParser parser = new CSVByteParser(delim, isFill, dfillValue);
 		try
 		{
 			while( reader.next(key, value) ) //foreach line
 			{
-				String cellStr = value.toString().trim();
-				emptyValuesFound = false; col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
+				parser.tokenize(value);
 				
 				//parse frame meta data (missing values / num distinct)
-				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
-					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
+				if( parser.startsWith('#') ) {
+					String[] parts = IOUtilFunctions.splitCSV(parser.getLine(), delim);
+					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) ) {
 						for( int j=0; j<dest.getNumColumns(); j++ )
 							dest.getColumnMetadata(j).setMvValue(parts[j+1]);
-					else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+						continue;
+					}
+					else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
 						for( int j=0; j<dest.getNumColumns(); j++ )
 							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
-					continue;
+						continue;
+					}
 				}
 				
-				for( String part : parts ) //foreach cell
+				//sanity checks for empty values and number of columns
+				parser.checkLine("", clen);
+				
+				for( col=0; col<parser.getNumTokens(); col++ ) //foreach cell
 				{
-					part = part.trim();
-					if ( part.isEmpty() ) {
+					if ( parser.isEmpty(col) ) {
 						if( isFill && dfillValue!=0 )
 							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
-						emptyValuesFound = true;
 					}
 					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+						dest.set(row, col, parseCell(parser, schema[col], col));
 					}
-					col++;
 				}
-				
-				//sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
 				row++;
 			}
 		}
@@ -188,6 +186,16 @@ public class FrameReaderTextCSV extends FrameReader
 		return row;
 	}
 
+	private static Object parseCell(CSVByteParser parser, ValueType vt, int ix) {
+		switch( vt ) {
+			case STRING:  return parser.getString(ix);
+			case BOOLEAN: return parser.getBoolean(ix);
+			case INT:     return parser.getLong(ix);
+			case DOUBLE:  return parser.getDouble(ix);
+			default: throw new RuntimeException("Unsupported value type: "+vt);
+		}
+	}
+
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
 	{	
@@ -162,9 +162,11 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 				if ( _firstSplit && _hasHeader )
 					reader.next(key, value);
 				while ( reader.next(key, value) ) {
-					String val = value.toString();
-					nrows += ( val.startsWith(TfUtils.TXMTD_MVPREFIX)
-						|| val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1; 
+					//probe first byte to avoid string conversion per line
+					boolean meta = value.getLength() > 0 && value.getBytes()[0] == '#';
+					String val = meta ? value.toString() : null;
+					nrows += ( meta && (val.startsWith(TfUtils.TXMTD_MVPREFIX)
+						|| val.startsWith(TfUtils.TXMTD_NDPREFIX))) ? 0 : 1; 
 				}
 			} 
 			finally {
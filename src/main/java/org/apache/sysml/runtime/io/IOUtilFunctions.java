@@ -150,8 +150,12 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
@@ -19,6 +19,8 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.IOException;
+
 import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -33,13 +35,20 @@ public class MatrixReaderFactory
 	{
 		MatrixReader reader = null;
 		
-		if( iinfo == InputInfo.TextCellInputInfo || iinfo == InputInfo.MatrixMarketInputInfo )
+		if( iinfo == InputInfo.TextCellInputInfo )
 		{
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
 				reader = new ReaderTextCellParallel( iinfo );
 			else
 				reader = new ReaderTextCell( iinfo );	
 		}
+		else if( iinfo == InputInfo.MatrixMarketInputInfo )
+		{
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) )
+				reader = new ReaderMatrixMarketParallel();
+			else
+				reader = new ReaderTextCell( iinfo );
+		}
 		else if( iinfo == InputInfo.CSVInputInfo )
 		{
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
@@ -47,6 +56,13 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV(new FileFormatPropertiesCSV());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo )
+		{
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
@@ -72,18 +88,30 @@ public class MatrixReaderFactory
 		MatrixReader reader = null;
 		InputInfo iinfo = props.inputInfo;
 
-		if( iinfo == InputInfo.TextCellInputInfo || iinfo == InputInfo.MatrixMarketInputInfo ) {
+		if( iinfo == InputInfo.TextCellInputInfo ) {
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
 				reader = new ReaderTextCellParallel( iinfo );
 			else
 				reader = new ReaderTextCell( iinfo );
 		}
+		else if( iinfo == InputInfo.MatrixMarketInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) )
+				reader = new ReaderMatrixMarketParallel();
+			else
+				reader = new ReaderTextCell( iinfo );
+		}
 		else if( iinfo == InputInfo.CSVInputInfo ) {
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
 				reader = new ReaderTextCSVParallel( props.formatProperties!=null ? (FileFormatPropertiesCSV)props.formatProperties : new FileFormatPropertiesCSV());
 			else
 				reader = new ReaderTextCSV( props.formatProperties!=null ? (FileFormatPropertiesCSV)props.formatProperties : new FileFormatPropertiesCSV());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
@@ -99,4 +127,41 @@ public class MatrixReaderFactory
 		
 		return reader;
 	}
+
+	/**
+	 * Creates a streaming reader, which reads the given matrix as a sequence
+	 * of row chunks with the given number of rows (rounded to a multiple of 
+	 * the row block size for binary block). Streaming reads are supported for 
+	 * csv, text cell (ordered by rows), and binary block.
+	 * 
+	 * @param fname file name
+	 * @param props read properties (input info, dimensions, block sizes, nnz, format properties)
+	 * @param chunkSize number of rows per chunk
+	 * @return streaming matrix reader
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixStreamReader createMatrixStreamReader( String fname, ReadProperties props, int chunkSize ) 
+		throws IOException
+	{
+		//check valid read properties
+		if( props == null )
+			throw new DMLRuntimeException("Failed to create matrix stream reader with empty properties.");
+		
+		MatrixStreamReader reader = null;
+		InputInfo iinfo = props.inputInfo;
+		
+		if( iinfo == InputInfo.CSVInputInfo )
+			reader = new ReaderTextCSVStreaming(fname, props.rlen, props.clen, chunkSize,
+				(props.formatProperties != null) ? (FileFormatPropertiesCSV)props.formatProperties : new FileFormatPropertiesCSV());
+		else if( iinfo == InputInfo.TextCellInputInfo )
+			reader = new ReaderTextCellStreaming(fname, props.rlen, props.clen, chunkSize, props.expectedNnz);
+		else if( iinfo == InputInfo.BinaryBlockInputInfo )
+			reader = new ReaderBinaryBlockStreaming(fname, props.rlen, props.clen, props.brlen, props.bclen, chunkSize);
+		else {
+			throw new DMLRuntimeException("Failed to create matrix stream reader for unsupported input info: "
+		                                   + InputInfo.inputInfoToString(iinfo));
+		}
+		
+		return reader;
+	}
 }
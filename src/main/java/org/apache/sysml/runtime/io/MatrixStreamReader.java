@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.LineReader;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Base class for all format-specific streaming matrix readers, which read
+ * a matrix as a sequence of row chunks (i.e., row-block matrix blocks of
+ * a configurable number of rows) instead of materializing the entire matrix.
+ * This allows processing matrices that exceed the available memory with 
+ * bounded memory, e.g., for scoring in JMLC. Chunks are returned in row 
+ * order and only the current chunk is held in memory.
+ */
+public abstract class MatrixStreamReader implements Iterator<MatrixBlock>, Closeable
+{
+	protected final JobConf _job;
+	protected final FileSystem _fs;
+	protected final Path _path;
+	protected final long _rlen;
+	protected final long _clen;
+	protected final int _chunkSize;
+	
+	//row position of the next chunk
+	protected long _rowPos = 0;
+	
+	private MatrixBlock _next = null;
+	private boolean _eof = false;
+	
+	protected MatrixStreamReader(String fname, long rlen, long clen, int chunkSize) 
+		throws IOException
+	{
+		if( chunkSize <= 0 )
+			throw new IOException("Invalid chunk size: "+chunkSize+" (expected: >0).");
+		_job = new JobConf(ConfigurationManager.getCachedJobConf());
+		_path = new Path(fname);
+		_fs = IOUtilFunctions.getFileSystem(_path, _job);
+		_rlen = rlen;
+		_clen = clen;
+		_chunkSize = chunkSize;
+		
+		//check existence of input file
+		if( !_fs.exists(_path) )
+			throw new IOException("File "+_path.toString()+" does not exist on HDFS/LFS.");
+	}
+	
+	@Override
+	public boolean hasNext() {
+		if( _next == null && !_eof ) {
+			try {
+				_next = readNextChunk();
+				_eof = (_next == null);
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Failed to read chunk at row "+(_rowPos+1)+" of "+_path+".", ex);
+			}
+		}
+		return _next != null;
+	}
+	
+	@Override
+	public MatrixBlock next() {
+		if( !hasNext() )
+			throw new NoSuchElementException();
+		MatrixBlock ret = _next;
+		_next = null;
+		_rowPos += ret.getNumRows();
+		return ret;
+	}
+	
+	/**
+	 * Returns the total number of rows of the streamed matrix.
+	 * 
+	 * @return number of rows, or -1 if unknown
+	 */
+	public long getNumRows() {
+		return _rlen;
+	}
+	
+	/**
+	 * Returns the number of rows of all chunks returned so far,
+	 * i.e., the row offset of the next chunk.
+	 * 
+	 * @return number of read rows
+	 */
+	public long getNumReadRows() {
+		return _rowPos;
+	}
+	
+	/**
+	 * Reads the next chunk starting at the current row position.
+	 * 
+	 * @return matrix block of the next chunk, or null if no more rows
+	 * @throws IOException if IOException occurs
+	 */
+	protected abstract MatrixBlock readNextChunk() 
+		throws IOException;
+	
+	/**
+	 * Obtains the files of the input path in alphanumeric order,
+	 * excluding hidden files for directories.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @return list of file paths
+	 * @throws IOException if IOException occurs
+	 */
+	protected static List<Path> getFilePaths(FileSystem fs, Path path) 
+		throws IOException
+	{
+		ArrayList<Path> files = new ArrayList<>();
+		if( fs.isDirectory(path) ) {
+			for( FileStatus stat : fs.listStatus(path, CSVReblockMR.hiddenFileFilter) )
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+	
+	/**
+	 * Sequential line reader over a list of text files, where at most
+	 * one file is open at a time.
+	 */
+	protected static class MultiFileLineReader implements Closeable
+	{
+		private final FileSystem _fs;
+		private final List<Path> _files;
+		private final boolean _skipHeader;
+		private int _fileNo = -1;
+		private LineReader _reader = null;
+		
+		public MultiFileLineReader(FileSystem fs, List<Path> files, boolean skipHeader) {
+			_fs = fs;
+			_files = files;
+			_skipHeader = skipHeader;
+		}
+		
+		/**
+		 * Reads the next line into the given text object.
+		 * 
+		 * @param line text object for the line
+		 * @return true if a line was read, false at end of all files
+		 * @throws IOException if IOException occurs
+		 */
+		public boolean next(Text line) 
+			throws IOException
+		{
+			while( true ) {
+				if( _reader == null ) {
+					if( ++_fileNo >= _files.size() )
+						return false;
+					_reader = new LineReader(_fs.open(_files.get(_fileNo)));
+					if( _fileNo == 0 && _skipHeader )
+						_reader.readLine(line); //ignore header
+				}
+				if( _reader.readLine(line) > 0 )
+					return true;
+				_reader.close();
+				_reader = null;
+			}
+		}
+		
+		public String getCurrentFile() {
+			return (_fileNo < _files.size()) ?
+				_files.get(_fileNo).toString() : null;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			if( _reader != null )
+				_reader.close();
+			_reader = null;
+			_fileNo = _files.size();
+		}
+	}
+}
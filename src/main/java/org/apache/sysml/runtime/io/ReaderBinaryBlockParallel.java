@@ -79,7 +79,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
 			ret.recomputeNonZeros();
-		ret.examSparsity();
+		ret.examSparsity(_numThreads);
 		
 		return ret;
 	}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
+import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+
+/**
+ * Streaming reader for matrices in binary block format, where chunks are 
+ * aligned to row blocks (i.e., the chunk size is rounded to a multiple of 
+ * the row block size). Since blocks might be stored in arbitrary order, we 
+ * build an index of the file positions of all blocks via a single key-only
+ * pass (values are skipped), sorted by row block index. Subsequently, every
+ * chunk seeks to the positions of its blocks in readers that are kept open
+ * across chunks, i.e., every block is read exactly once.
+ */
+public class ReaderBinaryBlockStreaming extends MatrixStreamReader
+{
+	private final int _brlen, _bclen;
+	private final int _chunkRows;
+	private final Path[] _files;
+	private final SequenceFile.Reader[] _readers; //lazily opened
+	
+	//block index sorted by row block index (and file position)
+	private final long[] _rix;
+	private final int[] _fix;
+	private final long[] _pos;
+	private int _ixPos = 0;
+	
+	public ReaderBinaryBlockStreaming(String fname, long rlen, long clen, int brlen, int bclen, int chunkSize) 
+		throws IOException
+	{
+		super(fname, rlen, clen, chunkSize);
+		if( rlen < 0 || clen < 0 || brlen <= 0 || bclen <= 0 )
+			throw new IOException("Streaming read of binary block requires known dimensions and block sizes "
+				+ "("+rlen+"x"+clen+", "+brlen+"x"+bclen+").");
+		_brlen = brlen;
+		_bclen = bclen;
+		_chunkRows = Math.max(chunkSize / brlen, 1) * brlen;
+		
+		//set up preferred custom serialization framework for binary block format
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( _job );
+		
+		//build block index over all files (key-only pass)
+		_files = IOUtilFunctions.getSequenceFilePaths(_fs, _path);
+		_readers = new SequenceFile.Reader[_files.length];
+		ArrayList<long[]> index = new ArrayList<>();
+		MatrixIndexes key = new MatrixIndexes();
+		for( int i=0; i<_files.length; i++ ) {
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(_job, SequenceFile.Reader.file(_files[i]));
+			try {
+				long pos = reader.getPosition();
+				while( reader.next(key) ) {
+					index.add(new long[]{key.getRowIndex(), i, pos});
+					pos = reader.getPosition();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		Collections.sort(index, (a, b) -> (a[0] != b[0]) ? Long.compare(a[0], b[0]) :
+			(a[1] != b[1]) ? Long.compare(a[1], b[1]) : Long.compare(a[2], b[2]));
+		_rix = new long[index.size()];
+		_fix = new int[index.size()];
+		_pos = new long[index.size()];
+		for( int i=0; i<index.size(); i++ ) {
+			long[] entry = index.get(i);
+			_rix[i] = entry[0];
+			_fix[i] = (int) entry[1];
+			_pos[i] = entry[2];
+		}
+	}
+
+	@Override
+	protected MatrixBlock readNextChunk() 
+		throws IOException
+	{
+		//determine row range and row block range of the next chunk
+		if( _rowPos >= _rlen )
+			return null;
+		int rl = (int)_rowPos;
+		int ru = (int)Math.min(_rowPos + _chunkRows, _rlen);
+		long bl = rl / _brlen + 1;
+		long bu = (ru - 1) / _brlen + 1;
+		
+		//read non-empty blocks of row block range via the block index
+		//(sorted by row block index, i.e., consumed in chunk order)
+		ArrayList<IndexedMatrixValue> blocks = new ArrayList<>();
+		long lnnz = 0;
+		while( _ixPos < _rix.length && _rix[_ixPos] < bl )
+			_ixPos++;
+		for( ; _ixPos < _rix.length && _rix[_ixPos] <= bu; _ixPos++ ) {
+			SequenceFile.Reader reader = getReader(_fix[_ixPos]);
+			reader.seek(_pos[_ixPos]);
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixBlock value = new MatrixBlock();
+			if( !reader.next(key, value) || key.getRowIndex() != _rix[_ixPos] )
+				throw new IOException("Invalid block position "+_pos[_ixPos]+" in "+_files[_fix[_ixPos]]+".");
+			if( value.isEmptyBlock(false) )
+				continue;
+			blocks.add(new IndexedMatrixValue(key, value));
+			lnnz += value.getNonZeros();
+		}
+		
+		//allocate chunk according to the exact nnz of its blocks
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(ru-rl, _clen, lnnz);
+		MatrixBlock ret = new MatrixBlock(ru-rl, (int)_clen, sparse, lnnz);
+		if( !sparse && lnnz > 0 )
+			ret.allocateDenseBlock();
+		
+		//copy blocks into chunk
+		for( IndexedMatrixValue block : blocks ) {
+			MatrixBlock value = (MatrixBlock) block.getValue();
+			int row_offset = (int)(block.getIndexes().getRowIndex()-1)*_brlen - rl;
+			int col_offset = (int)(block.getIndexes().getColumnIndex()-1)*_bclen;
+			int rows = value.getNumRows();
+			int cols = value.getNumColumns();
+			
+			//bound check per block
+			if( row_offset < 0 || row_offset + rows > ru-rl || col_offset < 0 || col_offset + cols > _clen ) {
+				throw new IOException("Matrix block ["+(rl+row_offset+1)+":"+(rl+row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+					"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+			}
+			
+			if( sparse )
+				ret.appendToSparse(value, row_offset, col_offset);
+			else
+				ret.copy(row_offset, row_offset+rows-1, col_offset, col_offset+cols-1, value, false);
+		}
+		
+		//post-processing
+		if( sparse && _clen > _bclen )
+			ret.sortSparseRows();
+		ret.setNonZeros(lnnz);
+		return ret;
+	}
+	
+	private SequenceFile.Reader getReader(int fix) 
+		throws IOException
+	{
+		if( _readers[fix] == null )
+			_readers[fix] = new SequenceFile.Reader(_job, SequenceFile.Reader.file(_files[fix]));
+		return _readers[fix];
+	}
+
+	@Override
+	public void close() throws IOException {
+		//close all readers kept open across chunks
+		for( int i=0; i<_readers.length; i++ ) {
+			IOUtilFunctions.closeSilently(_readers[i]);
+			_readers[i] = null;
+		}
+		_ixPos = _rix.length;
+	}
+}
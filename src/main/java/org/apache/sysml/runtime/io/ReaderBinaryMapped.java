@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.DenseBlockOffHeap;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Parallel reader for the local memory-mappable binary matrix format 
+ * (see {@link WriterBinaryMapped}). The file is mapped in row partitions, 
+ * which are copied in bulk into the dense block or the CSR arrays of the 
+ * output block, i.e., without deserialization or per-block objects. 
+ * Optionally, dense matrices are returned as off-heap blocks backed by a 
+ * private mapping of the file, where values are faulted in on demand.
+ * Input streams of this format are read sequentially in file order.
+ * 
+ * NOTE: this format is only supported for local files, i.e., not on HDFS.
+ */
+public class ReaderBinaryMapped extends MatrixReader
+{
+	//max size of individual mapped regions (below 2GB limit)
+	private static final long MAX_MAP_SIZE = 1L << 30;
+	//size of the buffer for sequential stream reads
+	private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+	
+	private final int _numThreads;
+	private final boolean _offHeap;
+	
+	public ReaderBinaryMapped() {
+		this(OptimizerUtils.getParallelBinaryReadParallelism(), false);
+	}
+	
+	public ReaderBinaryMapped(int numThreads, boolean offHeap) {
+		_numThreads = numThreads;
+		_offHeap = offHeap;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		Path path = Paths.get(WriterBinaryMapped.getLocalFileName(fname));
+		if( !path.toFile().exists() )
+			throw new IOException("File "+fname+" does not exist on local file system.");
+		
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+			
+			//read and validate header
+			ByteBuffer header = ByteBuffer.allocate(WriterBinaryMapped.MAPPED_HEADER_SIZE);
+			while( header.hasRemaining() && channel.read(header, header.position()) > 0 );
+			validateHeader(header, fname, rlen, clen);
+			ByteOrder order = (header.get(8)==1) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+			boolean sparse = (header.get(9)==1);
+			long lrlen = header.getLong(12);
+			long lclen = header.getLong(20);
+			long nnz = header.getLong(28);
+			
+			//core read (sequential/parallel)
+			return sparse ?
+				readSparseMatrix(channel, order, (int)lrlen, (int)lclen, nnz) :
+				readDenseMatrix(channel, path, order, (int)lrlen, (int)lclen, nnz);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//read and validate header
+		DataInputStream in = new DataInputStream(is);
+		ByteBuffer header = ByteBuffer.allocate(WriterBinaryMapped.MAPPED_HEADER_SIZE);
+		try {
+			in.readFully(header.array());
+			header.position(WriterBinaryMapped.MAPPED_HEADER_SIZE);
+		}
+		catch(EOFException ex) {
+			//handled as invalid header below
+		}
+		validateHeader(header, "<stream>", rlen, clen);
+		ByteOrder order = (header.get(8)==1) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+		boolean sparse = (header.get(9)==1);
+		int lrlen = (int)header.getLong(12);
+		int lclen = (int)header.getLong(20);
+		long nnz = header.getLong(28);
+		
+		//core read (sequential, in file order)
+		byte[] buff = new byte[STREAM_BUFFER_SIZE];
+		return sparse ?
+			readSparseMatrix(in, buff, order, lrlen, lclen, nnz) :
+			readDenseMatrix(in, buff, order, lrlen, lclen, nnz);
+	}
+	
+	private static void validateHeader(ByteBuffer header, String fname, long rlen, long clen) 
+		throws IOException
+	{
+		if( header.position() < WriterBinaryMapped.MAPPED_HEADER_SIZE
+			|| header.getInt(0) != WriterBinaryMapped.MAPPED_MAGIC )
+			throw new IOException("Invalid mapped binary matrix file: "+fname);
+		if( header.getInt(4) != WriterBinaryMapped.MAPPED_VERSION )
+			throw new IOException("Unsupported mapped binary matrix version: "+header.getInt(4));
+		long lrlen = header.getLong(12);
+		long lclen = header.getLong(20);
+		if( (rlen > 0 && rlen != lrlen) || (clen > 0 && clen != lclen) ) {
+			throw new IOException("Read matrix dimensions ("+lrlen+"x"+lclen+") "
+				+ "mismatch with metadata ("+rlen+"x"+clen+").");
+		}
+	}
+	
+	private static MatrixBlock readDenseMatrix(DataInputStream in, byte[] buff, ByteOrder order, int rlen, int clen, long nnz) 
+		throws IOException
+	{
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false, nnz);
+		if( nnz == 0 )
+			return ret;
+		ret.allocateDenseBlock();
+		DenseBlock a = ret.getDenseBlock();
+		boolean direct = DenseBlockFactory.isDenseBlockType(a, DenseBlock.Type.DRB)
+			|| DenseBlockFactory.isDenseBlockType(a, DenseBlock.Type.LDRB);
+		double[] tmp = direct ? null : new double[clen];
+		for( int i=0; i<rlen; i++ ) {
+			if( direct )
+				readDoubles(in, buff, order, a.values(i), a.pos(i), clen);
+			else {
+				readDoubles(in, buff, order, tmp, 0, clen);
+				a.set(i, tmp);
+			}
+		}
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	private static MatrixBlock readSparseMatrix(DataInputStream in, byte[] buff, ByteOrder order, int rlen, int clen, long nnz) 
+		throws IOException
+	{
+		MatrixBlock ret = new MatrixBlock(rlen, clen, true, nnz);
+		if( nnz == 0 )
+			return ret;
+		
+		//read row pointers, column indexes (padded to 8 bytes), and values
+		long[] rowptr = new long[rlen+1];
+		readLongs(in, buff, order, rowptr, 0, rlen+1);
+		SparseBlock sblock = null;
+		if( nnz < Integer.MAX_VALUE ) {
+			int[] ptr = new int[rlen+1];
+			for( int i=0; i<=rlen; i++ )
+				ptr[i] = (int)rowptr[i];
+			int[] indexes = new int[(int)nnz];
+			double[] values = new double[(int)nnz];
+			readInts(in, buff, order, indexes, 0, (int)nnz);
+			in.readFully(buff, 0, (int)(nnz % 2) * 4); //skip padding
+			readDoubles(in, buff, order, values, 0, (int)nnz);
+			sblock = new SparseBlockCSR(ptr, indexes, values, (int)nnz);
+		}
+		else {
+			SparseRowVector[] rows = new SparseRowVector[rlen];
+			for( int i=0; i<rlen; i++ ) {
+				int len = (int)(rowptr[i+1] - rowptr[i]);
+				if( len == 0 ) continue;
+				rows[i] = new SparseRowVector(len);
+				readInts(in, buff, order, rows[i].indexes(), 0, len);
+			}
+			in.readFully(buff, 0, (int)(nnz % 2) * 4); //skip padding
+			SparseBlockMCSR mcsr = new SparseBlockMCSR(rlen, -1);
+			for( int i=0; i<rlen; i++ ) {
+				if( rows[i] == null ) continue;
+				int len = (int)(rowptr[i+1] - rowptr[i]);
+				readDoubles(in, buff, order, rows[i].values(), 0, len);
+				rows[i].setSize(len);
+				mcsr.set(i, rows[i], false);
+			}
+			sblock = mcsr;
+		}
+		
+		return new MatrixBlock(rlen, clen, nnz, sblock);
+	}
+	
+	private MatrixBlock readDenseMatrix(FileChannel channel, Path path, ByteOrder order, int rlen, int clen, long nnz) 
+		throws IOException
+	{
+		//zero-copy mapping as off-heap dense block
+		if( _offHeap && order == ByteOrder.nativeOrder() && (long)rlen*clen > 0 ) {
+			DenseBlock db = DenseBlockOffHeap.map(path.toFile(),
+				WriterBinaryMapped.MAPPED_HEADER_SIZE, rlen, clen, MapMode.PRIVATE);
+			return new MatrixBlock(rlen, clen, nnz, db);
+		}
+		
+		//parallel bulk copy of row partitions into dense block
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false, nnz);
+		if( nnz == 0 )
+			return ret;
+		ret.allocateDenseBlock();
+		ArrayList<Callable<Object>> tasks = new ArrayList<>();
+		for( int[] range : getRowPartitions(rlen, clen) )
+			tasks.add(new ReadDenseTask(channel, order, ret.getDenseBlock(), range[0], range[1], clen));
+		executeTasks(tasks);
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	private MatrixBlock readSparseMatrix(FileChannel channel, ByteOrder order, int rlen, int clen, long nnz) 
+		throws IOException
+	{
+		MatrixBlock ret = new MatrixBlock(rlen, clen, true, nnz);
+		if( nnz == 0 )
+			return ret;
+		
+		//read row pointers (required for partitioning the column indexes and values)
+		long[] rowptr = new long[rlen+1];
+		readLongs(channel, order, WriterBinaryMapped.MAPPED_HEADER_SIZE, rowptr, 0, rlen+1);
+		
+		//parallel bulk copy of row partitions into CSR arrays or MCSR rows (>2G nnz)
+		SparseBlock sblock = null;
+		ArrayList<Callable<Object>> tasks = new ArrayList<>();
+		if( nnz < Integer.MAX_VALUE ) {
+			int[] ptr = new int[rlen+1];
+			for( int i=0; i<=rlen; i++ )
+				ptr[i] = (int)rowptr[i];
+			int[] indexes = new int[(int)nnz];
+			double[] values = new double[(int)nnz];
+			for( int[] range : getRowPartitions(rlen, (int)Math.ceil((double)nnz/rlen)) )
+				tasks.add(new ReadSparseTask(channel, order, rowptr, indexes, values, null, range[0], range[1]));
+			sblock = new SparseBlockCSR(ptr, indexes, values, (int)nnz);
+		}
+		else {
+			SparseBlockMCSR mcsr = new SparseBlockMCSR(rlen, -1);
+			for( int[] range : getRowPartitions(rlen, (int)Math.ceil((double)nnz/rlen)) )
+				tasks.add(new ReadSparseTask(channel, order, rowptr, null, null, mcsr, range[0], range[1]));
+			sblock = mcsr;
+		}
+		executeTasks(tasks);
+		
+		return new MatrixBlock(rlen, clen, nnz, sblock);
+	}
+	
+	private List<int[]> getRowPartitions(int rlen, int cellsPerRow) {
+		//partitions of at least 1MB, but not more than the number of threads
+		long cells = (long)rlen * Math.max(cellsPerRow, 1);
+		int numPart = (int)Math.max(Math.min(_numThreads, cells/(1024*1024/8)), 1);
+		int blklen = (int)Math.ceil((double)rlen / numPart);
+		List<int[]> ret = new ArrayList<>();
+		for( int i=0; i<rlen; i+=blklen )
+			ret.add(new int[]{i, Math.min(i+blklen, rlen)});
+		return ret;
+	}
+	
+	private void executeTasks(List<Callable<Object>> tasks) 
+		throws IOException
+	{
+		try {
+			if( tasks.size() <= 1 ) {
+				for( Callable<Object> task : tasks )
+					task.call();
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(_numThreads);
+				List<Future<Object>> rt = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : rt )
+					task.get();
+			}
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of mapped binary matrix.", ex);
+		}
+	}
+	
+	private static void readLongs(FileChannel channel, ByteOrder order, long offset, long[] dest, int pos, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int llen = (int)Math.min(len-i, MAX_MAP_SIZE/8);
+			LongBuffer buff = channel.map(MapMode.READ_ONLY, offset+8L*i, 8L*llen)
+				.order(order).asLongBuffer();
+			buff.get(dest, pos+i, llen);
+			i += llen;
+		}
+	}
+	
+	private static void readInts(FileChannel channel, ByteOrder order, long offset, int[] dest, int pos, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int llen = (int)Math.min(len-i, MAX_MAP_SIZE/4);
+			IntBuffer buff = channel.map(MapMode.READ_ONLY, offset+4L*i, 4L*llen)
+				.order(order).asIntBuffer();
+			buff.get(dest, pos+i, llen);
+			i += llen;
+		}
+	}
+	
+	private static void readDoubles(FileChannel channel, ByteOrder order, long offset, double[] dest, int pos, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int llen = (int)Math.min(len-i, MAX_MAP_SIZE/8);
+			DoubleBuffer buff = channel.map(MapMode.READ_ONLY, offset+8L*i, 8L*llen)
+				.order(order).asDoubleBuffer();
+			buff.get(dest, pos+i, llen);
+			i += llen;
+		}
+	}
+	
+	private static void readLongs(DataInputStream in, byte[] buff, ByteOrder order, long[] dest, int pos, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int llen = Math.min(len-i, buff.length/8);
+			in.readFully(buff, 0, 8*llen);
+			ByteBuffer.wrap(buff, 0, 8*llen).order(order).asLongBuffer().get(dest, pos+i, llen);
+			i += llen;
+		}
+	}
+	
+	private static void readInts(DataInputStream in, byte[] buff, ByteOrder order, int[] dest, int pos, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int llen = Math.min(len-i, buff.length/4);
+			in.readFully(buff, 0, 4*llen);
+			ByteBuffer.wrap(buff, 0, 4*llen).order(order).asIntBuffer().get(dest, pos+i, llen);
+			i += llen;
+		}
+	}
+	
+	private static void readDoubles(DataInputStream in, byte[] buff, ByteOrder order, double[] dest, int pos, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int llen = Math.min(len-i, buff.length/8);
+			in.readFully(buff, 0, 8*llen);
+			ByteBuffer.wrap(buff, 0, 8*llen).order(order).asDoubleBuffer().get(dest, pos+i, llen);
+			i += llen;
+		}
+	}
+	
+	private static class ReadDenseTask implements Callable<Object> 
+	{
+		private final FileChannel _channel;
+		private final ByteOrder _order;
+		private final DenseBlock _dest;
+		private final int _rl, _ru, _clen;
+		
+		public ReadDenseTask(FileChannel channel, ByteOrder order, DenseBlock dest, int rl, int ru, int clen) {
+			_channel = channel;
+			_order = order;
+			_dest = dest;
+			_rl = rl;
+			_ru = ru;
+			_clen = clen;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			long offset = WriterBinaryMapped.MAPPED_HEADER_SIZE + 8L*_rl*_clen;
+			
+			//bulk copy of entire row range into contiguous dense block
+			boolean direct = DenseBlockFactory.isDenseBlockType(_dest, DenseBlock.Type.DRB)
+				|| DenseBlockFactory.isDenseBlockType(_dest, DenseBlock.Type.LDRB);
+			if( direct && _dest.isContiguous(_rl, _ru-1) ) {
+				readDoubles(_channel, _order, offset, 
+					_dest.values(_rl), _dest.pos(_rl), (_ru-_rl)*_clen);
+				return null;
+			}
+			
+			//bulk copy of individual rows (mapped in chunks of rows)
+			int rows = (int)Math.max(MAX_MAP_SIZE/(8L*_clen), 1);
+			double[] tmp = direct ? null : new double[_clen];
+			for( int i=_rl; i<_ru; i+=rows ) {
+				int lru = Math.min(i+rows, _ru);
+				DoubleBuffer buff = _channel.map(MapMode.READ_ONLY,
+					offset + 8L*(i-_rl)*_clen, 8L*(lru-i)*_clen).order(_order).asDoubleBuffer();
+				for( int r=i; r<lru; r++ ) {
+					if( direct )
+						buff.get(_dest.values(r), _dest.pos(r), _clen);
+					else {
+						buff.get(tmp, 0, _clen);
+						_dest.set(r, tmp);
+					}
+				}
+			}
+			return null;
+		}
+	}
+	
+	private static class ReadSparseTask implements Callable<Object> 
+	{
+		private final FileChannel _channel;
+		private final ByteOrder _order;
+		private final long[] _rowptr;
+		private final int[] _indexes;
+		private final double[] _values;
+		private final SparseBlockMCSR _mcsr;
+		private final int _rl, _ru;
+		
+		public ReadSparseTask(FileChannel channel, ByteOrder order, long[] rowptr, 
+			int[] indexes, double[] values, SparseBlockMCSR mcsr, int rl, int ru)
+		{
+			_channel = channel;
+			_order = order;
+			_rowptr = rowptr;
+			_indexes = indexes;
+			_values = values;
+			_mcsr = mcsr;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			int rlen = _rowptr.length-1;
+			long ixoff = WriterBinaryMapped.getColIndexOffset(rlen);
+			long voff = WriterBinaryMapped.getValuesOffset(rlen, _rowptr[rlen]);
+			
+			if( _mcsr == null ) { //CSR
+				//bulk copy of entire row range into CSR arrays
+				int pos = (int)_rowptr[_rl];
+				int len = (int)(_rowptr[_ru] - _rowptr[_rl]);
+				readInts(_channel, _order, ixoff+4L*pos, _indexes, pos, len);
+				readDoubles(_channel, _order, voff+8L*pos, _values, pos, len);
+			}
+			else { //MCSR
+				//bulk copy of individual rows into sparse rows
+				for( int i=_rl; i<_ru; i++ ) {
+					int len = (int)(_rowptr[i+1] - _rowptr[i]);
+					if( len == 0 ) continue;
+					SparseRowVector row = new SparseRowVector(len);
+					readInts(_channel, _order, ixoff+4L*_rowptr[i], row.indexes(), 0, len);
+					readDoubles(_channel, _order, voff+8L*_rowptr[i], row.values(), 0, len);
+					row.setSize(len);
+					_mcsr.set(i, row, false);
+				}
+			}
+			return null;
+		}
+	}
+}
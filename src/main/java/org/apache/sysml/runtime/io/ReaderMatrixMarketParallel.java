@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.hadoop.util.LineReader;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.FastStringTokenizer;
+
+/**
+ * Parallel reader for MatrixMarket files, which exploits the header for 
+ * the allocation of the output. To summarize, we read the header once 
+ * (properties, dimensions, number of entries, and the byte offset of the 
+ * first entry), such that read tasks per split skip the header by offset 
+ * instead of probing for comments. For dense outputs, the tasks add cells 
+ * into the preallocated dense block (with striped row locks). For sparse 
+ * outputs, a single pass over all splits parses the cells into per-task 
+ * coordinate buffers and counts the number of entries per row, from which 
+ * we compute the row pointers and allocate the exact CSR arrays. The tasks 
+ * then scatter their buffered cells in parallel into these arrays (releasing
+ * their buffers), followed by a parallel row sort. Hence, every split is 
+ * parsed only once. Duplicate coordinates are summed, symmetric entries are
+ * mirrored during the parse, and integer and 
+ * pattern fields are handled as in the text cell reader. Sparse matrices 
+ * with more than 2G non-zeros fall back to the parallel text cell reader.
+ */
+public class ReaderMatrixMarketParallel extends ReaderTextCellParallel
+{
+	private final int _numThreads;
+	
+	public ReaderMatrixMarketParallel() {
+		super(InputInfo.MatrixMarketInputInfo);
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		if( fs.isDirectory(path) )
+			throw new IOException("MatrixMarket files as directories not supported.");
+		
+		//read matrix market header (incl dimensions and number of entries)
+		long[] header = readMatrixMarketHeader(fs, path);
+		if( (rlen >= 0 && rlen != header[0]) || (clen >= 0 && clen != header[1]) ) {
+			throw new IOException("Unexpected matrix dimensions while reading file in MatrixMarket format. Expecting dimensions ["
+				+ rlen + " rows, " + clen + " cols] but encountered [" + header[0] + " rows, " + header[1] + "cols].");
+		}
+		rlen = header[0];
+		clen = header[1];
+		long lnnz = _mmProps.isSymmetric() ? Math.min(2*header[2], rlen*clen) : header[2];
+		
+		//fallback to text cell reader for sparse outputs exceeding CSR capacity
+		if( lnnz > Integer.MAX_VALUE && MatrixBlock.evalSparseFormatInMemory(rlen, clen, lnnz) )
+			return super.readMatrixFromHDFS(fname, rlen, clen, brlen, bclen, lnnz);
+		
+		//allocate output matrix block (w/ header nnz), where only dense blocks are
+		//preallocated because the CSR arrays are allocated after the parse
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, lnnz, true, false);
+		
+		//core read 
+		readMatrixMarketFromHDFS(path, job, ret, rlen, clen, lnnz, header[3]);
+		
+		//finally check if change of sparse/dense block representation required
+		ret.examSparsity(_numThreads);
+		
+		return ret;
+	}
+	
+	private long[] readMatrixMarketHeader(FileSystem fs, Path path) 
+		throws IOException
+	{
+		FSDataInputStream in = fs.open(path);
+		try {
+			LineReader reader = new LineReader(in);
+			Text line = new Text();
+			
+			//parse header line
+			long offset = reader.readLine(line);
+			String value = line.toString();
+			if( !value.startsWith("%%") ) {
+				throw new IOException("Error while reading file in MatrixMarket format. Expecting a header line, but encountered, \"" + value +"\".");
+			}
+			_mmProps = FileFormatPropertiesMM.parse(value);
+			
+			//skip until end-of-comments
+			int len = 0;
+			while( (len = reader.readLine(line)) > 0
+				&& (line.getLength()==0 || line.toString().charAt(0) == '%') ) {
+				offset += len;
+			}
+			if( len == 0 )
+				throw new IOException("Error while reading file in MatrixMarket format. Missing size line.");
+			offset += len;
+			
+			//parse size line (rlen clen entries)
+			String[] fields = line.toString().trim().split("\\s+");
+			if( fields.length != 3 )
+				throw new IOException("Unsupported size line in MatrixMarket file: " + line.toString() + ".");
+			return new long[]{Long.parseLong(fields[0]), Long.parseLong(fields[1]), 
+				Long.parseLong(fields[2]), offset};
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	private void readMatrixMarketFromHDFS(Path path, JobConf job, MatrixBlock dest, long rlen, long clen, long estnnz, long offset) 
+		throws IOException
+	{
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			InputSplit[] splits = informat.getSplits(job, _numThreads);
+			long lnnz = 0;
+			
+			if( !dest.isInSparseFormat() ) {
+				//parse all splits into the preallocated dense block
+				Object[] locks = createRowLocks(rlen);
+				List<DenseParseTask> tasks = Arrays.stream(splits)
+					.map(s -> new DenseParseTask(s, informat, job, dest.getDenseBlock(), rlen, clen, offset, _mmProps, locks))
+					.collect(Collectors.toList());
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					lnnz += task.get();
+			}
+			else {
+				//parse all splits into per-task buffers, incl entries per row
+				AtomicIntegerArray counts = new AtomicIntegerArray((int)rlen);
+				int initCap = (int)Math.min(estnnz / Math.max(splits.length, 1) + 1, 1024*1024);
+				List<SparseParseTask> tasks = Arrays.stream(splits)
+					.map(s -> new SparseParseTask(s, informat, job, rlen, clen, offset, _mmProps, counts, initCap))
+					.collect(Collectors.toList());
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					lnnz += task.get();
+				if( lnnz > Integer.MAX_VALUE )
+					throw new IOException("MatrixMarket input exceeds the capacity of the CSR format: "+lnnz+".");
+				
+				//compute row pointers and reuse counts as cursors
+				int[] rptr = new int[(int)rlen+1];
+				for( int i=0; i<rlen; i++ ) {
+					rptr[i+1] = rptr[i] + counts.get(i);
+					counts.set(i, rptr[i]);
+				}
+				
+				//scatter buffered cells directly into the CSR arrays
+				int[] indexes = new int[(int)lnnz];
+				double[] values = new double[(int)lnnz];
+				List<SparseScatterTask> tasks2 = tasks.stream()
+					.map(t -> new SparseScatterTask(t, counts, indexes, values))
+					.collect(Collectors.toList());
+				for( Future<Void> task : pool.invokeAll(tasks2) )
+					task.get();
+				dest.setSparseBlock(new SparseBlockCSR(rptr, indexes, values, (int)lnnz));
+				
+				//sort rows and sum duplicate coordinates
+				sortSparseRowsParallel(dest, rlen, _numThreads, pool);
+				lnnz = sumDuplicates(rptr, indexes, values, (int)rlen);
+				dest.setSparseBlock(new SparseBlockCSR(rptr, indexes, values, (int)lnnz));
+			}
+			
+			//post-processing
+			dest.setNonZeros( lnnz );
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of MatrixMarket input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static Object[] createRowLocks(long rlen) {
+		Object[] locks = new Object[(int)Math.max(Math.min(rlen, 1024), 1)];
+		for( int i=0; i<locks.length; i++ )
+			locks[i] = new Object();
+		return locks;
+	}
+	
+	/**
+	 * Sums duplicate column indexes of sorted CSR rows in place 
+	 * (and removes zeros due to cancellation), which compacts the
+	 * index and value arrays and updates the row pointers.
+	 * 
+	 * @param rptr row pointers
+	 * @param indexes column indexes
+	 * @param values values
+	 * @param rlen number of rows
+	 * @return number of non-zeros after compaction
+	 */
+	private static int sumDuplicates(int[] rptr, int[] indexes, double[] values, int rlen) {
+		int pos = 0;
+		for( int i=0; i<rlen; i++ ) {
+			int apos = rptr[i], alen = rptr[i+1] - apos;
+			rptr[i] = pos;
+			for( int k=apos; k<apos+alen; k++ ) {
+				if( pos > rptr[i] && indexes[pos-1] == indexes[k] )
+					values[pos-1] += values[k];
+				else {
+					indexes[pos] = indexes[k];
+					values[pos++] = values[k];
+				}
+			}
+			//remove zeros due to cancellation
+			int pos2 = rptr[i];
+			for( int k=rptr[i]; k<pos; k++ )
+				if( values[k] != 0 ) {
+					indexes[pos2] = indexes[k];
+					values[pos2++] = values[k];
+				}
+			pos = pos2;
+		}
+		rptr[rlen] = pos;
+		return pos;
+	}
+	
+	private static abstract class ParseTask implements Callable<Long> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final long _rlen, _clen;
+		private final long _offset;
+		protected final FileFormatPropertiesMM _mmProps;
+		
+		protected ParseTask(InputSplit split, TextInputFormat informat, JobConf job, 
+			long rlen, long clen, long offset, FileFormatPropertiesMM mmProps)
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_rlen = rlen;
+			_clen = clen;
+			_offset = offset;
+			_mmProps = mmProps;
+		}
+		
+		@Override
+		public Long call() throws Exception 
+		{
+			long lnnz = 0;
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			IJV cell = new IJV();
+			FastStringTokenizer st = new FastStringTokenizer(' ');
+			
+			RecordReader<LongWritable,Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			try {
+				while( reader.next(key, value) ) {
+					//skip header, comments, and empty lines
+					if( key.get() < _offset || value.getLength() == 0 )
+						continue;
+					cell = parseCell(value.toString(), st, cell, _mmProps);
+					if( cell.getI() < 0 || cell.getI() >= _rlen || cell.getJ() < 0 || cell.getJ() >= _clen )
+						throw new IOException("Matrix cell ["+(cell.getI()+1)+","+(cell.getJ()+1)+"] "
+							+ "out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+					if( cell.getV() == 0 )
+						continue;
+					lnnz += processCell(cell.getI(), cell.getJ(), cell.getV());
+					if( _mmProps.isSymmetric() && !cell.onDiag() )
+						lnnz += processCell(cell.getJ(), cell.getI(), cell.getV());
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return lnnz;
+		}
+		
+		protected abstract int processCell(int r, int c, double v);
+	}
+	
+	/**
+	 * Parse task for dense outputs, which adds cells into the preallocated
+	 * dense block (summing duplicate coordinates), synchronized via striped
+	 * row locks. The returned nnz accounts for zero/non-zero transitions.
+	 */
+	private static class DenseParseTask extends ParseTask
+	{
+		private final DenseBlock _a;
+		private final Object[] _locks;
+		
+		public DenseParseTask(InputSplit split, TextInputFormat informat, JobConf job, DenseBlock a,
+			long rlen, long clen, long offset, FileFormatPropertiesMM mmProps, Object[] locks)
+		{
+			super(split, informat, job, rlen, clen, offset, mmProps);
+			_a = a;
+			_locks = locks;
+		}
+		
+		@Override
+		protected int processCell(int r, int c, double v) {
+			synchronized( _locks[r % _locks.length] ) {
+				double old = _a.get(r, c);
+				_a.set(r, c, old + v);
+				return (old == 0 ? 1 : 0) - (old + v == 0 ? 1 : 0);
+			}
+		}
+	}
+	
+	/**
+	 * Parse task for sparse outputs, which appends cells to task-local
+	 * coordinate buffers (grown on demand) and counts the entries per row.
+	 */
+	private static class SparseParseTask extends ParseTask
+	{
+		private final AtomicIntegerArray _counts;
+		private int[] _rix;
+		private int[] _cix;
+		private double[] _vals;
+		private int _len;
+		
+		public SparseParseTask(InputSplit split, TextInputFormat informat, JobConf job, long rlen, long clen, 
+			long offset, FileFormatPropertiesMM mmProps, AtomicIntegerArray counts, int initCap)
+		{
+			super(split, informat, job, rlen, clen, offset, mmProps);
+			_counts = counts;
+			_rix = new int[initCap];
+			_cix = new int[initCap];
+			_vals = new double[initCap];
+		}
+		
+		@Override
+		protected int processCell(int r, int c, double v) {
+			if( _len == _rix.length ) {
+				int newCap = (int)Math.min(2L*_len, Integer.MAX_VALUE);
+				_rix = Arrays.copyOf(_rix, newCap);
+				_cix = Arrays.copyOf(_cix, newCap);
+				_vals = Arrays.copyOf(_vals, newCap);
+			}
+			_rix[_len] = r;
+			_cix[_len] = c;
+			_vals[_len++] = v;
+			_counts.incrementAndGet(r);
+			return 1;
+		}
+	}
+	
+	/**
+	 * Scatter task for sparse outputs, which copies the buffered cells of 
+	 * a parse task to the row cursors of the preallocated CSR arrays and
+	 * releases the buffers of the parse task afterwards.
+	 */
+	private static class SparseScatterTask implements Callable<Void>
+	{
+		private final SparseParseTask _task;
+		private final AtomicIntegerArray _cursors;
+		private final int[] _indexes;
+		private final double[] _values;
+		
+		public SparseScatterTask(SparseParseTask task, AtomicIntegerArray cursors, int[] indexes, double[] values) {
+			_task = task;
+			_cursors = cursors;
+			_indexes = indexes;
+			_values = values;
+		}
+		
+		@Override
+		public Void call() {
+			int[] rix = _task._rix;
+			int[] cix = _task._cix;
+			double[] vals = _task._vals;
+			for( int i=0; i<_task._len; i++ ) {
+				int pos = _cursors.getAndIncrement(rix[i]);
+				_indexes[pos] = cix[i];
+				_values[pos] = vals[i];
+			}
+			_task._rix = null;
+			_task._cix = null;
+			_task._vals = null;
+			return null;
+		}
+	}
+}
@@ -42,6 +42,7 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
@@ -102,7 +103,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
 		// - nnz explicitly maintained in parallel for the individual splits
-		ret.examSparsity();
+		ret.examSparsity(_numThreads);
 
 		// sanity check for parallel row count (since determined internally)
 		if (rlen >= 0 && rlen != ret.getNumRows())
@@ -383,7 +384,6 @@ public class ReaderTextCSVParallel extends MatrixReader
 		{
 			int row = 0;
 			int col = 0;
-			double cellValue = 0;
 			long lnnz = 0;
 			
 			try 
@@ -397,72 +397,22 @@ public class ReaderTextCSVParallel extends MatrixReader
 					reader.next(key, value);
 				}
 
-				boolean noFillEmpty = false;
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
+				CSVByteParser parser = new CSVByteParser(_delim, _fill, _fillValue);
 
 				try {
-					if (_sparse) // SPARSE<-value
-					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
-					} 
-					else // DENSE<-value
-					{
-						DenseBlock a = _dest.getDenseBlock();
-						while (reader.next(key, value)) { // foreach line
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-							for (String part : parts) { // foreach cell
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-								if( cellValue != 0 ) {
-									a.set(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
+					// parse lines directly from the reused text bytes, 
+					// and write values into the rows of the target block
+					DenseBlock a = _sparse ? null : _dest.getDenseBlock();
+					SparseBlock b = _sparse ? _dest.getSparseBlock() : null;
+					while (reader.next(key, value)) { // foreach line
+						parser.tokenize(value);
+						
+						// sanity checks (number of columns, fill values)
+						parser.checkLine(_split.toString(), _clen);
+						
+						lnnz += _sparse ? parser.parseRow(b, row) : parser.parseRow(a, row);
+						row++;
 					}
 
 					// sanity checks (number of rows)
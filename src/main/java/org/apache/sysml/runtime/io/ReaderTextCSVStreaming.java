@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Streaming reader for matrices in csv format, which parses the lines of
+ * all files in order directly into dense chunks. If the number of rows is
+ * unknown, the chunks are read until the end of the input; if the number
+ * of columns is unknown, it is determined from the first line.
+ */
+public class ReaderTextCSVStreaming extends MatrixStreamReader
+{
+	private final MultiFileLineReader _reader;
+	private final CSVByteParser _parser;
+	private final Text _line = new Text();
+	private long _ncol;
+	
+	public ReaderTextCSVStreaming(String fname, long rlen, long clen, int chunkSize, FileFormatPropertiesCSV props) 
+		throws IOException
+	{
+		super(fname, rlen, clen, chunkSize);
+		FileFormatPropertiesCSV lprops = (props != null) ? props : new FileFormatPropertiesCSV();
+		_reader = new MultiFileLineReader(_fs, getFilePaths(_fs, _path), lprops.hasHeader());
+		_parser = new CSVByteParser(lprops.getDelim(), lprops.isFill(), lprops.getFillValue());
+		_ncol = clen;
+	}
+
+	@Override
+	protected MatrixBlock readNextChunk() 
+		throws IOException
+	{
+		//determine number of rows of the next chunk
+		int rows = (_rlen >= 0) ? (int)Math.min(_chunkSize, _rlen - _rowPos) : _chunkSize;
+		if( rows <= 0 || !_reader.next(_line) )
+			return null;
+		
+		//determine number of columns from first line if necessary
+		if( _ncol < 0 )
+			_ncol = _parser.tokenize(_line);
+		
+		//parse lines into dense chunk
+		MatrixBlock ret = new MatrixBlock(rows, (int)_ncol, false);
+		ret.allocateDenseBlock();
+		long lnnz = 0;
+		int row = 0;
+		do {
+			_parser.tokenize(_line);
+			_parser.checkLine(_reader.getCurrentFile(), _ncol);
+			lnnz += _parser.parseRow(ret.getDenseBlock(), row++);
+		}
+		while( row < rows && _reader.next(_line) );
+		
+		//handle incomplete last chunk
+		if( row < rows ) {
+			if( _rlen >= 0 )
+				throw new IOException("Unexpected number of rows: "+(_rowPos+row)+" (expected: "+_rlen+").");
+			ret = ret.slice(0, row-1);
+		}
+		ret.setNonZeros(lnnz);
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	public void close() throws IOException {
+		_reader.close();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastStringTokenizer;
+
+/**
+ * Streaming reader for matrices in text cell format. Streaming requires 
+ * the cells to be ordered by rows (in arbitrary column order) across all 
+ * files in alphanumeric order, as written by the text cell writers. The 
+ * first cell of the following chunk is kept as a look-ahead cell.
+ */
+public class ReaderTextCellStreaming extends MatrixStreamReader
+{
+	private final MultiFileLineReader _reader;
+	private final FastStringTokenizer _st = new FastStringTokenizer(' ');
+	private final Text _line = new Text();
+	private final long _estnnz;
+	private IJV _cell = new IJV();
+	private boolean _pending = false;
+	
+	public ReaderTextCellStreaming(String fname, long rlen, long clen, int chunkSize, long estnnz) 
+		throws IOException
+	{
+		super(fname, rlen, clen, chunkSize);
+		if( rlen < 0 || clen < 0 )
+			throw new IOException("Streaming read of text cell requires known dimensions ("+rlen+"x"+clen+").");
+		_reader = new MultiFileLineReader(_fs, getFilePaths(_fs, _path), false);
+		_estnnz = estnnz;
+	}
+
+	@Override
+	protected MatrixBlock readNextChunk() 
+		throws IOException
+	{
+		//determine row range of the next chunk
+		if( _rowPos >= _rlen )
+			return null;
+		int rl = (int)_rowPos;
+		int ru = (int)Math.min(_rowPos + _chunkSize, _rlen);
+		
+		//allocate chunk (sparse if nnz unknown)
+		long estnnz = (_estnnz >= 0) ? (long)Math.ceil((double)_estnnz * (ru-rl) / _rlen) : (long)(ru-rl)*_clen;
+		boolean sparse = (_estnnz < 0) || MatrixBlock.evalSparseFormatInMemory(ru-rl, _clen, estnnz);
+		MatrixBlock ret = new MatrixBlock(ru-rl, (int)_clen, sparse, estnnz);
+		
+		//append look-ahead and subsequent cells of the row range
+		while( _pending || _reader.next(_line) ) {
+			if( !_pending )
+				_cell = ReaderTextCell.parseCell(_line.toString(), _st, _cell, null);
+			int i = _cell.getI(), j = _cell.getJ();
+			if( i < 0 || i >= _rlen || j < 0 || j >= _clen ) {
+				throw new IOException("Matrix cell ["+(i+1)+","+(j+1)+"] "
+					+ "out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+			}
+			if( i < rl ) {
+				throw new IOException("Matrix cell ["+(i+1)+","+(j+1)+"] not ordered by rows, "
+					+ "which is required for streaming reads of text cell inputs.");
+			}
+			_pending = (i >= ru);
+			if( _pending )
+				break;
+			if( _cell.getV() != 0 )
+				ret.appendValue(i-rl, j, _cell.getV());
+		}
+		
+		//post-processing
+		if( ret.isInSparseFormat() )
+			ret.sortSparseRows();
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	public void close() throws IOException {
+		_reader.close();
+	}
+}
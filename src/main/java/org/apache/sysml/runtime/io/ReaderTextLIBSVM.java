@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.mutable.MutableInt;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Reader for matrices in LIBSVM text format, where each line is of the form
+ * {@code label [qid:id] idx:val idx:val ...} with unique 1-based feature indexes
+ * (ascending by convention), and optional query ids, which are ignored.
+ * The read matrix has numFeatures+1 columns, where the features are stored in
+ * the first numFeatures columns and the label in the last column. Since a read
+ * binds a single matrix, the label vector and feature matrix are obtained via
+ * right indexing, i.e., {@code y = M[,ncol(M)]} and {@code X = M[,1:ncol(M)-1]}.
+ * Since LIBSVM is a sparse format, the output is allocated in sparse representation 
+ * unless the number of non-zeros is known, and converted on examSparsity if required.
+ * 
+ */
+public class ReaderTextLIBSVM extends MatrixReader
+{
+	public ReaderTextLIBSVM() {
+		//do nothing
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//allocate output matrix block
+		MatrixBlock ret = null;
+		if( rlen>=0 && clen>=0 ) //otherwise allocated on read
+			ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, 
+				(estnnz < 0) ? rlen : estnnz, true, false);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+	
+		//core read 
+		ret = readLIBSVMMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
+		
+		//finally check if change of sparse/dense block representation required
+		//(nnz explicitly maintained during read)
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, 
+			(estnnz < 0) ? rlen : estnnz, true, false);
+		
+		//core read 
+		readLIBSVMMatrixFromInputStream(is, "external inputstream", ret, new MutableInt(0), rlen, clen);
+		
+		//finally check if change of sparse/dense block representation required
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	/**
+	 * Parses a single line in LIBSVM format into the given sparse row, where 
+	 * the 1-based feature indexes are mapped to the 0-based columns 0..clen-2 
+	 * and the label is appended as column clen-1. Zero values are not appended,
+	 * query ids (qid:id) are skipped, and duplicate feature indexes are rejected.
+	 * 
+	 * @param line input line (label idx:val idx:val ...)
+	 * @param row sparse row, reset before parsing
+	 * @param clen number of columns incl label column
+	 * @return number of non-zeros of the parsed row
+	 * @throws IOException if the line is not a valid LIBSVM line
+	 */
+	public static int parseLIBSVMRow(String line, SparseRowVector row, long clen) 
+		throws IOException
+	{
+		row.setSize(0);
+		int len = line.length();
+		
+		//parse label (first token)
+		int pos = skipWhitespace(line, 0, len);
+		int end = nextWhitespace(line, pos, len);
+		if( pos >= len )
+			throw new IOException("Invalid LIBSVM line without label: '"+line+"'.");
+		double label = UtilFunctions.parseToDouble(line.substring(pos, end));
+		
+		//parse features (idx:val tokens)
+		boolean sorted = true;
+		int lastCol = -1;
+		pos = skipWhitespace(line, end, len);
+		while( pos < len ) {
+			end = nextWhitespace(line, pos, len);
+			int sep = line.indexOf(':', pos);
+			if( sep < 0 || sep >= end )
+				throw new IOException("Invalid LIBSVM feature '"+line.substring(pos, end)+"' in line: '"+line+"'.");
+			if( !isQueryId(line, pos, sep) ) {
+				int col = Integer.parseInt(line.substring(pos, sep)) - 1;
+				if( col < 0 || col >= clen-1 )
+					throw new IOException("LIBSVM feature index "+(col+1)+" out of range [1,"+(clen-1)+"] in line: '"+line+"'.");
+				if( col == lastCol )
+					throw new IOException("Duplicate LIBSVM feature index "+(col+1)+" in line: '"+line+"'.");
+				row.append(col, UtilFunctions.parseToDouble(line.substring(sep+1, end)));
+				sorted &= (col > lastCol);
+				lastCol = col;
+			}
+			pos = skipWhitespace(line, end, len);
+		}
+		
+		//append label as last column (after sorting unordered features)
+		if( !sorted ) {
+			row.sort();
+			int[] ix = row.indexes();
+			for( int k=1; k<row.size(); k++ )
+				if( ix[k-1] == ix[k] )
+					throw new IOException("Duplicate LIBSVM feature index "+(ix[k]+1)+" in line: '"+line+"'.");
+		}
+		row.append((int)clen-1, label);
+		
+		return row.size();
+	}
+	
+	/**
+	 * Determines the number of features (i.e., the maximum feature index) 
+	 * of a single line in LIBSVM format, without parsing the values. 
+	 * 
+	 * @param line input line (label idx:val idx:val ...)
+	 * @return maximum 1-based feature index, or 0 if no features
+	 */
+	public static int getMaxFeatureIndex(String line) {
+		int ret = 0;
+		int sep = -1;
+		while( (sep = line.indexOf(':', sep+1)) >= 0 ) {
+			int pos = sep;
+			while( pos > 0 && !Character.isWhitespace(line.charAt(pos-1)) )
+				pos--;
+			if( !isQueryId(line, pos, sep) )
+				ret = Math.max(ret, Integer.parseInt(line.substring(pos, sep)));
+		}
+		return ret;
+	}
+	
+	private static boolean isQueryId(String line, int pos, int sep) {
+		return sep - pos == 3 && line.startsWith("qid", pos);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static MatrixBlock readLIBSVMMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, 
+			long rlen, long clen, int brlen, int bclen )
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file paths in alphanumeric order
+		ArrayList<Path> files=new ArrayList<>();
+		if(fs.isDirectory(path)) {
+			for(FileStatus stat: fs.listStatus(path, CSVReblockMR.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		
+		//determine matrix size via additional pass if required
+		if ( dest == null ) {
+			dest = computeLIBSVMSize(files, job, fs);
+			rlen = dest.getNumRows();
+			clen = dest.getNumColumns();
+		}
+		
+		//actual read of individual files
+		MutableInt row = new MutableInt(0);
+		for(int fileNo=0; fileNo<files.size(); fileNo++) {
+			readLIBSVMMatrixFromInputStream(fs.open(files.get(fileNo)), 
+				path.toString(), dest, row, rlen, clen);
+		}
+		
+		//sanity check for number of rows
+		if( row.intValue() != rlen )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected nrow="+ rlen + ", real nrow=" + row.intValue());
+		
+		return dest;
+	}
+	
+	private static void readLIBSVMMatrixFromInputStream( InputStream is, String srcInfo, MatrixBlock dest, 
+			MutableInt rowPos, long rlen, long clen )
+		throws IOException
+	{
+		SparseRowVector vect = new SparseRowVector(1024);
+		String value = null;
+		int row = rowPos.intValue();
+		
+		// Read the data
+		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		try
+		{
+			while( (value=br.readLine())!=null ) { //foreach line
+				if( row >= rlen )
+					throw new IOException("LIBSVM row "+(row+1)+" out of overall matrix range [1:"+rlen+"] in "+srcInfo+".");
+				parseLIBSVMRow(value, vect, clen);
+				dest.appendRow(row, vect); //incl nnz maintenance
+				row++;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+		
+		rowPos.setValue(row);
+	}
+
+	private static MatrixBlock computeLIBSVMSize( List<Path> files, JobConf job, FileSystem fs) 
+		throws IOException, DMLRuntimeException 
+	{
+		int nrow = 0;
+		int ncol = 0;
+		long nnz = 0;
+		String value = null;
+		
+		//count rows, non-zeros (upper bound), and max feature index
+		for(int fileNo=0; fileNo<files.size(); fileNo++) {
+			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(fileNo))));	
+			try {
+				while ( (value = br.readLine()) != null ) {
+					ncol = Math.max(ncol, getMaxFeatureIndex(value));
+					nnz += 1 + StringUtils.countMatches(value, ":");
+					nrow++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(br);
+			}
+		}
+		
+		// allocate target matrix block based on given size (features and label)
+		return createOutputMatrixBlock(nrow, ncol+1, nrow, ncol+1, nnz, true, false);
+	}
+	
+	private static int skipWhitespace(String line, int pos, int len) {
+		while( pos < len && Character.isWhitespace(line.charAt(pos)) )
+			pos++;
+		return pos;
+	}
+	
+	private static int nextWhitespace(String line, int pos, int len) {
+		while( pos < len && !Character.isWhitespace(line.charAt(pos)) )
+			pos++;
+		return pos;
+	}
+}
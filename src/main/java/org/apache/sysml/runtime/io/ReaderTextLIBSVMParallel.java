@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Parallel version of ReaderTextLIBSVM.java. Similar to the parallel CSV 
+ * reader, we do two passes in order to compute row offsets (as well as the 
+ * number of features and non-zeros if required) and the actual read. Since 
+ * splits contain row partitioned lines, the inserts into the sparse or dense
+ * target are done lock-free, and no sorting of sparse rows is required.
+ * 
+ */
+public class ReaderTextLIBSVMParallel extends MatrixReader 
+{
+	private int _numThreads = 1;
+	private long[] _offsets = null;
+
+	public ReaderTextLIBSVMParallel() {
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen,
+			int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+
+		InputSplit[] splits = informat.getSplits(job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// First Read Pass (count rows/features/nnz, determine offsets, allocate matrix block)
+		MatrixBlock ret = computeLIBSVMSizeAndCreateOutputMatrixBlock(
+			splits, informat, job, rlen, clen, estnnz);
+		rlen = ret.getNumRows();
+		clen = ret.getNumColumns();
+
+		// Second Read Pass (read, parse strings, append to matrix block)
+		readLIBSVMMatrixFromHDFS(splits, informat, job, ret, rlen, clen);
+		
+		//post-processing (representation-specific, change of sparse/dense block representation)
+		// - no sorting required for LIBSVM because it is read in sorted order per row
+		// - nnz explicitly maintained in parallel for the individual splits
+		ret.examSparsity(_numThreads);
+
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//not implemented yet, fallback to sequential reader
+		return new ReaderTextLIBSVM()
+			.readMatrixFromInputStream(is, rlen, clen, brlen, bclen, estnnz);
+	}
+	
+	private void readLIBSVMMatrixFromHDFS(InputSplit[] splits, TextInputFormat informat, 
+			JobConf job, MatrixBlock dest, long rlen, long clen) 
+		throws IOException 
+	{
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			// create read tasks for all splits
+			ArrayList<LIBSVMReadTask> tasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new LIBSVMReadTask(splits[i], informat, job, dest, _offsets[i], clen));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			// check for exceptions and aggregate nnz
+			long lnnz = 0;
+			for( Future<Long> task : rt )
+				lnnz += task.get();
+			dest.setNonZeros(lnnz);
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of libsvm input.", e);
+		}
+	}
+
+	private MatrixBlock computeLIBSVMSizeAndCreateOutputMatrixBlock(InputSplit[] splits, 
+			TextInputFormat informat, JobConf job, long rlen, long clen, long estnnz)
+		throws IOException, DMLRuntimeException 
+	{
+		int nrow = 0;
+		int ncol = 0;
+		long nnz = 0;
+		
+		// count rows, features, and non-zeros in parallel per split
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			ArrayList<CountRowsTask> tasks = new ArrayList<>();
+			for( InputSplit split : splits )
+				tasks.add(new CountRowsTask(split, informat, job));
+			List<Future<long[]>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			// collect row counts for offset computation
+			_offsets = new long[splits.length];
+			for( int i=0; i<rt.size(); i++ ) {
+				long[] stats = rt.get(i).get();
+				_offsets[i] = nrow;
+				nrow += (int) stats[0];
+				ncol = (int) Math.max(ncol, stats[1]+1);
+				nnz += stats[2];
+			}
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel row count of libsvm input.", e);
+		}
+		
+		//robustness for wrong dimensions which are already compiled into the plan
+		if( (rlen != -1 && nrow != rlen) || (clen != -1 && ncol != clen) ) {
+			String msg = "Read matrix dimensions differ from meta data: ["+nrow+"x"+ncol+"] vs. ["+rlen+"x"+clen+"].";
+			if( rlen != nrow || clen < ncol ) {
+				//a) specified number of rows mismatch or number of columns too small
+				throw new DMLRuntimeException(msg);
+			}
+			else {
+				//b) specified number of columns too large (features not present in 
+				//the data) -> padding, where the label remains in the last column
+				LOG.warn(msg);
+				ncol = (int) clen;
+			}
+		}
+		
+		// allocate target matrix block based on given size; 
+		// need to allocate sparse as well since lock-free insert into target
+		long estnnz2 = (estnnz < 0) ? nnz : estnnz;
+		return createOutputMatrixBlock(nrow, ncol, nrow, ncol, estnnz2, true, true);
+	}
+
+	private static class CountRowsTask implements Callable<long[]> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+
+		public CountRowsTask(InputSplit split, TextInputFormat informat, JobConf job) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+		}
+
+		@Override
+		public long[] call() 
+			throws Exception 
+		{
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text oneLine = new Text();
+			long nrow = 0, maxIndex = 0, nnz = 0;
+			
+			try {
+				// count rows, max feature index, and non-zeros (upper bound)
+				while( reader.next(key, oneLine) ) {
+					String line = oneLine.toString();
+					maxIndex = Math.max(maxIndex, ReaderTextLIBSVM.getMaxFeatureIndex(line));
+					nnz += 1 + countFeatures(oneLine);
+					nrow++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return new long[]{nrow, maxIndex, nnz};
+		}
+		
+		private static int countFeatures(Text line) {
+			byte[] buff = line.getBytes();
+			int len = line.getLength();
+			int ret = 0;
+			for( int i=0; i<len; i++ )
+				ret += (buff[i] == ':') ? 1 : 0;
+			return ret;
+		}
+	}
+
+	private static class LIBSVMReadTask implements Callable<Long> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final MatrixBlock _dest;
+		private final long _offset;
+		private final long _clen;
+		
+		public LIBSVMReadTask(InputSplit split, TextInputFormat informat, 
+			JobConf job, MatrixBlock dest, long offset, long clen) 
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_offset = offset;
+			_clen = clen;
+		}
+
+		@Override
+		public Long call() 
+			throws Exception 
+		{
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			SparseRowVector vect = new SparseRowVector(1024);
+			int row = (int) _offset;
+			long lnnz = 0;
+			
+			try {
+				// parse lines into a reused sparse row, and copy it into the 
+				// (disjoint) row of the target block w/o synchronization
+				boolean sparse = _dest.isInSparseFormat();
+				DenseBlock a = sparse ? null : _dest.getDenseBlock();
+				while( reader.next(key, value) ) {
+					int lnnz2 = ReaderTextLIBSVM.parseLIBSVMRow(value.toString(), vect, _clen);
+					if( sparse )
+						_dest.getSparseBlock().set(row, vect, true);
+					else {
+						int[] aix = vect.indexes();
+						double[] avals = vect.values();
+						for( int j=0; j<lnnz2; j++ )
+							a.set(row, aix[j], avals[j]);
+					}
+					lnnz += lnnz2;
+					row++;
+				}
+			}
+			catch(Exception ex) {
+				throw new IOException("Unable to read matrix in text LIBSVM format "
+					+ "(row "+(row+1)+", split "+_split.toString()+"): "+ex.getMessage(), ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return lnnz;
+		}
+	}
+}
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Writer for the local memory-mappable binary matrix format, which allows
+ * single-node readers to populate matrix blocks via bulk copies from mapped
+ * file regions (see {@link ReaderBinaryMapped}). The file consists of a 
+ * fixed-size header, followed by either the dense row-major cell values, or 
+ * the CSR arrays (row pointers as longs, column indexes as ints, padded to
+ * 8 bytes, and values). Header fields are stored in big endian, all arrays
+ * in native byte order of the writer, as recorded in the header.
+ * 
+ * NOTE: this format is only supported for local files, i.e., not on HDFS.
+ */
+public class WriterBinaryMapped extends MatrixWriter
+{
+	public static final int MAPPED_MAGIC = 0x53594D42;
+	public static final int MAPPED_VERSION = 1;
+	public static final int MAPPED_HEADER_SIZE = 64;
+	
+	private static final int BUFFER_SIZE = 1024*1024; //1MB
+	
+	private final int _numThreads;
+	
+	public WriterBinaryMapped() {
+		this(OptimizerUtils.getParallelBinaryWriteParallelism());
+	}
+	
+	public WriterBinaryMapped(int numThreads) {
+		_numThreads = numThreads;
+	}
+	
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz, boolean diag) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		if( diag )
+			throw new IOException("Write of diagonal matrices not supported for mapped binary format.");
+		
+		writeMappedMatrixToFile(getLocalFileName(fname), src, _numThreads);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		writeMappedMatrixToFile(getLocalFileName(fname),
+			new MatrixBlock((int)rlen, (int)clen, true), 1);
+	}
+	
+	/**
+	 * Returns the local file name of the given file name, which
+	 * may or may not include the local file system scheme.
+	 * 
+	 * @param fname file name
+	 * @return local file name
+	 */
+	protected static String getLocalFileName(String fname) {
+		return new Path(fname).toUri().getPath();
+	}
+	
+	private static void writeMappedMatrixToFile(String fname, MatrixBlock src, int k) 
+		throws IOException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		boolean sparse = src.isInSparseFormat() || src.getDenseBlock() == null;
+		
+		//if the file already exists, remove it (keeps existing mappings valid)
+		java.nio.file.Path path = Paths.get(fname);
+		Files.deleteIfExists(path);
+		
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			
+			//compute row pointers and nnz (exact, independent of meta data)
+			long[] rowptr = sparse ? computeRowPointers(src) : null;
+			long nnz = sparse ? rowptr[rlen] : src.getDenseBlock().countNonZeros();
+			
+			//write header and row pointers
+			ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE);
+			header.putInt(MAPPED_MAGIC).putInt(MAPPED_VERSION)
+				.put((byte)(ByteOrder.nativeOrder()==ByteOrder.LITTLE_ENDIAN ? 1 : 0))
+				.put((byte)(sparse ? 1 : 0)).putShort((short)0)
+				.putLong(rlen).putLong(clen).putLong(nnz);
+			header.clear();
+			writeFully(channel, header, 0);
+			if( sparse ) {
+				ChannelOutput out = new ChannelOutput(channel, MAPPED_HEADER_SIZE);
+				for( int i=0; i<=rlen; i++ )
+					out.putLong(rowptr[i]);
+				out.flush();
+			}
+			
+			//write cell values or column indexes and values (sequential/parallel)
+			int numThreads = (int)Math.min(k, (long)rlen*clen/(BUFFER_SIZE/8));
+			int blklen = (int)Math.ceil((double)rlen / Math.max(numThreads,1));
+			ArrayList<WriteMappedTask> tasks = new ArrayList<>();
+			for( int i=0; i<rlen; i+=blklen )
+				tasks.add(new WriteMappedTask(channel, src, rowptr, i, Math.min(i+blklen, rlen)));
+			if( tasks.size() <= 1 ) {
+				for( WriteMappedTask task : tasks )
+					task.call();
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(numThreads);
+				List<Future<Object>> rt = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : rt )
+					task.get();
+			}
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed write of mapped binary matrix.", ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	private static long[] computeRowPointers(MatrixBlock src) {
+		int rlen = src.getNumRows();
+		long[] ret = new long[rlen+1];
+		SparseBlock sblock = src.getSparseBlock();
+		for( int i=0; i<rlen; i++ )
+			ret[i+1] = ret[i] + ((sblock!=null && !sblock.isEmpty(i)) ? sblock.size(i) : 0);
+		return ret;
+	}
+	
+	/**
+	 * Returns the file offset of the column indexes of a sparse
+	 * matrix in mapped binary format.
+	 * 
+	 * @param rlen number of rows
+	 * @return offset in bytes
+	 */
+	protected static long getColIndexOffset(long rlen) {
+		return MAPPED_HEADER_SIZE + 8L*(rlen+1);
+	}
+	
+	/**
+	 * Returns the file offset of the values of a sparse matrix in mapped
+	 * binary format, where the column indexes are padded to 8 bytes.
+	 * 
+	 * @param rlen number of rows
+	 * @param nnz number of non-zeros
+	 * @return offset in bytes
+	 */
+	protected static long getValuesOffset(long rlen, long nnz) {
+		return getColIndexOffset(rlen) + 8L*((nnz+1)/2);
+	}
+	
+	private static void writeFully(FileChannel channel, ByteBuffer buff, long pos) 
+		throws IOException
+	{
+		while( buff.hasRemaining() )
+			pos += channel.write(buff, pos);
+	}
+	
+	private static class WriteMappedTask implements Callable<Object> 
+	{
+		private final FileChannel _channel;
+		private final MatrixBlock _src;
+		private final long[] _rowptr;
+		private final int _rl, _ru;
+		
+		public WriteMappedTask(FileChannel channel, MatrixBlock src, long[] rowptr, int rl, int ru) {
+			_channel = channel;
+			_src = src;
+			_rowptr = rowptr;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			int rlen = _src.getNumRows();
+			int clen = _src.getNumColumns();
+			
+			if( _rowptr != null ) { //SPARSE
+				SparseBlock sblock = _src.getSparseBlock();
+				if( sblock == null || _rowptr[_rl] == _rowptr[_ru] )
+					return null;
+				ChannelOutput ixout = new ChannelOutput(_channel,
+					getColIndexOffset(rlen) + 4L*_rowptr[_rl]);
+				ChannelOutput vout = new ChannelOutput(_channel,
+					getValuesOffset(rlen, _rowptr[rlen]) + 8L*_rowptr[_rl]);
+				for( int i=_rl; i<_ru; i++ ) {
+					if( sblock.isEmpty(i) ) continue;
+					int apos = sblock.pos(i);
+					int alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
+					for( int j=apos; j<apos+alen; j++ ) {
+						ixout.putInt(aix[j]);
+						vout.putDouble(avals[j]);
+					}
+				}
+				ixout.flush();
+				vout.flush();
+			}
+			else { //DENSE
+				DenseBlock a = _src.getDenseBlock();
+				boolean direct = DenseBlockFactory.isDenseBlockType(a, DenseBlock.Type.DRB)
+					|| DenseBlockFactory.isDenseBlockType(a, DenseBlock.Type.LDRB);
+				ChannelOutput out = new ChannelOutput(_channel,
+					MAPPED_HEADER_SIZE + 8L*_rl*clen);
+				for( int i=_rl; i<_ru; i++ ) {
+					if( direct ) {
+						double[] avals = a.values(i);
+						int apos = a.pos(i);
+						for( int j=apos; j<apos+clen; j++ )
+							out.putDouble(avals[j]);
+					}
+					else {
+						for( int j=0; j<clen; j++ )
+							out.putDouble(a.get(i, j));
+					}
+				}
+				out.flush();
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * Buffered output to a file channel via positional writes,
+	 * which allows concurrent writes of disjoint file regions.
+	 */
+	private static class ChannelOutput
+	{
+		private final FileChannel _channel;
+		private final ByteBuffer _buff;
+		private long _pos;
+		
+		public ChannelOutput(FileChannel channel, long pos) {
+			_channel = channel;
+			_buff = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.nativeOrder());
+			_pos = pos;
+		}
+		
+		public void putInt(int v) throws IOException {
+			if( _buff.remaining() < 4 )
+				flush();
+			_buff.putInt(v);
+		}
+		
+		public void putLong(long v) throws IOException {
+			if( _buff.remaining() < 8 )
+				flush();
+			_buff.putLong(v);
+		}
+		
+		public void putDouble(double v) throws IOException {
+			if( _buff.remaining() < 8 )
+				flush();
+			_buff.putDouble(v);
+		}
+		
+		public void flush() throws IOException {
+			_buff.flip();
+			int len = _buff.remaining();
+			writeFully(_channel, _buff, _pos);
+			_pos += len;
+			_buff.clear();
+		}
+	}
+}
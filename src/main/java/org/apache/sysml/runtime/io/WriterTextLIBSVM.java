@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for matrices in LIBSVM text format, where the last column is
+ * written as label and the remaining columns as 1-based sparse features
+ * (see ReaderTextLIBSVM for the inverse mapping).
+ * 
+ */
+public class WriterTextLIBSVM extends MatrixWriter
+{
+	//blocksize for string concatenation in order to prevent write OOM 
+	//(can be set to very large value to disable blocking)
+	public static final int BLOCKSIZE_J = 32; //32 cells (typically ~512B, should be less than write buffer of 1KB)
+	
+	public WriterTextLIBSVM() {
+		//do nothing
+	}
+	
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz, boolean diag) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		if( rlen == 0 || clen == 0 )
+			throw new IOException("Write of matrices with zero rows or columns not supported ("+rlen+"x"+clen+").");
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+			
+		//core write (sequential/parallel)
+		writeLIBSVMMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		MatrixBlock src = new MatrixBlock((int)rlen, 1, true);
+		writeLIBSVMMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected void writeLIBSVMMatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src) 
+		throws IOException 
+	{
+		//sequential write libsvm file
+		writeLIBSVMMatrixToFile(path, job, fs, src, 0, src.getNumRows());
+	}
+
+	protected static void writeLIBSVMMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
+		throws IOException
+	{
+		boolean sparse = src.isInSparseFormat();
+		int clen = src.getNumColumns();
+		
+		//create buffered writer
+		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));
+		
+		try
+		{
+			//for obj reuse and preventing repeated buffer re-allocations
+			StringBuilder sb = new StringBuilder();
+			
+			if( sparse ) //SPARSE
+			{
+				SparseBlock sblock = src.getSparseBlock();
+				for( int i=rl; i<ru; i++ ) {
+					//write label (last column)
+					appendLabel(sb, src.quickGetValue(i, clen-1));
+					
+					//write non-zero features chunk-wise to prevent OOM on large number of columns
+					if( sblock!=null && !sblock.isEmpty(i) ) {
+						int apos = sblock.pos(i);
+						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
+						double[] avals = sblock.values(i);
+						for( int j=apos, cnt=1; j<apos+alen && aix[j]<clen-1; j++, cnt++ ) {
+							appendFeature(sb, aix[j], avals[j]);
+							if( cnt%BLOCKSIZE_J==0 ) {
+								br.write( sb.toString() );
+								sb.setLength(0);
+							}
+						}
+					}
+					
+					sb.append('\n');
+					br.write( sb.toString() );
+					sb.setLength(0);
+				}
+			}
+			else //DENSE
+			{
+				for( int i=rl; i<ru; i++ ) {
+					//write label (last column)
+					appendLabel(sb, src.getValueDenseUnsafe(i, clen-1));
+					
+					//write non-zero features chunk-wise to prevent OOM on large number of columns
+					for( int bj=0; bj<clen-1; bj+=BLOCKSIZE_J ) {
+						for( int j=bj; j<Math.min(clen-1,bj+BLOCKSIZE_J); j++ ) {
+							double lvalue = src.getValueDenseUnsafe(i, j);
+							if( lvalue != 0 ) //for nnz
+								appendFeature(sb, j, lvalue);
+						}
+						br.write( sb.toString() );
+						sb.setLength(0);
+					}
+					
+					sb.append('\n');
+					br.write( sb.toString() );
+					sb.setLength(0);
+				}
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+	}
+	
+	private static void appendLabel(StringBuilder sb, double label) {
+		if( label != 0 )
+			sb.append(label);
+		else
+			sb.append('0');
+	}
+	
+	private static void appendFeature(StringBuilder sb, int j, double value) {
+		sb.append(' ');
+		sb.append(j+1);
+		sb.append(':');
+		sb.append(value);
+	}
+}
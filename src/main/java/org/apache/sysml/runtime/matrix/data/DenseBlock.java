@@ -38,6 +38,8 @@ public abstract class DenseBlock implements Serializable
 	public enum Type {
 		DRB, //dense row block
 		LDRB, //large dense row block
+		FP32, //single-precision dense row block
+		OFFHEAP, //off-heap dense row block (direct or mapped)
 	}
 	
 	/**
@@ -328,6 +330,27 @@ public abstract class DenseBlock implements Serializable
 		return this;
 	}
 	
+	/**
+	 * Indicates if the dense block is backed by double arrays, which
+	 * are directly exposed via values() and valuesAt() for both
+	 * read and write access.
+	 * 
+	 * @return true if backed by double arrays
+	 */
+	public boolean isDoubleArrayBacked() {
+		return true;
+	}
+	
+	/**
+	 * Converts the dense block into a block backed by double arrays.
+	 * Blocks that are already double-array backed return themselves.
+	 * 
+	 * @return double-array backed dense block
+	 */
+	public DenseBlock toDoubleArrayBacked() {
+		return this;
+	}
+	
 	/**
 	 * Get the value for a given row and column.
 	 * 
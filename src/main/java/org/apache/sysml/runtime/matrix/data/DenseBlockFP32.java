@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Single-precision dense row block, backed by a single float array.
+ *
+ * Operations that are aware of this representation access the
+ * underlying data via {@link #valuesFP32()}. The generic double
+ * accessors values() and valuesAt() serve as a fallback for all other
+ * operations: on first access, the block is widened once in place into
+ * a double array (with identical row layout), which then backs all
+ * subsequent reads and writes, i.e., values() returns a live view.
+ * Note that the serialized representation (e.g., for eviction or 
+ * binary block writes) is always in double precision.
+ */
+public class DenseBlockFP32 extends DenseBlock
+{
+	private static final long serialVersionUID = -4012376952006079198L;
+
+	//note: widening sets wide before clearing data, so readers 
+	//observing data==null are guaranteed to see the widened block
+	private volatile float[] data;
+	private volatile DenseBlockDRB wide;
+	private int rlen;
+	private int clen;
+
+	public DenseBlockFP32(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	public DenseBlockFP32(float[] data, int rlen, int clen) {
+		this.data = data;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+
+	@Override
+	public void reset() {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		if( isWidened() ) {
+			wide.reset(rlen, clen, v);
+		}
+		else {
+			int len = rlen * clen;
+			if( len > capacity() ) {
+				data = new float[len];
+				if( v != 0 )
+					Arrays.fill(data, (float)v);
+			}
+			else {
+				Arrays.fill(data, 0, len, (float)v);
+			}
+		}
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long size() {
+		return rlen * clen;
+	}
+
+	@Override
+	public int size(int bix) {
+		return rlen * clen;
+	}
+
+	@Override
+	public long capacity() {
+		float[] a = data;
+		return (a!=null) ? a.length : (wide!=null) ? wide.capacity() : -1;
+	}
+
+	@Override
+	public long countNonZeros() {
+		float[] a = data;
+		return (a == null) ? wide.countNonZeros() :
+			UtilFunctions.computeNnz(a, 0, rlen*clen);
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		float[] a = data;
+		return (a == null) ? wide.countNonZeros(r) :
+			UtilFunctions.computeNnz(a, r*clen, clen);
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		float[] a = data;
+		if( a == null )
+			return wide.countNonZeros(rl, ru, cl, cu);
+		long nnz = 0;
+		if( cl == 0 && cu == clen ) { //specific case: all cols
+			nnz += UtilFunctions.computeNnz(a, rl*clen, (ru-rl)*clen);
+		}
+		else {
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+				nnz += UtilFunctions.computeNnz(a, ix+cl, cu-cl);
+		}
+		return nnz;
+	}
+
+	/**
+	 * Get the underlying single-precision values.
+	 *
+	 * @return float array, or null if widened
+	 */
+	public float[] valuesFP32() {
+		return data;
+	}
+
+	/**
+	 * Indicates if this block still holds single-precision values,
+	 * i.e., was not widened by a double array access.
+	 *
+	 * @return true if in single precision
+	 */
+	public boolean isSinglePrecision() {
+		return data != null;
+	}
+
+	private boolean isWidened() {
+		return data == null;
+	}
+
+	/**
+	 * Widens this block once in place into a double array with
+	 * identical row layout, which subsequently backs this block.
+	 *
+	 * @return widened double array-backed block
+	 */
+	private synchronized DenseBlockDRB widen() {
+		if( wide == null ) {
+			float[] a = data;
+			double[] c = new double[a.length];
+			for( int i=0; i<rlen*clen; i++ )
+				c[i] = a[i];
+			wide = new DenseBlockDRB(c, rlen, clen);
+			data = null;
+		}
+		return wide;
+	}
+
+	@Override
+	public double[][] values() {
+		return widen().values();
+	}
+
+	@Override
+	public double[] values(int r) {
+		return widen().values(r);
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return widen().valuesAt(bix);
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		float[] a = data;
+		if( a == null )
+			wide.incr(r, c);
+		else
+			a[pos(r, c)] ++;
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		float[] a = data;
+		if( a == null )
+			wide.incr(r, c, delta);
+		else
+			a[pos(r, c)] += delta;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		float[] a = data;
+		if( a == null )
+			wide.set(v);
+		else
+			Arrays.fill(a, 0, rlen*clen, (float)v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, double v) {
+		float[] a = data;
+		if( a == null ) {
+			wide.set(rl, ru, cl, cu, v);
+			return this;
+		}
+		float fv = (float) v;
+		if( cl==0 && cu == clen )
+			Arrays.fill(a, rl*clen, ru*clen, fv);
+		else
+			for(int i=rl, ix=rl*clen; i<ru; i++, ix+=clen)
+				Arrays.fill(a, ix+cl, ix+cu, fv);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		float[] a = data;
+		if( a == null )
+			wide.set(r, c, v);
+		else
+			a[pos(r, c)] = (float) v;
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		float[] c = data;
+		if( c == null ) {
+			wide.set(db);
+		}
+		else if( db instanceof DenseBlockFP32 && ((DenseBlockFP32)db).isSinglePrecision() ) {
+			System.arraycopy(((DenseBlockFP32)db).data, 0, c, 0, rlen*clen);
+		}
+		else {
+			DenseBlock adb = db.toDoubleArrayBacked();
+			for( int i=0, ix=0; i<rlen; i++, ix+=clen ) {
+				double[] a = adb.values(i);
+				int aix = adb.pos(i);
+				for( int j=0; j<clen; j++ )
+					c[ix+j] = (float) a[aix+j];
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, DenseBlock db) {
+		float[] c = data;
+		if( c == null ) {
+			wide.set(rl, ru, cl, cu, db);
+			return this;
+		}
+		int len = cu - cl;
+		if( db instanceof DenseBlockFP32 && ((DenseBlockFP32)db).isSinglePrecision() ) {
+			float[] a = ((DenseBlockFP32)db).data;
+			for(int i=rl, ix1=0, ix2=rl*clen+cl; i<ru; i++, ix1+=len, ix2+=clen)
+				System.arraycopy(a, ix1, c, ix2, len);
+		}
+		else {
+			DenseBlock adb = db.toDoubleArrayBacked();
+			for(int i=rl, ix2=rl*clen+cl; i<ru; i++, ix2+=clen) {
+				double[] a = adb.values(i-rl);
+				int aix = adb.pos(i-rl);
+				for( int j=0; j<len; j++ )
+					c[ix2+j] = (float) a[aix+j];
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		float[] c = data;
+		if( c == null ) {
+			wide.set(r, v);
+			return this;
+		}
+		for( int j=0, ix=pos(r); j<clen; j++ )
+			c[ix+j] = (float) v[j];
+		return this;
+	}
+
+	@Override
+	public boolean isDoubleArrayBacked() {
+		return isWidened();
+	}
+	
+	@Override
+	public DenseBlock toDoubleArrayBacked() {
+		float[] a = data;
+		if( a == null ) //live view of widened block
+			return wide;
+		//widened copy (no view of the float array)
+		int len = rlen * clen;
+		double[] ret = new double[len];
+		for( int i=0; i<len; i++ )
+			ret[i] = a[i];
+		return new DenseBlockDRB(ret, rlen, clen);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		float[] a = data;
+		return (a == null) ? wide.get(r, c) : a[pos(r, c)];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for(int i=0; i<rlen; i++) {
+			for(int j=0; j<clen; j++) {
+				sb.append(get(i, j));
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+}
@@ -20,6 +20,9 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+
 public abstract class DenseBlockFactory
 {
 	public static DenseBlock createDenseBlock(int rlen, int clen) {
@@ -32,10 +35,16 @@ public abstract class DenseBlockFactory
 		return new DenseBlockDRB(data, rlen, clen);
 	}
 	
+	public static DenseBlock createDenseBlock(float[] data, int rlen, int clen) {
+		return new DenseBlockFP32(data, rlen, clen);
+	}
+	
 	public static DenseBlock createDenseBlock(DenseBlock.Type type, int rlen, int clen) {
 		switch( type ) {
 			case DRB: return new DenseBlockDRB(rlen, clen);
 			case LDRB: return new DenseBlockLDRB(rlen, clen);
+			case FP32: return new DenseBlockFP32(rlen, clen);
+			case OFFHEAP: return new DenseBlockOffHeap(rlen, clen);
 			default:
 				throw new RuntimeException("Unexpected dense block type: "+type.name());
 		}
@@ -46,7 +55,36 @@ public abstract class DenseBlockFactory
 	}
 
 	public static DenseBlock.Type getDenseBlockType(DenseBlock dblock) {
+		//note: widened FP32 and off-heap blocks report their backing representation
 		return (dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
-			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB : null;
+			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB :
+			(dblock instanceof DenseBlockFP32) ? (((DenseBlockFP32)dblock)
+				.isSinglePrecision() ? DenseBlock.Type.FP32 : DenseBlock.Type.DRB) :
+			(dblock instanceof DenseBlockOffHeap) ? (((DenseBlockOffHeap)dblock)
+				.isOffHeap() ? DenseBlock.Type.OFFHEAP : DenseBlock.Type.LDRB) : null;
+	}
+	
+	/**
+	 * Indicates if single-precision dense blocks should be used for
+	 * CPU operations, as configured by sysml.floating.point.precision.
+	 * In GPU mode, this setting only applies to the device memory.
+	 * 
+	 * @return true if single precision on CPU
+	 */
+	public static boolean isSinglePrecision() {
+		return "single".equalsIgnoreCase(DMLScript.FLOATING_POINT_PRECISION)
+			&& !ConfigurationManager.isGPU();
+	}
+	
+	/**
+	 * Indicates if a single-precision dense block can represent
+	 * a matrix of the given dimensions (single contiguous block).
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @return true if FP32 block is applicable
+	 */
+	public static boolean isValidSinglePrecision(long rlen, long clen) {
+		return rlen * clen < Integer.MAX_VALUE;
 	}
 }
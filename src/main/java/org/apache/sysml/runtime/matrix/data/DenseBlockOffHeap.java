@@ -0,0 +1,541 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+
+/**
+ * Off-heap dense row block, backed by direct or memory-mapped byte buffers
+ * in native byte order. Since a single buffer is limited to 2GB, the block
+ * is partitioned into row blocks of at most blen rows, similar to LDRB.
+ *
+ * Off-heap blocks keep large matrices outside the JVM heap, and matrix
+ * multiplications operate on temporary on-heap copies (see
+ * {@link MatrixBlock#getDoubleArrayBacked()}). Mapped blocks are backed by a
+ * local file and hence, can be released by simply unmapping them
+ * (see {@link #release()}).
+ * The generic double accessors values() and valuesAt() serve as a fallback
+ * for operations that are not aware of the off-heap representation: on
+ * first access, the block is widened once in place into on-heap double 
+ * arrays (with identical row blocks), which then back all subsequent reads
+ * and writes, i.e., values() returns a live view. The off-heap buffers are
+ * retained until the block is released.
+ */
+public class DenseBlockOffHeap extends DenseBlock
+{
+	private static final long serialVersionUID = 2829573214936211364L;
+
+	//note: widening sets wide before clearing data, so readers 
+	//observing data==null are guaranteed to see the widened block
+	private transient volatile DoubleBuffer[] data;
+	private transient ByteBuffer[] buffs; //underlying buffers for release
+	private volatile DenseBlockLDRB wide;
+	private int rlen;
+	private int clen;
+	private int blen;
+	private File file; //null if direct
+
+	public DenseBlockOffHeap(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	private DenseBlockOffHeap(DoubleBuffer[] data, ByteBuffer[] buffs, int rlen, int clen, int blen, File file) {
+		this.data = data;
+		this.buffs = buffs;
+		this.rlen = rlen;
+		this.clen = clen;
+		this.blen = blen;
+		this.file = file;
+	}
+
+	/**
+	 * Creates an off-heap dense block by mapping a local file, which
+	 * contains the row-major cell values in native byte order, starting
+	 * at the given offset. In private mode, updates are not propagated
+	 * to the underlying file.
+	 *
+	 * @param file local file
+	 * @param offset offset of the first value in bytes
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param mode file channel map mode
+	 * @return off-heap dense block
+	 * @throws IOException if IOException occurs
+	 */
+	public static DenseBlockOffHeap map(File file, long offset, int rlen, int clen, MapMode mode)
+		throws IOException
+	{
+		int blen = blocksize(rlen, clen);
+		int numPart = (int)Math.ceil((double)rlen / blen);
+		DoubleBuffer[] data = new DoubleBuffer[numPart];
+		ByteBuffer[] buffs = new ByteBuffer[numPart];
+		//note: private (copy-on-write) mappings require a writable channel too
+		FileChannel channel = (mode != MapMode.READ_ONLY) ?
+			FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE) :
+			FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			//note: mappings remain valid after the channel is closed
+			for( int i=0; i<numPart; i++ ) {
+				long lrlen = Math.min((long)(i+1)*blen, rlen) - (long)i*blen;
+				buffs[i] = channel.map(mode, offset + 8L*i*blen*clen, 8L*lrlen*clen);
+				data[i] = buffs[i].order(ByteOrder.nativeOrder()).asDoubleBuffer();
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+		return new DenseBlockOffHeap(data, buffs, rlen, clen, blen, file);
+	}
+
+	@Override
+	public void reset() {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		if( isWidened() ) {
+			wide.reset(rlen, clen, v);
+			this.rlen = rlen;
+			this.clen = clen;
+			return;
+		}
+		int blen = blocksize(rlen, clen);
+		int numPart = (int)Math.ceil((double)rlen / blen);
+		if( data != null && file == null && this.blen == blen && this.clen == clen
+			&& numPart <= data.length && (long)rlen*clen <= capacity() ) {
+			for( int i=0; i<numPart; i++ )
+				fill(data[i], 0, lsize(i, rlen, clen, blen), v);
+		}
+		else {
+			//allocate new direct buffers (guaranteed to be 0-initialized)
+			data = new DoubleBuffer[numPart];
+			buffs = new ByteBuffer[numPart];
+			for( int i=0; i<numPart; i++ ) {
+				int len = lsize(i, rlen, clen, blen);
+				buffs[i] = ByteBuffer.allocateDirect(8*len);
+				data[i] = buffs[i].order(ByteOrder.nativeOrder()).asDoubleBuffer();
+				if( v != 0 )
+					fill(data[i], 0, len, v);
+			}
+			file = null;
+		}
+		this.rlen = rlen;
+		this.clen = clen;
+		this.blen = blen;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+
+	@Override
+	public int numBlocks() {
+		DoubleBuffer[] a = data;
+		return (a == null) ? wide.numBlocks() : a.length;
+	}
+
+	@Override
+	public int blockSize() {
+		return isWidened() ? wide.blockSize() : blen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return isWidened() ? wide.blockSize(bix) : Math.min(blen, rlen-bix*blen);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return isWidened() ? wide.isContiguous() : rlen <= blen;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return isContiguous() || index(rl)==index(ru);
+	}
+
+	@Override
+	public long size() {
+		return (long)rlen * clen;
+	}
+
+	@Override
+	public int size(int bix) {
+		return blockSize(bix) * clen;
+	}
+
+	@Override
+	public long capacity() {
+		DoubleBuffer[] a = data;
+		if( a == null )
+			return (wide != null) ? wide.capacity() : -1;
+		long len = 0;
+		for(int i=0; i<a.length; i++)
+			len += a[i].capacity();
+		return len;
+	}
+
+	@Override
+	public long countNonZeros() {
+		DoubleBuffer[] a = data;
+		if( a == null )
+			return wide.countNonZeros();
+		long nnz = 0;
+		for(int i=0; i<a.length; i++ )
+			nnz += computeNnz(a[i], 0, size(i));
+		return nnz;
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		DoubleBuffer[] a = data;
+		return (a == null) ? wide.countNonZeros(r) :
+			(int) computeNnz(a[index(r)], pos(r), clen);
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		DoubleBuffer[] a = data;
+		if( a == null )
+			return wide.countNonZeros(rl, ru, cl, cu);
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ )
+			nnz += computeNnz(a[index(i)], pos(i, cl), cu-cl);
+		return nnz;
+	}
+
+	/**
+	 * Get the underlying off-heap buffer of the given row block.
+	 *
+	 * @param bix block index
+	 * @return double buffer in native byte order, or null if widened
+	 */
+	public DoubleBuffer valuesOffHeap(int bix) {
+		DoubleBuffer[] a = data;
+		return (a != null) ? a[bix] : null;
+	}
+
+	/**
+	 * Indicates if the values of this block are still held off-heap,
+	 * i.e., the block was not widened by a double array access.
+	 *
+	 * @return true if off-heap
+	 */
+	public boolean isOffHeap() {
+		return data != null;
+	}
+
+	private boolean isWidened() {
+		return data == null && wide != null;
+	}
+
+	/**
+	 * Widens this block once in place into on-heap double arrays with
+	 * identical row blocks, which subsequently back this block.
+	 *
+	 * @return widened double array-backed block
+	 */
+	private synchronized DenseBlockLDRB widen() {
+		if( wide == null ) {
+			DenseBlockLDRB ret = new DenseBlockLDRB(rlen, clen, blen);
+			copyRows(ret);
+			wide = ret;
+			data = null;
+		}
+		return wide;
+	}
+
+	private void copyRows(DenseBlock ret) {
+		for( int i=0; i<rlen; i++ ) {
+			DoubleBuffer src = data[index(i)].duplicate();
+			src.position(pos(i));
+			src.get(ret.values(i), ret.pos(i), clen);
+		}
+	}
+
+	/**
+	 * Indicates if this block is backed by a memory-mapped file.
+	 *
+	 * @return true if mapped
+	 */
+	public boolean isMapped() {
+		return file != null;
+	}
+
+	/**
+	 * Get the local file backing this block, if mapped.
+	 *
+	 * @return file, or null if direct
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Get the size in bytes of the direct or mapped buffers, which
+	 * are not included in the in-memory size of this block.
+	 *
+	 * @return off-heap size in bytes
+	 */
+	public long offHeapSize() {
+		ByteBuffer[] a = buffs;
+		long len = 0;
+		if( a != null )
+			for( ByteBuffer buff : a )
+				len += buff.capacity();
+		return len;
+	}
+
+	/**
+	 * Releases the direct or mapped buffers of this block without waiting
+	 * for garbage collection, i.e., mapped files are unmapped and can be
+	 * deleted. The block must not be accessed after it was released. If
+	 * the buffers cannot be released explicitly, they are left to GC.
+	 */
+	public void release() {
+		if( buffs != null )
+			for( ByteBuffer buff : buffs )
+				freeBuffer(buff);
+		buffs = null;
+		if( wide == null ) //keep widened on-heap values
+			data = null;
+	}
+
+	@Override
+	public double[][] values() {
+		return widen().values();
+	}
+
+	@Override
+	public double[] values(int r) {
+		return widen().values(r);
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return widen().valuesAt(bix);
+	}
+
+	@Override
+	public int index(int r) {
+		return isWidened() ? wide.index(r) : r / blen;
+	}
+
+	@Override
+	public int pos(int r) {
+		return isWidened() ? wide.pos(r) : (r % blen) * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return isWidened() ? wide.pos(r, c) : (r % blen) * clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		incr(r, c, 1);
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		DoubleBuffer[] a = data;
+		if( a == null ) {
+			wide.incr(r, c, delta);
+			return;
+		}
+		DoubleBuffer buff = a[index(r)];
+		int ix = pos(r, c);
+		buff.put(ix, buff.get(ix) + delta);
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		DoubleBuffer[] a = data;
+		if( a == null )
+			wide.set(v);
+		else
+			for(int i=0; i<a.length; i++)
+				fill(a[i], 0, size(i), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, double v) {
+		DoubleBuffer[] a = data;
+		if( a == null )
+			wide.set(rl, ru, cl, cu, v);
+		else
+			for( int i=rl; i<ru; i++ )
+				fill(a[index(i)], pos(i, cl), cu-cl, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		DoubleBuffer[] a = data;
+		if( a == null )
+			wide.set(r, c, v);
+		else
+			a[index(r)].put(pos(r, c), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		DoubleBuffer[] a = data;
+		if( a == null ) {
+			wide.set(r, v);
+			return this;
+		}
+		DoubleBuffer buff = a[index(r)].duplicate();
+		buff.position(pos(r));
+		buff.put(v, 0, clen);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		return set(0, rlen, 0, clen, db);
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, DenseBlock db) {
+		if( isWidened() ) {
+			wide.set(rl, ru, cl, cu, db);
+			return this;
+		}
+		int len = cu - cl;
+		if( db instanceof DenseBlockOffHeap && ((DenseBlockOffHeap)db).isOffHeap() ) {
+			DenseBlockOffHeap odb = (DenseBlockOffHeap) db;
+			for( int i=rl; i<ru; i++ ) {
+				DoubleBuffer src = odb.data[odb.index(i-rl)].duplicate();
+				src.position(odb.pos(i-rl));
+				src.limit(src.position() + len);
+				DoubleBuffer dst = data[index(i)].duplicate();
+				dst.position(pos(i, cl));
+				dst.put(src);
+			}
+		}
+		else {
+			DenseBlock adb = db.toDoubleArrayBacked();
+			for( int i=rl; i<ru; i++ ) {
+				DoubleBuffer dst = data[index(i)].duplicate();
+				dst.position(pos(i, cl));
+				dst.put(adb.values(i-rl), adb.pos(i-rl), len);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		DoubleBuffer[] a = data;
+		return (a == null) ? wide.get(r, c) : a[index(r)].get(pos(r, c));
+	}
+
+	@Override
+	public boolean isDoubleArrayBacked() {
+		return isWidened();
+	}
+
+	@Override
+	public DenseBlock toDoubleArrayBacked() {
+		if( isWidened() ) //live view of widened block
+			return wide;
+		DenseBlock ret = DenseBlockFactory.createDenseBlock(rlen, clen);
+		copyRows(ret);
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for(int i=0; i<rlen; i++) {
+			for(int j=0; j<clen; j++) {
+				sb.append(get(i, j));
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	private static void freeBuffer(ByteBuffer buff) {
+		try {
+			try { //java 9+ (unsafe invokeCleaner)
+				Class<?> clazz = Class.forName("sun.misc.Unsafe");
+				Field field = clazz.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				clazz.getMethod("invokeCleaner", ByteBuffer.class)
+					.invoke(field.get(null), buff);
+			}
+			catch(NoSuchMethodException ex) { //java 8 (direct buffer cleaner)
+				Method cleaner = buff.getClass().getMethod("cleaner");
+				cleaner.setAccessible(true);
+				Object obj = cleaner.invoke(buff);
+				if( obj != null )
+					obj.getClass().getMethod("clean").invoke(obj);
+			}
+		}
+		catch(Exception ex) {
+			//ignore, buffer released by GC
+		}
+	}
+
+	private static void fill(DoubleBuffer buff, int pos, int len, double v) {
+		for( int i=pos; i<pos+len; i++ )
+			buff.put(i, v);
+	}
+
+	private static long computeNnz(DoubleBuffer buff, int pos, int len) {
+		long nnz = 0;
+		for( int i=pos; i<pos+len; i++ )
+			nnz += (buff.get(i) != 0) ? 1 : 0;
+		return nnz;
+	}
+
+	private static int lsize(int i, int rlen, int clen, int blen) {
+		return (int)(Math.min((long)(i+1)*blen, rlen) - (long)i*blen) * clen;
+	}
+
+	private static int blocksize(int rlen, int clen) {
+		//max 2GB per buffer (byte-addressed)
+		return Math.max(Math.min(rlen, Integer.MAX_VALUE / 8 / Math.max(clen,1)), 1);
+	}
+}
@@ -721,6 +721,11 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		return size;
 	}
 	
+	@Override
+	public long getOffHeapSize() {
+		return 0;
+	}
+	
 	@Override
 	public long getExactSerializedSize() {
 		//header: 2xint, boolean
@@ -20,11 +20,7 @@
 package org.apache.sysml.runtime.matrix.data;
 
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.CholeskyDecomposition;
-import org.apache.commons.math3.linear.DecompositionSolver;
 import org.apache.commons.math3.linear.EigenDecomposition;
-import org.apache.commons.math3.linear.LUDecomposition;
-import org.apache.commons.math3.linear.QRDecomposition;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.SingularValueDecomposition;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -35,7 +31,9 @@ import org.apache.sysml.runtime.util.DataConverter;
  * Apache Commons Math library. 
  * 
  * This library currently supports following operations:
- * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * matrix inverse, matrix decompositions (QR, LU, Eigen, Cholesky, SVD), solve.
+ * Except for SVD and the Eigen decomposition of non-symmetric matrices,
+ * these operations are delegated to the dense kernels of {@link LibMatrixLinAlg}.
  */
 public class LibCommonsMath 
 {	
@@ -56,105 +54,58 @@ public class LibCommonsMath
 	}
 		
 	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode) {
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
+		return unaryOperations(inj, opcode, 1);
+	}
+	
+	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode, int k) {
 		if(opcode.equals("inverse"))
-			return computeMatrixInverse(matrixInput);
+			return LibMatrixLinAlg.inverse(inj, k);
 		else if (opcode.equals("cholesky"))
-			return computeCholesky(matrixInput);
+			return LibMatrixLinAlg.cholesky(inj, k);
 		return null;
 	}
 	
 	public static MatrixBlock[] multiReturnOperations(MatrixBlock in, String opcode) {
+		return multiReturnOperations(in, opcode, 1);
+	}
+	
+	public static MatrixBlock[] multiReturnOperations(MatrixBlock in, String opcode, int k) {
 		if(opcode.equals("qr"))
-			return computeQR(in);
+			return LibMatrixLinAlg.qr(in, k);
 		else if (opcode.equals("lu"))
-			return computeLU(in);
+			return LibMatrixLinAlg.lu(in, k);
 		else if (opcode.equals("eigen"))
-			return computeEigen(in);
+			return computeEigen(in, k);
 		else if ( opcode.equals("svd"))
 			return computeSvd(in);
 		return null;
 	}
 	
 	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode) {
+		return matrixMatrixOperations(in1, in2, opcode, 1);
+	}
+	
+	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode, int k) {
 		if(opcode.equals("solve")) {
 			if (in1.getNumRows() != in1.getNumColumns())
 				throw new DMLRuntimeException("The A matrix, in solve(A,b) should have squared dimensions.");
-			return computeSolve(in1, in2);
+			return LibMatrixLinAlg.solve(in1, in2, k);
 		}
 		return null;
 	}
 	
 	/**
-	 * Function to solve a given system of equations.
-	 * 
-	 * @param in1 matrix object 1
-	 * @param in2 matrix object 2
-	 * @return matrix block
-	 */
-	private static MatrixBlock computeSolve(MatrixBlock in1, MatrixBlock in2) {
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in1);
-		Array2DRowRealMatrix vectorInput = DataConverter.convertToArray2DRowRealMatrix(in2);
-		
-		/*LUDecompositionImpl ludecompose = new LUDecompositionImpl(matrixInput);
-		DecompositionSolver lusolver = ludecompose.getSolver();
-		RealMatrix solutionMatrix = lusolver.solve(vectorInput);*/
-		
-		// Setup a solver based on QR Decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		// Invoke solve
-		RealMatrix solutionMatrix = solver.solve(vectorInput);
-		
-		return DataConverter.convertToMatrixBlock(solutionMatrix.getData());
-	}
-	
-	/**
-	 * Function to perform QR decomposition on a given matrix.
-	 * 
-	 * @param in matrix object
-	 * @return array of matrix blocks
-	 */
-	private static MatrixBlock[] computeQR(MatrixBlock in) {
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform QR decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		RealMatrix H = qrdecompose.getH();
-		RealMatrix R = qrdecompose.getR();
-		
-		// Read the results into native format
-		MatrixBlock mbH = DataConverter.convertToMatrixBlock(H.getData());
-		MatrixBlock mbR = DataConverter.convertToMatrixBlock(R.getData());
-
-		return new MatrixBlock[] { mbH, mbR };
-	}
-	
-	/**
-	 * Function to perform LU decomposition on a given matrix.
+	 * Function to perform Eigen decomposition on a given matrix.
+	 * Symmetric inputs are decomposed via the multi-threaded
+	 * {@link LibMatrixLinAlg}, all others via commons-math.
 	 * 
 	 * @param in matrix object
+	 * @param k number of threads
 	 * @return array of matrix blocks
 	 */
-	private static MatrixBlock[] computeLU(MatrixBlock in) {
-		if ( in.getNumRows() != in.getNumColumns() ) {
-			throw new DMLRuntimeException("LU Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
-		}
-		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform LUP decomposition
-		LUDecomposition ludecompose = new LUDecomposition(matrixInput);
-		RealMatrix P = ludecompose.getP();
-		RealMatrix L = ludecompose.getL();
-		RealMatrix U = ludecompose.getU();
-		
-		// Read the results into native format
-		MatrixBlock mbP = DataConverter.convertToMatrixBlock(P.getData());
-		MatrixBlock mbL = DataConverter.convertToMatrixBlock(L.getData());
-		MatrixBlock mbU = DataConverter.convertToMatrixBlock(U.getData());
-
-		return new MatrixBlock[] { mbP, mbL, mbU };
+	private static MatrixBlock[] computeEigen(MatrixBlock in, int k) {
+		MatrixBlock[] ret = LibMatrixLinAlg.symmetricEigen(in, k);
+		return (ret != null) ? ret : computeEigen(in);
 	}
 	
 	/**
@@ -229,37 +180,4 @@ public class LibCommonsMath
 
 		return new MatrixBlock[] { U, Sigma, V };
 	}
-	
-	/**
-	 * Function to compute matrix inverse via matrix decomposition.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 */
-	private static MatrixBlock computeMatrixInverse(Array2DRowRealMatrix in) {
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-		
-		QRDecomposition qrdecompose = new QRDecomposition(in);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		RealMatrix inverseMatrix = solver.getInverse();
-
-		return DataConverter.convertToMatrixBlock(inverseMatrix.getData());
-	}
-
-	/**
-	 * Function to compute Cholesky decomposition of the given input matrix. 
-	 * The input must be a real symmetric positive-definite matrix.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 */
-	private static MatrixBlock computeCholesky(Array2DRowRealMatrix in) {
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-		CholeskyDecomposition cholesky = new CholeskyDecomposition(in, 1e-14,
-			CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
-		RealMatrix rmL = cholesky.getL();
-		return DataConverter.convertToMatrixBlock(rmL.getData());
-	}
 }
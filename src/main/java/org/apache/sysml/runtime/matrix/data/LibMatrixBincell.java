@@ -19,7 +19,12 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Builtin;
@@ -41,6 +46,7 @@ import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -63,6 +69,19 @@ public class LibMatrixBincell
 		INVALID,
 	}
 	
+	//internal kernel types for multi-threaded (row-partitioned) execution
+	private enum BincellType {
+		MV_DENSE,
+		MV_SPARSE,
+		MM_SPARSE_SPARSE,
+		MM_SPARSE_DENSE,
+		MM_DENSE,
+		UNSAFE_GENERIC,
+		INVALID,
+	}
+	
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	
 	private LibMatrixBincell() {
 		//prevent instantiation via private constructor
 	}
@@ -85,8 +104,15 @@ public class LibMatrixBincell
 			throw new DMLRuntimeException("Wrong output representation for safe="+op.sparseSafe+": "+m1.isInSparseFormat()+", "+ret.isInSparseFormat());
 		}
 		
+		//single-precision inputs are only supported by the dense sparse-safe kernel, 
+		//otherwise (and for off-heap inputs) obtain a widened copy of the input
+		if( !(m1.isInSinglePrecision() && op.sparseSafe) )
+			m1 = m1.getDoubleArrayBacked();
+		
 		//execute binary cell operations
-		if(op.sparseSafe)
+		if( isParallelBinaryScalar(m1, ret, op) )
+			parallelBinaryScalar(m1, ret, op);
+		else if(op.sparseSafe)
 			safeBinaryScalar(m1, ret, op);
 		else
 			unsafeBinaryScalar(m1, ret, op);
@@ -106,11 +132,22 @@ public class LibMatrixBincell
 	 * @param op binary operator
 	 */
 	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
-		//execute binary cell operations
-		if(op.sparseSafe || isSparseSafeDivide(op, m2))
-			safeBinary(m1, m2, ret, op);
-		else
-			unsafeBinary(m1, m2, ret, op);
+		//execute binary cell operations (single-precision kernel, or
+		//double-precision kernels over widened copies of other inputs)
+		if( isSinglePrecisionBinary(m1, m2) ) {
+			binaryDenseFP32(m1, m2, ret, op);
+		}
+		else {
+			m1 = m1.getDoubleArrayBacked();
+			m2 = m2.getDoubleArrayBacked();
+			BincellType ptype = getParallelBincellType(m1, m2, ret, op);
+			if( ptype != BincellType.INVALID )
+				parallelBinary(m1, m2, ret, op, ptype);
+			else if(op.sparseSafe || isSparseSafeDivide(op, m2))
+				safeBinary(m1, m2, ret, op);
+			else
+				unsafeBinary(m1, m2, ret, op);
+		}
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
@@ -176,6 +213,24 @@ public class LibMatrixBincell
 				|| (clen1 == 1 && rlen2 == 1 ) );              //VV
 	}
 
+	/**
+	 * Indicates if the given inputs qualify for single-precision binary
+	 * operations, i.e., a dense FP32 left-hand-side and either a dense FP32 
+	 * matrix or a dense row/column vector as right-hand-side.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @return true if single-precision binary operation applicable
+	 */
+	public static boolean isSinglePrecisionBinary(MatrixBlock m1, MatrixBlock m2) {
+		if( !m1.isInSinglePrecision() || m2.sparse || m2.denseBlock == null )
+			return false;
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		return (atype == BinaryAccessType.MATRIX_MATRIX && m2.isInSinglePrecision())
+			|| atype == BinaryAccessType.MATRIX_COL_VECTOR
+			|| atype == BinaryAccessType.MATRIX_ROW_VECTOR;
+	}
+	
 	public static boolean isSparseSafeDivide(BinaryOperator op, MatrixBlock rhs)
 	{
 		//if rhs is fully dense, there cannot be a /0 and hence DIV becomes sparse safe
@@ -252,105 +307,141 @@ public class LibMatrixBincell
 		}
 	}
 
-	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
-		boolean isMultiply = (op.fn instanceof Multiply);
-		boolean skipEmpty = (isMultiply);
+	private static void binaryDenseFP32(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		//note: dense inputs and outputs, hence applicable to 
+		//both sparse-safe and sparse-unsafe operations
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		ret.sparse = false;
+		ret.allocateDenseBlock(true, true);
+		float[] a = m1.getDenseBlockValuesFP32();
+		float[] c = ret.getDenseBlockValuesFP32();
+		ValueFunction fn = op.fn;
 		int rlen = m1.rlen;
 		int clen = m1.clen;
 		
+		//compute dense-dense binary, maintain nnz on-the-fly
+		long lnnz = 0;
+		if( atype == BinaryAccessType.MATRIX_MATRIX ) {
+			float[] b = m2.getDenseBlockValuesFP32();
+			for( int i=0; i<rlen*clen; i++ ) {
+				c[i] = (float) fn.execute(a[i], b[i]);
+				lnnz += (c[i]!=0) ? 1 : 0;
+			}
+		}
+		else if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) {
+			double[] b = m2.getDoubleArrayBacked().getDenseBlockValues(); //small vector
+			for( int i=0, ix=0; i<rlen; i++, ix+=clen ) {
+				double v2 = b[i];
+				for( int j=ix; j<ix+clen; j++ ) {
+					c[j] = (float) fn.execute(a[j], v2);
+					lnnz += (c[j]!=0) ? 1 : 0;
+				}
+			}
+		}
+		else { //MATRIX_ROW_VECTOR
+			double[] b = m2.getDoubleArrayBacked().getDenseBlockValues(); //small vector
+			for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+				for( int j=0; j<clen; j++ ) {
+					c[ix+j] = (float) fn.execute(a[ix+j], b[j]);
+					lnnz += (c[ix+j]!=0) ? 1 : 0;
+				}
+		}
+		ret.setNonZeros(lnnz);
+	}
+	
+	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		boolean skipEmpty = (op.fn instanceof Multiply);
+		
 		//early abort on skip and empy
 		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
 			return; // skip entire empty block
 		
 		ret.allocateDenseBlock();
+		ret.nonZeros = safeBinaryMVDense(m1, m2, ret, op, 0, m1.rlen);
+	}
+	
+	private static long safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
+		boolean isMultiply = (op.fn instanceof Multiply);
+		boolean skipEmpty = (isMultiply);
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		int clen = m1.clen;
+		
 		DenseBlock da = m1.getDenseBlock();
 		DenseBlock dc = ret.getDenseBlock();
+		double[] b = m2.getDenseBlockValues(); // always single block
 		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			double[] b = m2.getDenseBlockValues(); // always single block
-			
-			for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-				double[] a = da.valuesAt(bi);
-				double[] c = dc.valuesAt(bi);
-				int len = dc.blockSize(bi);
-				int off = bi * dc.blockSize();
-				for( int i=0, ix=0; i<len; i++, ix+=clen )
-				{
-					//replicate vector value
-					double v2 = (b==null) ? 0 : b[off+i];
-					if( skipEmpty && v2 == 0 ) //skip empty rows
-						continue;
-						
-					if( isMultiply && v2 == 1 ) { //ROW COPY
-						//a guaranteed to be non-null (see early abort)
-						System.arraycopy(a, ix, c, ix, clen);
-						nnz += m1.recomputeNonZeros(i, i, 0, clen-1);
-					}
-					else { //GENERAL CASE
-						if( a != null )
-							for( int j=0; j<clen; j++ ) {
-								c[ix+j] = op.fn.execute( a[ix+j], v2 );	
-								nnz += (c[ix+j] != 0) ? 1 : 0;
-							}
-						else {
-							double val = op.fn.execute( 0, v2 );
-							Arrays.fill(c, ix, ix+clen, val);
-							nnz += (val != 0) ? clen : 0;
-						}
+			for( int i=rl; i<ru; i++ )
+			{
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				
+				//replicate vector value
+				double v2 = (b==null) ? 0 : b[i];
+				if( skipEmpty && v2 == 0 ) //skip empty rows
+					continue;
+				
+				if( isMultiply && v2 == 1 ) { //ROW COPY
+					//a guaranteed to be non-null (see early abort)
+					System.arraycopy(da.values(i), da.pos(i), c, cix, clen);
+					nnz += UtilFunctions.computeNnz(c, cix, clen);
+				}
+				else if( da != null ) { //GENERAL CASE
+					double[] a = da.values(i);
+					int aix = da.pos(i);
+					for( int j=0; j<clen; j++ ) {
+						c[cix+j] = op.fn.execute( a[aix+j], v2 );
+						nnz += (c[cix+j] != 0) ? 1 : 0;
 					}
 				}
+				else { //GENERAL CASE, left empty
+					double val = op.fn.execute( 0, v2 );
+					Arrays.fill(c, cix, cix+clen, val);
+					nnz += (val != 0) ? clen : 0;
+				}
 			}
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 		{
-			double[] b = m2.getDenseBlockValues(); // always single block
-			
 			if( da==null && b==null ) { //both empty
 				double v = op.fn.execute( 0, 0 );
-				dc.set(v);
-				nnz += (v != 0) ? (long)rlen*clen : 0;
+				dc.set(rl, ru, 0, clen, v);
+				nnz += (v != 0) ? (long)(ru-rl)*clen : 0;
 			}
 			else if( da==null ) //left empty
 			{
 				//compute first row
-				double[] c = dc.valuesAt(0);
+				double[] c = dc.values(rl);
+				int cix = dc.pos(rl);
 				for( int j=0; j<clen; j++ ) {
-					c[j] = op.fn.execute( 0, b[j] );
-					nnz += (c[j] != 0) ? rlen : 0;
+					c[cix+j] = op.fn.execute( 0, b[j] );
+					nnz += (c[cix+j] != 0) ? (ru-rl) : 0;
 				}
 				//copy first to all other rows
-				for( int i=1; i<rlen; i++ )
-					dc.set(i, c);
+				for( int i=rl+1; i<ru; i++ )
+					System.arraycopy(c, cix, dc.values(i), dc.pos(i), clen);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-					double[] a = da.valuesAt(bi);
-					double[] c = dc.valuesAt(bi);
-					int len = dc.blockSize(bi);
-					for( int i=0, ix=0; i<len; i++, ix+=clen )
-						for( int j=0; j<clen; j++ ) {
-							c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
-							nnz += (c[ix+j] != 0) ? 1 : 0;
-						}
+				for( int i=rl; i<ru; i++ ) {
+					double[] a = da.values(i);
+					double[] c = dc.values(i);
+					int aix = da.pos(i), cix = dc.pos(i);
+					for( int j=0; j<clen; j++ ) {
+						c[cix+j] = op.fn.execute( a[aix+j], ((b!=null) ? b[j] : 0) );
+						nnz += (c[cix+j] != 0) ? 1 : 0;
+					}
 				}
 			}
 		}
 		
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
 	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
-		boolean isMultiply = (op.fn instanceof Multiply);
-		boolean skipEmpty = (isMultiply);
-		
-		int rlen = m1.rlen;
-		int clen = m1.clen;
-		SparseBlock a = m1.sparseBlock;
-		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		boolean skipEmpty = (op.fn instanceof Multiply);
 		
 		//early abort on skip and empty
 		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
@@ -360,9 +451,22 @@ public class LibMatrixBincell
 		if( ret.sparse )
 			ret.allocateSparseRowsBlock();
 		
+		safeBinaryMVSparse(m1, m2, ret, op, 0, m1.rlen);
+		
+		//no need to recomputeNonZeros since maintained in append value
+	}
+	
+	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
+		boolean isMultiply = (op.fn instanceof Multiply);
+		boolean skipEmpty = (isMultiply);
+		
+		int clen = m1.clen;
+		SparseBlock a = m1.sparseBlock;
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				double v2 = m2.quickGetValue(i, 0);
 				
@@ -410,7 +514,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				if( skipEmpty && (a==null || a.isEmpty(i)) )
 					continue; //skip empty rows
@@ -446,8 +550,6 @@ public class LibMatrixBincell
 				}
 			}
 		}
-		
-		//no need to recomputeNonZeros since maintained in append value
 	}
 
 	private static void safeBinaryMVDenseSparseMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
@@ -594,10 +696,12 @@ public class LibMatrixBincell
 	}
 	
 	private static void safeBinaryMMSparseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
-		final int rlen = m1.rlen;
 		if(ret.sparse)
 			ret.allocateSparseRowsBlock();
-		
+		safeBinaryMMSparseSparse(m1, m2, ret, op, 0, m1.rlen);
+	}
+	
+	private static void safeBinaryMMSparseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		//both sparse blocks existing
 		if(m1.sparseBlock!=null && m2.sparseBlock!=null)
 		{
@@ -607,7 +711,7 @@ public class LibMatrixBincell
 			if( ret.sparse && lsblock.isAligned(rsblock) )
 			{
 				SparseBlock c = ret.sparseBlock;
-				for(int r=0; r<rlen; r++) 
+				for(int r=rl; r<ru; r++) 
 					if( !lsblock.isEmpty(r) ) {
 						int alen = lsblock.size(r);
 						int apos = lsblock.pos(r);
@@ -624,7 +728,7 @@ public class LibMatrixBincell
 			}
 			else //general case
 			{
-				for(int r=0; r<rlen; r++) {
+				for(int r=rl; r<ru; r++) {
 					if( !lsblock.isEmpty(r) && !rsblock.isEmpty(r) ) {
 						mergeForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), lsblock.pos(r), lsblock.size(r),
 							rsblock.values(r), rsblock.indexes(r), rsblock.pos(r), rsblock.size(r), r, ret);
@@ -645,7 +749,7 @@ public class LibMatrixBincell
 		else if( m2.sparseBlock!=null )
 		{
 			SparseBlock rsblock = m2.sparseBlock;
-			for(int r=0; r<Math.min(rlen, rsblock.numRows()); r++) {
+			for(int r=rl; r<Math.min(ru, rsblock.numRows()); r++) {
 				if( rsblock.isEmpty(r) ) continue;
 				appendRightForSparseBinary(op, rsblock.values(r), rsblock.indexes(r), 
 					rsblock.pos(r), rsblock.size(r), 0, r, ret);
@@ -655,7 +759,7 @@ public class LibMatrixBincell
 		else
 		{
 			SparseBlock lsblock = m1.sparseBlock;
-			for(int r=0; r<rlen; r++) {
+			for(int r=rl; r<ru; r++) {
 				if( lsblock.isEmpty(r) ) continue;
 				appendLeftForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), 
 					lsblock.pos(r), lsblock.size(r), 0, r, ret);
@@ -666,6 +770,10 @@ public class LibMatrixBincell
 	private static void safeBinaryMMSparseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
 		//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
 		ret.allocateDenseBlock();
+		ret.setNonZeros(safeBinaryMMSparseDenseDense(m1, m2, ret, op, 0, m1.rlen));
+	}
+	
+	private static long safeBinaryMMSparseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		final int n = ret.clen;
 		DenseBlock dc = ret.getDenseBlock();
 		
@@ -674,28 +782,27 @@ public class LibMatrixBincell
 		if( m1.sparse && m1.sparseBlock != null ) //SPARSE left
 		{
 			SparseBlock a = m1.sparseBlock;
-			for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-				double[] c = dc.valuesAt(bi);
-				int blen = dc.blockSize(bi);
-				int off = bi * dc.blockSize();
-				for( int i=0, ix=0; i<blen; i++, ix+=n ) {
-					int ai = off + i;
-					if( a.isEmpty(ai) ) continue;
-					int apos = a.pos(ai);
-					int alen = a.size(ai);
-					int[] aix = a.indexes(ai);
-					double[] avals = a.values(ai);
-					for(int k = apos; k < apos+alen; k++) 
-						c[ix+aix[k]] = avals[k];
-				}
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for(int k = apos; k < apos+alen; k++) 
+					c[cix+aix[k]] = avals[k];
 			}
 		}
 		else if( !m1.sparse ) //DENSE left
 		{
-			if( !m1.isEmptyBlock(false) ) 
-				dc.set(m1.getDenseBlock());
+			if( !m1.isEmptyBlock(false) ) {
+				DenseBlock da = m1.getDenseBlock();
+				for( int i=rl; i<ru; i++ )
+					System.arraycopy(da.values(i), da.pos(i), dc.values(i), dc.pos(i), n);
+			}
 			else
-				dc.set(0);
+				dc.set(rl, ru, 0, n, 0);
 		}
 		
 		//2) process right input: op.fn (+,-,*), * only if dense
@@ -703,68 +810,71 @@ public class LibMatrixBincell
 		if( m2.sparse && m2.sparseBlock!=null ) //SPARSE right
 		{
 			SparseBlock a = m2.sparseBlock;
-			for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-				double[] c = dc.valuesAt(bi);
-				int blen = dc.blockSize(bi);
-				int off = bi * dc.blockSize();
-				for( int i=0, ix=0; i<blen; i++, ix+=n ) {
-					int ai = off + i;
-					if( !a.isEmpty(ai) ) {
-						int apos = a.pos(ai);
-						int alen = a.size(ai);
-						int[] aix = a.indexes(ai);
-						double[] avals = a.values(ai);
-						for(int k = apos; k < apos+alen; k++) 
-							c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
-					}
-					//exploit temporal locality of rows
-					lnnz += ret.recomputeNonZeros(ai, ai, 0, n-1);
+			for( int i=rl; i<ru; i++ ) {
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for(int k = apos; k < apos+alen; k++) 
+						c[cix+aix[k]] = op.fn.execute(c[cix+aix[k]], avals[k]);
 				}
+				//exploit temporal locality of rows
+				lnnz += UtilFunctions.computeNnz(c, cix, n);
 			}
 		}
 		else if( !m2.sparse ) //DENSE right
 		{
 			if( !m2.isEmptyBlock(false) ) {
-				for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-					double[] a = m2.getDenseBlock().valuesAt(bi);
-					double[] c = dc.valuesAt(bi);
-					int len = dc.size(bi);
-					for( int i=0; i<len; i++ ) {
-						c[i] = op.fn.execute(c[i], a[i]);
-						lnnz += (c[i]!=0) ? 1 : 0;
+				DenseBlock db = m2.getDenseBlock();
+				for( int i=rl; i<ru; i++ ) {
+					double[] b = db.values(i);
+					double[] c = dc.values(i);
+					int bix = db.pos(i), cix = dc.pos(i);
+					for( int j=0; j<n; j++ ) {
+						c[cix+j] = op.fn.execute(c[cix+j], b[bix+j]);
+						lnnz += (c[cix+j]!=0) ? 1 : 0;
 					}
 				}
 			}
 			else if(op.fn instanceof Multiply)
-				ret.denseBlock.set(0);
+				dc.set(rl, ru, 0, n, 0);
 			else
-				lnnz = m1.nonZeros;
+				lnnz = dc.countNonZeros(rl, ru, 0, n);
 		}
 		
-		//3) recompute nnz
-		ret.setNonZeros(lnnz);
+		return lnnz;
 	}
 	
 	private static void safeBinaryMMDenseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
 		ret.allocateDenseBlock();
+		ret.setNonZeros(safeBinaryMMDenseDenseDense(m1, m2, ret, op, 0, m1.rlen));
+	}
+	
+	private static long safeBinaryMMDenseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		DenseBlock da = m1.getDenseBlock();
 		DenseBlock db = m2.getDenseBlock();
 		DenseBlock dc = ret.getDenseBlock();
 		ValueFunction fn = op.fn;
+		int clen = m1.clen;
 		
 		//compute dense-dense binary, maintain nnz on-the-fly
+		//(row range mapped to cell ranges of the aligned blocks)
 		long lnnz = 0;
-		for( int bi=0; bi<da.numBlocks(); bi++ ) {
+		for( int bi=da.index(rl); bi<=da.index(ru-1); bi++ ) {
 			double[] a = da.valuesAt(bi);
 			double[] b = db.valuesAt(bi);
 			double[] c = dc.valuesAt(bi);
-			int len = da.size(bi);
-			for( int i=0; i<len; i++ ) {
+			int start = (bi == da.index(rl)) ? da.pos(rl) : 0;
+			int end = (bi == da.index(ru-1)) ? da.pos(ru-1) + clen : da.size(bi);
+			for( int i=start; i<end; i++ ) {
 				c[i] = fn.execute(a[i], b[i]);
 				lnnz += (c[i]!=0)? 1 : 0;
 			}
 		}
-		ret.setNonZeros(lnnz);
+		return lnnz;
 	}
 	
 	private static void safeBinaryMMSparseDenseSkip(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
@@ -866,12 +976,57 @@ public class LibMatrixBincell
 
 	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
 		int rlen = m1.rlen;
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		
+		if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
+		{
+			int clen2 = m2.clen; 
+			
+			if(LibMatrixOuterAgg.isCompareOperator(op) 
+				&& m2.getNumColumns()>16 && SortUtils.isSorted(m2)) {
+				performBinOuterOperation(m1, m2, ret, op);
+			} 
+			else {
+				for(int r=0; r<rlen; r++) {
+					double v1 = m1.quickGetValue(r, 0);
+					for(int c=0; c<clen2; c++) {
+						double v2 = m2.quickGetValue(0, c);
+						double v = op.fn.execute( v1, v2 );
+						ret.appendValue(r, c, v);
+					}
+				}
+			}
+		}
+		//MATRIX - MATRIX, dense non-empty vectors (always single block)
+		else if( atype == BinaryAccessType.MATRIX_MATRIX 
+			&& m1.clen==1 && !m1.sparse && !m1.isEmptyBlock(false)
+			&& !m2.sparse && !m2.isEmptyBlock(false)  )
+		{
+			ret.allocateDenseBlock();
+			double[] a = m1.getDenseBlockValues();
+			double[] b = m2.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
+			int lnnz = 0;
+			for( int i=0; i<rlen; i++ ) {
+				c[i] = op.fn.execute( a[i], b[i] );
+				lnnz += (c[i] != 0) ? 1 : 0;
+			}
+			ret.nonZeros = lnnz;
+		}
+		//MATRIX - COL_VECTOR, MATRIX - ROW_VECTOR, MATRIX - MATRIX
+		else 
+		{
+			unsafeBinaryGeneric(m1, m2, ret, op, 0, rlen);
+		}
+	}
+	
+	private static void unsafeBinaryGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) //MATRIX - COL_VECTOR
 		{
-			for(int r=0; r<rlen; r++) {
+			for(int r=rl; r<ru; r++) {
 				double v2 = m2.quickGetValue(r, 0);
 				for(int c=0; c<clen; c++) {
 					double v1 = m1.quickGetValue(r, c);
@@ -882,7 +1037,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR ) //MATRIX - ROW_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 				for(int c=0; c<clen; c++) {
 					double v1 = m1.quickGetValue(r, c);
 					double v2 = m2.quickGetValue(0, c);
@@ -890,53 +1045,15 @@ public class LibMatrixBincell
 					ret.appendValue(r, c, v);
 				}
 		}
-		else if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
-		{
-			int clen2 = m2.clen; 
-			
-			if(LibMatrixOuterAgg.isCompareOperator(op) 
-				&& m2.getNumColumns()>16 && SortUtils.isSorted(m2)) {
-				performBinOuterOperation(m1, m2, ret, op);
-			} 
-			else {
-				for(int r=0; r<rlen; r++) {
-					double v1 = m1.quickGetValue(r, 0);
-					for(int c=0; c<clen2; c++) {
-						double v2 = m2.quickGetValue(0, c);
-						double v = op.fn.execute( v1, v2 );
-						ret.appendValue(r, c, v);
-					}
-				}
-			}
-		}
 		else // MATRIX - MATRIX
 		{
-			//dense non-empty vectors (always single block)
-			if( m1.clen==1 && !m1.sparse && !m1.isEmptyBlock(false)
-				&& !m2.sparse && !m2.isEmptyBlock(false)  )
-			{
-				ret.allocateDenseBlock();
-				double[] a = m1.getDenseBlockValues();
-				double[] b = m2.getDenseBlockValues();
-				double[] c = ret.getDenseBlockValues();
-				int lnnz = 0;
-				for( int i=0; i<rlen; i++ ) {
-					c[i] = op.fn.execute( a[i], b[i] );
-					lnnz += (c[i] != 0) ? 1 : 0;
+			for(int r=rl; r<ru; r++)
+				for(int c=0; c<clen; c++) {
+					double v1 = m1.quickGetValue(r, c);
+					double v2 = m2.quickGetValue(r, c);
+					double v = op.fn.execute( v1, v2 );
+					ret.appendValue(r, c, v);
 				}
-				ret.nonZeros = lnnz;
-			}
-			//general case
-			else 
-			{
-				for(int r=0; r<rlen; r++)
-					for(int c=0; c<clen; c++) {
-						double v1 = m1.quickGetValue(r, c);
-						double v2 = m2.quickGetValue(r, c);
-						double v = op.fn.execute( v1, v2 );
-						ret.appendValue(r, c, v);
-					}
-			}
 		}
 	}
 
@@ -950,56 +1067,60 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
+		if( m1.sparse ) //SPARSE <- SPARSE
+		{
+			//allocate sparse row structure
+			ret.allocateSparseRowsBlock();
+			ret.nonZeros = safeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
+		}
+		else { //DENSE <- DENSE
+			denseBinaryScalar(m1, ret, op);
+		}
+	}
+	
+	private static long safeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) {
 		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
 		boolean allocExact = (op.fn instanceof Multiply || op.fn instanceof Multiply2 
 			|| op.fn instanceof Power2 || Builtin.isBuiltinCode(op.fn, BuiltinCode.MAX)
 			|| Builtin.isBuiltinCode(op.fn, BuiltinCode.MIN));
 		
-		if( m1.sparse ) //SPARSE <- SPARSE
-		{
-			//allocate sparse row structure
-			ret.allocateSparseRowsBlock();
-			SparseBlock a = m1.sparseBlock;
-			SparseBlock c = ret.sparseBlock;
-			int rlen = Math.min(m1.rlen, a.numRows());
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock c = ret.sparseBlock;
+		int rlen = Math.min(ru, a.numRows());
+		
+		long nnz = 0;
+		for(int r=rl; r<rlen; r++) {
+			if( a.isEmpty(r) ) continue;
 			
-			long nnz = 0;
-			for(int r=0; r<rlen; r++) {
-				if( a.isEmpty(r) ) continue;
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			
+			if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
+				//create sparse row without repeated resizing
+				SparseRowVector crow = new SparseRowVector(alen);
+				crow.setSize(alen);
 				
-				int apos = a.pos(r);
-				int alen = a.size(r);
-				int[] aix = a.indexes(r);
-				double[] avals = a.values(r);
+				//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
+				System.arraycopy(aix, apos, crow.indexes(), 0, alen);
+				Arrays.fill(crow.values(), 0, alen, 1);
+				c.set(r, crow, false);
+				nnz += alen;
+			}
+			else { //GENERAL CASE
+				//create sparse row without repeated resizing for specific ops
+				if( allocExact )
+					c.allocate(r, alen);
 				
-				if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
-					//create sparse row without repeated resizing
-					SparseRowVector crow = new SparseRowVector(alen);
-					crow.setSize(alen);
-					
-					//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
-					System.arraycopy(aix, apos, crow.indexes(), 0, alen);
-					Arrays.fill(crow.values(), 0, alen, 1);
-					c.set(r, crow, false);
-					nnz += alen;
-				}
-				else { //GENERAL CASE
-					//create sparse row without repeated resizing for specific ops
-					if( allocExact )
-						c.allocate(r, alen);
-					
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c.append(r, aix[j], val);
-						nnz += (val != 0) ? 1 : 0; 
-					}
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c.append(r, aix[j], val);
+					nnz += (val != 0) ? 1 : 0; 
 				}
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE <- DENSE
-			denseBinaryScalar(m1, ret, op);
 		}
+		return nnz;
 	}
 	
 	/**
@@ -1026,65 +1147,96 @@ public class LibMatrixBincell
 		if( m1.sparse ) //SPARSE MATRIX
 		{
 			ret.allocateDenseBlock();
-			
-			SparseBlock a = m1.sparseBlock;
-			DenseBlock dc = ret.getDenseBlock();
-			int m = m1.rlen;
-			int n = m1.clen;
-			
-			//init dense result with unsafe 0-value
-			double val0 = op.executeScalar(0);
-			boolean lsparseSafe = (val0 == 0);
-			if( !lsparseSafe )
-				dc.set(val0);
-			
-			//compute non-zero input values
-			long nnz = lsparseSafe ? 0 : m * n;
-			for(int bi=0; bi<dc.numBlocks(); bi++) {
-				int blen = dc.blockSize(bi);
-				double[] c = dc.valuesAt(bi);
-				for(int i=bi*dc.blockSize(), cix=i*n; i<blen && i<m; i++, cix+=n) {
-					if( a.isEmpty(i) ) continue;
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
-						nnz += lsparseSafe ? (val!=0 ? 1 : 0) :
-							(val==0 ? -1 : 0);
-					}
-				}
-			}
-			ret.nonZeros = nnz;
+			ret.nonZeros = unsafeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
 		}
 		else { //DENSE MATRIX
 			denseBinaryScalar(m1, ret, op);
 		}
 	}
+	
+	private static long unsafeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) {
+		SparseBlock a = m1.sparseBlock;
+		DenseBlock dc = ret.getDenseBlock();
+		int m = Math.min(ru, a.numRows());
+		int n = m1.clen;
+		
+		//init dense result with unsafe 0-value
+		double val0 = op.executeScalar(0);
+		boolean lsparseSafe = (val0 == 0);
+		if( !lsparseSafe )
+			dc.set(rl, ru, 0, n, val0);
+		
+		//compute non-zero input values
+		long nnz = lsparseSafe ? 0 : (long)(ru-rl) * n;
+		for(int i=rl; i<m; i++) {
+			if( a.isEmpty(i) ) continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			double[] c = dc.values(i);
+			int cix = dc.pos(i);
+			for(int j=apos; j<apos+alen; j++) {
+				double val = op.executeScalar(avals[j]);
+				c[ cix+aix[j] ] = val;
+				nnz += lsparseSafe ? (val!=0 ? 1 : 0) :
+					(val==0 ? -1 : 0);
+			}
+		}
+		return nnz;
+	}
 
 	private static void denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		//single-precision input: compute directly into FP32 output
+		if( m1.isInSinglePrecision() ) {
+			denseBinaryScalarFP32(m1, ret, op);
+			return;
+		}
+		
 		//allocate dense block (if necessary), incl clear nnz
 		ret.allocateDenseBlock(true);
 		
+		//compute scalar operation, incl nnz maintenance
+		ret.nonZeros = denseBinaryScalar(m1, ret, op, 0, m1.rlen);
+	}
+	
+	private static long denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) {
 		DenseBlock da = m1.getDenseBlock();
 		DenseBlock dc = ret.getDenseBlock();
+		int clen = m1.clen;
 		
 		//compute scalar operation, incl nnz maintenance
+		//(row range mapped to cell ranges of the aligned blocks)
 		long nnz = 0;
-		for( int bi=0; bi<da.numBlocks(); bi++) {
+		for( int bi=da.index(rl); bi<=da.index(ru-1); bi++) {
 			double[] a = da.valuesAt(bi);
 			double[] c = dc.valuesAt(bi);
-			int limit = da.size(bi);
-			for( int i=0; i<limit; i++ ) {
+			int start = (bi == da.index(rl)) ? da.pos(rl) : 0;
+			int end = (bi == da.index(ru-1)) ? da.pos(ru-1) + clen : da.size(bi);
+			for( int i=start; i<end; i++ ) {
 				c[i] = op.executeScalar( a[i] );
 				nnz += (c[i] != 0) ? 1 : 0;
 			}
 		}
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
+	private static void denseBinaryScalarFP32(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		//allocate single-precision dense block, incl clear nnz
+		ret.allocateDenseBlock(true, true);
+		float[] a = m1.getDenseBlockValuesFP32();
+		float[] c = ret.getDenseBlockValuesFP32();
+		
+		//compute scalar operation, incl nnz maintenance
+		long nnz = 0;
+		int limit = m1.rlen * m1.clen;
+		for( int i=0; i<limit; i++ ) {
+			c[i] = (float) op.executeScalar( a[i] );
+			nnz += (c[i] != 0) ? 1 : 0;
+		}
+		ret.nonZeros = nnz;
+	}
+	
 	private static void safeBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) {
 		//early abort on skip and empty 
 		if( (m1ret.isEmpty() && m2.isEmpty() )
@@ -1203,7 +1355,7 @@ public class LibMatrixBincell
 	
 	private static void safeBinaryInPlaceDenseSparseAdd(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) {
 		final int rlen = m1ret.rlen;
-		DenseBlock a = m1ret.denseBlock;
+		DenseBlock a = m1ret.getDenseBlock();
 		SparseBlock b = m2.sparseBlock;
 		long nnz = m1ret.getNonZeros();
 		for(int r=0; r<rlen; r++) {
@@ -1275,6 +1427,184 @@ public class LibMatrixBincell
 		}
 	}
 	
+	///////////////////////////////////
+	// multi-threaded implementations
+	///////////////////////////////////
+	
+	private static boolean isParallelBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		//note: sparse-safe sparse inputs are processed over non-zeros only
+		long cost = (m1.sparse && op.sparseSafe) ? m1.nonZeros : (long)m1.rlen * m1.clen;
+		return op.getNumThreads() > 1 && m1.rlen > 1
+			&& cost >= PAR_NUMCELL_THRESHOLD
+			&& !m1.isEmptyBlock(false) && !m1.isInSinglePrecision()
+			&& ret.isThreadSafe();
+	}
+	
+	private static BincellType getParallelBincellType(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		boolean vector = (atype == BinaryAccessType.MATRIX_COL_VECTOR
+			|| atype == BinaryAccessType.MATRIX_ROW_VECTOR);
+		long cost = ret.sparse ? m1.nonZeros + m2.nonZeros : (long)m1.rlen * m1.clen;
+		
+		//check general applicability (empty inputs handled by the single-threaded 
+		//kernels via early abort or shallow copy, sparse vectors via generic kernels)
+		if( op.getNumThreads() <= 1 || m1.rlen <= 1 || cost < PAR_NUMCELL_THRESHOLD
+			|| !(atype == BinaryAccessType.MATRIX_MATRIX || vector) || (vector && m2.sparse)
+			|| m1.isEmptyBlock(false) || m2.isEmptyBlock(false) || !ret.isThreadSafe() )
+			return BincellType.INVALID;
+		
+		if( op.sparseSafe || isSparseSafeDivide(op, m2) ) {
+			if( vector ) {
+				if( !m1.sparse && !ret.sparse )
+					return BincellType.MV_DENSE;
+				else if( m1.sparse )
+					return BincellType.MV_SPARSE;
+			}
+			else if( m1.sparse && m2.sparse )
+				return BincellType.MM_SPARSE_SPARSE;
+			else if( !ret.sparse && (m1.sparse || m2.sparse) &&
+				(op.fn instanceof Plus || op.fn instanceof Minus ||
+				op.fn instanceof PlusMultiply || op.fn instanceof MinusMultiply ||
+				(op.fn instanceof Multiply && !m2.sparse )))
+				return BincellType.MM_SPARSE_DENSE;
+			else if( !ret.sparse && !m1.sparse && !m2.sparse )
+				return BincellType.MM_DENSE;
+			return BincellType.INVALID;
+		}
+		
+		//sparse-unsafe operations
+		if( !m1.sparse && !m2.sparse && !ret.sparse )
+			return vector ? BincellType.MV_DENSE : BincellType.MM_DENSE;
+		return BincellType.UNSAFE_GENERIC;
+	}
+	
+	private static void parallelBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BincellType type) {
+		//allocate output once (row partitions are then updated independently)
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		try {
+			int k = op.getNumThreads();
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<BincellTask> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m1.rlen, k, false);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, type, lb, lb+blklens.get(i)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			ret.setNonZeros(nnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void parallelBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		//allocate output once (row partitions are then updated independently)
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		try {
+			int k = op.getNumThreads();
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<BincellScalarTask> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m1.rlen, k, false);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new BincellScalarTask(m1, ret, op, lb, lb+blklens.get(i)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			ret.setNonZeros(nnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static class BincellTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final BinaryOperator _op;
+		private final BincellType _type;
+		private final int _rl;
+		private final int _ru;
+		
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BincellType type, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_type = type;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			switch( _type ) {
+				case MV_DENSE:
+					return safeBinaryMVDense(_m1, _m2, _ret, _op, _rl, _ru);
+				case MM_SPARSE_DENSE:
+					return safeBinaryMMSparseDenseDense(_m1, _m2, _ret, _op, _rl, _ru);
+				case MM_DENSE:
+					return safeBinaryMMDenseDenseDense(_m1, _m2, _ret, _op, _rl, _ru);
+				case MV_SPARSE:
+					safeBinaryMVSparse(_m1, _m2, _ret, _op, _rl, _ru);
+					break;
+				case MM_SPARSE_SPARSE:
+					safeBinaryMMSparseSparse(_m1, _m2, _ret, _op, _rl, _ru);
+					break;
+				case UNSAFE_GENERIC:
+					unsafeBinaryGeneric(_m1, _m2, _ret, _op, _rl, _ru);
+					break;
+				default:
+					throw new DMLRuntimeException("Unsupported parallel binary type: "+_type);
+			}
+			//recompute partial nnz (shared nnz maintained via append is unsafe)
+			return _ret.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
+	private static class BincellScalarTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _ret;
+		private final ScalarOperator _op;
+		private final int _rl;
+		private final int _ru;
+		
+		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			if( _m1.sparse && _op.sparseSafe )
+				return safeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+			else if( _m1.sparse )
+				return unsafeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+			else
+				return denseBinaryScalar(_m1, _ret, _op, _rl, _ru);
+		}
+	}
+	
 	private static void mergeForSparseBinary(BinaryOperator op, double[] values1, int[] cols1, int pos1, int size1, 
 			double[] values2, int[] cols2, int pos2, int size2, int resultRow, MatrixBlock result) {
 		int p1 = 0, p2 = 0;
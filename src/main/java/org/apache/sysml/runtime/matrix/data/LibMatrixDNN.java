@@ -308,6 +308,19 @@ public class LibMatrixDNN {
 			throw new DMLRuntimeException("Incorrect inputs for bias_add: input[" + N + " X " + input.getNumColumns()  + "] and bias[" + K + " X " + bias.getNumColumns() + "]");
 		}
 		
+		if(input.isInSinglePrecision() && !input.isEmptyBlock()) {
+			// Single-precision input: add bias directly on the FP32 block
+			if(bias.isInSparseFormat())
+				bias.sparseToDense(); // Since bias is extremely small array
+			outputBlock.allocateDenseBlock(true, true);
+			float [] outputArray = outputBlock.getDenseBlockValuesFP32();
+			System.arraycopy(input.getDenseBlockValuesFP32(), 0, outputArray, 0, N*K*PQ);
+			addBias(outputArray, bias.getDoubleArrayBacked().getDenseBlockValues(), N, K, PQ);
+			outputBlock.recomputeNonZeros(); 
+			outputBlock.examSparsity();
+			return;
+		}
+		
 		double [] outputArray = outputBlock.getDenseBlockValues();
 		if(input.isEmptyBlock()) {
 			for(int n = 0;  n < N; n++) 
@@ -590,6 +603,34 @@ public class LibMatrixDNN {
 		}
 	}
 	
+	public static void addBias(float[] a, double[] bias, int N, int K, int PQ) {
+		if( bias == null )
+			return;
+		int index = 0;
+		for(int n = 0; n < N; n++) {
+			for(int k = 0; k < K; k++) {
+				float biasVal = (float) bias[k];
+				for(int pq = 0; pq < PQ; pq++, index++)
+					a[index] += biasVal;
+			}
+		}
+	}
+	
+	public static void multBias(float[] a, double[] bias, int N, int K, int PQ) {
+		if( bias == null ) {
+			Arrays.fill(a, 0);
+			return;
+		}
+		int index = 0;
+		for(int n = 0; n < N; n++) {
+			for(int k = 0; k < K; k++) {
+				float biasVal = (float) bias[k];
+				for(int pq = 0; pq < PQ; pq++, index++)
+					a[index] *= biasVal;
+			}
+		}
+	}
+	
 	public static void multBias(double[] a, double[] bias, int N, int K, int PQ) {
 		if( bias == null ) {
 			Arrays.fill(a, 0);
@@ -671,7 +712,18 @@ public class LibMatrixDNN {
 			throw new DMLRuntimeException("Incorrect inputs for bias_multiply: input[" + N + " X " + input.getNumColumns()  + "] and bias[" + K + " X " + bias.getNumColumns() + "]");
 		}
 		
-		if(!input.isEmptyBlock() && !bias.isEmptyBlock()) {
+		if(input.isInSinglePrecision() && !input.isEmptyBlock() && !bias.isEmptyBlock()) {
+			// Single-precision input: multiply bias directly on the FP32 block
+			if(bias.isInSparseFormat())
+				bias.sparseToDense(); // Since bias is extremely small array
+			outputBlock.allocateDenseBlock(true, true);
+			float [] outputArray = outputBlock.getDenseBlockValuesFP32();
+			System.arraycopy(input.getDenseBlockValuesFP32(), 0, outputArray, 0, N*K*PQ);
+			multBias(outputArray, bias.getDoubleArrayBacked().getDenseBlockValues(), N, K, PQ);
+			outputBlock.recomputeNonZeros();
+			outputBlock.examSparsity();
+		}
+		else if(!input.isEmptyBlock() && !bias.isEmptyBlock()) {
 			// Handles both dense and sparse inputs and copies it to dense output
 			outputBlock.copy(input);
 			if(bias.isInSparseFormat())
@@ -0,0 +1,745 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Library for dense linear algebra kernels, which operate directly on
+ * row-major dense arrays instead of converting matrix blocks into
+ * commons-math matrices. This library currently supports: Cholesky,
+ * LU with partial pivoting, Householder QR, symmetric eigen decomposition,
+ * as well as QR-based solve and inverse.
+ *
+ * Cholesky and LU are blocked right-looking factorizations, where the
+ * trailing updates are parallelized over rows. QR uses the commons-math
+ * per-column Householder reflections (and hence, output format) but applies
+ * the reflectors of a panel to the trailing columns in parallel. The symmetric
+ * eigen decomposition uses Householder tridiagonalization and implicit QL
+ * iterations, where the rotations are applied to the eigenvectors in parallel.
+ */
+public class LibMatrixLinAlg
+{
+	//internal configuration
+	public static final int BLOCKSIZE = 64; //panel width of blocked factorizations
+	public static final long PAR_NUMCELL_THRESHOLD = 64*1024; //min work per parallel step
+	public static final int MAX_QL_ITERATIONS = 30; //max iterations per eigenvalue
+
+	//numerical thresholds, consistent with commons-math defaults
+	private static final double CHOLESKY_SYMMETRY_THRESHOLD = 1e-14;
+	private static final double CHOLESKY_POSITIVITY_THRESHOLD = 1e-10;
+	private static final double LU_SINGULARITY_THRESHOLD = 1e-11;
+	private static final double EIGEN_SYMMETRY_EPS = Math.ulp(1d) / 2;
+
+	private LibMatrixLinAlg() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Computes the Cholesky decomposition A = L %*% t(L) of a symmetric
+	 * positive definite matrix.
+	 *
+	 * @param in input matrix
+	 * @param k number of threads
+	 * @return lower triangular matrix L
+	 */
+	public static MatrixBlock cholesky(MatrixBlock in, int k) {
+		final int n = in.getNumRows();
+		if( n != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a " + n + "x" + in.getNumColumns() + " matrix.");
+
+		double[] a = DataConverter.convertToDoubleVector(in, true);
+		if( !isSymmetric(a, n, CHOLESKY_SYMMETRY_THRESHOLD) )
+			throw new DMLRuntimeException("Input to cholesky() must be a symmetric matrix.");
+
+		//blocked factorization
+		choleskyBlocked(a, n, getNumThreads(n, n, k));
+		if( !isPositiveDiagonal(a, n) )
+			throw new DMLRuntimeException("Input to cholesky() must be a positive definite matrix.");
+
+		//clear upper triangle
+		for( int i=0; i<n; i++ )
+			Arrays.fill(a, i*n+i+1, (i+1)*n, 0);
+		return toMatrixBlock(a, n, n);
+	}
+
+	/**
+	 * Computes the LU decomposition with partial pivoting P %*% A = L %*% U
+	 * of a square matrix.
+	 *
+	 * @param in input matrix
+	 * @param k number of threads
+	 * @return array of matrix blocks P, L, U
+	 */
+	public static MatrixBlock[] lu(MatrixBlock in, int k) {
+		final int n = in.getNumRows();
+		if( n != in.getNumColumns() )
+			throw new DMLRuntimeException("LU Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + n + ", cols="+ in.getNumColumns() +")");
+
+		double[] a = DataConverter.convertToDoubleVector(in, true);
+		int[] perm = new int[n];
+
+		//blocked factorization
+		luBlocked(a, perm, n, getNumThreads(n, n, k));
+		for( int i=0; i<n; i++ )
+			if( Math.abs(a[i*n+i]) < LU_SINGULARITY_THRESHOLD )
+				throw new DMLRuntimeException("LU Decomposition cannot be done on a singular matrix.");
+
+		//extract permutation, unit lower and upper triangular matrices
+		double[] p = new double[n*n];
+		double[] l = new double[n*n];
+		double[] u = new double[n*n];
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			p[ix+perm[i]] = 1;
+			System.arraycopy(a, ix, l, ix, i);
+			l[ix+i] = 1;
+			System.arraycopy(a, ix+i, u, ix+i, n-i);
+		}
+		return new MatrixBlock[] { toMatrixBlock(p, n, n),
+			toMatrixBlock(l, n, n), toMatrixBlock(u, n, n) };
+	}
+
+	/**
+	 * Computes the Householder QR decomposition of a matrix. The output
+	 * is consistent with commons-math, i.e., the Householder vectors H as
+	 * lower trapezoidal matrix and the upper trapezoidal matrix R.
+	 *
+	 * @param in input matrix
+	 * @param k number of threads
+	 * @return array of matrix blocks H, R
+	 */
+	public static MatrixBlock[] qr(MatrixBlock in, int k) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[][] qrt = toTransposedArray(in);
+		double[] rDiag = new double[Math.min(m, n)];
+		qrBlocked(qrt, rDiag, m, n, getNumThreads(m, n, k));
+
+		double[] h = new double[m*n];
+		double[] r = new double[m*n];
+		for( int i=0, ix=0; i<m; i++, ix+=n ) {
+			for( int j=0; j<Math.min(i+1, n); j++ )
+				h[ix+j] = qrt[j][i] / -rDiag[j];
+			if( i < rDiag.length ) {
+				r[ix+i] = rDiag[i];
+				for( int j=i+1; j<n; j++ )
+					r[ix+j] = qrt[j][i];
+			}
+		}
+		return new MatrixBlock[] { toMatrixBlock(h, m, n), toMatrixBlock(r, m, n) };
+	}
+
+	/**
+	 * Solves the linear system A %*% X = B via QR decomposition.
+	 *
+	 * @param in1 square matrix A
+	 * @param in2 right-hand side matrix B
+	 * @param k number of threads
+	 * @return solution matrix X
+	 */
+	public static MatrixBlock solve(MatrixBlock in1, MatrixBlock in2, int k) {
+		if( in1.getNumRows() != in2.getNumRows() )
+			throw new DMLRuntimeException("Dimension mismatch in solve(A,b): " + in1.getNumRows() + " vs " + in2.getNumRows() + " rows.");
+		return solve(in1, DataConverter.convertToDoubleVector(in2, true), in2.getNumColumns(), k);
+	}
+
+	/**
+	 * Computes the inverse of a square matrix via QR decomposition.
+	 *
+	 * @param in input matrix
+	 * @param k number of threads
+	 * @return inverse matrix
+	 */
+	public static MatrixBlock inverse(MatrixBlock in, int k) {
+		final int n = in.getNumRows();
+		if( n != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + n + "x" + in.getNumColumns() + " matrix.");
+		double[] b = new double[n*n];
+		for( int i=0; i<n; i++ )
+			b[i*n+i] = 1;
+		return solve(in, b, n, k);
+	}
+
+	/**
+	 * Computes the eigen decomposition of a symmetric matrix, with the
+	 * eigenvalues sorted in increasing order (compatible with LAPACK DSYEVR).
+	 *
+	 * @param in input matrix
+	 * @param k number of threads
+	 * @return array of matrix blocks eigen values (column vector) and
+	 *   eigen vectors, or null if the input is not symmetric
+	 */
+	public static MatrixBlock[] symmetricEigen(MatrixBlock in, int k) {
+		final int n = in.getNumRows();
+		if( n != in.getNumColumns() )
+			throw new DMLRuntimeException("Eigen Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + n + ", cols="+ in.getNumColumns() +")");
+
+		double[] v = DataConverter.convertToDoubleVector(in, true);
+		if( !isSymmetric(v, n, 10 * n * n * EIGEN_SYMMETRY_EPS) )
+			return null;
+
+		//tridiagonalization and QL iterations
+		double[] d = new double[n];
+		double[] e = new double[n];
+		int k2 = getNumThreads(n, n, k);
+		ExecutorService pool = (k2 > 1) ? CommonThreadPool.get(k2) : null;
+		try {
+			tridiagonalize(v, d, e, n, pool, k2);
+			diagonalizeQL(v, d, e, n, pool, k2);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		return new MatrixBlock[] { DataConverter.convertToMatrixBlock(d, true), toMatrixBlock(v, n, n) };
+	}
+
+	private static MatrixBlock solve(MatrixBlock in, double[] b, int ncol, int k) {
+		final int n = in.getNumRows();
+		double[][] qrt = toTransposedArray(in);
+		double[] rDiag = new double[n];
+		int k2 = getNumThreads(n, n, k);
+		ExecutorService pool = (k2 > 1) ? CommonThreadPool.get(k2) : null;
+		try {
+			qrBlocked(qrt, rDiag, n, n, pool, k2);
+			for( int i=0; i<n; i++ )
+				if( rDiag[i] == 0 )
+					throw new DMLRuntimeException("Matrix is singular.");
+			//apply reflectors and back substitution, independently per rhs column
+			parallelFor(pool, k2, 0, ncol, (long)n*n*ncol,
+				(cl, cu) -> solveColumns(qrt, rDiag, b, n, ncol, cl, cu));
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		return toMatrixBlock(b, n, ncol);
+	}
+
+	private static void choleskyBlocked(double[] a, int n, int k) {
+		ExecutorService pool = (k > 1) ? CommonThreadPool.get(k) : null;
+		try {
+			for( int bl=0; bl<n; bl+=BLOCKSIZE ) {
+				final int bl2 = bl, bu = Math.min(bl+BLOCKSIZE, n);
+				//factorize diagonal block (left-looking within block)
+				for( int j=bl; j<bu; j++ ) {
+					int jix = j * n;
+					double d = a[jix+j] - LibMatrixMult.dotProduct(a, a, jix+bl, jix+bl, j-bl);
+					if( d <= CHOLESKY_POSITIVITY_THRESHOLD ) {
+						a[jix+j] = 0; //invalid, checked by caller
+						return;
+					}
+					a[jix+j] = Math.sqrt(d);
+					for( int i=j+1; i<bu; i++ )
+						choleskyCell(a, n, i, j, bl);
+				}
+				if( bu >= n )
+					continue;
+				//solve panel below diagonal block (parallel over rows)
+				parallelFor(pool, k, bu, n, (long)(n-bu)*BLOCKSIZE*BLOCKSIZE, (rl, ru) -> {
+					for( int i=rl; i<ru; i++ )
+						for( int j=bl2; j<bu; j++ )
+							choleskyCell(a, n, i, j, bl2);
+				});
+				//update trailing lower triangle (parallel over rows)
+				parallelFor(pool, k, bu, n, (long)(n-bu)*(n-bu)*BLOCKSIZE/2, (rl, ru) -> {
+					for( int i=rl; i<ru; i++ ) {
+						int iix = i * n;
+						for( int j=bu; j<=i; j++ )
+							a[iix+j] -= LibMatrixMult.dotProduct(a, a, iix+bl2, j*n+bl2, bu-bl2);
+					}
+				});
+			}
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+
+	private static void choleskyCell(double[] a, int n, int i, int j, int bl) {
+		int iix = i * n, jix = j * n;
+		a[iix+j] = (a[iix+j] - LibMatrixMult.dotProduct(a, a, iix+bl, jix+bl, j-bl)) / a[jix+j];
+	}
+
+	private static void luBlocked(double[] a, int[] perm, int n, int k) {
+		for( int i=0; i<n; i++ )
+			perm[i] = i;
+		ExecutorService pool = (k > 1) ? CommonThreadPool.get(k) : null;
+		try {
+			for( int bl=0; bl<n; bl+=BLOCKSIZE ) {
+				final int bl2 = bl, bu = Math.min(bl+BLOCKSIZE, n);
+				//factorize panel with partial pivoting (full row swaps)
+				for( int j=bl; j<bu; j++ ) {
+					int p = j;
+					double max = Math.abs(a[j*n+j]);
+					for( int i=j+1; i<n; i++ )
+						if( Math.abs(a[i*n+j]) > max ) {
+							max = Math.abs(a[i*n+j]);
+							p = i;
+						}
+					if( p != j ) {
+						swapRows(a, n, p, j);
+						int tmp = perm[p]; perm[p] = perm[j]; perm[j] = tmp;
+					}
+					double piv = a[j*n+j];
+					if( piv == 0 )
+						continue; //singular, checked by caller
+					for( int i=j+1; i<n; i++ ) {
+						int iix = i * n;
+						double lij = (a[iix+j] /= piv);
+						if( lij != 0 )
+							for( int c=j+1, jix=j*n; c<bu; c++ )
+								a[iix+c] -= lij * a[jix+c];
+					}
+				}
+				if( bu >= n )
+					continue;
+				//update block row U12 = inv(L11) %*% A12 (parallel over columns)
+				parallelFor(pool, k, bu, n, (long)(n-bu)*BLOCKSIZE*BLOCKSIZE/2, (cl, cu) -> {
+					for( int j=bl2+1; j<bu; j++ )
+						for( int p=bl2, jix=j*n; p<j; p++ ) {
+							double ljp = a[jix+p];
+							if( ljp != 0 )
+								for( int c=cl, pix=p*n; c<cu; c++ )
+									a[jix+c] -= ljp * a[pix+c];
+						}
+				});
+				//update trailing matrix A22 -= L21 %*% U12 (parallel over rows)
+				parallelFor(pool, k, bu, n, (long)(n-bu)*(n-bu)*BLOCKSIZE, (rl, ru) -> {
+					for( int i=rl; i<ru; i++ )
+						for( int p=bl2, iix=i*n; p<bu; p++ ) {
+							double lip = a[iix+p];
+							if( lip != 0 )
+								for( int c=bu, pix=p*n; c<n; c++ )
+									a[iix+c] -= lip * a[pix+c];
+						}
+				});
+			}
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+
+	private static void qrBlocked(double[][] qrt, double[] rDiag, int m, int n, int k) {
+		ExecutorService pool = (k > 1) ? CommonThreadPool.get(k) : null;
+		try {
+			qrBlocked(qrt, rDiag, m, n, pool, k);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+
+	private static void qrBlocked(double[][] qrt, double[] rDiag, int m, int n, ExecutorService pool, int k) {
+		final int mn = Math.min(m, n);
+		for( int bl=0; bl<mn; bl+=BLOCKSIZE ) {
+			final int bl2 = bl, bu = Math.min(bl+BLOCKSIZE, mn);
+			//factorize panel (reflectors applied to panel columns only)
+			for( int minor=bl; minor<bu; minor++ ) {
+				double[] v = qrt[minor];
+				double xNormSqr = 0;
+				for( int row=minor; row<m; row++ )
+					xNormSqr += v[row] * v[row];
+				double a = (v[minor] > 0) ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+				rDiag[minor] = a;
+				if( a != 0 )
+					v[minor] -= a;
+				for( int col=minor+1; col<bu; col++ )
+					applyReflector(v, a, qrt[col], minor, m);
+			}
+			//apply panel reflectors to trailing columns (parallel over columns),
+			//which preserves the per-column order of operations of commons-math
+			if( bu < n ) {
+				parallelFor(pool, k, bu, n, (long)(n-bu)*(m-bl)*(bu-bl), (cl, cu) -> {
+					for( int col=cl; col<cu; col++ )
+						for( int minor=bl2; minor<bu; minor++ )
+							applyReflector(qrt[minor], rDiag[minor], qrt[col], minor, m);
+				});
+			}
+		}
+	}
+
+	private static void applyReflector(double[] v, double a, double[] x, int minor, int m) {
+		if( a == 0 )
+			return;
+		double alpha = 0;
+		for( int row=minor; row<m; row++ )
+			alpha -= x[row] * v[row];
+		alpha /= a * v[minor];
+		for( int row=minor; row<m; row++ )
+			x[row] -= alpha * v[row];
+	}
+
+	private static void solveColumns(double[][] qrt, double[] rDiag, double[] y, int n, int ncol, int cl, int cu) {
+		final int len = cu - cl;
+		double[] alpha = new double[len];
+		//apply householder transforms to solve Q %*% Y = B
+		for( int minor=0; minor<n; minor++ ) {
+			double[] v = qrt[minor];
+			double factor = 1.0 / (rDiag[minor] * v[minor]);
+			Arrays.fill(alpha, 0);
+			for( int row=minor; row<n; row++ ) {
+				double d = v[row];
+				for( int j=0, yix=row*ncol+cl; j<len; j++ )
+					alpha[j] += d * y[yix+j];
+			}
+			for( int j=0; j<len; j++ )
+				alpha[j] *= factor;
+			for( int row=minor; row<n; row++ ) {
+				double d = v[row];
+				for( int j=0, yix=row*ncol+cl; j<len; j++ )
+					y[yix+j] += alpha[j] * d;
+			}
+		}
+		//back substitution to solve R %*% X = Y
+		for( int i=n-1; i>=0; i-- ) {
+			double factor = 1.0 / rDiag[i];
+			int iix = i * ncol + cl;
+			for( int j=0; j<len; j++ )
+				y[iix+j] *= factor;
+			double[] qrtI = qrt[i];
+			for( int r=0; r<i; r++ ) {
+				double rri = qrtI[r];
+				for( int j=0, rix=r*ncol+cl; j<len; j++ )
+					y[rix+j] -= y[iix+j] * rri;
+			}
+		}
+	}
+
+	/**
+	 * Householder tridiagonalization of a symmetric matrix (lower triangle),
+	 * derived from the EISPACK routine tred2, as used in JAMA.
+	 */
+	private static void tridiagonalize(double[] v, double[] d, double[] e, int n, ExecutorService pool, int k) {
+		System.arraycopy(v, (n-1)*n, d, 0, n);
+		for( int i=n-1; i>0; i-- ) {
+			final int i2 = i;
+			double scale = 0, h = 0;
+			for( int j=0; j<i; j++ )
+				scale += Math.abs(d[j]);
+			if( scale == 0 ) {
+				e[i] = d[i-1];
+				for( int j=0; j<i; j++ ) {
+					d[j] = v[(i-1)*n+j];
+					v[i*n+j] = 0;
+					v[j*n+i] = 0;
+				}
+			}
+			else {
+				//generate householder vector
+				for( int j=0; j<i; j++ ) {
+					d[j] /= scale;
+					h += d[j] * d[j];
+				}
+				double f = d[i-1];
+				double g = (f > 0) ? -Math.sqrt(h) : Math.sqrt(h);
+				e[i] = scale * g;
+				h = h - f * g;
+				d[i-1] = f - g;
+
+				//symmetric matrix-vector product (parallel over rows)
+				parallelFor(pool, k, 0, i, (long)i*i, (rl, ru) -> {
+					for( int j=rl; j<ru; j++ ) {
+						int jix = j * n;
+						v[jix+i2] = d[j];
+						double g2 = LibMatrixMult.dotProduct(v, d, jix, 0, j);
+						for( int r=j; r<i2; r++ )
+							g2 += v[r*n+j] * d[r];
+						e[j] = g2;
+					}
+				});
+				f = 0;
+				for( int j=0; j<i; j++ ) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for( int j=0; j<i; j++ )
+					e[j] -= hh * d[j];
+
+				//rank-2 update of lower triangle (parallel over rows)
+				parallelFor(pool, k, 0, i, (long)i*i/2, (rl, ru) -> {
+					for( int r=rl; r<ru; r++ ) {
+						int rix = r * n;
+						double er = e[r], dr = d[r];
+						for( int j=0; j<=r; j++ )
+							v[rix+j] -= (d[j] * er + e[j] * dr);
+					}
+				});
+				for( int j=0; j<i; j++ ) {
+					d[j] = v[(i-1)*n+j];
+					v[i*n+j] = 0;
+				}
+			}
+			d[i] = h;
+		}
+
+		//accumulate transformations (parallel over columns)
+		for( int i=0; i<n-1; i++ ) {
+			final int i2 = i;
+			v[(n-1)*n+i] = v[i*n+i];
+			v[i*n+i] = 1;
+			double h = d[i+1];
+			if( h != 0 ) {
+				for( int r=0; r<=i; r++ )
+					d[r] = v[r*n+i+1] / h;
+				parallelFor(pool, k, 0, i+1, (long)(i+1)*(i+1), (cl, cu) -> {
+					for( int j=cl; j<cu; j++ ) {
+						double g = 0;
+						for( int r=0; r<=i2; r++ )
+							g += v[r*n+i2+1] * v[r*n+j];
+						for( int r=0; r<=i2; r++ )
+							v[r*n+j] -= g * d[r];
+					}
+				});
+			}
+			for( int r=0; r<=i; r++ )
+				v[r*n+i+1] = 0;
+		}
+		for( int j=0; j<n; j++ ) {
+			d[j] = v[(n-1)*n+j];
+			v[(n-1)*n+j] = 0;
+		}
+		v[(n-1)*n+n-1] = 1;
+		e[0] = 0;
+	}
+
+	/**
+	 * Symmetric tridiagonal QL algorithm with implicit shifts, derived
+	 * from the EISPACK routine tql2, as used in JAMA. The rotations of
+	 * an iteration are recorded and applied to the eigenvectors in parallel.
+	 */
+	private static void diagonalizeQL(double[] v, double[] d, double[] e, int n, ExecutorService pool, int k) {
+		for( int i=1; i<n; i++ )
+			e[i-1] = e[i];
+		e[n-1] = 0;
+
+		double[] cs = new double[n];
+		double[] sn = new double[n];
+		double f = 0, tst1 = 0;
+		double eps = Math.pow(2.0, -52.0);
+		for( int l=0; l<n; l++ ) {
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n && Math.abs(e[m]) > eps*tst1 )
+				m++;
+
+			//if m == l, d[l] is an eigenvalue, otherwise iterate
+			if( m > l ) {
+				int iter = 0;
+				do {
+					if( ++iter > MAX_QL_ITERATIONS )
+						throw new DMLRuntimeException("Eigen decomposition did not converge after "+MAX_QL_ITERATIONS+" iterations.");
+
+					//compute implicit shift
+					double g = d[l];
+					double p = (d[l+1] - g) / (2.0 * e[l]);
+					double r = hypot(p, 1.0);
+					if( p < 0 )
+						r = -r;
+					d[l] = e[l] / (p + r);
+					d[l+1] = e[l] * (p + r);
+					double dl1 = d[l+1];
+					double h = g - d[l];
+					for( int i=l+2; i<n; i++ )
+						d[i] -= h;
+					f = f + h;
+
+					//implicit QL transformation
+					p = d[m];
+					double c = 1, c2 = c, c3 = c;
+					double el1 = e[l+1];
+					double s = 0, s2 = 0;
+					for( int i=m-1; i>=l; i-- ) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = hypot(p, e[i]);
+						e[i+1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i+1] = h + s * (c * g + s * d[i]);
+						cs[i] = c;
+						sn[i] = s;
+					}
+					applyRotations(v, n, l, m, cs, sn, pool, k);
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+				}
+				while( Math.abs(e[l]) > eps*tst1 );
+			}
+			d[l] = d[l] + f;
+			e[l] = 0;
+		}
+
+		//sort eigen values (and vectors) in increasing order
+		for( int i=0; i<n-1; i++ ) {
+			int k2 = i;
+			double p = d[i];
+			for( int j=i+1; j<n; j++ )
+				if( d[j] < p ) {
+					k2 = j;
+					p = d[j];
+				}
+			if( k2 != i ) {
+				d[k2] = d[i];
+				d[i] = p;
+				for( int j=0, jix=0; j<n; j++, jix+=n ) {
+					p = v[jix+i];
+					v[jix+i] = v[jix+k2];
+					v[jix+k2] = p;
+				}
+			}
+		}
+	}
+
+	private static void applyRotations(double[] v, int n, int l, int m, double[] cs, double[] sn, ExecutorService pool, int k) {
+		parallelFor(pool, k, 0, n, (long)n*(m-l), (rl, ru) -> {
+			for( int r=rl; r<ru; r++ ) {
+				int rix = r * n;
+				for( int i=m-1; i>=l; i-- ) {
+					double h = v[rix+i+1];
+					v[rix+i+1] = sn[i] * v[rix+i] + cs[i] * h;
+					v[rix+i] = cs[i] * v[rix+i] - sn[i] * h;
+				}
+			}
+		});
+	}
+
+	private static double hypot(double a, double b) {
+		//sqrt(a^2 + b^2) without under/overflow
+		if( Math.abs(a) > Math.abs(b) ) {
+			double r = b / a;
+			return Math.abs(a) * Math.sqrt(1 + r*r);
+		}
+		else if( b != 0 ) {
+			double r = a / b;
+			return Math.abs(b) * Math.sqrt(1 + r*r);
+		}
+		return 0;
+	}
+
+	private static boolean isSymmetric(double[] a, int n, double eps) {
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ ) {
+				double aij = a[i*n+j], aji = a[j*n+i];
+				if( Math.abs(aij - aji) > eps * Math.max(Math.abs(aij), Math.abs(aji)) )
+					return false;
+			}
+		return true;
+	}
+
+	private static boolean isPositiveDiagonal(double[] a, int n) {
+		for( int i=0; i<n; i++ )
+			if( !(a[i*n+i] > 0) )
+				return false;
+		return true;
+	}
+
+	private static void swapRows(double[] a, int n, int r1, int r2) {
+		for( int j=0, ix1=r1*n, ix2=r2*n; j<n; j++ ) {
+			double tmp = a[ix1+j];
+			a[ix1+j] = a[ix2+j];
+			a[ix2+j] = tmp;
+		}
+	}
+
+	private static double[][] toTransposedArray(MatrixBlock in) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] a = DataConverter.convertToDoubleVector(in, false);
+		double[][] ret = new double[n][m];
+		for( int i=0, ix=0; i<m; i++, ix+=n )
+			for( int j=0; j<n; j++ )
+				ret[j][i] = a[ix+j];
+		return ret;
+	}
+
+	private static MatrixBlock toMatrixBlock(double[] a, int m, int n) {
+		MatrixBlock ret = new MatrixBlock(m, n, 0,
+			DenseBlockFactory.createDenseBlock(a, m, n));
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static int getNumThreads(int m, int n, int k) {
+		return ((long)m*n >= PAR_NUMCELL_THRESHOLD) ? k : 1;
+	}
+
+	private static void parallelFor(ExecutorService pool, int k, int rl, int ru, long work, RangeKernel kernel) {
+		//sequential execution for small steps
+		if( pool == null || k <= 1 || ru - rl < 2 || work < PAR_NUMCELL_THRESHOLD ) {
+			kernel.execute(rl, ru);
+			return;
+		}
+		try {
+			ArrayList<RangeTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)(ru-rl)/k);
+			for( int i=rl; i<ru; i+=blklen )
+				tasks.add(new RangeTask(kernel, i, Math.min(i+blklen, ru)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private interface RangeKernel {
+		public void execute(int rl, int ru);
+	}
+
+	private static class RangeTask implements Callable<Object>
+	{
+		private final RangeKernel _kernel;
+		private final int _rl;
+		private final int _ru;
+
+		protected RangeTask(RangeKernel kernel, int rl, int ru) {
+			_kernel = kernel;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() {
+			_kernel.execute(_rl, _ru);
+			return null;
+		}
+	}
+}
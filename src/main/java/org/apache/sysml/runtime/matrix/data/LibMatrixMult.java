@@ -42,6 +42,7 @@ import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.sysml.utils.NativeHelper;
 
@@ -63,6 +64,9 @@ public class LibMatrixMult
 	private static final long PAR_MINFLOP_THRESHOLD2 = 128L*1024; //MIN 2 MFLOP
 	public static final int L2_CACHESIZE = 256 * 1024; //256KB (common size)
 	public static final int L3_CACHESIZE = 16 * 1024 * 1024; //16MB (common size)
+	private static final boolean SPARSE_GUSTAVSON_MATMULT = true;
+	private static final int SPA_MAX_NUMCOLS = 1024 * 1024; //max 12MB per thread
+	private static final int SPA_MIN_ROW_DENSITY = 32; //use SPA if row ubound >= n/32
 	
 	private LibMatrixMult() {
 		//prevent instantiation via private constructor
@@ -116,6 +120,12 @@ public class LibMatrixMult
 		
 		//Timing time = new Timing(true);
 		
+		//special case sparse-sparse w/ sparse output (row-wise accumulation)
+		if( !fixedRet && rl == 0 && ru == m1.rlen && isSparseGustavsonMatrixMult(m1, m2) ) {
+			matrixMultSparseSparseGustavson(m1, m2, ret, 1);
+			return;
+		}
+		
 		//pre-processing: output allocation
 		boolean ultraSparse = (fixedRet && ret.sparse)
 			|| (!fixedRet && isUltraSparseMatrixMult(m1, m2));
@@ -175,6 +185,12 @@ public class LibMatrixMult
 			return;
 		}
 		
+		//special case sparse-sparse w/ sparse output (work-partitioned)
+		if( isSparseGustavsonMatrixMult(m1, m2) ) {
+			matrixMultSparseSparseGustavson(m1, m2, ret, k);
+			return;
+		}
+		
 		//Timing time = new Timing(true);
 		
 		//pre-processing: output allocation (in contrast to single-threaded,
@@ -228,6 +244,71 @@ public class LibMatrixMult
 		//		"("+m2.isInSparseFormat()+","+m2.getNumRows()+","+m2.getNumColumns()+","+m2.getNonZeros()+") in "+time.stop());
 	}
 	
+	/**
+	 * Indicates if the given inputs qualify for a single-precision matrix 
+	 * multiplication, i.e., if both inputs are dense FP32 blocks.
+	 * 
+	 * @param m1 first matrix
+	 * @param m2 second matrix
+	 * @return true if single-precision matrix mult applicable
+	 */
+	public static boolean isSinglePrecisionMatrixMult(MatrixBlock m1, MatrixBlock m2) {
+		return m1.isInSinglePrecision() && m2.isInSinglePrecision()
+			&& DenseBlockFactory.isValidSinglePrecision(m1.rlen, m2.clen);
+	}
+	
+	/**
+	 * Performs a multi-threaded single-precision matrix multiplication of two 
+	 * dense FP32 inputs, directly on the float arrays and into a FP32 output.
+	 * 
+	 * @param m1 first matrix
+	 * @param m2 second matrix
+	 * @param ret result matrix
+	 * @param k maximum parallelism
+	 */
+	public static void matrixMultFP32(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k) {
+		//check inputs / outputs
+		if( m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) {
+			ret.examSparsity(); //turn empty dense into sparse
+			return;
+		}
+		
+		//pre-processing: output allocation
+		ret.sparse = false;
+		ret.allocateDenseBlock(true, true);
+		float[] a = m1.getDenseBlockValuesFP32();
+		float[] b = m2.getDenseBlockValuesFP32();
+		float[] c = ret.getDenseBlockValuesFP32();
+		final int n = m2.clen;
+		final int cd = m1.clen;
+		
+		//core matrix mult computation (parallel over rows of m1)
+		if( !satisfiesMultiThreadingConstraints(m1, m2, false, true, 2, k) ) {
+			ret.nonZeros = matrixMultDenseDenseFP32(a, b, c, n, cd, 0, m1.rlen);
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<MatrixMultFP32Task> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m1.rlen, k, false);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new MatrixMultFP32Task(a, b, c, n, cd, lb, lb+blklens.get(i)));
+				List<Future<Long>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				//aggregate partial nnz
+				ret.nonZeros = 0;
+				for( Future<Long> task : taskret )
+					ret.nonZeros += task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		//post-processing (nnz maintained in parallel)
+		ret.examSparsity();
+	}
+	
 	/**
 	 * Performs a matrix multiplication chain operation of type t(X)%*%(X%*%v) or t(X)%*%(w*(X%*%v)).
 	 * 
@@ -1105,6 +1186,30 @@ public class LibMatrixMult
 				}
 	}
 
+	private static long matrixMultDenseDenseFP32(float[] a, float[] b, float[] c, int n, int cd, int rl, int ru) {
+		//same blocking scheme as the double-precision kernel, but
+		//twice the number of values per cache line and page
+		final int blocksizeI = 32;
+		final int blocksizeK = 24;
+		final int blocksizeJ = 2048;
+		
+		//blocked execution
+		for( int bi = rl; bi < ru; bi+=blocksizeI )
+			for( int bk = 0, bimin = Math.min(ru, bi+blocksizeI); bk < cd; bk+=blocksizeK ) 
+				for( int bj = 0, bkmin = Math.min(cd, bk+blocksizeK); bj < n; bj+=blocksizeJ ) {
+					int bjlen = Math.min(n, bj+blocksizeJ)-bj;
+					for( int i = bi, aix = bi*cd, cix = bi*n+bj; i < bimin; i++, aix+=cd, cix+=n )
+						for( int k = bk, bix = bk*n+bj; k < bkmin; k++, bix+=n ) {
+							float aval = a[aix+k];
+							if( aval != 0 )
+								vectMultiplyAdd(aval, b, c, bix, cix, bjlen);
+						}
+				}
+		
+		//nnz of the computed row range
+		return UtilFunctions.computeNnz(c, rl*n, (ru-rl)*n);
+	}
+	
 	private static void matrixMultDenseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) {
 		DenseBlock a = m1.getDenseBlock();
 		DenseBlock c = ret.getDenseBlock();
@@ -1490,6 +1595,151 @@ public class LibMatrixMult
 		}
 	}
 
+	/**
+	 * Gustavson-style sparse-sparse matrix multiplication with sparse output. Every
+	 * output row is aggregated in a thread-local sparse accumulator, which is a dense
+	 * SPA (values, marker, and touched column indexes) for rows with high estimated 
+	 * density, and a sorted open-addressing hash for rather sparse rows. The rows are
+	 * partitioned by the estimated number of FLOPs, and the output is created as CSR
+	 * from the per-partition row chunks (or MCSR if the nnz exceed the CSR capacity). 
+	 * 
+	 * @param m1 first matrix (sparse)
+	 * @param m2 second matrix (sparse)
+	 * @param ret result matrix
+	 * @param k maximum parallelism
+	 */
+	private static void matrixMultSparseSparseGustavson(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k) {
+		final int m = m1.rlen;
+		final int n = m2.clen;
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock b = m2.sparseBlock;
+		
+		//pre-processing: estimated work per row (upper bound of output nnz)
+		long[] cflops = new long[m+1];
+		for( int i=0; i<m; i++ ) {
+			long lflops = 0;
+			if( !a.isEmpty(i) ) {
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				for( int k2=apos; k2<apos+alen; k2++ )
+					lflops += b.size(aix[k2]);
+			}
+			cflops[i+1] = cflops[i] + lflops;
+		}
+		
+		//core row-wise accumulation over work-balanced row partitions
+		ArrayList<CSRChunk> chunks = new ArrayList<>();
+		try {
+			int[] blks = getWorkBalancedRowBlocks(cflops, k);
+			if( blks.length > 2 ) {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<MatrixMultGustavsonTask> tasks = new ArrayList<>();
+				for( int i=0; i<blks.length-1; i++ )
+					tasks.add(new MatrixMultGustavsonTask(a, b, n, cflops, blks[i], blks[i+1]));
+				List<Future<CSRChunk>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<CSRChunk> task : taskret )
+					chunks.add(task.get());
+			}
+			else {
+				chunks.add(new MatrixMultGustavsonTask(a, b, n, cflops, 0, m).call());
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//post-processing: output assembly and nnz/representation
+		long nnz = 0;
+		for( CSRChunk chunk : chunks )
+			nnz += chunk._size;
+		ret.reset(m, n, true);
+		ret.sparse = true;
+		if( nnz <= Integer.MAX_VALUE ) {
+			int[] rptr = new int[m+1];
+			int[] indexes = new int[(int)nnz];
+			double[] values = new double[(int)nnz];
+			int off = 0;
+			for( CSRChunk chunk : chunks ) {
+				for( int i=0; i<chunk._ru-chunk._rl; i++ )
+					rptr[chunk._rl+i+1] = off + chunk._rptr[i+1];
+				System.arraycopy(chunk._indexes, 0, indexes, off, chunk._size);
+				System.arraycopy(chunk._values, 0, values, off, chunk._size);
+				off += chunk._size;
+			}
+			ret.sparseBlock = new SparseBlockCSR(rptr, indexes, values, (int)nnz);
+		}
+		else {
+			SparseBlock c = new SparseBlockMCSR(m, -1);
+			for( CSRChunk chunk : chunks )
+				for( int i=chunk._rl; i<chunk._ru; i++ ) {
+					int cpos = chunk._rptr[i-chunk._rl];
+					int clen = chunk._rptr[i-chunk._rl+1] - cpos;
+					if( clen <= 0 ) continue;
+					c.allocate(i, clen);
+					for( int j=cpos; j<cpos+clen; j++ )
+						c.append(i, chunk._indexes[j], chunk._values[j]);
+				}
+			ret.sparseBlock = c;
+		}
+		ret.nonZeros = nnz;
+		ret.examSparsity(k);
+	}
+	
+	private static int[] getWorkBalancedRowBlocks(long[] cflops, int k) {
+		final int m = cflops.length-1;
+		final long total = cflops[m];
+		int nk = (int) Math.max(Math.min(Math.min(k, m), total/PAR_MINFLOP_THRESHOLD2), 1);
+		int[] ret = new int[nk+1];
+		//binary search of partition boundaries over cumulative flops
+		for( int i=1; i<nk; i++ ) {
+			int pos = Arrays.binarySearch(cflops, ret[i-1], m, i*(total/nk));
+			ret[i] = Math.max(Math.min((pos >= 0) ? pos : -pos-1, m), ret[i-1]);
+		}
+		ret[nk] = m;
+		return ret;
+	}
+	
+	private static CSRChunk matrixMultSparseSparseGustavson(SparseBlock a, SparseBlock b, int n, long[] cflops, int rl, int ru) {
+		//allocate chunk w/ initial capacity of row upper bounds
+		CSRChunk ret = new CSRChunk(rl, ru, (int)Math.min(
+			Math.min(cflops[ru]-cflops[rl], (long)(ru-rl)*n), 1024*1024));
+		SparseRowAccumulator spa = null;
+		SparseRowAccumulator hash = null;
+		
+		for( int i=rl; i<ru; i++ ) {
+			int ubound = (int)Math.min(cflops[i+1]-cflops[i], n);
+			if( ubound > 0 ) {
+				//select accumulator by estimated output row density
+				boolean dense = n <= SPA_MAX_NUMCOLS && (long)ubound * SPA_MIN_ROW_DENSITY >= n;
+				SparseRowAccumulator acc = dense ?
+					(spa = (spa != null) ? spa : new DenseSPA(n)) :
+					(hash = (hash != null) ? hash : new SortedHashSPA(ubound));
+				acc.ensureCapacity(ubound);
+				//row-wise accumulation of scaled rows of B
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int k=apos; k<apos+alen; k++ ) {
+					if( b.isEmpty(aix[k]) ) continue;
+					int bpos = b.pos(aix[k]);
+					int blen = b.size(aix[k]);
+					int[] bix = b.indexes(aix[k]);
+					double[] bvals = b.values(aix[k]);
+					double aval = avals[k];
+					for( int j=bpos; j<bpos+blen; j++ )
+						acc.add(bix[j], aval * bvals[j]);
+				}
+				ret.ensureCapacity(acc.size());
+				ret._size = acc.flush(ret._indexes, ret._values, ret._size);
+			}
+			ret._rptr[i-rl+1] = ret._size;
+		}
+		return ret;
+	}
+	
 	/**
 	 * This implementation applies to any combination of dense/sparse if at least one
 	 * input is ultrasparse (sparse and very few nnz). In that case, most importantly,
@@ -3148,6 +3398,27 @@ public class LibMatrixMult
 		return val; 
 	}
 
+	public static void vectMultiplyAdd( final float aval, float[] b, float[] c, int bi, int ci, final int len )
+	{
+		final int bn = len%8;
+		
+		//rest, not aligned to 8-blocks
+		for( int j = 0; j < bn; j++, bi++, ci++)
+			c[ ci ] += aval * b[ bi ];
+		
+		//unrolled 8-block (for better instruction-level parallelism)
+		for( int j = bn; j < len; j+=8, bi+=8, ci+=8) {
+			c[ ci+0 ] += aval * b[ bi+0 ];
+			c[ ci+1 ] += aval * b[ bi+1 ];
+			c[ ci+2 ] += aval * b[ bi+2 ];
+			c[ ci+3 ] += aval * b[ bi+3 ];
+			c[ ci+4 ] += aval * b[ bi+4 ];
+			c[ ci+5 ] += aval * b[ bi+5 ];
+			c[ ci+6 ] += aval * b[ bi+6 ];
+			c[ ci+7 ] += aval * b[ bi+7 ];
+		}
+	}
+	
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
@@ -3828,6 +4099,17 @@ public class LibMatrixMult
 			||(!leftTranspose && FPfactor * m1.clen * m1.rlen * m1.rlen > threshold));
 	}
 	
+	public static boolean isSparseGustavsonMatrixMult(MatrixBlock m1, MatrixBlock m2) {
+		if( !SPARSE_GUSTAVSON_MATMULT || !m1.sparse || !m2.sparse || m2.clen == 1 
+			|| m1.sparseBlock == null || m2.sparseBlock == null 
+			|| m1.isUltraSparsePermutationMatrix() ) //row selection
+			return false;
+		//use row-wise accumulation if the output is expected to be sparse
+		double outSp = OptimizerUtils.getMatMultSparsity(
+			m1.getSparsity(), m2.getSparsity(), m1.rlen, m1.clen, m2.clen, true);
+		return outSp < MatrixBlock.SPARSITY_TURN_POINT;
+	}
+	
 	public static boolean isUltraSparseMatrixMult(MatrixBlock m1, MatrixBlock m2) {
 		if( m2.clen == 1 ) //mv always dense
 			return false;
@@ -3936,6 +4218,32 @@ public class LibMatrixMult
 	// Task Implementations for Multi-Threaded Operations  //
 	/////////////////////////////////////////////////////////
 
+	private static class MatrixMultFP32Task implements Callable<Long> 
+	{
+		private final float[] _a;
+		private final float[] _b;
+		private final float[] _c;
+		private final int _n;
+		private final int _cd;
+		private final int _rl;
+		private final int _ru;
+		
+		protected MatrixMultFP32Task( float[] a, float[] b, float[] c, int n, int cd, int rl, int ru ) {
+			_a = a;
+			_b = b;
+			_c = c;
+			_n = n;
+			_cd = cd;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			return matrixMultDenseDenseFP32(_a, _b, _c, _n, _cd, _rl, _ru);
+		}
+	}
+	
 	private static class MatrixMultTask implements Callable<Object> 
 	{
 		private final MatrixBlock _m1;
@@ -3999,6 +4307,200 @@ public class LibMatrixMult
 		}
 	}
 
+	private static class MatrixMultGustavsonTask implements Callable<CSRChunk> 
+	{
+		private final SparseBlock _a;
+		private final SparseBlock _b;
+		private final int _n;
+		private final long[] _cflops;
+		private final int _rl;
+		private final int _ru;
+		
+		protected MatrixMultGustavsonTask(SparseBlock a, SparseBlock b, int n, long[] cflops, int rl, int ru) {
+			_a = a;
+			_b = b;
+			_n = n;
+			_cflops = cflops;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public CSRChunk call() {
+			return matrixMultSparseSparseGustavson(_a, _b, _n, _cflops, _rl, _ru);
+		}
+	}
+	
+	/**
+	 * Partial CSR output of a range of rows [rl, ru), with row pointers
+	 * relative to the chunk.
+	 */
+	private static class CSRChunk
+	{
+		private final int _rl;
+		private final int _ru;
+		private final int[] _rptr;
+		private int[] _indexes;
+		private double[] _values;
+		private int _size = 0;
+		
+		protected CSRChunk(int rl, int ru, int capacity) {
+			_rl = rl;
+			_ru = ru;
+			_rptr = new int[ru-rl+1];
+			_indexes = new int[Math.max(capacity, 16)];
+			_values = new double[Math.max(capacity, 16)];
+		}
+		
+		protected void ensureCapacity(int len) {
+			if( _size + len <= _indexes.length )
+				return;
+			long newcap = Math.max((long)_size + len, 2L * _indexes.length);
+			if( newcap > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("Sparse matrix mult output partition exceeds max capacity: "+newcap);
+			_indexes = Arrays.copyOf(_indexes, (int)newcap);
+			_values = Arrays.copyOf(_values, (int)newcap);
+		}
+	}
+	
+	/**
+	 * Sparse accumulator of a single output row, which returns the aggregated
+	 * non-zero values in order of ascending column indexes on flush.
+	 */
+	private static abstract class SparseRowAccumulator
+	{
+		public void ensureCapacity(int ubound) {
+			//no-op by default
+		}
+		
+		public abstract void add(int j, double v);
+		
+		public abstract int size();
+		
+		public abstract int flush(int[] cix, double[] cvals, int pos);
+	}
+	
+	private static class DenseSPA extends SparseRowAccumulator
+	{
+		private final double[] _vals;
+		private final boolean[] _flags;
+		private final int[] _ix;
+		private int _cnt = 0;
+		
+		protected DenseSPA(int n) {
+			_vals = new double[n];
+			_flags = new boolean[n];
+			_ix = new int[n];
+		}
+		
+		@Override
+		public void add(int j, double v) {
+			if( !_flags[j] ) {
+				_flags[j] = true;
+				_ix[_cnt++] = j;
+			}
+			_vals[j] += v;
+		}
+		
+		@Override
+		public int size() {
+			return _cnt;
+		}
+		
+		@Override
+		public int flush(int[] cix, double[] cvals, int pos) {
+			//sort touched indexes, or scan if they are dense
+			int n = _vals.length;
+			if( _cnt > n / 16 ) {
+				for( int j=0, cnt=0; j<n && cnt<_cnt; j++ )
+					if( _flags[j] ) {
+						_ix[cnt++] = j;
+					}
+			}
+			else
+				Arrays.sort(_ix, 0, _cnt);
+			//copy non-zeros and reset
+			for( int i=0; i<_cnt; i++ ) {
+				int j = _ix[i];
+				if( _vals[j] != 0 ) {
+					cix[pos] = j;
+					cvals[pos++] = _vals[j];
+				}
+				_vals[j] = 0;
+				_flags[j] = false;
+			}
+			_cnt = 0;
+			return pos;
+		}
+	}
+	
+	private static class SortedHashSPA extends SparseRowAccumulator
+	{
+		private int[] _keys;
+		private double[] _vals;
+		private int[] _slots;
+		private int _shift;
+		private int _cnt = 0;
+		
+		protected SortedHashSPA(int ubound) {
+			ensureCapacity(ubound);
+		}
+		
+		@Override
+		public void ensureCapacity(int ubound) {
+			//allocate table w/ load factor <= 0.5 for the row upper bound
+			if( _slots != null && _slots.length >= ubound )
+				return;
+			int cap = Integer.highestOneBit(Math.max(ubound, 8)) << 2;
+			_keys = new int[cap];
+			_vals = new double[cap];
+			_slots = new int[cap/2];
+			_shift = 32 - Integer.numberOfTrailingZeros(cap);
+			Arrays.fill(_keys, -1);
+		}
+		
+		@Override
+		public void add(int j, double v) {
+			//multiplicative hashing w/ linear probing
+			int mask = _keys.length - 1;
+			int h = (j * 0x9E3779B9) >>> _shift;
+			while( _keys[h] != j && _keys[h] != -1 )
+				h = (h + 1) & mask;
+			if( _keys[h] == -1 ) {
+				_keys[h] = j;
+				_slots[_cnt++] = h;
+			}
+			_vals[h] += v;
+		}
+		
+		@Override
+		public int size() {
+			return _cnt;
+		}
+		
+		@Override
+		public int flush(int[] cix, double[] cvals, int pos) {
+			//copy and reset touched slots, sort by column index
+			for( int i=0; i<_cnt; i++ ) {
+				int h = _slots[i];
+				cix[pos+i] = _keys[h];
+				cvals[pos+i] = _vals[h];
+				_keys[h] = -1;
+				_vals[h] = 0;
+			}
+			SortUtils.sortByIndex(pos, pos+_cnt, cix, cvals);
+			//compact zeros due to cancellation
+			int cpos = pos;
+			for( int i=pos; i<pos+_cnt; i++ )
+				if( cvals[i] != 0 ) {
+					cix[cpos] = cix[i];
+					cvals[cpos++] = cvals[i];
+				}
+			_cnt = 0;
+			return cpos;
+		}
+	}
+	
 	private static class MatrixMultChainTask implements Callable<double[]> 
 	{
 		private MatrixBlock _m1  = null;
@@ -78,6 +78,10 @@ public class LibMatrixNative
 			return;
 		}
 		
+		//single-precision and off-heap inputs are widened (w/o modifying the inputs)
+		m1 = m1.getDoubleArrayBacked();
+		m2 = m2.getDoubleArrayBacked();
+		
 		if( NativeHelper.isNativeLibraryLoaded()
 			&& !isMatMultMemoryBound(m1.rlen, m1.clen, m2.clen) 
 			&& !m1.isInSparseFormat() && !m2.isInSparseFormat()
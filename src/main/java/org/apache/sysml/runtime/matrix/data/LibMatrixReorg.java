@@ -65,6 +65,8 @@ public class LibMatrixReorg
 {
 	//minimum number of elements for multi-threaded execution
 	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //1M
+	//minimum number of rows for multi-threaded sort
+	public static final int PAR_SORT_NUMROW_THRESHOLD = 64*1024; //64K
 	
 	//allow shallow dense/sparse copy for unchanged data (which is 
 	//safe due to copy-on-write and safe update-in-place handling)
@@ -110,7 +112,7 @@ public class LibMatrixReorg
 				return diag(in, out);
 			case SORT:
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCols(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCols(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			default:
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
 		}
@@ -302,12 +304,32 @@ public class LibMatrixReorg
 	}
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int[] by, boolean desc, boolean ixret) {
+		return sort(in, out, by, desc, ixret, 1);
+	}
+	
+	/**
+	 * CP sort (order) operation, which sorts the rows of the input by the given
+	 * order-by columns and returns either the sorted data or the index vector. 
+	 * For k &gt; 1 and sufficiently large inputs, we use a parallel merge sort:
+	 * each thread extracts the keys of its row partition and sorts the partition,
+	 * followed by parallel rounds of pair-wise merges of the sorted runs.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param by order-by column indexes (1-based)
+	 * @param desc if true, sort in descending order
+	 * @param ixret if true, return the index vector instead of the sorted data
+	 * @param k number of threads
+	 * @return output matrix
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int[] by, boolean desc, boolean ixret, int k) {
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
 		int rlen = in.rlen;
 		int clen = in.clen;
 		out.sparse = (in.sparse && !ixret);
 		out.nonZeros = ixret ? rlen : in.nonZeros;
+		boolean par = (k > 1 && rlen >= PAR_SORT_NUMROW_THRESHOLD);
 		
 		//step 1: error handling
 		if( !isValidSortByList(by, clen) )
@@ -323,7 +345,10 @@ public class LibMatrixReorg
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense (always single block)
-				Arrays.sort(out.getDenseBlockValues());
+				if( par )
+					sortDenseParallel(out.getDenseBlockValues(), k);
+				else
+					Arrays.sort(out.getDenseBlockValues());
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -341,6 +366,44 @@ public class LibMatrixReorg
 		}
 		
 		//step 3: index vector sorting
+		int[] vix = par ?
+			sortIndexesParallel(in, by, desc, k) :
+			sortIndexes(in, by, desc);
+		
+		//step 4: create output matrix (guaranteed non-empty, see step 2)
+		if( !ixret ) {
+			if( !sparse )
+				out.allocateDenseBlock(false);
+			else
+				out.allocateSparseRowsBlock(false);
+		}
+		else
+			out.allocateDenseBlock(false);
+		
+		if( par && out.isThreadSafe() ) {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<SortOutputTask> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(rlen, k, false);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new SortOutputTask(in, out, vix, ixret, lb, lb+blklens.get(i)));
+				List<Future<Object>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : taskret )
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		else
+			sortOutput(in, out, vix, ixret, 0, rlen);
+		
+		return out;
+	}
+	
+	private static int[] sortIndexes(MatrixBlock in, int[] by, boolean desc) {
+		int rlen = in.rlen;
 		
 		//create index vector and extract values
 		int[] vix = new int[rlen];
@@ -366,20 +429,126 @@ public class LibMatrixReorg
 		
 		//final pass to ensure stable output
 		sortIndexesStable(0, rlen, values, vix, in, by, 1);
-
-		//step 4: create output matrix (guaranteed non-empty, see step 2)
+		
+		return vix;
+	}
+	
+	private static int[] sortIndexesParallel(MatrixBlock in, int[] by, boolean desc, int k) {
+		int rlen = in.rlen;
+		int[] vix = new int[rlen];
+		int[] tmp = new int[rlen];
+		double[][] keys = new double[by.length][rlen];
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			
+			//extract keys and sort row partitions into runs
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(rlen, k, false);
+			int[] bounds = new int[blklens.size()+1];
+			ArrayList<SortTask> tasks = new ArrayList<>();
+			for( int i=0; i<blklens.size(); i++ ) {
+				bounds[i+1] = bounds[i] + blklens.get(i);
+				tasks.add(new SortTask(in, by, keys, desc, vix, tmp, bounds[i], bounds[i+1]));
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//parallel pair-wise merge of sorted runs
+			int[] ret = mergeRunsParallel(pool, vix, tmp, bounds, keys, desc);
+			pool.shutdown();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void sortDenseParallel(double[] a, int k) {
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			
+			//sort partitions into runs
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(a.length, k, false);
+			int[] bounds = new int[blklens.size()+1];
+			ArrayList<SortTask> tasks = new ArrayList<>();
+			for( int i=0; i<blklens.size(); i++ ) {
+				bounds[i+1] = bounds[i] + blklens.get(i);
+				tasks.add(new SortTask(a, bounds[i], bounds[i+1]));
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//parallel pair-wise merge of sorted runs (w/ copy back if necessary)
+			double[] ret = mergeRunsParallel(pool, a, new double[a.length], bounds);
+			if( ret != a )
+				System.arraycopy(ret, 0, a, 0, a.length);
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static int[] mergeRunsParallel(ExecutorService pool, int[] vix, int[] tmp, int[] bounds, double[][] keys, boolean desc)
+		throws Exception
+	{
+		//merge rounds over runs [bounds[i], bounds[i+1]), swapping source 
+		//and target buffers after each round until a single run remains
+		while( bounds.length > 2 ) {
+			ArrayList<MergeTask> tasks = new ArrayList<>();
+			int[] bounds2 = getMergeBounds(bounds);
+			for( int i=0; i<bounds2.length-1; i++ )
+				tasks.add(new MergeTask(vix, tmp, keys, desc, bounds2[i], getMergeMid(bounds, i), bounds2[i+1]));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			int[] swap = vix; vix = tmp; tmp = swap;
+			bounds = bounds2;
+		}
+		return vix;
+	}
+	
+	private static double[] mergeRunsParallel(ExecutorService pool, double[] a, double[] tmp, int[] bounds)
+		throws Exception
+	{
+		while( bounds.length > 2 ) {
+			ArrayList<MergeTask> tasks = new ArrayList<>();
+			int[] bounds2 = getMergeBounds(bounds);
+			for( int i=0; i<bounds2.length-1; i++ )
+				tasks.add(new MergeTask(a, tmp, bounds2[i], getMergeMid(bounds, i), bounds2[i+1]));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			double[] swap = a; a = tmp; tmp = swap;
+			bounds = bounds2;
+		}
+		return a;
+	}
+	
+	private static int[] getMergeBounds(int[] bounds) {
+		//boundaries after merging pairs of runs (w/ odd last run)
+		int nruns = bounds.length - 1;
+		int[] ret = new int[(nruns+1)/2 + 1];
+		for( int i=1; i<ret.length; i++ )
+			ret[i] = bounds[Math.min(2*i, nruns)];
+		return ret;
+	}
+	
+	private static int getMergeMid(int[] bounds, int i) {
+		//end of the left run, or end of the odd last run (w/o right run)
+		return bounds[Math.min(2*i+1, bounds.length-1)];
+	}
+	
+	private static void sortOutput(MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru) {
+		int clen = in.clen;
 		if( !ixret ) {
 			//copy input data in sorted order into result
-			if( !sparse ) { //DENSE
-				out.allocateDenseBlock(false);
+			if( !in.sparse ) { //DENSE
 				DenseBlock a = in.getDenseBlock();
 				DenseBlock c = out.getDenseBlock();
-				for( int i=0; i<rlen; i++ )
+				for( int i=rl; i<ru; i++ )
 					System.arraycopy(a.values(vix[i]), a.pos(vix[i]), c.values(i), c.pos(i), clen);
 			}
 			else { //SPARSE
-				out.allocateSparseRowsBlock(false);
-				for( int i=0; i<rlen; i++ )
+				for( int i=rl; i<ru; i++ )
 					if( !in.sparseBlock.isEmpty(vix[i]) )
 						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
 							!SHALLOW_COPY_REORG); //row remains unchanged
@@ -387,13 +556,10 @@ public class LibMatrixReorg
 		}
 		else {
 			//copy sorted index vector into result
-			out.allocateDenseBlock(false);
 			DenseBlock c = out.getDenseBlock();
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 				c.set(i, 0, vix[i]+1);
 		}
-		
-		return out;
 	}
 	
 	/**
@@ -498,6 +664,25 @@ public class LibMatrixReorg
 	 * @return matrix block
 	 */
 	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select) {
+		return rmempty(in, ret, rows, emptyReturn, select, 1);
+	}
+	
+	/**
+	 * CP rmempty operation (single input, single output matrix), which uses
+	 * a two-pass multi-threaded implementation for k &gt; 1 and sufficiently 
+	 * large inputs: a parallel scan for non-empty rows/columns and per-partition
+	 * counts (with prefix sums for target row offsets), and a parallel copy
+	 * of disjoint row partitions into the pre-allocated output.
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param rows if true, remove empty rows, otherwise empty columns
+	 * @param emptyReturn return row/column of zeros for empty input
+	 * @param select optional selection vector
+	 * @param k number of threads
+	 * @return matrix block
+	 */
+	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select, int k) {
 		//check for empty inputs 
 		//(the semantics of removeEmpty are that for an empty m-by-n matrix, the output 
 		//is an empty 1-by-n or m-by-1 matrix because we don't allow matrices with dims 0)
@@ -510,10 +695,14 @@ public class LibMatrixReorg
 			return ret;
 		}
 		
+		//redirect small inputs to sequential execution
+		if( k <= 1 || in.rlen <= 1 || (long)in.rlen * in.clen < PAR_NUMCELL_THRESHOLD )
+			k = 1;
+		
 		if( rows )
-			return removeEmptyRows(in, ret, select, emptyReturn);
+			return removeEmptyRows(in, ret, select, emptyReturn, k);
 		else //cols
-			return removeEmptyColumns(in, ret, select, emptyReturn);
+			return removeEmptyColumns(in, ret, select, emptyReturn, k);
 	}
 
 	/**
@@ -1676,7 +1865,7 @@ public class LibMatrixReorg
 		return rowwise ? ai*mcIn.getCols()+aj : ai+mcIn.getRows()*aj;
 	}
 
-	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn) {
+	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn, int k) {
 		final int m = in.rlen;
 		final int n = in.clen;
 		boolean[] flags = null;
@@ -1712,32 +1901,25 @@ public class LibMatrixReorg
 		}
 		
 		//Step 1: scan block and determine non-empty rows
+		//(in parallel w/ per-partition counts as target row offsets)
+		ArrayList<Integer> blklens = (k > 1) ?
+			UtilFunctions.getBalancedBlockSizesDefault(m, k, false) : null;
+		int[] offsets = null;
 		if(select == null) 
 		{
 			flags = new boolean[ m ]; //false
-			if( in.sparse ) { //SPARSE 
-				SparseBlock a = in.sparseBlock;
-				for ( int i=0; i < m; i++ )
-					rlen2 += (flags[i] = !a.isEmpty(i)) ? 1 : 0;
-			}
-			else { //DENSE
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for(int j=0; j<n; j++)
-						if( avals[aix+j] != 0 ) {
-							flags[i] = true;
-							rlen2++;
-							//early abort for current row
-							break; 
-						}
-				}
+			if( k > 1 ) {
+				offsets = computeNonEmptyRowsParallel(in, flags, blklens, k);
+				rlen2 = offsets[offsets.length-1];
 			}
+			else
+				rlen2 = computeNonEmptyRows(in, flags, 0, m);
 		} 
 		else {
 			flags = DataConverter.convertToBooleanVector(select);
 			rlen2 = (int)select.getNonZeros();
+			if( k > 1 )
+				offsets = computeRowOffsets(flags, blklens);
 		}
 
 		//Step 2: reset result and copy rows
@@ -1756,10 +1938,99 @@ public class LibMatrixReorg
 			else
 				ret.denseBlock = in.denseBlock;
 		}
-		else if( in.sparse ) //* <- SPARSE
+		else if( k > 1 && ret.isThreadSafe() ) {
+			//pre-allocate output to avoid allocation on demand
+			if( ret.sparse )
+				ret.allocateSparseRowsBlock();
+			else
+				ret.allocateDenseBlock();
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<RemoveEmptyTask> tasks = new ArrayList<>();
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new RemoveEmptyTask(in, ret, flags, null, true, lb, lb+blklens.get(i), offsets[i]));
+				List<Future<Object>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : taskret )
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		else {
+			copyNonEmptyRows(in, ret, flags, 0, m, 0);
+		}
+		
+		//check sparsity
+		ret.nonZeros = (select==null) ?
+			in.nonZeros : ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	private static int computeNonEmptyRows(MatrixBlock in, boolean[] flags, int rl, int ru) {
+		final int n = in.clen;
+		int cnt = 0;
+		if( in.sparse ) { //SPARSE 
+			SparseBlock a = in.sparseBlock;
+			for ( int i=rl; i < ru; i++ )
+				cnt += (flags[i] = !a.isEmpty(i)) ? 1 : 0;
+		}
+		else { //DENSE
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for(int j=0; j<n; j++)
+					if( avals[aix+j] != 0 ) {
+						flags[i] = true;
+						cnt++;
+						//early abort for current row
+						break; 
+					}
+			}
+		}
+		return cnt;
+	}
+	
+	private static int[] computeNonEmptyRowsParallel(MatrixBlock in, boolean[] flags, ArrayList<Integer> blklens, int k) {
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<CountNonEmptyTask> tasks = new ArrayList<>();
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new CountNonEmptyTask(in, flags, true, lb, lb+blklens.get(i)));
+			List<Future<Integer>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			//prefix sums of partition counts as target row offsets
+			int[] offsets = new int[taskret.size()+1];
+			for( int i=0; i<taskret.size(); i++ )
+				offsets[i+1] = offsets[i] + taskret.get(i).get();
+			return offsets;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static int[] computeRowOffsets(boolean[] flags, ArrayList<Integer> blklens) {
+		int[] offsets = new int[blklens.size()+1];
+		for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ ) {
+			int cnt = 0;
+			for( int j=lb; j<lb+blklens.get(i); j++ )
+				cnt += flags[j] ? 1 : 0;
+			offsets[i+1] = offsets[i] + cnt;
+		}
+		return offsets;
+	}
+	
+	private static void copyNonEmptyRows(MatrixBlock in, MatrixBlock ret, boolean[] flags, int rl, int ru, int off) {
+		final int n = in.clen;
+		if( in.sparse ) //* <- SPARSE
 		{
 			//note: output dense or sparse
-			for( int i=0, cix=0; i<m; i++ )
+			for( int i=rl, cix=off; i<ru; i++ )
 				if( flags[i] ) {
 					ret.appendRow(cix++, in.sparseBlock.get(i),
 						!SHALLOW_COPY_REORG);
@@ -1767,10 +2038,10 @@ public class LibMatrixReorg
 		}
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
-			ret.allocateDenseBlock();
+			ret.allocateDenseBlock(false);
 			DenseBlock a = in.getDenseBlock();
 			DenseBlock c = ret.getDenseBlock();
-			for( int i=0, ci=0; i<m; i++ )
+			for( int i=rl, ci=off; i<ru; i++ )
 				if( flags[i] ) {
 					System.arraycopy(a.values(i),
 						a.pos(i), c.values(ci), c.pos(ci), n);
@@ -1779,9 +2050,9 @@ public class LibMatrixReorg
 		}
 		else //SPARSE <- DENSE
 		{
-			ret.allocateSparseRowsBlock();
+			ret.allocateSparseRowsBlock(false);
 			DenseBlock a = in.getDenseBlock();
-			for( int i=0, ci=0; i<m; i++ )
+			for( int i=rl, ci=off; i<ru; i++ )
 				if( flags[i] ) {
 					double[] avals = a.values(i);
 					int aix = a.pos(i);
@@ -1790,16 +2061,9 @@ public class LibMatrixReorg
 					ci++;
 				}
 		}
-		
-		//check sparsity
-		ret.nonZeros = (select==null) ?
-			in.nonZeros : ret.recomputeNonZeros();
-		ret.examSparsity();
-		
-		return ret;
 	}
 
-	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn) {
+	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn, int k) {
 		final int m = in.rlen;
 		final int n = in.clen;
 		
@@ -1807,28 +2071,17 @@ public class LibMatrixReorg
 		//(we optimized for cache-friendly behavior and hence don't do early abort)
 		boolean[] flags = null; 
 		
+		ArrayList<Integer> blklens = (k > 1) ?
+			UtilFunctions.getBalancedBlockSizesDefault(m, k, false) : null;
 		if (select == null) 
 		{
-			flags = new boolean[ n ]; //false
-			if( in.sparse ) { //SPARSE 
-				SparseBlock a = in.sparseBlock;
-				for( int i=0; i<m; i++ ) 
-					if ( !a.isEmpty(i) ) {
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						for( int j=apos; j<apos+alen; j++ )
-							flags[ aix[j] ] = true;
-					}
+			if( k > 1 ) {
+				//parallel scan of row partitions w/ local flags
+				flags = computeNonEmptyColumnsParallel(in, blklens, k);
 			}
-			else { //DENSE
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for( int j=0; j<n; j++ )
-						flags[j] |= (avals[aix+j] != 0);
-				}
+			else {
+				flags = new boolean[ n ]; //false
+				computeNonEmptyColumns(in, flags, 0, m);
 			}
 		} 
 		else {
@@ -1867,49 +2120,30 @@ public class LibMatrixReorg
 					cix[j] = pos++;
 			}
 			
-			//deep copy of modified outputs
-			if( in.sparse ) //* <- SPARSE
-			{
-				//note: output dense or sparse
-				SparseBlock a = in.sparseBlock;
-				for( int i=0; i<m; i++ )
-					if ( !a.isEmpty(i) ) {
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						double[] avals = a.values(i);
-						for( int j=apos; j<apos+alen; j++ )
-							if( flags[aix[j]] )
-								ret.appendValue(i, cix[aix[j]], avals[j]);
-					}
-			}
-			else if( !in.sparse && !ret.sparse ) { //DENSE <- DENSE
-				ret.allocateDenseBlock();
-				DenseBlock a = in.getDenseBlock();
-				DenseBlock c = ret.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					double[] cvals = c.values(i);
-					int aix = a.pos(i);
-					int lcix = c.pos(i);
-					for( int j=0; j<n; j++ )
-						if( flags[j] )
-							 cvals[ lcix+cix[j] ] = avals[aix+j];
+			//deep copy of modified outputs (in parallel over disjoint rows)
+			if( k > 1 && ret.isThreadSafe() ) {
+				//pre-allocate output to avoid allocation on demand
+				if( ret.sparse )
+					ret.allocateSparseRowsBlock();
+				else
+					ret.allocateDenseBlock();
+				try {
+					ExecutorService pool = CommonThreadPool.get(k);
+					ArrayList<RemoveEmptyTask> tasks = new ArrayList<>();
+					for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+						tasks.add(new RemoveEmptyTask(in, ret, flags, cix, false, lb, lb+blklens.get(i), lb));
+					List<Future<Object>> taskret = pool.invokeAll(tasks);
+					pool.shutdown();
+					for( Future<Object> task : taskret )
+						task.get();
 				}
-			}
-			else { //SPARSE <- DENSE
-				ret.allocateSparseRowsBlock();
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for( int j=0; j<n; j++ ) {
-						double aval = avals[aix+j];
-						if( flags[j] && aval!=0 )
-							 ret.appendValue(i, cix[j], aval);
-					}
+				catch(Exception ex) {
+					throw new DMLRuntimeException(ex);
 				}
 			}
+			else {
+				copyNonEmptyColumns(in, ret, flags, cix, 0, m);
+			}
 		}
 		
 		//check sparsity
@@ -1919,6 +2153,100 @@ public class LibMatrixReorg
 		
 		return ret;
 	}
+	
+	private static void computeNonEmptyColumns(MatrixBlock in, boolean[] flags, int rl, int ru) {
+		final int n = in.clen;
+		if( in.sparse ) { //SPARSE 
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ ) 
+				if ( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					for( int j=apos; j<apos+alen; j++ )
+						flags[ aix[j] ] = true;
+				}
+		}
+		else { //DENSE
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<n; j++ )
+					flags[j] |= (avals[aix+j] != 0);
+			}
+		}
+	}
+	
+	private static boolean[] computeNonEmptyColumnsParallel(MatrixBlock in, ArrayList<Integer> blklens, int k) {
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<CountNonEmptyTask> tasks = new ArrayList<>();
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new CountNonEmptyTask(in, new boolean[in.clen], false, lb, lb+blklens.get(i)));
+			List<Future<Integer>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Integer> task : taskret )
+				task.get();
+			//merge partition-local flags
+			boolean[] flags = tasks.get(0)._flags;
+			for( int i=1; i<tasks.size(); i++ ) {
+				boolean[] lflags = tasks.get(i)._flags;
+				for( int j=0; j<flags.length; j++ )
+					flags[j] |= lflags[j];
+			}
+			return flags;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void copyNonEmptyColumns(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru) {
+		final int n = in.clen;
+		if( in.sparse ) //* <- SPARSE
+		{
+			//note: output dense or sparse
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if ( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int j=apos; j<apos+alen; j++ )
+						if( flags[aix[j]] )
+							ret.appendValue(i, cix[aix[j]], avals[j]);
+				}
+		}
+		else if( !in.sparse && !ret.sparse ) { //DENSE <- DENSE
+			ret.allocateDenseBlock(false);
+			DenseBlock a = in.getDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				double[] cvals = c.values(i);
+				int aix = a.pos(i);
+				int lcix = c.pos(i);
+				for( int j=0; j<n; j++ )
+					if( flags[j] )
+						 cvals[ lcix+cix[j] ] = avals[aix+j];
+			}
+		}
+		else { //SPARSE <- DENSE
+			ret.allocateSparseRowsBlock(false);
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<n; j++ ) {
+					double aval = avals[aix+j];
+					if( flags[j] && aval!=0 )
+						 ret.appendValue(i, cix[j], aval);
+				}
+			}
+		}
+	}
 
 	private static MatrixBlock rexpandRows(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore) {
 		//set meta data
@@ -2159,6 +2487,59 @@ public class LibMatrixReorg
 		}
 	}
 	
+	private static int compareRows(double[][] keys, int i, int j, boolean desc) {
+		//lexicographic comparison over all order-by columns, where 
+		//ties are broken by row index for stable (deterministic) output
+		for( int l=0; l<keys.length; l++ ) {
+			double a = keys[l][i], b = keys[l][j];
+			if( a != b ) {
+				//NaN ties (NaN != NaN) continue with the next column
+				int cmp = (a < b) ? -1 : (a > b) ? 1 : Double.compare(a, b); //NaN
+				if( cmp != 0 )
+					return desc ? -cmp : cmp;
+			}
+		}
+		return Integer.compare(i, j);
+	}
+	
+	private static void mergeSortIndexes(int[] vix, int[] tmp, double[][] keys, boolean desc, int rl, int ru) {
+		//insertion sort for small runs
+		if( ru - rl <= 32 ) {
+			for( int i=rl+1; i<ru; i++ ) {
+				int v = vix[i], j = i-1;
+				for( ; j>=rl && compareRows(keys, vix[j], v, desc) > 0; j-- )
+					vix[j+1] = vix[j];
+				vix[j+1] = v;
+			}
+			return;
+		}
+		//recursive merge sort (w/ skipped merge of ordered runs)
+		int mid = (rl + ru) >>> 1;
+		mergeSortIndexes(vix, tmp, keys, desc, rl, mid);
+		mergeSortIndexes(vix, tmp, keys, desc, mid, ru);
+		if( compareRows(keys, vix[mid-1], vix[mid], desc) <= 0 )
+			return;
+		System.arraycopy(vix, rl, tmp, rl, ru-rl);
+		mergeIndexes(tmp, vix, keys, desc, rl, mid, ru);
+	}
+	
+	private static void mergeIndexes(int[] src, int[] tgt, double[][] keys, boolean desc, int rl, int mid, int ru) {
+		int i = rl, j = mid, pos = rl;
+		while( i < mid && j < ru )
+			tgt[pos++] = (compareRows(keys, src[i], src[j], desc) <= 0) ? src[i++] : src[j++];
+		System.arraycopy(src, i, tgt, pos, mid-i);
+		System.arraycopy(src, j, tgt, pos+mid-i, ru-j);
+	}
+	
+	private static void mergeValues(double[] src, double[] tgt, int rl, int mid, int ru) {
+		//note: total order of Arrays.sort (-0.0 before 0.0, NaN last)
+		int i = rl, j = mid, pos = rl;
+		while( i < mid && j < ru )
+			tgt[pos++] = (Double.compare(src[i], src[j]) <= 0) ? src[i++] : src[j++];
+		System.arraycopy(src, i, tgt, pos, mid-i);
+		System.arraycopy(src, j, tgt, pos+mid-i, ru-j);
+	}
+	
 	private static boolean isValidSortByList(int[] by, int clen) {
 		if( by == null || by.length==0 || by.length>clen )
 			return false;
@@ -2312,6 +2693,188 @@ public class LibMatrixReorg
 		}
 	}
 	
+	private static class SortTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final int[] _by;
+		private final double[][] _keys;
+		private final boolean _desc;
+		private final int[] _vix;
+		private final int[] _tmp;
+		private final double[] _a;
+		private final int _rl;
+		private final int _ru;
+		
+		protected SortTask(MatrixBlock in, int[] by, double[][] keys, boolean desc, int[] vix, int[] tmp, int rl, int ru) {
+			_in = in;
+			_by = by;
+			_keys = keys;
+			_desc = desc;
+			_vix = vix;
+			_tmp = tmp;
+			_a = null;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		protected SortTask(double[] a, int rl, int ru) {
+			_in = null;
+			_by = null;
+			_keys = null;
+			_desc = false;
+			_vix = null;
+			_tmp = null;
+			_a = a;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			if( _a != null ) {
+				Arrays.sort(_a, _rl, _ru);
+				return null;
+			}
+			//extract keys and create index vector of row partition
+			for( int l=0; l<_by.length; l++ )
+				for( int i=_rl; i<_ru; i++ )
+					_keys[l][i] = _in.quickGetValue(i, _by[l]-1);
+			for( int i=_rl; i<_ru; i++ )
+				_vix[i] = i;
+			mergeSortIndexes(_vix, _tmp, _keys, _desc, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class MergeTask implements Callable<Object>
+	{
+		private final int[] _vix;
+		private final int[] _vtmp;
+		private final double[][] _keys;
+		private final boolean _desc;
+		private final double[] _a;
+		private final double[] _atmp;
+		private final int _rl;
+		private final int _mid;
+		private final int _ru;
+		
+		protected MergeTask(int[] vix, int[] tmp, double[][] keys, boolean desc, int rl, int mid, int ru) {
+			_vix = vix;
+			_vtmp = tmp;
+			_keys = keys;
+			_desc = desc;
+			_a = null;
+			_atmp = null;
+			_rl = rl;
+			_mid = mid;
+			_ru = ru;
+		}
+		
+		protected MergeTask(double[] a, double[] tmp, int rl, int mid, int ru) {
+			_vix = null;
+			_vtmp = null;
+			_keys = null;
+			_desc = false;
+			_a = a;
+			_atmp = tmp;
+			_rl = rl;
+			_mid = mid;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			if( _vix != null )
+				mergeIndexes(_vix, _vtmp, _keys, _desc, _rl, _mid, _ru);
+			else
+				mergeValues(_a, _atmp, _rl, _mid, _ru);
+			return null;
+		}
+	}
+	
+	private static class SortOutputTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int[] _vix;
+		private final boolean _ixret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected SortOutputTask(MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_vix = vix;
+			_ixret = ixret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			sortOutput(_in, _out, _vix, _ixret, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class CountNonEmptyTask implements Callable<Integer>
+	{
+		private final MatrixBlock _in;
+		private final boolean[] _flags;
+		private final boolean _rows;
+		private final int _rl;
+		private final int _ru;
+		
+		protected CountNonEmptyTask(MatrixBlock in, boolean[] flags, boolean rows, int rl, int ru) {
+			_in = in;
+			_flags = flags;
+			_rows = rows;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Integer call() {
+			//shared row flags, or partition-local column flags
+			if( _rows )
+				return computeNonEmptyRows(_in, _flags, _rl, _ru);
+			computeNonEmptyColumns(_in, _flags, _rl, _ru);
+			return -1;
+		}
+	}
+	
+	private static class RemoveEmptyTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final boolean[] _flags;
+		private final int[] _cix;
+		private final boolean _rows;
+		private final int _rl;
+		private final int _ru;
+		private final int _off;
+		
+		protected RemoveEmptyTask(MatrixBlock in, MatrixBlock out, boolean[] flags, int[] cix, boolean rows, int rl, int ru, int off) {
+			_in = in;
+			_out = out;
+			_flags = flags;
+			_cix = cix;
+			_rows = rows;
+			_rl = rl;
+			_ru = ru;
+			_off = off;
+		}
+		
+		@Override
+		public Object call() {
+			if( _rows )
+				copyNonEmptyRows(_in, _out, _flags, _rl, _ru, _off);
+			else
+				copyNonEmptyColumns(_in, _out, _flags, _cix, _rl, _ru);
+			return null;
+		}
+	}
+	
 	private static class RExpandColsTask implements Callable<Long>
 	{
 		private final MatrixBlock _in;
@@ -27,6 +27,7 @@ import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -186,7 +187,26 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		sparseBlock = sblock;
 	}
 	
+	/**
+	 * Constructs a dense matrix block with the given dense block,
+	 * which is used as is (shallow copy).
+	 * 
+	 * @param rl number of rows
+	 * @param cl number of columns
+	 * @param nnz number of non zeroes
+	 * @param dblock dense block
+	 */
+	public MatrixBlock(int rl, int cl, long nnz, DenseBlock dblock) {
+		this(rl, cl, false, nnz);
+		nonZeros = nnz;
+		denseBlock = dblock;
+	}
+	
 	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep) {
+		this(that, stype, deep, 1);
+	}
+	
+	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep, int k) {
 		this(that.rlen, that.clen, that.sparse);
 		
 		//sanity check sparse matrix block
@@ -198,7 +218,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			nonZeros = that.nonZeros;
 			estimatedNNzsPerRow = that.estimatedNNzsPerRow;
 			sparseBlock = SparseBlockFactory
-				.copySparseBlock(stype, that.sparseBlock, deep);
+				.copySparseBlock(stype, that.sparseBlock, deep, k);
 		}
 	}
 	
@@ -351,13 +371,34 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	public boolean allocateDenseBlock(boolean clearNNZ) {
+		return allocateDenseBlock(clearNNZ, false);
+	}
+	
+	/**
+	 * Allocates a dense block of the requested precision. Existing
+	 * blocks of sufficient capacity but different precision are
+	 * converted in place, which preserves their values.
+	 * 
+	 * @param clearNNZ if true, reset the number of non-zeros
+	 * @param fp32 if true, allocate a single-precision block
+	 * @return true if a new block was allocated or reset
+	 */
+	public boolean allocateDenseBlock(boolean clearNNZ, boolean fp32) {
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
 		long limit = (long)rlen * clen;
 		boolean reset = (denseBlock == null || denseBlock.capacity() < limit);
-		if( denseBlock == null )
-			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
-		else if( denseBlock.capacity() < limit )
+		boolean convert = fp32 ? !isInSinglePrecision() :
+			(denseBlock != null && !denseBlock.isDoubleArrayBacked());
+		if( denseBlock == null || (reset && convert) )
+			denseBlock = fp32 ? DenseBlockFactory.createDenseBlock(DenseBlock.Type.FP32, rlen, clen) :
+				DenseBlockFactory.createDenseBlock(rlen, clen);
+		else if( reset )
 			denseBlock.reset(rlen, clen);
+		else if( convert ) {
+			sparse = false;
+			if( fp32 ) toSinglePrecision();
+			else materializeDenseBlock();
+		}
 		
 		//clear nnz if necessary
 		if( clearNNZ )
@@ -518,6 +559,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	////////
 	// Data handling
 	
+	/**
+	 * Get the dense block in its current representation, i.e., without
+	 * conversion of single-precision or off-heap blocks. These blocks are
+	 * widened once in place on first double array access; operations that
+	 * should leave them unchanged obtain a widened copy via
+	 * {@link #getDoubleArrayBacked()}.
+	 * 
+	 * @return dense block, or null if not allocated
+	 */
 	public DenseBlock getDenseBlock() {
 		return denseBlock;
 	}
@@ -533,6 +583,116 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return (denseBlock != null) ? denseBlock.valuesAt(0) : null;
 	}
 	
+	/**
+	 * Get the single-precision values of a dense block in FP32 
+	 * format, without conversion to double precision.
+	 * 
+	 * @return float array, or null if not in single precision
+	 */
+	public float[] getDenseBlockValuesFP32() {
+		return isInSinglePrecision() ?
+			((DenseBlockFP32)denseBlock).valuesFP32() : null;
+	}
+	
+	/**
+	 * Indicates if the block is in dense format and backed
+	 * by a single-precision dense block that was not widened.
+	 * 
+	 * @return true if dense single precision
+	 */
+	public boolean isInSinglePrecision() {
+		return !sparse && denseBlock instanceof DenseBlockFP32
+			&& ((DenseBlockFP32)denseBlock).isSinglePrecision();
+	}
+	
+	/**
+	 * Converts a dense block in double precision into single precision,
+	 * which halves the memory footprint but loses precision. Sparse or 
+	 * too large dense blocks remain unchanged.
+	 * 
+	 * @return self
+	 */
+	public synchronized MatrixBlock toSinglePrecision() {
+		if( sparse || denseBlock == null || isInSinglePrecision()
+			|| !DenseBlockFactory.isValidSinglePrecision(rlen, clen) )
+			return this;
+		DenseBlock tmp = DenseBlockFactory.createDenseBlock(DenseBlock.Type.FP32, rlen, clen);
+		denseBlock = tmp.set(denseBlock);
+		return this;
+	}
+	
+	/**
+	 * Get a matrix block whose dense block is backed by double arrays, 
+	 * as required by operations that are not aware of single-precision
+	 * or off-heap dense blocks. Such blocks are widened into a copy,
+	 * which leaves this block unchanged; all other blocks return self.
+	 * 
+	 * @return self or widened copy
+	 */
+	public MatrixBlock getDoubleArrayBacked() {
+		if( sparse || denseBlock == null || denseBlock.isDoubleArrayBacked() )
+			return this;
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false, nonZeros);
+		ret.denseBlock = denseBlock.toDoubleArrayBacked();
+		ret.nonZeros = nonZeros;
+		return ret;
+	}
+	
+	/**
+	 * Get the dense block backed by double arrays for read-only access,
+	 * where single-precision and off-heap blocks are widened into a
+	 * temporary copy without modifying this block.
+	 * 
+	 * @return double-array backed dense block, or null if not allocated
+	 */
+	private DenseBlock getDenseBlockForRead() {
+		return (denseBlock != null) ? denseBlock.toDoubleArrayBacked() : null;
+	}
+	
+	/**
+	 * Converts a dense block in single precision into double precision.
+	 * 
+	 * @return self
+	 */
+	public synchronized MatrixBlock toDoublePrecision() {
+		if( denseBlock instanceof DenseBlockFP32 )
+			materializeDenseBlock();
+		return this;
+	}
+	
+	/**
+	 * Indicates if the block is in dense format and backed
+	 * by an off-heap (direct or memory-mapped) dense block
+	 * that was not widened.
+	 * 
+	 * @return true if dense off-heap
+	 */
+	public boolean isInOffHeap() {
+		return !sparse && denseBlock instanceof DenseBlockOffHeap
+			&& ((DenseBlockOffHeap)denseBlock).isOffHeap();
+	}
+	
+	/**
+	 * Converts a dense block into an off-heap dense block backed
+	 * by direct buffers, which removes the values from the JVM heap.
+	 * Sparse blocks remain unchanged.
+	 * 
+	 * @return self
+	 */
+	public synchronized MatrixBlock toOffHeap() {
+		if( sparse || denseBlock == null || isInOffHeap() )
+			return this;
+		DenseBlock tmp = DenseBlockFactory.createDenseBlock(DenseBlock.Type.OFFHEAP, rlen, clen);
+		denseBlock = tmp.set(denseBlock);
+		return this;
+	}
+	
+	private synchronized void materializeDenseBlock() {
+		//double check under lock for concurrent readers
+		if( denseBlock != null && !denseBlock.isDoubleArrayBacked() )
+			denseBlock = denseBlock.toDoubleArrayBacked();
+	}
+	
 	public SparseBlock getSparseBlock() {
 		return sparseBlock;
 	}
@@ -742,7 +902,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //SPARSE <- DENSE
 		{
-			DenseBlock a = src.getDenseBlock();
+			DenseBlock a = src.getDenseBlockForRead();
 			final int n2 = src.clen;
 			double[] avals = a.values(i);
 			int aix = a.pos(i);
@@ -993,7 +1153,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	public void examSparsity() {
-		examSparsity(true);
+		examSparsity(true, 1);
+	}
+	
+	public void examSparsity(int k) {
+		examSparsity(true, k);
+	}
+	
+	public void examSparsity(boolean allowCSR) {
+		examSparsity(allowCSR, 1);
 	}
 	
 	/**
@@ -1004,8 +1172,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 * representations.
 	 * 
 	 * @param allowCSR allow CSR format on dense to sparse conversion
+	 * @param k degree of parallelism for dense to sparse conversion
 	 */
-	public void examSparsity(boolean allowCSR) {
+	public void examSparsity(boolean allowCSR, int k) {
 		//determine target representation
 		boolean sparseDst = evalSparseFormatInMemory(); 
 		
@@ -1018,7 +1187,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( sparse && !sparseDst)
 			sparseToDense();
 		else if( !sparse && sparseDst )
-			denseToSparse(allowCSR);
+			denseToSparse(allowCSR, k);
 	}
 	
 	/**
@@ -1076,60 +1245,28 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		denseToSparse(true);
 	}
 	
-	private void denseToSparse(boolean allowCSR)
+	private void denseToSparse(boolean allowCSR) {
+		denseToSparse(allowCSR, 1);
+	}
+	
+	private void denseToSparse(boolean allowCSR, int k)
 	{
-		DenseBlock a = getDenseBlock();
+		DenseBlock a = getDenseBlockForRead();
 		
 		//set target representation, early abort on empty blocks
 		sparse = true;
 		if( a == null )
 			return;
 		
-		final int m = rlen;
-		final int n = clen;
-		
-		if( allowCSR && nonZeros <= Integer.MAX_VALUE ) {
-			//allocate target in memory-efficient CSR format
-			int lnnz = (int) nonZeros;
-			int[] rptr = new int[m+1];
-			int[] indexes = new int[lnnz];
-			double[] values = new double[lnnz];
-			for( int i=0, pos=0; i<m; i++ ) {
-				double[] avals = a.values(i);
-				int aix = a.pos(i);
-				for(int j=0; j<n; j++) {
-					double aval = avals[aix+j];
-					if( aval != 0 ) {
-						indexes[pos] = j;
-						values[pos] = aval;
-						pos++;
-					}
-				}
-				rptr[i+1]=pos;
-			}
-			sparseBlock = new SparseBlockCSR(
-				rptr, indexes, values, lnnz);
-		}
-		else {
-			//fallback to less-memory efficient MCSR format,
-			//which however allows much larger sparse matrices
-			if( !allocateSparseRowsBlock() )
-				reset(); //reset if not allocated
-			SparseBlock sblock = sparseBlock;
-			for( int i=0; i<m; i++ ) {
-				double[] avals = a.values(i);
-				int aix = a.pos(i);
-				//compute nnz per row (not via recomputeNonZeros as sparse allocated)
-				int lnnz = UtilFunctions.computeNnz(avals, aix, clen);
-				if( lnnz <= 0 ) continue;
-				//allocate sparse row and append non-zero values
-				sblock.allocate(i, lnnz);
-				for( int j=0; j<n; j++ )
-					sblock.append(i, j, avals[aix+j]);
-			}
-		}
+		//two-pass conversion (count nnz per row, fill), multi-threaded for
+		//large inputs, which recomputes the nnz instead of relying on the
+		//maintained meta data, with fallback to MCSR if the exact nnz exceed
+		//the CSR capacity
+		sparseBlock = SparseBlockFactory.createSparseBlock(allowCSR ?
+			SparseBlock.Type.CSR : SparseBlock.Type.MCSR, a, rlen, clen, k);
 		
 		//update nnz and cleanup dense block
+		nonZeros = sparseBlock.size();
 		denseBlock = null;
 	}
 	
@@ -1342,9 +1479,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			return;
 		}
 		
-		//allocate and copy dense block
-		allocateDenseBlock(false);
-		denseBlock.set(that.denseBlock);
+		//allocate and copy dense block (single-precision inputs
+		//are copied as is, off-heap inputs into an on-heap block)
+		allocateDenseBlock(false, that.isInSinglePrecision());
+		denseBlock.set(that.isInOffHeap() ?
+			that.getDenseBlockForRead() : that.denseBlock);
 	}
 	
 	private void copySparseToDense(MatrixBlock that) {
@@ -1381,7 +1520,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		if( !allocateSparseRowsBlock(false) )
 			resetSparse();
-		DenseBlock a = that.getDenseBlock();
+		DenseBlock a = that.getDenseBlockForRead();
 		SparseBlock c = getSparseBlock();
 		for(int i=0; i<rlen; i++) {
 			double[] avals = a.values(i);
@@ -1514,7 +1653,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateSparseRowsBlock(false);
 		
 		//copy values
-		DenseBlock a = src.getDenseBlock();
+		DenseBlock a = src.getDenseBlockForRead();
 		SparseBlock c = getSparseBlock();
 		for( int i=0; i<src.rlen; i++ )
 		{
@@ -1578,7 +1717,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			nonZeros = nonZeros - recomputeNonZeros(rl, ru, cl, cu) + src.nonZeros;
 		
 		//copy values
-		DenseBlock a = src.getDenseBlock();
+		DenseBlock a = src.getDenseBlockForRead();
 		DenseBlock c = getDenseBlock();
 		c.set(rl, ru+1, cl, cu+1, a);
 	}
@@ -2022,6 +2161,22 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
+		//single precision: write values w/o widening the block, but note
+		//that the binary block format stores all values in double precision
+		float[] avals = getDenseBlockValuesFP32();
+		if( avals != null ) {
+			int limit = rlen * clen;
+			for(int j=0; j<limit; j++)
+				out.writeDouble(avals[j]);
+			return;
+		}
+		
+		//off-heap: write values w/o materializing the block
+		if( isInOffHeap() ) {
+			writeDenseBlockOffHeap(out, (DenseBlockOffHeap)denseBlock);
+			return;
+		}
+		
 		DenseBlock a = getDenseBlock();
 		if( out instanceof MatrixBlockDataOutput ) { //fast serialize
 			MatrixBlockDataOutput mout = (MatrixBlockDataOutput)out;
@@ -2038,6 +2193,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 	}
 
+	private void writeDenseBlockOffHeap(DataOutput out, DenseBlockOffHeap a) 
+		throws IOException 
+	{
+		//copy row batches into a bounded on-heap buffer
+		int blen = Math.max(Math.min(rlen, 65536 / Math.max(clen, 1)), 1);
+		double[] tmp = new double[Math.min(blen, rlen) * clen];
+		for( int bi=0; bi<rlen; bi+=blen ) {
+			int len = Math.min(blen, rlen-bi) * clen;
+			for( int i=bi, ix=0; i<bi+len/clen; i++, ix+=clen ) {
+				DoubleBuffer src = a.valuesOffHeap(a.index(i)).duplicate();
+				src.position(a.pos(i));
+				src.get(tmp, ix, clen);
+			}
+			if( out instanceof MatrixBlockDataOutput )
+				((MatrixBlockDataOutput)out).writeDoubleArray(len, tmp);
+			else
+				for( int j=0; j<len; j++ )
+					out.writeDouble(tmp[j]);
+		}
+	}
+
 	private void writeSparseBlock(DataOutput out) 
 		throws IOException 
 	{
@@ -2176,7 +2352,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		long wnnz = 0;
 		if( clen > 1 ) { //ULTRA-SPARSE BLOCK
 			//block: write ijv-triples
-			DenseBlock a = getDenseBlock();
+			DenseBlock a = getDenseBlockForRead();
 			for( int r=0; r<rlen; r++ ) {
 				double[] avals = a.values(r);
 				int aix = a.pos(r);
@@ -2216,7 +2392,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		out.writeByte( BlockType.SPARSE_BLOCK.ordinal() ); //block type
 		writeNnzInfo( out, false );
 		
-		DenseBlock a = getDenseBlock();
+		DenseBlock a = getDenseBlockForRead();
 		for( int r=0; r<rlen; r++ ) {
 			double[] avals = a.values(r);
 			int aix = a.pos(r);
@@ -2388,13 +2564,21 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			return estimateSizeDenseInMemory(nrows, ncols);
 	}
 
-	public static long estimateSizeDenseInMemory(long nrows, long ncols)
+	public static long estimateSizeDenseInMemory(long nrows, long ncols) {
+		return estimateSizeDenseInMemory(nrows, ncols, DenseBlock.Type.DRB);
+	}
+	
+	public static long estimateSizeDenseInMemory(long nrows, long ncols, DenseBlock.Type dtype)
 	{
 		// basic variables and references sizes
 		double size = 44;
 		
-		// core dense matrix block (double array)
-		size += 8d * nrows * ncols;
+		// core dense matrix block (double or float array),
+		// where off-heap blocks only hold buffer references
+		if( dtype == DenseBlock.Type.OFFHEAP )
+			size += 16 + 64 * Math.ceil(8d * nrows * ncols / Integer.MAX_VALUE);
+		else
+			size += ((dtype==DenseBlock.Type.FP32) ? 4d : 8d) * nrows * ncols;
 		
 		// robustness for long overflows
 		return (long) Math.min(size, Long.MAX_VALUE);
@@ -2569,11 +2753,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( !isAllocated() ) 
 			return 44;
 		//in-memory size of dense/sparse representation
-		return !sparse ? estimateSizeDenseInMemory(rlen, clen) :
+		return !sparse ? estimateSizeDenseInMemory(rlen, clen,
+			DenseBlockFactory.getDenseBlockType(denseBlock)) :
 			estimateSizeSparseInMemory(rlen, clen, getSparsity(),
 			SparseBlockFactory.getSparseBlockType(sparseBlock));
 	}
 	
+	@Override
+	public long getOffHeapSize() {
+		//direct or mapped buffers of off-heap dense blocks (until released)
+		return (!sparse && denseBlock instanceof DenseBlockOffHeap) ?
+			((DenseBlockOffHeap)denseBlock).offHeapSize() : 0;
+	}
+	
 	@Override
 	public long getExactSerializedSize() {
 		return getExactSizeOnDisk();
@@ -2726,7 +2918,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			ret.allocateDenseBlock(false);
 			SparseBlock a = sparseBlock;
-			DenseBlock c = ret.denseBlock;
+			DenseBlock c = ret.getDenseBlock();
 			long nnz = (ret.nonZeros > 0) ?
 				(long) m*n-a.size() : 0;
 			for(int i=0; i<m; i++) {
@@ -3933,7 +4125,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//indexing operation
 		if( cl==cu ) { //COLUMN INDEXING
 			//note: output always single block
-			if( clen==1 ) { //vector -> vector
+			if( clen==1 && denseBlock.isDoubleArrayBacked() ) { //vector -> vector
 				System.arraycopy(getDenseBlockValues(), rl,
 					dest.getDenseBlockValues(), 0, ru-rl+1);
 			}
@@ -3948,8 +4140,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			DenseBlock a = getDenseBlock();
 			DenseBlock c = dest.getDenseBlock();
 			int len = dest.clen;
-			for(int i = rl; i <= ru; i++)
-				System.arraycopy(a.values(i), a.pos(i)+cl, c.values(i-rl), c.pos(i-rl), len);
+			if( a.isDoubleArrayBacked() ) {
+				for(int i = rl; i <= ru; i++)
+					System.arraycopy(a.values(i), a.pos(i)+cl, c.values(i-rl), c.pos(i-rl), len);
+			}
+			else { //single-precision or off-heap input
+				for(int i = rl; i <= ru; i++)
+					for(int j = 0; j < len; j++)
+						c.set(i-rl, j, a.get(i, cl+j));
+			}
 		}
 		
 		//compute nnz of output (not maintained due to native calls)
@@ -4613,6 +4812,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result) {
+		return sortOperations(weights, result, 1);
+	}
+	
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k) {
 		boolean wtflag = (weights!=null);
 		
 		MatrixBlock wts= (weights == null ? null : checkType(weights));
@@ -4670,7 +4873,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		// Sort td and tw based on values inside td (ascending sort), incl copy into result
 		SortIndex sfn = new SortIndex(1, false, false);
-		ReorgOperator rop = new ReorgOperator(sfn);
+		ReorgOperator rop = new ReorgOperator(sfn, k);
 		LibMatrixReorg.reorg(tdw, (MatrixBlock)result, rop);
 		
 		return result;
@@ -4832,12 +5035,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rl, cl, sp.sparse, sp.estimatedNonZeros);
 		
 		//compute matrix multiplication (only supported binary aggregate operation)
-		if( NativeHelper.isNativeLibraryLoaded() )
+		//(the java kernels require widened copies of FP32 or off-heap inputs)
+		if( LibMatrixMult.isSinglePrecisionMatrixMult(m1, m2) )
+			LibMatrixMult.matrixMultFP32(m1, m2, ret, op.getNumThreads());
+		else if( NativeHelper.isNativeLibraryLoaded() )
 			LibMatrixNative.matrixMult(m1, m2, ret, op.getNumThreads());
 		else if( op.getNumThreads() > 1 )
-			LibMatrixMult.matrixMult(m1, m2, ret, op.getNumThreads());
+			LibMatrixMult.matrixMult(m1.getDoubleArrayBacked(), m2.getDoubleArrayBacked(), ret, op.getNumThreads());
 		else
-			LibMatrixMult.matrixMult(m1, m2, ret);
+			LibMatrixMult.matrixMult(m1.getDoubleArrayBacked(), m2.getDoubleArrayBacked(), ret);
 		
 		return ret;
 	}
@@ -4965,7 +5171,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select ) {
-		return LibMatrixReorg.rmempty(this, ret, rows, emptyReturn, select);
+		return removeEmptyOperations(ret, rows, emptyReturn, select, 1);
+	}
+	
+	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select, int k ) {
+		return LibMatrixReorg.rmempty(this, ret, rows, emptyReturn, select, k);
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn) {
@@ -70,6 +70,8 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, WeightedPair.class);
 	public static final OutputInfo CSVOutputInfo=new OutputInfo(UnPaddedOutputFormat.class, 
 			NullWritable.class, RowBlockForTextOutput.class);
+	public static final OutputInfo LIBSVMOutputInfo=new OutputInfo(TextOutputFormat.class, 
+			NullWritable.class, Text.class);
 
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
@@ -88,6 +90,8 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.LIBSVMOutputInfo)
+			return InputInfo.LIBSVMInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -113,6 +117,8 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("libsvm") )
+			return LIBSVMOutputInfo;
 		return null;
 	}
 	
@@ -133,6 +139,8 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == LIBSVMOutputInfo )
+			return "libsvm";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
@@ -145,6 +153,8 @@ public class OutputInfo implements Serializable
 			return DataExpression.FORMAT_TYPE_VALUE_MATRIXMARKET;
 		else if( oinfo == OutputInfo.CSVOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_CSV;
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_LIBSVM;
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
 				|| oinfo == OutputInfo.BinaryCellOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_BINARY;
@@ -20,8 +20,20 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
 public abstract class SparseBlockFactory
 {
+	//minimum number of cells (dense) or non-zeros (sparse) for multi-threaded conversion
+	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //1M
 
 	public static SparseBlock createSparseBlock(int rlen) {
 		return createSparseBlock(MatrixBlock.DEFAULT_SPARSEBLOCK, rlen);
@@ -64,6 +76,132 @@ public abstract class SparseBlockFactory
 		}
 	}
 	
+	/**
+	 * Copies the given sparse block into the target sparse block type, using a 
+	 * row-partitioned multi-threaded conversion for large MCSR and CSR targets. 
+	 * CSR targets are constructed directly from exact row pointers (prefix sums
+	 * over the row sizes) instead of via the incremental CSR copy constructor.
+	 * 
+	 * @param type target sparse block type
+	 * @param sblock input sparse block
+	 * @param forceCopy if true, copy even if the input is of the target type
+	 * @param k degree of parallelism
+	 * @return sparse block of target type
+	 */
+	public static SparseBlock copySparseBlock( SparseBlock.Type type, SparseBlock sblock, boolean forceCopy, int k )
+	{
+		//redirect small, empty, and COO cases to sequential conversion
+		if( sblock == null || k <= 1 || type == SparseBlock.Type.COO
+			|| (!forceCopy && isSparseBlockType(sblock, type))
+			|| sblock.numRows() < k || sblock.size() < PAR_NUMCELL_THRESHOLD )
+		{
+			return copySparseBlock(type, sblock, forceCopy);
+		}
+		
+		final int m = sblock.numRows();
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m, k, false);
+			ArrayList<ConvertTask> tasks = new ArrayList<>();
+			SparseBlock ret = null;
+			if( type == SparseBlock.Type.CSR ) {
+				//pass 1: exact row pointers from row sizes
+				int[] rptr = new int[m+1];
+				long nnz = 0;
+				for( int i=0; i<m; i++ ) {
+					nnz += sblock.size(i);
+					if( nnz > Integer.MAX_VALUE )
+						throw new RuntimeException("Sparse block size exceeds capacity of CSR: "+nnz);
+					rptr[i+1] = (int) nnz;
+				}
+				//pass 2: parallel fill of disjoint row ranges
+				SparseBlockCSR csr = new SparseBlockCSR(rptr, new int[(int)nnz], new double[(int)nnz], (int)nnz);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new SparseToCSRTask(sblock, csr, lb, lb+blklens.get(i)));
+				ret = csr;
+			}
+			else { //MCSR
+				SparseBlockMCSR mcsr = new SparseBlockMCSR(m, -1);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new SparseToMCSRTask(sblock, mcsr, lb, lb+blklens.get(i)));
+				ret = mcsr;
+			}
+			executeTasks(pool, tasks);
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Creates a sparse block of the given type from a dense block. For CSR, this
+	 * uses a two-pass approach of counting the non-zeros per row and filling the
+	 * pre-allocated arrays of exact size, which does not rely on maintained nnz 
+	 * meta data; if the number of non-zeros exceeds the CSR capacity, we fall 
+	 * back to MCSR. Both passes are row-partitioned and multi-threaded for large
+	 * inputs.
+	 * 
+	 * @param type target sparse block type (MCSR or CSR)
+	 * @param a input dense block
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param k degree of parallelism
+	 * @return sparse block of target type (or MCSR on fallback)
+	 */
+	public static SparseBlock createSparseBlock(SparseBlock.Type type, DenseBlock a, int rlen, int clen, int k)
+	{
+		if( type == SparseBlock.Type.COO )
+			throw new RuntimeException("Unsupported dense to sparse conversion: "+type.toString());
+		
+		//sequential conversion for small inputs
+		int pk = (k > 1 && rlen >= k && (long)rlen*clen >= PAR_NUMCELL_THRESHOLD) ? k : 1;
+		
+		ExecutorService pool = (pk > 1) ? CommonThreadPool.get(pk) : null;
+		try {
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(rlen, pk, pk==1);
+			if( type == SparseBlock.Type.CSR ) {
+				//pass 1: count nnz per row and compute row pointers
+				int[] rptr = new int[rlen+1];
+				ArrayList<DenseCountTask> ctasks = new ArrayList<>();
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					ctasks.add(new DenseCountTask(a, rptr, lb, lb+blklens.get(i)));
+				long nnz = 0;
+				for( Long lnnz : executeTasks(pool, ctasks) )
+					nnz += lnnz;
+				if( nnz <= Integer.MAX_VALUE ) {
+					for( int i=0; i<rlen; i++ )
+						rptr[i+1] += rptr[i];
+					//pass 2: fill pre-allocated arrays of disjoint row ranges
+					SparseBlockCSR csr = new SparseBlockCSR(rptr, new int[(int)nnz], new double[(int)nnz], (int)nnz);
+					ArrayList<DenseToCSRTask> ftasks = new ArrayList<>();
+					for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+						ftasks.add(new DenseToCSRTask(a, csr, clen, lb, lb+blklens.get(i)));
+					executeTasks(pool, ftasks);
+					return csr;
+				}
+			}
+			
+			//MCSR construction (requested or fallback for large nnz)
+			SparseBlockMCSR mcsr = new SparseBlockMCSR(rlen, -1);
+			ArrayList<DenseToMCSRTask> tasks = new ArrayList<>();
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new DenseToMCSRTask(a, mcsr, clen, lb, lb+blklens.get(i)));
+			executeTasks(pool, tasks);
+			return mcsr;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+	
 	public static boolean isSparseBlockType(SparseBlock sblock, SparseBlock.Type type) {
 		return (getSparseBlockType(sblock) == type);
 	}
@@ -83,4 +221,166 @@ public abstract class SparseBlockFactory
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
 	}
+	
+	private static <T> List<T> executeTasks(ExecutorService pool, List<? extends Callable<T>> tasks) 
+		throws Exception
+	{
+		List<T> ret = new ArrayList<>();
+		if( pool == null ) { //sequential
+			for( Callable<T> task : tasks )
+				ret.add(task.call());
+			return ret;
+		}
+		List<Future<T>> taskret = pool.invokeAll(tasks);
+		for( Future<T> task : taskret )
+			ret.add(task.get());
+		return ret;
+	}
+	
+	private static abstract class ConvertTask implements Callable<Long> 
+	{
+		protected final int _rl;
+		protected final int _ru;
+		
+		protected ConvertTask(int rl, int ru) {
+			_rl = rl;
+			_ru = ru;
+		}
+	}
+	
+	private static class SparseToCSRTask extends ConvertTask
+	{
+		private final SparseBlock _a;
+		private final SparseBlockCSR _c;
+		
+		protected SparseToCSRTask(SparseBlock a, SparseBlockCSR c, int rl, int ru) {
+			super(rl, ru);
+			_a = a;
+			_c = c;
+		}
+		
+		@Override
+		public Long call() {
+			int[] cix = _c.indexes();
+			double[] cvals = _c.values();
+			for( int i=_rl; i<_ru; i++ ) {
+				if( _a.isEmpty(i) ) continue;
+				int apos = _a.pos(i);
+				int alen = _a.size(i);
+				System.arraycopy(_a.indexes(i), apos, cix, _c.pos(i), alen);
+				System.arraycopy(_a.values(i), apos, cvals, _c.pos(i), alen);
+			}
+			return null;
+		}
+	}
+	
+	private static class SparseToMCSRTask extends ConvertTask
+	{
+		private final SparseBlock _a;
+		private final SparseBlockMCSR _c;
+		
+		protected SparseToMCSRTask(SparseBlock a, SparseBlockMCSR c, int rl, int ru) {
+			super(rl, ru);
+			_a = a;
+			_c = c;
+		}
+		
+		@Override
+		public Long call() {
+			for( int i=_rl; i<_ru; i++ ) {
+				if( _a.isEmpty(i) ) continue;
+				int apos = _a.pos(i);
+				int alen = _a.size(i);
+				SparseRowVector row = new SparseRowVector(alen);
+				row.setSize(alen);
+				System.arraycopy(_a.indexes(i), apos, row.indexes(), 0, alen);
+				System.arraycopy(_a.values(i), apos, row.values(), 0, alen);
+				_c.set(i, row, false);
+			}
+			return null;
+		}
+	}
+	
+	private static class DenseCountTask extends ConvertTask
+	{
+		private final DenseBlock _a;
+		private final int[] _rptr;
+		
+		protected DenseCountTask(DenseBlock a, int[] rptr, int rl, int ru) {
+			super(rl, ru);
+			_a = a;
+			_rptr = rptr;
+		}
+		
+		@Override
+		public Long call() {
+			long lnnz = 0;
+			for( int i=_rl; i<_ru; i++ )
+				lnnz += (_rptr[i+1] = _a.countNonZeros(i));
+			return lnnz;
+		}
+	}
+	
+	private static class DenseToCSRTask extends ConvertTask
+	{
+		private final DenseBlock _a;
+		private final SparseBlockCSR _c;
+		private final int _clen;
+		
+		protected DenseToCSRTask(DenseBlock a, SparseBlockCSR c, int clen, int rl, int ru) {
+			super(rl, ru);
+			_a = a;
+			_c = c;
+			_clen = clen;
+		}
+		
+		@Override
+		public Long call() {
+			int[] cix = _c.indexes();
+			double[] cvals = _c.values();
+			for( int i=_rl; i<_ru; i++ ) {
+				double[] avals = _a.values(i);
+				int aix = _a.pos(i);
+				int pos = _c.pos(i);
+				for( int j=0; j<_clen; j++ ) {
+					double aval = avals[aix+j];
+					if( aval != 0 ) {
+						cix[pos] = j;
+						cvals[pos] = aval;
+						pos++;
+					}
+				}
+			}
+			return null;
+		}
+	}
+	
+	private static class DenseToMCSRTask extends ConvertTask
+	{
+		private final DenseBlock _a;
+		private final SparseBlockMCSR _c;
+		private final int _clen;
+		
+		protected DenseToMCSRTask(DenseBlock a, SparseBlockMCSR c, int clen, int rl, int ru) {
+			super(rl, ru);
+			_a = a;
+			_c = c;
+			_clen = clen;
+		}
+		
+		@Override
+		public Long call() {
+			for( int i=_rl; i<_ru; i++ ) {
+				double[] avals = _a.values(i);
+				int aix = _a.pos(i);
+				//compute nnz per row and allocate row of exact size
+				int lnnz = UtilFunctions.computeNnz(avals, aix, _clen);
+				if( lnnz <= 0 ) continue;
+				_c.allocate(i, lnnz);
+				for( int j=0; j<_clen; j++ )
+					_c.append(i, j, avals[aix+j]);
+			}
+			return null;
+		}
+	}
 }
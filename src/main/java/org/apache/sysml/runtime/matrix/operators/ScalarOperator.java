@@ -45,12 +45,17 @@ public abstract class ScalarOperator extends Operator
 
 	public final ValueFunction fn;
 	protected final double _constant;
+	private final int k; //num threads
 	
 	public ScalarOperator(ValueFunction p, double cst) {
 		this(p, cst, false);
 	}
 	
 	protected ScalarOperator(ValueFunction p, double cst, boolean altSparseSafe) {
+		this(p, cst, altSparseSafe, 1);
+	}
+	
+	protected ScalarOperator(ValueFunction p, double cst, boolean altSparseSafe, int numThreads) {
 		super( isSparseSafeStatic(p) || altSparseSafe
 				|| (p instanceof NotEquals && cst==0)
 				|| (p instanceof Equals && cst!=0)
@@ -59,14 +64,21 @@ public abstract class ScalarOperator extends Operator
 				|| (p instanceof Builtin && ((Builtin)p).getBuiltinCode()==BuiltinCode.MIN && cst>=0));
 		fn = p;
 		_constant = cst;
+		k = numThreads;
 	}
 	
 	public double getConstant() {
 		return _constant;
 	}
 	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	public abstract ScalarOperator setConstant(double cst);
 	
+	public abstract ScalarOperator setNumThreads(int k);
+	
 	/**
 	 * Apply the scalar operator over a given input value.
 	 * 
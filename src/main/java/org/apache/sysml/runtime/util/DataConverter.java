@@ -233,7 +233,7 @@ public class DataConverter
 				}
 			}
 			else {
-				double[] a = mb.getDenseBlockValues();
+				double[] a = mb.getDoubleArrayBacked().getDenseBlockValues();
 				for( int i=0, ix=0; i<rows; i++ )
 					for( int j=0; j<cols; j++, ix++ )
 						ret[i][j] = a[ix];
@@ -26,6 +26,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -44,9 +45,18 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		super(in);
 		if (size <= 0) 
 			throw new IllegalArgumentException("Buffer size <= 0");
-		_buff = new byte[ size ];
+		_buff = PageCache.obtainPage( size );
 		_bufflen = size;
 	}
+	
+	@Override
+	public void close() throws IOException {
+		super.close();
+		//return buffer to page cache (once)
+		if( _buff != null )
+			PageCache.releasePage(_buff);
+		_buff = null;
+	}
 
 	/////////////////////////////
 	// DataInput Implementation
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UTFDataFormatException;
 
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataOutput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -56,7 +57,7 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 			throw new IllegalArgumentException("Buffer size <= 0.");
 		if( size%8 != 0 )
 			throw new IllegalArgumentException("Buffer size not a multiple of 8.");
-		_buff = new byte[size];
+		_buff = PageCache.obtainPage(size);
 		_bufflen = size;
 	}
 
@@ -99,6 +100,10 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 	@Override
 	public void close() throws IOException {
 		super.close();
+		//return buffer to page cache (once)
+		if( _buff != null )
+			PageCache.releasePage(_buff);
+		_buff = null;
 	}
 
 	/////////////////////////////
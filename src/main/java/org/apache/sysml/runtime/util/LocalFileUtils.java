@@ -31,6 +31,8 @@ import java.io.InputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
@@ -45,6 +47,8 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockOffHeap;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -66,6 +70,11 @@ public class LocalFileUtils
 	public static final String CATEGORY_WORK         = "work";
 	public static final String CATEGORY_CODEGEN      = "codegen";
 	
+	//header of memory-mappable matrix block files, where the negative magic
+	//number distinguishes them from serialized blocks (starting with rlen>=0)
+	private static final int MAPPED_MAGIC = 0xDB5A7E01;
+	private static final int MAPPED_HEADER_SIZE = 64;
+	
 	static {
 		_seq = new IDSequence();
 	}
@@ -112,6 +121,37 @@ public class LocalFileUtils
 		return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
 	
+	/**
+	 * Reads a serialized matrix/frame block from local file system by memory-mapping
+	 * the file and deserializing directly from the mapped buffer, which avoids copying
+	 * the file content through intermediate heap buffers. Dense values are decoded in
+	 * bulk from the mapped region. Files that exceed the maximum size of a single 
+	 * mapping (2GB) are read via {@link #readCacheBlockFromLocal(String, boolean)}.
+	 * 
+	 * @param fname file name to read
+	 * @param matrix if true, read matrix. if false, read frame.
+	 * @return cache block (common interface to MatrixBlock and FrameBlock)
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readCacheBlockFromLocalMapped(String fname, boolean matrix) throws IOException {
+		CacheBlock ret = matrix ? new MatrixBlock() : new FrameBlock();
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			long len = channel.size();
+			if( len > Integer.MAX_VALUE )
+				return readCacheBlockFromLocal(fname, matrix);
+			//note: mapping remains valid after the channel is closed, and
+			//is released once the buffer is garbage collected
+			ByteBuffer buff = channel.map(MapMode.READ_ONLY, 0, len);
+			ret.readFields(new ByteBufferDataInput(buff));
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+		return ret;
+	}
+	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
 	 * with special support for matrix blocks.
@@ -219,6 +259,99 @@ public class LocalFileUtils
 		writeWritableToLocal(fname, cb);
 	}
 	
+	/**
+	 * Writes a dense matrix block to local file system as a memory-mappable
+	 * file, consisting of a fixed-size header and the row-major cell values
+	 * in native byte order. The values are copied into mapped file regions,
+	 * i.e., without serialization. Existing files are deleted before the
+	 * write, which keeps existing mappings of the old file valid.
+	 * 
+	 * @param fname file name to write
+	 * @param mb dense matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeMatrixBlockToMappedLocal(String fname, MatrixBlock mb) throws IOException {
+		if( mb.isInSparseFormat() || mb.getDenseBlock() == null )
+			throw new IOException("Mapped local write only supported for allocated dense blocks.");
+		Path path = Paths.get(fname);
+		Files.deleteIfExists(path);
+		
+		//write header (magic number, dimensions, nnz)
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, 
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+			ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE);
+			header.putInt(MAPPED_MAGIC).putInt(mb.getNumRows())
+				.putInt(mb.getNumColumns()).putLong(mb.getNonZeros());
+			header.clear();
+			channel.write(header, 0);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+		
+		//copy values into mapped file regions (and unmap them eagerly)
+		if( mb.getLength() > 0 ) {
+			DenseBlockOffHeap db = DenseBlockOffHeap.map(path.toFile(), MAPPED_HEADER_SIZE,
+				mb.getNumRows(), mb.getNumColumns(), MapMode.READ_WRITE);
+			db.set(mb.getDenseBlock());
+			db.release();
+		}
+	}
+	
+	/**
+	 * Reads a dense matrix block from a memory-mappable local file, written
+	 * via {@link #writeMatrixBlockToMappedLocal(String, MatrixBlock)}. The
+	 * returned block is backed by a private mapping of this file, i.e., the
+	 * values are faulted in on demand and updates are not propagated to the file.
+	 * 
+	 * @param fname file name to read
+	 * @return matrix block with off-heap dense block
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixBlockFromMappedLocal(String fname) throws IOException {
+		Path path = Paths.get(fname);
+		ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE);
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+			channel.read(header, 0);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+		if( header.getInt(0) != MAPPED_MAGIC )
+			throw new IOException("Invalid mapped matrix block file: "+fname);
+		int rlen = header.getInt(4);
+		int clen = header.getInt(8);
+		long nnz = header.getLong(12);
+		DenseBlock db = ((long)rlen*clen > 0) ? DenseBlockOffHeap.map(
+			path.toFile(), MAPPED_HEADER_SIZE, rlen, clen, MapMode.PRIVATE) : null;
+		return (db != null) ? new MatrixBlock(rlen, clen, nnz, db) :
+			new MatrixBlock(rlen, clen, false);
+	}
+	
+	/**
+	 * Indicates if the given local file is a memory-mappable matrix block file.
+	 * 
+	 * @param fname file name
+	 * @return true if mapped matrix block file
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isMappedMatrixBlock(String fname) throws IOException {
+		ByteBuffer magic = ByteBuffer.allocate(4);
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			return channel.read(magic, 0) == 4 
+				&& magic.getInt(0) == MAPPED_MAGIC;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
 	/**
 	 * Writes an arbitrary writable to local file system, using a fused buffered writer
 	 * with special support for matrix blocks.
@@ -244,6 +377,12 @@ public class LocalFileUtils
 
 	public static void writeByteArrayToLocal( String fname, byte[] data )
 		throws IOException
+	{
+		writeByteArrayToLocal(fname, data, data.length);
+	}
+	
+	public static void writeByteArrayToLocal( String fname, byte[] data, int len )
+		throws IOException
 	{	
 		//byte array write via java.nio file channel ~10-15% faster than java.io
 		FileChannel channel = null;
@@ -251,7 +390,7 @@ public class LocalFileUtils
 			Path path = Paths.get(fname);
 			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
 				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
-			channel.write(ByteBuffer.wrap(data));
+			channel.write(ByteBuffer.wrap(data, 0, len));
 		}
 		finally {
 			IOUtilFunctions.closeSilently(channel);
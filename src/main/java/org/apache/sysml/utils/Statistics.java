@@ -37,6 +37,7 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
@@ -974,6 +975,13 @@ public class Statistics
 
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			sb.append("Cache stripes (W, H, E, C):\t" + CacheStatistics.displayStripes() + ".\n");
+			sb.append("Cache policy (WB ratio, hinted):\t" + CacheStatistics.displayPolicy(
+				String.valueOf(LazyWriteBuffer.getEvictionPolicy())) + ".\n");
+			sb.append("Cache prefetch (H, M, W):\t" + CacheStatistics.displayPrefetch() + ".\n");
+			sb.append("Cache compress (C, H, ratio):\t" + CacheStatistics.displayCompression() + ".\n");
+			sb.append("Cache restore (WB, CWB, FS):\t" + CacheStatistics.displayRestoreLatency() + " msec.\n");
+			sb.append("Cache pages (R, LH, GH):\t" + CacheStatistics.displayPages() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
 			if (ConfigurationManager.isJMLCMemStatistics())
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.GreaterThan;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for multi-threaded cell-wise
+ * binary operations, comparing the results and number of non-zeros
+ * with the single-threaded operations over dense/sparse inputs.
+ */
+public class ElementwiseMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows1 = 1500;
+	private final static int cols1 = 1000;
+	private final static int rows2 = 4000;
+	private final static int cols2 = 3000;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testPlusDenseDense() {
+		runMatrixMatrixTest(Plus.getPlusFnObject(), rows1, cols1, sparsity1, sparsity1, false);
+	}
+
+	@Test
+	public void testPlusSparseDense() {
+		runMatrixMatrixTest(Plus.getPlusFnObject(), rows1, cols1, sparsity2, sparsity1, false);
+	}
+
+	@Test
+	public void testMultSparseSparse() {
+		runMatrixMatrixTest(Multiply.getMultiplyFnObject(), rows2, cols2, sparsity2, sparsity2, false);
+	}
+
+	@Test
+	public void testGreaterDenseDense() {
+		runMatrixMatrixTest(GreaterThan.getGreaterThanFnObject(), rows1, cols1, sparsity1, sparsity1, false);
+	}
+
+	@Test
+	public void testGreaterSparseSparse() {
+		runMatrixMatrixTest(GreaterThan.getGreaterThanFnObject(), rows1, cols1, sparsity2, sparsity2, false);
+	}
+
+	@Test
+	public void testMinusDenseRowVector() {
+		runMatrixMatrixTest(Minus.getMinusFnObject(), rows1, cols1, sparsity1, sparsity1, true);
+	}
+
+	@Test
+	public void testMultSparseRowVector() {
+		runMatrixMatrixTest(Multiply.getMultiplyFnObject(), rows2, cols2, sparsity2, sparsity1, true);
+	}
+
+	@Test
+	public void testPlusSparseColVector() {
+		runMatrixVectorTest(Plus.getPlusFnObject(), rows1, cols1, sparsity2);
+	}
+
+	@Test
+	public void testMultDenseColVector() {
+		runMatrixVectorTest(Multiply.getMultiplyFnObject(), rows1, cols1, sparsity1);
+	}
+
+	@Test
+	public void testScalarMultDense() {
+		runMatrixScalarTest(Multiply.getMultiplyFnObject(), rows1, cols1, sparsity1);
+	}
+
+	@Test
+	public void testScalarMultSparse() {
+		runMatrixScalarTest(Multiply.getMultiplyFnObject(), rows2, cols2, sparsity2);
+	}
+
+	@Test
+	public void testScalarPlusSparse() {
+		runMatrixScalarTest(Plus.getPlusFnObject(), rows1, cols1, sparsity2);
+	}
+
+	private void runMatrixMatrixTest(ValueFunction fn, int rows, int cols, double sp1, double sp2, boolean vector) {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, sp1, -1, 1, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(vector ? 1 : rows, cols, sp2, -1, 1, "uniform", 3);
+		runBinaryTest(fn, A, B);
+	}
+
+	private void runMatrixVectorTest(ValueFunction fn, int rows, int cols, double sp) {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(rows, 1, 1.0, -1, 1, "uniform", 3);
+		runBinaryTest(fn, A, B);
+	}
+
+	private void runBinaryTest(ValueFunction fn, MatrixBlock A, MatrixBlock B) {
+		MatrixBlock C1 = (MatrixBlock) A.binaryOperations(
+			new BinaryOperator(fn), B, new MatrixBlock());
+		MatrixBlock C2 = (MatrixBlock) A.binaryOperations(
+			new BinaryOperator(fn, k), B, new MatrixBlock());
+		compare(C1, C2);
+	}
+
+	private void runMatrixScalarTest(ValueFunction fn, int rows, int cols, double sp) {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", 7);
+		ScalarOperator op = new RightScalarOperator(fn, 3);
+		MatrixBlock C1 = (MatrixBlock) A.scalarOperations(op, new MatrixBlock());
+		MatrixBlock C2 = (MatrixBlock) A.scalarOperations(op.setNumThreads(k), new MatrixBlock());
+		compare(C1, C2);
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		Assert.assertEquals(expected.recomputeNonZeros(), actual.getNonZeros());
+		double[][] e = DataConverter.convertToDoubleMatrix(expected);
+		double[][] a = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(e, a, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for single-precision (FP32) dense
+ * blocks, comparing matrix multiplication and binary operations over FP32
+ * inputs with the double-precision results.
+ */
+public class SinglePrecisionMatrixTest extends AutomatedTestBase
+{
+	private final static int rows = 947;
+	private final static int cols = 151;
+	private final static double eps = 1e-3;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testMatrixMultSingleThreaded() {
+		runMatrixMultTest(1);
+	}
+
+	@Test
+	public void testMatrixMultMultiThreaded() {
+		runMatrixMultTest(4);
+	}
+
+	@Test
+	public void testMatrixMultRowVector() {
+		runMatrixMultTest(1, 1);
+	}
+
+	@Test
+	public void testBinaryMatrixMatrix() {
+		runBinaryTest(false);
+	}
+
+	@Test
+	public void testBinaryMatrixRowVector() {
+		runBinaryTest(true);
+	}
+
+	@Test
+	public void testBinaryMatrixScalar() {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		Assert.assertTrue(A32.isInSinglePrecision());
+
+		RightScalarOperator op = new RightScalarOperator(Multiply.getMultiplyFnObject(), 3);
+		MatrixBlock C = (MatrixBlock) A.scalarOperations(op, new MatrixBlock());
+		MatrixBlock C32 = (MatrixBlock) A32.scalarOperations(op, new MatrixBlock());
+		Assert.assertTrue(C32.isInSinglePrecision());
+		compare(C, C32);
+	}
+
+	@Test
+	public void testInMemorySize() {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		long size = A.getInMemorySize();
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		Assert.assertTrue(A32.getInMemorySize() < size/2 + 64);
+
+		//widened copies for FP32-unaware operations w/o modifying the input
+		MatrixBlock A64 = A32.getDoubleArrayBacked();
+		Assert.assertFalse(A64.isInSinglePrecision());
+		Assert.assertTrue(A32.isInSinglePrecision());
+		Assert.assertTrue(A32.getInMemorySize() < size/2 + 64);
+		compare(A, A64);
+		
+		//explicit widening
+		A32.toDoublePrecision();
+		Assert.assertFalse(A32.isInSinglePrecision());
+		Assert.assertEquals(size, A32.getInMemorySize());
+		compare(A, A32);
+	}
+
+	@Test
+	public void testDoubleArrayFallback() {
+		MatrixBlock A = MatrixBlock.randOperations(43, 211, 1.0, -1, 1, "uniform", 11);
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		
+		//double array access widens the block once in place (live view)
+		double[] a = A32.getDenseBlockValues();
+		Assert.assertFalse(A32.isInSinglePrecision());
+		Assert.assertNull(A32.getDenseBlockValuesFP32());
+		Assert.assertSame(a, A32.getDenseBlockValues());
+		Assert.assertEquals(A.getInMemorySize(), A32.getInMemorySize());
+		a[5*211+7] = 3.5;
+		Assert.assertEquals(3.5, A32.quickGetValue(5, 7), 0);
+		A32.quickSetValue(42, 210, -2.25);
+		Assert.assertEquals(-2.25, a[42*211+210], 0);
+		Assert.assertEquals(A.getNonZeros(), A32.recomputeNonZeros());
+	}
+
+	@Test
+	public void testRounding() {
+		//values that are not exactly representable in single precision
+		double[] vals = new double[]{0.1, 1d/3, 16777217, 1+Math.pow(2,-30), 1e-46, 1e39, -7.75};
+		MatrixBlock A = new MatrixBlock(1, vals.length, false);
+		for( int j=0; j<vals.length; j++ )
+			A.quickSetValue(0, j, vals[j]);
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		Assert.assertTrue(A32.isInSinglePrecision());
+		for( int j=0; j<vals.length; j++ )
+			Assert.assertEquals((double)(float)vals[j], A32.quickGetValue(0, j), 0);
+		//underflow to zero and overflow to infinity
+		Assert.assertEquals(0, A32.quickGetValue(0, 4), 0);
+		Assert.assertTrue(Double.isInfinite(A32.quickGetValue(0, 5)));
+		Assert.assertEquals(vals.length-1, A32.recomputeNonZeros());
+		
+		//rounding of updates, and exact widening of rounded values
+		A32.quickSetValue(0, 6, 0.2);
+		Assert.assertEquals((double)0.2f, A32.quickGetValue(0, 6), 0);
+		MatrixBlock A64 = A32.getDoubleArrayBacked();
+		Assert.assertEquals((double)0.2f, A64.quickGetValue(0, 6), 0);
+		Assert.assertEquals(16777216, A64.quickGetValue(0, 2), 0);
+	}
+
+	@Test
+	public void testMixedPrecisionMatrixMult() {
+		MatrixBlock A = MatrixBlock.randOperations(29, 301, 1.0, -1, 1, "uniform", 13);
+		MatrixBlock B = MatrixBlock.randOperations(301, 17, 0.7, -1, 1, "uniform", 5);
+		MatrixBlock C = A.aggregateBinaryOperations(A, B,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+		
+		//FP32 x FP64 and FP64 x FP32, w/o modifying the inputs
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		MatrixBlock B32 = new MatrixBlock(B).toSinglePrecision();
+		MatrixBlock C1 = A32.aggregateBinaryOperations(A32, B,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+		MatrixBlock C2 = A.aggregateBinaryOperations(A, B32,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(4));
+		Assert.assertFalse(C1.isInSinglePrecision());
+		Assert.assertFalse(C2.isInSinglePrecision());
+		Assert.assertTrue(A32.isInSinglePrecision());
+		Assert.assertTrue(B32.isInSinglePrecision());
+		compare(C, C1);
+		compare(C, C2);
+	}
+
+	@Test
+	public void testMixedPrecisionBinary() {
+		MatrixBlock A = MatrixBlock.randOperations(64, 5, 1.0, -1, 1, "uniform", 17);
+		MatrixBlock B = MatrixBlock.randOperations(64, 5, 1.0, -1, 1, "uniform", 19);
+		MatrixBlock v = MatrixBlock.randOperations(64, 1, 1.0, -1, 1, "uniform", 23);
+		BinaryOperator op = new BinaryOperator(Multiply.getMultiplyFnObject());
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		
+		//FP32 matrix with FP64 matrix (widened copy) and FP64 column vector
+		MatrixBlock C1 = (MatrixBlock) A32.binaryOperations(op, B, new MatrixBlock());
+		MatrixBlock C2 = (MatrixBlock) A32.binaryOperations(op, v, new MatrixBlock());
+		Assert.assertFalse(C1.isInSinglePrecision());
+		Assert.assertTrue(C2.isInSinglePrecision());
+		Assert.assertTrue(A32.isInSinglePrecision());
+		compare((MatrixBlock) A.binaryOperations(op, B, new MatrixBlock()), C1);
+		compare((MatrixBlock) A.binaryOperations(op, v, new MatrixBlock()), C2);
+	}
+
+	@Test
+	public void testEmptyInput() {
+		//dense input that becomes empty by underflow to zero
+		MatrixBlock A = new MatrixBlock(31, 7, false);
+		A.allocateDenseBlock();
+		A.getDenseBlock().set(1e-50);
+		A.setNonZeros(31*7);
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		Assert.assertTrue(A32.isInSinglePrecision());
+		Assert.assertEquals(0, A32.recomputeNonZeros());
+		
+		MatrixBlock B = MatrixBlock.randOperations(7, 3, 1.0, -1, 1, "uniform", 3);
+		MatrixBlock C = A32.aggregateBinaryOperations(A32, new MatrixBlock(B).toSinglePrecision(),
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+		Assert.assertEquals(0, C.getNonZeros());
+		Assert.assertEquals(0, C.recomputeNonZeros());
+	}
+
+	private void runMatrixMultTest(int k) {
+		runMatrixMultTest(rows, k);
+	}
+
+	private void runMatrixMultTest(int rows, int k) {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(cols, 53, 1.0, -1, 1, "uniform", 3);
+		MatrixBlock C = A.aggregateBinaryOperations(A, B,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(k));
+
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		MatrixBlock B32 = new MatrixBlock(B).toSinglePrecision();
+		MatrixBlock C32 = A32.aggregateBinaryOperations(A32, B32,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(k));
+		Assert.assertTrue(C32.isInSinglePrecision());
+		Assert.assertEquals(C.getNonZeros(), C32.getNonZeros());
+		compare(C, C32);
+	}
+
+	private void runBinaryTest(boolean vector) {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(vector ? 1 : rows, cols, 1.0, -1, 1, "uniform", 3);
+		BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject());
+		MatrixBlock C = (MatrixBlock) A.binaryOperations(op, B, new MatrixBlock());
+
+		MatrixBlock A32 = new MatrixBlock(A).toSinglePrecision();
+		MatrixBlock B32 = new MatrixBlock(B).toSinglePrecision();
+		MatrixBlock C32 = (MatrixBlock) A32.binaryOperations(op, B32, new MatrixBlock());
+		Assert.assertTrue(C32.isInSinglePrecision());
+		compare(C, C32);
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		double[][] e = DataConverter.convertToDoubleMatrix(expected);
+		double[][] a = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(e, a, expected.getNumRows(), expected.getNumColumns(), eps);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for sparse-sparse matrix multiplication
+ * with sparse outputs (row-wise sparse accumulators), comparing the single- and 
+ * multi-threaded results with a dense matrix multiplication.
+ */
+public class SparseMatrixMultiplicationTest extends AutomatedTestBase
+{
+	private final static int rows = 2100;
+	private final static int cols1 = 1500;
+	private final static int cols2 = 1800;
+	private final static double sparsity1 = 0.01;
+	private final static double sparsity2 = 0.001;
+	private final static double eps = 1e-10;
+	private final static int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSparseSparse() {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols1, sparsity1, -1, 1, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(cols1, cols2, sparsity1, -1, 1, "uniform", 3);
+		runMatrixMultTest(A, B);
+	}
+
+	@Test
+	public void testUltraSparseSelf() {
+		MatrixBlock G = MatrixBlock.randOperations(rows, rows, sparsity2, 1, 1, "uniform", 7);
+		runMatrixMultTest(G, G);
+	}
+
+	@Test
+	public void testOneHotTransposeSelf() {
+		//one-hot encoded features w/ skewed categories
+		MatrixBlock X = new MatrixBlock(rows*4, cols1, true);
+		for( int i=0; i<rows*4; i++ ) {
+			X.quickSetValue(i, (i*i) % cols1, 1);
+			X.quickSetValue(i, (i % 7) * 3, 1);
+		}
+		MatrixBlock Xt = LibMatrixReorg.transpose(X, new MatrixBlock(cols1, rows*4, true));
+		runMatrixMultTest(Xt, X);
+	}
+
+	private static void runMatrixMultTest(MatrixBlock A, MatrixBlock B) {
+		Assert.assertTrue(LibMatrixMult.isSparseGustavsonMatrixMult(A, B));
+		
+		//dense reference result
+		MatrixBlock Ad = new MatrixBlock(A);
+		MatrixBlock Bd = new MatrixBlock(B);
+		Ad.sparseToDense();
+		Bd.sparseToDense();
+		MatrixBlock C0 = new MatrixBlock();
+		LibMatrixMult.matrixMult(Ad, Bd, C0);
+		
+		//single- and multi-threaded sparse-sparse
+		MatrixBlock C1 = new MatrixBlock();
+		LibMatrixMult.matrixMult(A, B, C1);
+		MatrixBlock C2 = new MatrixBlock();
+		LibMatrixMult.matrixMult(A, B, C2, k);
+		
+		Assert.assertEquals(C1.recomputeNonZeros(), C1.getNonZeros());
+		Assert.assertEquals(C1.getNonZeros(), C2.getNonZeros());
+		double[][] c0 = DataConverter.convertToDoubleMatrix(C0);
+		double[][] c1 = DataConverter.convertToDoubleMatrix(C1);
+		double[][] c2 = DataConverter.convertToDoubleMatrix(C2);
+		TestUtils.compareMatrices(c0, c1, c0.length, c0[0].length, eps);
+		TestUtils.compareMatrices(c1, c2, c1.length, c1[0].length, 0);
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics.Tier;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a buffer pool component test for the compressed in-memory tier,
+ * covering the compression of dense and sparse buffers, restores from
+ * compressed buffers, and the eviction of compressed and incompressible
+ * entries to local file system.
+ */
+public class CachingCompressedTierTest extends AutomatedTestBase
+{
+	private final static int rows = 1071;
+	private final static int cols = 37;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompressedBufferDense() {
+		runCompressedBufferTest(1.0);
+	}
+
+	@Test
+	public void testCompressedBufferSparse() {
+		runCompressedBufferTest(0.1);
+	}
+
+	@Test
+	public void testCachingConfigDefaults() {
+		//all buffer pool extensions are opt-in (baseline behavior by default)
+		DMLConfig conf = new DMLConfig();
+		Assert.assertEquals("fifo", conf.getTextValue(DMLConfig.CACHING_EVICTION_POLICY));
+		String[] flags = new String[]{DMLConfig.CACHING_BUFFER_COMPRESS, DMLConfig.CACHING_PREFETCH,
+			DMLConfig.CACHING_ASYNC_EVICTION, DMLConfig.CACHING_MAPPED_RESTORE,
+			DMLConfig.CACHING_BUFFER_OFFHEAP, DMLConfig.CACHING_BUFFER_PAGECACHE};
+		for( String flag : flags )
+			Assert.assertFalse(flag, conf.getBooleanValue(flag));
+	}
+
+	@Test
+	public void testCompressedTierEviction() {
+		boolean oldCompress = CacheableData.CACHING_BUFFER_COMPRESS;
+		boolean oldStats = ConfigurationManager.isStatistics();
+		try {
+			CacheableData.CACHING_BUFFER_COMPRESS = true;
+			ConfigurationManager.setStatistics(true);
+			CacheStatistics.reset();
+			CacheableData.initCaching("tmp_compressed_tier_test");
+			String dir = CacheableData.cacheEvictionLocalFilePath;
+
+			//write compressible and incompressible blocks
+			MatrixBlock[] blocks = new MatrixBlock[4];
+			for( int i=0; i<blocks.length; i++ ) {
+				blocks[i] = (i < 3) ? createLowEntropyBlock(1.0, i) :
+					MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", i);
+				LazyWriteBuffer.writeBlock(dir+"/b"+i, blocks[i]);
+			}
+
+			//evict all entries, where compressible entries are
+			//first compressed in memory and later written to FS
+			LazyWriteBuffer.forceEviction();
+			Assert.assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+			Assert.assertEquals(3, CacheStatistics.getCompressedWrites());
+			Assert.assertTrue(CacheStatistics.getCompressionRatio() >= LazyWriteBuffer.COMPRESSION_MIN_RATIO);
+			Assert.assertEquals(blocks.length, CacheStatistics.getFSWrites());
+			for( int i=0; i<blocks.length; i++ )
+				compare(blocks[i], (MatrixBlock)LazyWriteBuffer.readBlock(dir+"/b"+i, true));
+			Assert.assertEquals(blocks.length, CacheStatistics.getRestores(Tier.FS));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_BUFFER_COMPRESS = oldCompress;
+			ConfigurationManager.setStatistics(oldStats);
+		}
+	}
+
+	private void runCompressedBufferTest(double sparsity)
+	{
+		try
+		{
+			CacheableData.initCaching("tmp_compressed_tier_test");
+			MatrixBlock mb = createLowEntropyBlock(sparsity, 7);
+			long size = LazyWriteBuffer.getCacheBlockSize(mb);
+			ByteBuffer bbuff = new ByteBuffer(size);
+			bbuff.serializeBlock(mb);
+
+			//compress buffer and restore from compressed buffer
+			byte[] cdata = bbuff.compressBuffer(LazyWriteBuffer.COMPRESSION_MIN_RATIO);
+			Assert.assertNotNull(cdata);
+			Assert.assertEquals(size - cdata.length, bbuff.setCompressedBuffer(cdata));
+			Assert.assertTrue(bbuff.isCompressedBuffer());
+			Assert.assertEquals(cdata.length, bbuff.getSize());
+			Assert.assertNull(bbuff.compressBuffer(LazyWriteBuffer.COMPRESSION_MIN_RATIO));
+			compare(mb, (MatrixBlock)bbuff.deserializeBlock());
+
+			//evict compressed buffer and read uncompressed file
+			String fname = CacheableData.cacheEvictionLocalFilePath + "/b0";
+			bbuff.evictBuffer(fname);
+			compare(mb, (MatrixBlock)LocalFileUtils.readCacheBlockFromLocal(fname, true));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+		}
+	}
+
+	private static MatrixBlock createLowEntropyBlock(double sparsity, long seed) {
+		//few distinct values (rounded) in dense or sparse representation
+		double[][] A = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 3, sparsity, seed));
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(A);
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		double[][] e = DataConverter.convertToDoubleMatrix(expected);
+		double[][] a = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(e, a, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
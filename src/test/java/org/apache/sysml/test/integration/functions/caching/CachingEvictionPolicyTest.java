@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheEvictionPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.CostAwareEvictionPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a buffer pool component test for the eviction policies, covering
+ * the scoring of the cost-aware policy (recency, size, and read hints), and
+ * the victim selection of the write buffer under forced eviction.
+ */
+public class CachingEvictionPolicyTest extends AutomatedTestBase
+{
+	private final static int rows = 1071;
+	private final static int cols = 37;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCostAwareScoring() {
+		try {
+			CacheableData.initCaching("tmp_eviction_policy_test");
+			CacheEvictionPolicy policy = new CostAwareEvictionPolicy();
+
+			//older and larger entries are evicted first
+			ByteBuffer b1 = createBuffer(1024*1024, 10);
+			ByteBuffer b2 = createBuffer(1024*1024, 90);
+			ByteBuffer b3 = createBuffer(1024, 10);
+			Assert.assertTrue(policy.getEvictionScore("b1", b1, 100)
+				> policy.getEvictionScore("b2", b2, 100));
+			Assert.assertTrue(policy.getEvictionScore("b1", b1, 100)
+				> policy.getEvictionScore("b3", b3, 100));
+
+			//entries with upcoming reads are evicted last
+			LazyWriteBuffer.addReadHint("b1");
+			LazyWriteBuffer.addReadHint("b1");
+			LazyWriteBuffer.removeReadHint("b1");
+			Assert.assertTrue(LazyWriteBuffer.hasReadHint("b1"));
+			Assert.assertTrue(policy.getEvictionScore("b1", b1, 100)
+				< policy.getEvictionScore("b2", b2, 100));
+			LazyWriteBuffer.removeReadHint("b1");
+			Assert.assertFalse(LazyWriteBuffer.hasReadHint("b1"));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+		}
+	}
+
+	@Test
+	public void testQueueOrderScoring() {
+		CacheEvictionPolicy fifo = CacheEvictionPolicy.create(RPolicy.FIFO);
+		CacheEvictionPolicy lru = CacheEvictionPolicy.create(RPolicy.LRU);
+		Assert.assertTrue(fifo.isQueueOrder() && !fifo.isAccessOrder());
+		Assert.assertTrue(lru.isQueueOrder() && lru.isAccessOrder());
+		Assert.assertTrue(fifo.getEvictionScore("b1", createBuffer(1024, 10), 100)
+			> fifo.getEvictionScore("b2", createBuffer(1024*1024, 90), 100));
+	}
+
+	@Test
+	public void testCostAwareEvictionHintedInput() {
+		RPolicy oldPolicy = CacheableData.CACHING_BUFFER_POLICY;
+		boolean oldStats = ConfigurationManager.isStatistics();
+		try {
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.COST;
+			ConfigurationManager.setStatistics(true);
+			CacheStatistics.reset();
+			CacheableData.initCaching("tmp_eviction_policy_test");
+			Assert.assertTrue(LazyWriteBuffer.isReadHintsEnabled());
+			String dir = CacheableData.cacheEvictionLocalFilePath;
+
+			//write hinted input and unhinted intermediates
+			MatrixBlock[] blocks = new MatrixBlock[4];
+			for( int i=0; i<blocks.length; i++ ) {
+				blocks[i] = MatrixBlock.randOperations(rows, cols, 0.1, -1, 1, "uniform", i);
+				LazyWriteBuffer.writeBlock(dir+"/b"+i, blocks[i]);
+			}
+			LazyWriteBuffer.addReadHint(dir+"/b0");
+
+			//evict all entries, where the hinted entry is evicted last
+			LazyWriteBuffer.forceEviction();
+			Assert.assertEquals(1, CacheStatistics.getHintedEvictions());
+			Assert.assertEquals(blocks.length, CacheStatistics.getFSWrites());
+			for( int i=0; i<blocks.length; i++ ) {
+				MatrixBlock tmp = (MatrixBlock)LazyWriteBuffer.readBlock(dir+"/b"+i, true);
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(blocks[i]),
+					DataConverter.convertToDoubleMatrix(tmp), rows, cols, 0);
+			}
+			Assert.assertEquals(0, CacheStatistics.getBufferHitRatio(), 0);
+			LazyWriteBuffer.removeReadHint(dir+"/b0");
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_BUFFER_POLICY = oldPolicy;
+			ConfigurationManager.setStatistics(oldStats);
+		}
+	}
+
+	private static ByteBuffer createBuffer(long size, long seq) {
+		ByteBuffer ret = new ByteBuffer(size);
+		ret.setSequence(seq);
+		return ret;
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseBlockOffHeap;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for off-heap dense blocks,
+ * covering the conversion to direct buffers, serialization, the
+ * mapped local write and restore, restores of serialized blocks from
+ * mapped files, mapped eviction of buffer entries, and matrix multiplication.
+ */
+public class CachingOffHeapTest extends AutomatedTestBase
+{
+	private final static int rows = 1277;
+	private final static int cols = 173;
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOffHeapConversion() {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 7);
+		MatrixBlock B = new MatrixBlock(A).toOffHeap();
+		Assert.assertTrue(B.isInOffHeap());
+		Assert.assertEquals(A.getNonZeros(), B.recomputeNonZeros());
+		Assert.assertTrue(B.getInMemorySize() < 1024);
+		Assert.assertEquals(8L * rows * cols, B.getOffHeapSize());
+		Assert.assertEquals(0, A.getOffHeapSize());
+		Assert.assertEquals(A.quickGetValue(7, 3), B.quickGetValue(7, 3), 0);
+
+		//on-heap copies for off-heap-unaware operations w/o modifying the input
+		MatrixBlock C = B.getDoubleArrayBacked();
+		Assert.assertFalse(C.isInOffHeap());
+		Assert.assertTrue(B.isInOffHeap());
+		compare(A, C);
+		
+		//double array access widens the block once in place (live view)
+		double[] b = B.getDenseBlockValues();
+		Assert.assertFalse(B.isInOffHeap());
+		Assert.assertSame(b, B.getDenseBlockValues());
+		Assert.assertEquals(8L * rows * cols, B.getOffHeapSize());
+		b[3] = 7;
+		Assert.assertEquals(7, B.quickGetValue(0, 3), 0);
+		B.quickSetValue(rows-1, cols-1, -3);
+		Assert.assertEquals(-3, b[rows*cols-1], 0);
+		
+		//release of retained off-heap buffers keeps the widened values
+		((DenseBlockOffHeap)B.getDenseBlock()).release();
+		Assert.assertEquals(0, B.getOffHeapSize());
+		Assert.assertEquals(7, B.quickGetValue(0, 3), 0);
+	}
+
+	@Test
+	public void testOffHeapSerialization() throws Exception {
+		runOffHeapSerializationTest(MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 7));
+	}
+
+	@Test
+	public void testOffHeapSerializationRowVector() throws Exception {
+		runOffHeapSerializationTest(MatrixBlock.randOperations(1, cols, 1.0, -1, 1, "uniform", 11));
+	}
+
+	@Test
+	public void testOffHeapSerializationEmpty() throws Exception {
+		//allocated dense block of zeros
+		MatrixBlock B = new MatrixBlock(rows, cols, false);
+		B.allocateDenseBlock();
+		B.toOffHeap();
+		Assert.assertTrue(B.isInOffHeap());
+		Assert.assertEquals(0, B.recomputeNonZeros());
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		B.write(new DataOutputStream(bos));
+
+		MatrixBlock C = new MatrixBlock();
+		C.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		Assert.assertEquals(rows, C.getNumRows());
+		Assert.assertEquals(cols, C.getNumColumns());
+		Assert.assertTrue(C.isEmptyBlock(false));
+	}
+
+	@Test
+	public void testOffHeapConversionUnallocated() {
+		//unallocated and sparse blocks remain unchanged
+		MatrixBlock A = new MatrixBlock(rows, cols, false);
+		Assert.assertFalse(A.toOffHeap().isInOffHeap());
+		MatrixBlock B = MatrixBlock.randOperations(rows, cols, 0.01, -1, 1, "uniform", 7);
+		Assert.assertTrue(B.isInSparseFormat());
+		Assert.assertFalse(B.toOffHeap().isInOffHeap());
+	}
+
+	@Test
+	public void testMappedWriteRead() throws Exception {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 7);
+		File tmp = File.createTempFile("offheap", ".dat");
+		try {
+			String fname = tmp.getAbsolutePath();
+			LocalFileUtils.writeMatrixBlockToMappedLocal(fname, A);
+			Assert.assertTrue(LocalFileUtils.isMappedMatrixBlock(fname));
+
+			MatrixBlock B = LocalFileUtils.readMatrixBlockFromMappedLocal(fname);
+			Assert.assertTrue(B.isInOffHeap());
+			Assert.assertEquals(A.getNonZeros(), B.getNonZeros());
+
+			//private mapping: updates not propagated to file
+			B.quickSetValue(3, 3, 7);
+			MatrixBlock C = LocalFileUtils.readMatrixBlockFromMappedLocal(fname);
+			Assert.assertEquals(A.quickGetValue(3, 3), C.quickGetValue(3, 3), 0);
+
+			//rewrite of mapped block into its own file
+			LocalFileUtils.writeMatrixBlockToMappedLocal(fname, C);
+			MatrixBlock D = LocalFileUtils.readMatrixBlockFromMappedLocal(fname);
+			compare(A, D);
+			
+			//explicit unmap before deleting the file
+			for( MatrixBlock mb : new MatrixBlock[]{B, C, D} )
+				((DenseBlockOffHeap)mb.getDenseBlock()).release();
+			Assert.assertEquals(0, D.getOffHeapSize());
+			Assert.assertTrue(tmp.delete());
+		}
+		finally {
+			tmp.delete();
+		}
+	}
+
+	@Test
+	public void testMappedRestoreDense() throws Exception {
+		runMappedRestoreTest(0.9);
+	}
+
+	@Test
+	public void testMappedRestoreSparse() throws Exception {
+		runMappedRestoreTest(0.05);
+	}
+
+	@Test
+	public void testMappedEvictionBuffer() {
+		boolean oldOffHeap = CacheableData.CACHING_BUFFER_OFFHEAP;
+		try {
+			CacheableData.CACHING_BUFFER_OFFHEAP = true;
+			CacheableData.initCaching("tmp_offheap_test");
+			String fname = CacheableData.cacheEvictionLocalFilePath + "/b0";
+
+			//dense buffer entry evicted as mappable file and restored by remapping
+			MatrixBlock A = MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 7);
+			LazyWriteBuffer.writeBlock(fname, A);
+			LazyWriteBuffer.forceEviction();
+			Assert.assertTrue(LocalFileUtils.isMappedMatrixBlock(fname));
+			MatrixBlock B = (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+			Assert.assertTrue(B.isInOffHeap());
+			compare(A, B);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_BUFFER_OFFHEAP = oldOffHeap;
+		}
+	}
+
+	@Test
+	public void testOffHeapMatrixMult() {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(cols, 53, 1.0, -1, 1, "uniform", 3);
+		MatrixBlock C = A.aggregateBinaryOperations(A, B,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(4));
+		MatrixBlock A2 = new MatrixBlock(A).toOffHeap();
+		MatrixBlock C2 = A2.aggregateBinaryOperations(A2, B,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(4));
+		compare(C, C2);
+	}
+
+	private void runOffHeapSerializationTest(MatrixBlock A) throws Exception {
+		MatrixBlock B = new MatrixBlock(A).toOffHeap();
+		Assert.assertTrue(B.isInOffHeap());
+		Assert.assertEquals(A.getNonZeros(), B.recomputeNonZeros());
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		B.write(new DataOutputStream(bos));
+		Assert.assertTrue(B.isInOffHeap());
+
+		MatrixBlock C = new MatrixBlock();
+		C.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		compare(A, C);
+	}
+
+	private void runMappedRestoreTest(double sparsity) throws Exception {
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		File tmp = File.createTempFile("offheap", ".dat");
+		try {
+			String fname = tmp.getAbsolutePath();
+			LocalFileUtils.writeMatrixBlockToLocal(fname, A);
+			Assert.assertFalse(LocalFileUtils.isMappedMatrixBlock(fname));
+
+			//deserialize from mapped file into heap block
+			MatrixBlock B = (MatrixBlock)LocalFileUtils.readCacheBlockFromLocalMapped(fname, true);
+			Assert.assertFalse(B.isInOffHeap());
+			Assert.assertEquals(A.isInSparseFormat(), B.isInSparseFormat());
+			Assert.assertEquals(A.getNonZeros(), B.getNonZeros());
+			compare(A, B);
+		}
+		finally {
+			tmp.delete();
+		}
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		double[][] e = DataConverter.convertToDoubleMatrix(expected);
+		double[][] a = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(e, a, expected.getNumRows(), expected.getNumColumns(), eps);
+	}
+}
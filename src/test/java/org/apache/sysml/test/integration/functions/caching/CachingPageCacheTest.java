@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a buffer pool component test for the size-class page cache,
+ * covering the rounding to size classes, reuse via thread-local and shared
+ * pages, the bounded pool size, and concurrent use by the write buffer.
+ */
+public class CachingPageCacheTest extends AutomatedTestBase
+{
+	private final static int rows = 1071;
+	private final static int cols = 37;
+	private final static int threads = 8;
+	private final static int blocks = 16;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSizeClasses() {
+		Assert.assertEquals(-1, PageCache.getSizeClass(0));
+		Assert.assertEquals(PageCache.MIN_CLASS, PageCache.getSizeClass(1));
+		Assert.assertEquals(PageCache.MIN_CLASS, PageCache.getSizeClass(4096));
+		Assert.assertEquals(13, PageCache.getSizeClass(4097));
+		Assert.assertEquals(PageCache.MAX_CLASS, PageCache.getSizeClass(1 << PageCache.MAX_CLASS));
+		Assert.assertEquals(-1, PageCache.getSizeClass((1 << PageCache.MAX_CLASS) + 1));
+		Assert.assertEquals(1 << 17, PageCache.getPage(100 * 1024 + 3).length);
+		Assert.assertEquals(1 << 17, PageCache.getPageSize(100 * 1024 + 3));
+		
+		//large pages are exact-size allocations (no rounding)
+		int large = (1 << PageCache.MAX_CLASS) + 7;
+		Assert.assertEquals(large, PageCache.getPageSize(large));
+	}
+
+	@Test
+	public void testPageReuse() {
+		boolean oldStats = ConfigurationManager.isStatistics();
+		try {
+			ConfigurationManager.setStatistics(true);
+			CacheStatistics.reset();
+			PageCache.clear();
+
+			//first returned page kept thread-local, second in shared pool
+			byte[] p1 = PageCache.getPage(70 * 1024);
+			byte[] p2 = PageCache.getPage(70 * 1024);
+			Assert.assertTrue(p1 != p2);
+			PageCache.putPage(p1);
+			PageCache.putPage(p2);
+			Assert.assertEquals(p2.length, PageCache.getPoolSize());
+			Assert.assertTrue(p1 == PageCache.getPage(65 * 1024));
+			Assert.assertTrue(p2 == PageCache.getPage(128 * 1024));
+			Assert.assertEquals(0, PageCache.getPoolSize());
+
+			//pages of non-class size are not pooled
+			PageCache.putPage(new byte[5000]);
+			Assert.assertEquals(0, PageCache.getPoolSize());
+			Assert.assertEquals(4, CacheStatistics.getPageRequests());
+			Assert.assertEquals(1, CacheStatistics.getPageHits(true));
+			Assert.assertEquals(1, CacheStatistics.getPageHits(false));
+		}
+		finally {
+			PageCache.clear();
+			ConfigurationManager.setStatistics(oldStats);
+		}
+	}
+
+	@Test
+	public void testBoundedPoolSize() {
+		try {
+			PageCache.clear();
+			int size = 1 << 22; //4MB (beyond thread-local pages)
+			int num = (int)(PageCache.getPoolLimit() / size) + 4;
+			for( int i=0; i<num; i++ )
+				PageCache.putPage(new byte[size]);
+			Assert.assertTrue(PageCache.getPoolSize() <= PageCache.getPoolLimit());
+			Assert.assertTrue(PageCache.getPoolSize() >= PageCache.getPoolLimit() - size);
+		}
+		finally {
+			PageCache.clear();
+			Assert.assertEquals(0, PageCache.getPoolSize());
+		}
+	}
+
+	@Test
+	public void testPageCacheWriteBufferConcurrent() {
+		boolean oldCompress = CacheableData.CACHING_BUFFER_COMPRESS;
+		boolean oldPageCache = CacheableData.CACHING_BUFFER_PAGECACHE;
+		boolean oldStats = ConfigurationManager.isStatistics();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try
+		{
+			CacheableData.CACHING_BUFFER_COMPRESS = true;
+			CacheableData.CACHING_BUFFER_PAGECACHE = true;
+			ConfigurationManager.setStatistics(true);
+			CacheStatistics.reset();
+			CacheableData.initCaching("tmp_page_cache_test");
+			String dir = CacheableData.cacheEvictionLocalFilePath;
+
+			//concurrent writes, reads, and deletes of sparse blocks
+			//(serialized into pooled pages) by independent workers
+			List<Future<MatrixBlock[]>> rtasks = new ArrayList<>();
+			for( int k=0; k<threads; k++ ) {
+				final int tk = k;
+				rtasks.add(pool.submit(new Callable<MatrixBlock[]>() {
+					@Override
+					public MatrixBlock[] call() throws Exception {
+						MatrixBlock[] ret = new MatrixBlock[blocks];
+						for( int i=0; i<blocks; i++ ) {
+							ret[i] = MatrixBlock.randOperations(rows, cols, 0.1, -1, 1, "uniform", tk*blocks+i);
+							LazyWriteBuffer.writeBlock(dir+"/b"+tk+"_"+i, ret[i]);
+						}
+						for( int i=0; i<blocks; i+=2 )
+							LazyWriteBuffer.deleteBlock(dir+"/b"+tk+"_"+i);
+						return ret;
+					}
+				}));
+			}
+			List<MatrixBlock[]> inputs = new ArrayList<>();
+			for( Future<MatrixBlock[]> rtask : rtasks )
+				inputs.add(rtask.get());
+			Assert.assertTrue(CacheStatistics.getPageRequests() >= threads * blocks);
+
+			//forced eviction (compressed tier and local FS) and read
+			//of remaining blocks with reused pages
+			LazyWriteBuffer.forceEviction();
+			for( int k=0; k<threads; k++ )
+				for( int i=1; i<blocks; i+=2 ) {
+					String fname = dir+"/b"+k+"_"+i;
+					MatrixBlock mb = (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(inputs.get(k)[i]),
+						DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+					LazyWriteBuffer.deleteBlock(fname);
+				}
+			Assert.assertTrue(CacheStatistics.getPageHits(true) + CacheStatistics.getPageHits(false) > 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_BUFFER_COMPRESS = oldCompress;
+			CacheableData.CACHING_BUFFER_PAGECACHE = oldPageCache;
+			ConfigurationManager.setStatistics(oldStats);
+		}
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a buffer pool component test for the prefetch of data objects,
+ * covering the hand-over of prefetched blobs on acquire read, discarded
+ * prefetches of cleared or modified objects, and the prefetch statistics.
+ */
+public class CachingPrefetchTest extends AutomatedTestBase
+{
+	private final static int rows = 1071;
+	private final static int cols = 37;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testPrefetchHit() {
+		runPrefetchTest(false);
+	}
+
+	@Test
+	public void testPrefetchWasted() {
+		runPrefetchTest(true);
+	}
+
+	@Test
+	public void testPrefetchDiscardedOnModify() {
+		boolean oldPrefetch = CacheableData.CACHING_PREFETCH;
+		boolean oldStats = ConfigurationManager.isStatistics();
+		try
+		{
+			CacheableData.CACHING_PREFETCH = true;
+			ConfigurationManager.setStatistics(true);
+			CacheStatistics.reset();
+			CacheableData.initCaching("tmp_prefetch_test");
+			
+			//evict initial data (w/o cleanup, i.e., reused eviction file)
+			String fname = CacheableData.cacheEvictionLocalFilePath + "/prefetch_mod";
+			MatrixBlock mb1 = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+			MatrixBlock mb2 = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 3);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, mb1.getNonZeros());
+			EvictableMatrixObject mo = new EvictableMatrixObject(fname, mc);
+			mo.enableCleanup(false);
+			mo.acquireModify(mb1);
+			mo.release();
+			mo.evictCache();
+			
+			//prefetch, modify, evict, and read
+			Assert.assertTrue(mo.prefetch());
+			mo.acquireModify(mb2);
+			mo.release();
+			mo.evictCache();
+			compare(mb2, mo.acquireRead());
+			mo.release();
+			Assert.assertEquals(1, CacheStatistics.getPrefetchWasted());
+			Assert.assertEquals(0, CacheStatistics.getPrefetchHits());
+			Assert.assertEquals(0, CachePrefetcher.getPrefetchSize());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_PREFETCH = oldPrefetch;
+			ConfigurationManager.setStatistics(oldStats);
+		}
+	}
+
+	private void runPrefetchTest(boolean clear)
+	{
+		boolean oldPrefetch = CacheableData.CACHING_PREFETCH;
+		boolean oldStats = ConfigurationManager.isStatistics();
+		try
+		{
+			CacheableData.CACHING_PREFETCH = true;
+			ConfigurationManager.setStatistics(true);
+			CacheStatistics.reset();
+			CacheableData.initCaching("tmp_prefetch_test");
+			Assert.assertTrue(CachePrefetcher.isActive());
+
+			//write input to file system
+			String fname = CacheableData.cacheEvictionLocalFilePath + "/prefetch_in";
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 0.7, -1, 1, "uniform", 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.BinaryBlockOutputInfo, mc);
+
+			//prefetch and acquire read (or clear) of input
+			MatrixObject mo = createMatrixObject(fname, mc);
+			Assert.assertTrue(mo.prefetch());
+			Assert.assertFalse(mo.prefetch());
+			if( clear ) {
+				mo.clearData();
+				Assert.assertEquals(1, CacheStatistics.getPrefetchWasted());
+				Assert.assertEquals(0, CacheStatistics.getPrefetchHits());
+			}
+			else {
+				compare(mb, mo.acquireRead());
+				mo.release();
+				Assert.assertEquals(1, CacheStatistics.getPrefetchHits());
+				Assert.assertEquals(0, CacheStatistics.getPrefetchMisses());
+				Assert.assertEquals(0, CacheStatistics.getPrefetchWasted());
+			}
+			Assert.assertEquals(0, CachePrefetcher.getPrefetchSize());
+
+			//synchronous read without prefetch
+			MatrixObject mo2 = createMatrixObject(fname, mc);
+			compare(mb, mo2.acquireRead());
+			mo2.release();
+			Assert.assertEquals(1, CacheStatistics.getPrefetchMisses());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_PREFETCH = oldPrefetch;
+			ConfigurationManager.setStatistics(oldStats);
+		}
+	}
+
+	private static MatrixObject createMatrixObject(String fname, MatrixCharacteristics mc) {
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, fname, new MetaDataFormat(
+			new MatrixCharacteristics(mc), OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.setHDFSFileExists(true);
+		return mo;
+	}
+
+	/**
+	 * Matrix object that allows to drop its soft reference cache,
+	 * which emulates the garbage collection of evicted blobs.
+	 */
+	private static class EvictableMatrixObject extends MatrixObject {
+		private static final long serialVersionUID = -3125863707312571470L;
+
+		public EvictableMatrixObject(String fname, MatrixCharacteristics mc) {
+			super(ValueType.DOUBLE, fname, new MetaDataFormat(new MatrixCharacteristics(mc),
+				OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		}
+		
+		public void evictCache() {
+			clearCache();
+		}
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		double[][] e = DataConverter.convertToDoubleMatrix(expected);
+		double[][] a = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(e, a, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a buffer pool component test for the lock-striped write buffer,
+ * covering concurrent writes, reads, and deletes, forced eviction of
+ * remaining entries, and the per-stripe statistics.
+ */
+public class CachingStripedBufferPoolTest extends AutomatedTestBase
+{
+	private final static int rows = 1071;
+	private final static int cols = 37;
+	private final static int threads = 8;
+	private final static int blocks = 16;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testStripedBufferPoolAsync() {
+		runStripedBufferPoolTest(true);
+	}
+
+	@Test
+	public void testStripedBufferPoolSync() {
+		runStripedBufferPoolTest(false);
+	}
+
+	private void runStripedBufferPoolTest(boolean async)
+	{
+		boolean oldAsync = CacheableData.CACHING_ASYNC_EVICTION;
+		boolean oldStats = ConfigurationManager.isStatistics();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try
+		{
+			CacheableData.CACHING_ASYNC_EVICTION = async;
+			ConfigurationManager.setStatistics(true);
+			CacheStatistics.reset();
+			CacheableData.initCaching("tmp_striped_buffer_pool_test");
+			String dir = CacheableData.cacheEvictionLocalFilePath;
+
+			//concurrent writes, reads, and deletes of sparse blocks
+			//(serialized into the buffer) by independent workers
+			List<Future<MatrixBlock[]>> rtasks = new ArrayList<>();
+			for( int k=0; k<threads; k++ ) {
+				final int tk = k;
+				rtasks.add(pool.submit(new Callable<MatrixBlock[]>() {
+					@Override
+					public MatrixBlock[] call() throws Exception {
+						MatrixBlock[] ret = new MatrixBlock[blocks];
+						for( int i=0; i<blocks; i++ ) {
+							ret[i] = MatrixBlock.randOperations(rows, cols, 0.1, -1, 1, "uniform", tk*blocks+i);
+							LazyWriteBuffer.writeBlock(dir+"/b"+tk+"_"+i, ret[i]);
+						}
+						for( int i=0; i<blocks; i++ )
+							compare(ret[i], (MatrixBlock)LazyWriteBuffer.readBlock(dir+"/b"+tk+"_"+i, true));
+						for( int i=0; i<blocks; i+=2 )
+							LazyWriteBuffer.deleteBlock(dir+"/b"+tk+"_"+i);
+						return ret;
+					}
+				}));
+			}
+			List<MatrixBlock[]> inputs = new ArrayList<>();
+			for( Future<MatrixBlock[]> rtask : rtasks )
+				inputs.add(rtask.get());
+
+			//per-stripe statistics consistent with total writes
+			long writes = 0, hits = 0;
+			for( int i=0; i<CacheableData.CACHING_BUFFER_STRIPES; i++ ) {
+				writes += CacheStatistics.getStripeWrites(i);
+				hits += CacheStatistics.getStripeHits(i);
+			}
+			Assert.assertEquals(CacheStatistics.getFSBuffWrites(), writes);
+			Assert.assertEquals(CacheStatistics.getFSBuffHits(), hits);
+
+			//forced eviction and read of remaining blocks from local FS
+			LazyWriteBuffer.forceEviction();
+			Assert.assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+			for( int k=0; k<threads; k++ )
+				for( int i=1; i<blocks; i+=2 ) {
+					String fname = dir+"/b"+k+"_"+i;
+					compare(inputs.get(k)[i], (MatrixBlock)LazyWriteBuffer.readBlock(fname, true));
+					LazyWriteBuffer.deleteBlock(fname);
+				}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_ASYNC_EVICTION = oldAsync;
+			ConfigurationManager.setStatistics(oldStats);
+		}
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		double[][] e = DataConverter.convertToDoubleMatrix(expected);
+		double[][] a = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(e, a, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
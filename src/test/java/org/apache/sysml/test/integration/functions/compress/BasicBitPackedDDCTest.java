@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupDDCBP;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for DDC column groups with bit-packed codes, covering the selection
+ * by the size estimators, decompression, matrix-vector and vector-matrix
+ * multiplication, sum aggregates, and serialization.
+ */
+public class BasicBitPackedDDCTest extends AutomatedTestBase
+{
+	private static final int rows = 5003;
+	private static final int cols = 10;
+	private static final double eps = 1e-7;
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testDenseLowCardinality() {
+		runBitPackedDDCTest(1, 7, 1.0);
+	}
+
+	@Test
+	public void testDenseHighCardinality() {
+		runBitPackedDDCTest(1, 300, 1.0);
+	}
+
+	@Test
+	public void testSparseLowCardinality() {
+		runBitPackedDDCTest(1, 3, 0.6);
+	}
+
+	private void runBitPackedDDCTest(double min, double max, double sparsity)
+	{
+		if(shouldSkipTest())
+			return;
+
+		try
+		{
+			//generate input data (rounded values with few distinct values)
+			double[][] input = TestUtils.round(TestUtils
+				.generateTestMatrix(rows, cols, min, max, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+			Assert.assertTrue(cmb.isCompressed());
+			boolean bitpacked = false;
+			for( ColGroup grp : cmb.getColGroups() )
+				bitpacked |= (grp instanceof ColGroupDDCBP);
+			Assert.assertTrue(bitpacked);
+
+			//compare decompressed result with input
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb.decompress()), rows, cols, 0);
+
+			//matrix-vector and vector-matrix multiplication
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+			MatrixBlock vector1 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(cols, 1, -1, 1, 1.0, 3));
+			compareResults(mb.aggregateBinaryOperations(mb, vector1, new MatrixBlock(), abop),
+				cmb.aggregateBinaryOperations(cmb, vector1, new MatrixBlock(), abop));
+			MatrixBlock vector2 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(1, rows, -1, 1, 1.0, 3));
+			compareResults(mb.aggregateBinaryOperations(vector2, mb, new MatrixBlock(), abop),
+				cmb.aggregateBinaryOperations(vector2, cmb, new MatrixBlock(), abop));
+
+			//sum, row sums, and column sums
+			for( String opcode : new String[]{"uak+", "uark+", "uack+"} ) {
+				AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+				compareResults(
+					(MatrixBlock)mb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true),
+					(MatrixBlock)cmb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true));
+			}
+
+			//serialization and deserialization
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			cmb.write(new DataOutputStream(bos));
+			CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+			cmb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			Assert.assertEquals(bos.size(), cmb.getExactSizeOnDisk());
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb2.decompress()), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void compareResults(MatrixBlock ret1, MatrixBlock ret2) {
+		double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+		TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), eps);
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupFOR;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for frame-of-reference (FOR) column groups over columns with many
+ * distinct but narrowly ranged integer values (sorted timestamps and random
+ * counters), covering the selection by the size estimators, decompression,
+ * matrix multiplications, aggregates, scalar operations, and serialization.
+ */
+public class BasicFrameOfReferenceTest extends AutomatedTestBase
+{
+	private static final int rows = 5003;
+	private static final int cols = 6;
+	private static final double eps = 1e-10; //relative to max value
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testFrameOfReference() {
+		runFrameOfReferenceTest(false);
+	}
+
+	@Test
+	public void testFrameOfReferenceNoEncoding() {
+		runFrameOfReferenceTest(true);
+	}
+
+	private void runFrameOfReferenceTest(boolean disableFOR)
+	{
+		if(shouldSkipTest())
+			return;
+
+		try
+		{
+			//generate input data (first column sorted timestamps,
+			//remaining columns random counters in a 16bit range)
+			double[][] input = TestUtils.round(TestUtils
+				.generateTestMatrix(rows, cols, 1e6, 1e6+65535, 1.0, 7));
+			double[][] steps = TestUtils.round(TestUtils
+				.generateTestMatrix(rows, 1, 0, 10, 1.0, 3));
+			input[0][0] = 1.5e9;
+			for( int i=1; i<rows; i++ )
+				input[i][0] = input[i-1][0] + steps[i][0];
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block
+			CompressedMatrixBlock.ALLOW_FOR_ENCODING = !disableFOR;
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+			int numFOR = 0;
+			boolean delta = false;
+			if( cmb.isCompressed() )
+				for( ColGroup grp : cmb.getColGroups() )
+					if( grp instanceof ColGroupFOR ) {
+						numFOR++;
+						delta |= ((ColGroupFOR)grp).isDeltaEncoded();
+					}
+			if( disableFOR ) {
+				Assert.assertEquals(0, numFOR);
+				return;
+			}
+			Assert.assertTrue(cmb.isCompressed());
+			Assert.assertEquals(cols, numFOR);
+			Assert.assertTrue(delta);
+
+			//compare decompressed result and single values with input
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb.decompress()), rows, cols, 0);
+			Assert.assertEquals(input[rows-1][0], cmb.quickGetValue(rows-1, 0), 0);
+
+			//matrix-vector, vector-matrix, and matrix-matrix multiplication
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+			MatrixBlock vector1 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(cols, 1, -1, 1, 1.0, 3));
+			compareResults(mb.aggregateBinaryOperations(mb, vector1, new MatrixBlock(), abop),
+				cmb.aggregateBinaryOperations(cmb, vector1, new MatrixBlock(), abop));
+			MatrixBlock vector2 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(1, rows, -1, 1, 1.0, 3));
+			compareResults(mb.aggregateBinaryOperations(vector2, mb, new MatrixBlock(), abop),
+				cmb.aggregateBinaryOperations(vector2, cmb, new MatrixBlock(), abop));
+			MatrixBlock matrix = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(cols, 3, -1, 1, 1.0, 5));
+			compareResults(mb.aggregateBinaryOperations(mb, matrix, new MatrixBlock(), abop),
+				cmb.aggregateBinaryOperations(cmb, matrix, new MatrixBlock(), abop));
+			compareResults(mb.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT),
+				cmb.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT));
+
+			//sums, mins, and maxs
+			for( String opcode : new String[]{"uak+", "uark+", "uack+", "uamax", "uarmin", "uacmax"} ) {
+				AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+				compareResults(
+					(MatrixBlock)mb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true),
+					(MatrixBlock)cmb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true));
+			}
+
+			//scalar operations w/ encodable and non-encodable outputs
+			for( double scalar : new double[]{7, 0.5} ) {
+				ScalarOperator sop = new RightScalarOperator(Plus.getPlusFnObject(), scalar);
+				compareResults((MatrixBlock)mb.scalarOperations(sop, new MatrixBlock()),
+					(MatrixBlock)cmb.scalarOperations(sop, new MatrixBlock()));
+			}
+
+			//serialization and deserialization
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			cmb.write(new DataOutputStream(bos));
+			CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+			cmb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			Assert.assertEquals(bos.size(), cmb.getExactSizeOnDisk());
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb2.decompress()), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_FOR_ENCODING = true;
+		}
+	}
+
+	private static void compareResults(MatrixBlock ret1, MatrixBlock ret2) {
+		double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+		double maxVal = 1;
+		for( double[] row : d1 )
+			for( double val : row )
+				maxVal = Math.max(maxVal, Math.abs(val));
+		TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), eps * maxVal);
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupIO;
+import org.apache.sysml.runtime.compress.CompressedBlockReader;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the columnar serialization format of compressed matrix blocks,
+ * covering the payload codecs, exact size computation, deserialization from
+ * byte buffers, lazy reads of individual column groups, and reads of the
+ * legacy row-wise format.
+ */
+public class CompressedBlockFormatTest extends AutomatedTestBase
+{
+	private static final int rows = 5003;
+	private static final int cols = 12;
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testFormatNoCodec() {
+		runCompressedBlockFormatTest(ColGroupIO.Codec.NONE, 0.9);
+	}
+
+	@Test
+	public void testFormatLZ4Codec() {
+		runCompressedBlockFormatTest(ColGroupIO.Codec.LZ4, 0.9);
+	}
+
+	@Test
+	public void testFormatLZ4CodecSparse() {
+		runCompressedBlockFormatTest(ColGroupIO.Codec.LZ4, 0.1);
+	}
+
+	@Test
+	public void testFormatUnsupportedVersion() {
+		if(shouldSkipTest())
+			return;
+
+		byte[] data = serialize(createCompressedBlock(0.9));
+		data[1] = (byte)(ColGroupIO.FORMAT_VERSION + 1);
+		try {
+			new CompressedMatrixBlock().readFields(ByteBuffer.wrap(data));
+			Assert.fail("Expected IOException for unsupported version.");
+		}
+		catch(IOException ex) {
+			//expected
+		}
+	}
+
+	@Test
+	public void testFormatLegacy() {
+		if(shouldSkipTest())
+			return;
+
+		try {
+			//serialize compressed block in legacy row-wise format
+			CompressedMatrixBlock cmb = createCompressedBlock(0.9);
+			double[][] input = DataConverter.convertToDoubleMatrix(cmb.decompress());
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bos);
+			out.writeByte(ColGroupIO.FLAG_LEGACY);
+			out.writeInt(rows);
+			out.writeInt(cols);
+			out.writeLong(cmb.getNonZeros());
+			out.writeBoolean(false);
+			out.writeInt(cmb.getNumColGroups());
+			for( ColGroup grp : cmb.getColGroups() ) {
+				out.writeByte(grp.getCompType().ordinal());
+				grp.write(out, false);
+			}
+			byte[] data = bos.toByteArray();
+
+			//deserialize via data input and byte buffer
+			CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+			cmb2.readFields(new DataInputStream(new ByteArrayInputStream(data)));
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb2.decompress()), rows, cols, 0);
+			CompressedMatrixBlock cmb3 = new CompressedMatrixBlock();
+			cmb3.readFields(ByteBuffer.wrap(data));
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb3.decompress()), rows, cols, 0);
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runCompressedBlockFormatTest(ColGroupIO.Codec codec, double sparsity)
+	{
+		if(shouldSkipTest())
+			return;
+
+		try
+		{
+			CompressedMatrixBlock.SERIALIZE_CODEC = codec;
+			CompressedMatrixBlock cmb = createCompressedBlock(sparsity);
+			double[][] input = DataConverter.convertToDoubleMatrix(cmb.decompress());
+
+			//serialize and check exact size
+			byte[] data = serialize(cmb);
+			Assert.assertEquals(data.length, cmb.getExactSizeOnDisk());
+
+			//deserialize via data input and byte buffer
+			CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+			cmb2.readFields(new DataInputStream(new ByteArrayInputStream(data)));
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb2.decompress()), rows, cols, 0);
+			CompressedMatrixBlock cmb3 = new CompressedMatrixBlock();
+			cmb3.readFields(ByteBuffer.wrap(data));
+			Assert.assertEquals(cmb.getNumColGroups(), cmb3.getNumColGroups());
+			TestUtils.compareMatrices(input,
+				DataConverter.convertToDoubleMatrix(cmb3.decompress()), rows, cols, 0);
+
+			//lazy read of the column group of the last column
+			//(from a buffer with non-zero position and direct memory)
+			ByteBuffer buff = ByteBuffer.allocateDirect(data.length + 7);
+			buff.position(7);
+			buff.put(data);
+			buff.position(7);
+			CompressedBlockReader reader = new CompressedBlockReader(buff);
+			Assert.assertEquals(rows, reader.getNumRows());
+			Assert.assertEquals(cols, reader.getNumColumns());
+			Assert.assertEquals(cmb.getNonZeros(), reader.getNonZeros());
+			Assert.assertEquals(cmb.getNumColGroups(), reader.getNumColGroups());
+			ColGroup grp = reader.readColGroups(new int[]{cols-1}).get(0);
+			for( int i=0; i<rows; i++ )
+				Assert.assertEquals(input[i][cols-1], grp.get(i, cols-1), 0);
+			Assert.assertTrue(grp == reader.readColGroups(new int[]{cols-1}).get(0));
+			Assert.assertEquals(7, buff.position());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.SERIALIZE_CODEC = ColGroupIO.Codec.NONE;
+		}
+	}
+
+	private static CompressedMatrixBlock createCompressedBlock(double sparsity) {
+		//generate input data (rounded values with few distinct
+		//values in the first half, and random values in the rest)
+		double[][] input = TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7);
+		double[][] tmp = TestUtils.round(input);
+		for( int i=0; i<rows; i++ )
+			System.arraycopy(tmp[i], 0, input[i], 0, cols/2);
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(
+			DataConverter.convertToMatrixBlock(input));
+		cmb.compress();
+		Assert.assertTrue(cmb.isCompressed());
+		return cmb;
+	}
+
+	private static byte[] serialize(MatrixBlock mb) {
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			mb.write(new DataOutputStream(bos));
+			return bos.toByteArray();
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock.CompressionStatistics;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the sample-based compression planning, i.e., the co-coding of
+ * correlated columns, the early abort, and the planning statistics.
+ */
+public class CompressionPlanningTest extends AutomatedTestBase
+{
+	private static final int rows = 5000;
+	private static final int cols = 24;
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testCoCodingCorrelatedColumns() {
+		runCompressionPlanningTest(true, 1);
+	}
+
+	@Test
+	public void testCoCodingCorrelatedColumnsParallel() {
+		runCompressionPlanningTest(true, 4);
+	}
+
+	@Test
+	public void testEarlyAbortRandColumns() {
+		runCompressionPlanningTest(false, 1);
+	}
+
+	private void runCompressionPlanningTest(boolean correlated, int k)
+	{
+		if(shouldSkipTest())
+			return;
+
+		//generate input data (correlated columns with few distinct values,
+		//where all columns are scaled versions of the first column)
+		double[][] input = TestUtils.generateTestMatrix(rows, cols, -10, 10, 1.0, 7);
+		if( correlated ) {
+			input = TestUtils.round(input);
+			for( int i=0; i<rows; i++ )
+				for( int j=1; j<cols; j++ )
+					input[i][j] = input[i][0] * (j+1);
+		}
+
+		//compress given matrix block
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(
+			DataConverter.convertToMatrixBlock(input));
+		cmb.compress(k);
+		CompressionStatistics stats = cmb.getCompressionStatistics();
+		Assert.assertTrue(stats.timeTranspose >= 0 && stats.timeSample >= 0
+			&& stats.timeEstimate >= 0 && stats.timePhase1 >= 0);
+		Assert.assertTrue(stats.estRatio > 0);
+
+		if( correlated ) {
+			//co-coding of correlated columns into few groups
+			Assert.assertTrue(cmb.isCompressed());
+			Assert.assertTrue(cmb.getNumColGroups() < cols);
+			Assert.assertTrue(stats.estRatio >= CompressedMatrixBlock.MIN_EST_COMPRESSION_RATIO);
+			Assert.assertTrue(stats.timePartition >= 0 && stats.timeCocode >= 0
+				&& stats.timePhase2 >= 0 && stats.timePhase5 >= 0);
+
+			//compare decompressed result with input
+			double[][] d = DataConverter.convertToDoubleMatrix(cmb.decompress());
+			TestUtils.compareMatrices(input, d, rows, cols, 0);
+		}
+		else {
+			//abort before co-coding for incompressible data
+			Assert.assertFalse(cmb.isCompressed());
+			Assert.assertTrue(stats.estRatio < CompressedMatrixBlock.MIN_EST_COMPRESSION_RATIO);
+			Assert.assertTrue(stats.timeCocode < 0);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.sysml.runtime.io.ReaderBinaryMapped;
+import org.apache.sysml.runtime.io.WriterBinaryMapped;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Component tests for the local memory-mappable binary format, covering
+ * the write/read roundtrip of dense and sparse (CSR) matrices with 
+ * sequential and parallel readers and writers, off-heap mapped reads, 
+ * input stream reads, empty matrices, and the validation against given 
+ * meta data.
+ */
+public class BinaryMappedReadWriteTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "BinaryMappedReadWrite";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BinaryMappedReadWriteTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1201;
+	private final static int cols = 373;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testDenseSequential() {
+		runMappedReadWriteTest(false, 1, false);
+	}
+	
+	@Test
+	public void testSparseSequential() {
+		runMappedReadWriteTest(true, 1, false);
+	}
+	
+	@Test
+	public void testDenseParallel() {
+		runMappedReadWriteTest(false, 8, false);
+	}
+	
+	@Test
+	public void testSparseParallel() {
+		runMappedReadWriteTest(true, 8, false);
+	}
+	
+	@Test
+	public void testDenseOffHeap() {
+		runMappedReadWriteTest(false, 8, true);
+	}
+	
+	@Test
+	public void testDenseStream() {
+		runMappedReadWriteTest(false, 1, false, true);
+	}
+	
+	@Test
+	public void testSparseStream() {
+		runMappedReadWriteTest(true, 1, false, true);
+	}
+	
+	@Test
+	public void testEmptyMatrix() throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		new WriterBinaryMapped().writeEmptyMatrixToHDFS(output("X"), rows, cols, -1, -1);
+		MatrixBlock mb = new ReaderBinaryMapped().readMatrixFromHDFS(output("X"), rows, cols, -1, -1, -1);
+		Assert.assertEquals(rows, mb.getNumRows());
+		Assert.assertEquals(cols, mb.getNumColumns());
+		Assert.assertTrue(mb.isEmptyBlock(false));
+	}
+	
+	@Test(expected=IOException.class)
+	public void testDimensionMismatch() throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity1, -1, 1, "uniform", 7);
+		new WriterBinaryMapped().writeMatrixToHDFS(mb, output("X"), rows, cols, -1, -1, -1);
+		new ReaderBinaryMapped().readMatrixFromHDFS(output("X"), rows, cols+1, -1, -1, -1);
+	}
+	
+	private void runMappedReadWriteTest(boolean sparse, int k, boolean offHeap) {
+		runMappedReadWriteTest(sparse, k, offHeap, false);
+	}
+	
+	private void runMappedReadWriteTest(boolean sparse, int k, boolean offHeap, boolean stream)
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		
+		try {
+			//generate input and write mapped binary file
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparse?sparsity2:sparsity1, -1, 1, "uniform", 7);
+			new WriterBinaryMapped(k).writeMatrixToHDFS(mb, output("X"), rows, cols, -1, -1, mb.getNonZeros());
+			
+			//read mapped binary file or stream (w/o known dimensions)
+			MatrixBlock mb2 = null;
+			if( stream ) {
+				try( InputStream is = new FileInputStream(output("X")) ) {
+					mb2 = new ReaderBinaryMapped(k, offHeap)
+						.readMatrixFromInputStream(is, -1, -1, -1, -1, -1);
+				}
+			}
+			else {
+				mb2 = new ReaderBinaryMapped(k, offHeap)
+					.readMatrixFromHDFS(output("X"), -1, -1, -1, -1, -1);
+			}
+			
+			//compare matrices incl representation and nnz
+			Assert.assertEquals(rows, mb2.getNumRows());
+			Assert.assertEquals(cols, mb2.getNumColumns());
+			Assert.assertEquals(mb.isInSparseFormat(), mb2.isInSparseFormat());
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+				DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
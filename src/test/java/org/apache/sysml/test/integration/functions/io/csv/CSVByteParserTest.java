@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysml.runtime.io.CSVByteParser;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Component tests for the byte-level csv parser, covering the tokenization
+ * (consistent with splitCSV), the double parser (consistent with
+ * Double.parseDouble), and the parsing of rows into dense and sparse blocks.
+ */
+public class CSVByteParserTest extends AutomatedTestBase
+{
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testTokenizeSingleCharDelim() {
+		runTokenizeTest(",");
+	}
+
+	@Test
+	public void testTokenizeMultiCharDelim() {
+		runTokenizeTest("||");
+	}
+
+	@Test
+	public void testParseDoubleSpecialValues() {
+		String[] values = {"0", "-0", "+3", "1.5", ".5", "5.", "00012.500", "1e10", "1E-5",
+			"1e+22", "1e-22", "1e23", "0.1", "3.141592653589793", "123456789012345678",
+			"1234567890123456789", "9007199254740993", "2.2250738585072014E-308",
+			"NaN", "-Infinity", "1.0d", "0x1p3"};
+		for( String val : values )
+			compareDouble(val);
+	}
+
+	@Test
+	public void testParseDoubleRandomValues() {
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			compareDouble(Double.toString(rand.nextGaussian() * Math.pow(10, rand.nextInt(40)-20)));
+			compareDouble(String.format("%."+rand.nextInt(12)+"f", rand.nextDouble()*1000-500));
+			compareDouble(rand.nextInt(100000)+"."+rand.nextInt(1000)+"e"+(rand.nextInt(60)-30));
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseDoubleInvalid() {
+		byte[] tmp = "1.2.3".getBytes();
+		CSVByteParser.parseDouble(tmp, 0, tmp.length);
+	}
+
+	@Test
+	public void testParseTypedValues() {
+		CSVByteParser parser = new CSVByteParser(",", true, 0);
+		parser.tokenize(new Text("TRUE, tRuE ,false,123,-45,\"a b\""));
+		Assert.assertTrue(parser.getBoolean(0) && parser.getBoolean(1));
+		Assert.assertFalse(parser.getBoolean(2));
+		Assert.assertEquals(123, parser.getLong(3));
+		Assert.assertEquals(-45, parser.getLong(4));
+		Assert.assertEquals("\"a b\"", parser.getString(5));
+	}
+
+	@Test
+	public void testParseRowsDense() {
+		runParseRowsTest(false);
+	}
+
+	@Test
+	public void testParseRowsSparse() {
+		runParseRowsTest(true);
+	}
+
+	@Test
+	public void testCheckLine() {
+		CSVByteParser parser = new CSVByteParser(",", false, 0);
+		try {
+			parser.tokenize(new Text("1,2,3"));
+			parser.checkLine("test", 3);
+			parser.tokenize(new Text("1,,3"));
+			parser.checkLine("test", 3);
+			Assert.fail("Expected IOException for empty field.");
+		}
+		catch(IOException ex) {
+			//expected
+		}
+		try {
+			parser.tokenize(new Text("1,2"));
+			parser.checkLine("test", 3);
+			Assert.fail("Expected IOException for number of columns.");
+		}
+		catch(IOException ex) {
+			//expected
+		}
+	}
+
+	private static void runTokenizeTest(String delim) {
+		String[] lines = {"a,b,c", " 1 , 2,3 ", ",,", "\"a,b\",c", "\"aa\"\"a\",b",
+			"\"aa\"a,b", "x", "", "a,", "\"a\"b", "1||2||", "\"q\"x,y", "\u00e9,\u00fc", "\"ab\"c"};
+		CSVByteParser parser = new CSVByteParser(delim, true, 0);
+		for( String line : lines ) {
+			String[] expected = IOUtilFunctions.splitCSV(line.trim(), delim);
+			Assert.assertEquals(expected.length, parser.tokenize(new Text(line)));
+			for( int j=0; j<expected.length; j++ ) {
+				Assert.assertEquals(expected[j].trim(), parser.getString(j));
+				Assert.assertEquals(expected[j].trim().isEmpty(), parser.isEmpty(j));
+			}
+			Assert.assertEquals(line.trim(), parser.getLine());
+		}
+	}
+
+	private static void runParseRowsTest(boolean sparse) {
+		String[] lines = {"1,0,2.5,0", "0,0,0,0", ",-3,0,1e-3"};
+		MatrixBlock mb = new MatrixBlock(lines.length, 4, sparse);
+		if( sparse )
+			mb.allocateSparseRowsBlock();
+		else
+			mb.allocateDenseBlock();
+		CSVByteParser parser = new CSVByteParser(",", true, 7);
+		long nnz = 0;
+		for( int i=0; i<lines.length; i++ ) {
+			parser.tokenize(new Text(lines[i]));
+			nnz += sparse ? parser.parseRow(mb.getSparseBlock(), i) :
+				parser.parseRow(mb.getDenseBlock(), i);
+		}
+		mb.setNonZeros(nnz);
+		Assert.assertEquals(5, nnz);
+		Assert.assertEquals(2.5, mb.quickGetValue(0, 2), 0);
+		Assert.assertEquals(7, mb.quickGetValue(2, 0), 0);
+		Assert.assertEquals(-3, mb.quickGetValue(2, 1), 0);
+		Assert.assertEquals(1e-3, mb.quickGetValue(2, 3), 0);
+		Assert.assertEquals(0, mb.quickGetValue(1, 1), 0);
+	}
+
+	private static void compareDouble(String val) {
+		byte[] tmp = ("  "+val+" ").getBytes();
+		Assert.assertEquals(Double.doubleToLongBits(Double.parseDouble(val)),
+			Double.doubleToLongBits(CSVByteParser.parseDouble(tmp, 2, val.length())));
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.libsvm;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.MatrixWriter;
+import org.apache.sysml.runtime.io.ReaderTextLIBSVM;
+import org.apache.sysml.runtime.io.ReaderTextLIBSVMParallel;
+import org.apache.sysml.runtime.io.WriterTextLIBSVM;
+import org.apache.sysml.runtime.io.WriterTextLIBSVMParallel;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Component tests for the libsvm text format, covering the parsing of
+ * individual lines (label as last column, unordered features, invalid
+ * indexes), and the write/read roundtrip of the sequential and parallel
+ * readers and writers with known and unknown dimensions.
+ */
+public class LIBSVMReadWriteTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "LIBSVMReadWrite";
+	private final static String TEST_DIR = "functions/io/libsvm/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LIBSVMReadWriteTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1201;
+	private final static int cols = 73; //incl label
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testParseRow() throws IOException {
+		SparseRowVector row = new SparseRowVector(4);
+		Assert.assertEquals(4, ReaderTextLIBSVM.parseLIBSVMRow("-1 7:0.5  2:3 4:1e-2", row, 11));
+		Assert.assertArrayEquals(new int[]{1, 3, 6, 10}, Arrays.copyOf(row.indexes(), 4));
+		Assert.assertArrayEquals(new double[]{3, 0.01, 0.5, -1}, Arrays.copyOf(row.values(), 4), 0);
+		Assert.assertEquals(1, ReaderTextLIBSVM.parseLIBSVMRow("+1", row, 11));
+		Assert.assertEquals(10, row.indexes()[0]);
+	}
+	
+	@Test(expected=IOException.class)
+	public void testParseRowInvalidIndex() throws IOException {
+		ReaderTextLIBSVM.parseLIBSVMRow("1 3:1 11:2", new SparseRowVector(4), 11);
+	}
+	
+	@Test
+	public void testParseRowQueryId() throws IOException {
+		SparseRowVector row = new SparseRowVector(4);
+		Assert.assertEquals(3, ReaderTextLIBSVM.parseLIBSVMRow("2 qid:17 5:1.5 1:-2", row, 6));
+		Assert.assertArrayEquals(new int[]{0, 4, 5}, Arrays.copyOf(row.indexes(), 3));
+		Assert.assertArrayEquals(new double[]{-2, 1.5, 2}, Arrays.copyOf(row.values(), 3), 0);
+	}
+	
+	@Test(expected=IOException.class)
+	public void testParseRowDuplicateIndex() throws IOException {
+		ReaderTextLIBSVM.parseLIBSVMRow("1 3:1 3:2", new SparseRowVector(4), 11);
+	}
+	
+	@Test(expected=IOException.class)
+	public void testParseRowDuplicateIndexUnsorted() throws IOException {
+		ReaderTextLIBSVM.parseLIBSVMRow("1 3:1 5:2 3:4", new SparseRowVector(4), 11);
+	}
+	
+	@Test
+	public void testMaxFeatureIndex() {
+		Assert.assertEquals(0, ReaderTextLIBSVM.getMaxFeatureIndex("1"));
+		Assert.assertEquals(17, ReaderTextLIBSVM.getMaxFeatureIndex("1 3:1 17:2 9:-4"));
+		Assert.assertEquals(9, ReaderTextLIBSVM.getMaxFeatureIndex("1 qid:42 9:-4"));
+	}
+	
+	@Test
+	public void testRoundtripDenseKnownDims() {
+		runLIBSVMRoundtripTest(false, false, true);
+	}
+	
+	@Test
+	public void testRoundtripSparseKnownDims() {
+		runLIBSVMRoundtripTest(true, false, true);
+	}
+	
+	@Test
+	public void testRoundtripSparseUnknownDims() {
+		runLIBSVMRoundtripTest(true, false, false);
+	}
+	
+	@Test
+	public void testRoundtripDenseKnownDimsParallel() {
+		runLIBSVMRoundtripTest(false, true, true);
+	}
+	
+	@Test
+	public void testRoundtripSparseKnownDimsParallel() {
+		runLIBSVMRoundtripTest(true, true, true);
+	}
+	
+	@Test
+	public void testRoundtripSparseUnknownDimsParallel() {
+		runLIBSVMRoundtripTest(true, true, false);
+	}
+	
+	private void runLIBSVMRoundtripTest(boolean sparse, boolean parallel, boolean knownDims)
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		
+		try {
+			//generate input (w/ non-zero last feature for size inference)
+			double[][] data = TestUtils.round(getRandomMatrix(rows, cols, -3.49, 3.49, sparse?sparsity2:sparsity1, 7));
+			data[rows-1][cols-2] = 1;
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(data);
+			
+			//write and read libsvm file
+			MatrixWriter writer = parallel ? new WriterTextLIBSVMParallel() : new WriterTextLIBSVM();
+			writer.writeMatrixToHDFS(mb, output("X"), rows, cols, -1, -1, mb.getNonZeros());
+			MatrixReader reader = parallel ? new ReaderTextLIBSVMParallel() : new ReaderTextLIBSVM();
+			MatrixBlock mb2 = reader.readMatrixFromHDFS(output("X"),
+				knownDims ? rows : -1, knownDims ? cols : -1, -1, -1, -1);
+			
+			//compare matrices incl dimensions and nnz
+			Assert.assertEquals(rows, mb2.getNumRows());
+			Assert.assertEquals(cols, mb2.getNumColumns());
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(data, DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
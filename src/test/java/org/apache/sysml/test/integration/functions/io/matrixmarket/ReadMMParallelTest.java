@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.matrixmarket;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.apache.sysml.runtime.io.ReaderMatrixMarketParallel;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Component tests for the parallel MatrixMarket reader, covering general,
+ * symmetric, pattern, and integer files with dense and sparse outputs, 
+ * the header-based dimensions, duplicate coordinates, empty and vector
+ * inputs, and the validation against meta data.
+ */
+public class ReadMMParallelTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "ReadMMParallelTest";
+	private final static String TEST_DIR = "functions/io/matrixmarket/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadMMParallelTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1743;
+	private final static int cols = 389;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.01;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testGeneralRealDense() {
+		runReadMMParallelTest("real", "general", false);
+	}
+	
+	@Test
+	public void testGeneralRealSparse() {
+		runReadMMParallelTest("real", "general", true);
+	}
+	
+	@Test
+	public void testSymmetricRealDense() {
+		runReadMMParallelTest("real", "symmetric", false);
+	}
+	
+	@Test
+	public void testSymmetricRealSparse() {
+		runReadMMParallelTest("real", "symmetric", true);
+	}
+	
+	@Test
+	public void testGeneralIntegerSparse() {
+		runReadMMParallelTest("integer", "general", true);
+	}
+	
+	@Test
+	public void testGeneralPatternSparse() {
+		runReadMMParallelTest("pattern", "general", true);
+	}
+	
+	@Test
+	public void testSymmetricPatternSparse() {
+		runReadMMParallelTest("pattern", "symmetric", true);
+	}
+	
+	@Test
+	public void testGeneralRealDuplicatesDense() {
+		runReadMMParallelTest("real", "general", false, true);
+	}
+	
+	@Test
+	public void testGeneralRealDuplicatesSparse() {
+		runReadMMParallelTest("real", "general", true, true);
+	}
+	
+	@Test
+	public void testGeneralRealRectDense() {
+		runReadMMParallelTest("real", "general", rows, cols, false, false);
+	}
+	
+	@Test
+	public void testGeneralRealRectDuplicatesSparse() {
+		runReadMMParallelTest("real", "general", rows, cols, true, true);
+	}
+	
+	@Test
+	public void testGeneralRealVectorSparse() {
+		runReadMMParallelTest("real", "general", rows, 1, true, true);
+	}
+	
+	@Test
+	public void testEmptyMatrix() throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		writeMatrixMarket(output("X"), new double[rows][cols], "real", "general", false);
+		MatrixBlock mb = new ReaderMatrixMarketParallel()
+			.readMatrixFromHDFS(output("X"), -1, -1, -1, -1, -1);
+		Assert.assertEquals(rows, mb.getNumRows());
+		Assert.assertEquals(cols, mb.getNumColumns());
+		Assert.assertEquals(0, mb.getNonZeros());
+		Assert.assertTrue(mb.isEmptyBlock(false));
+	}
+	
+	@Test(expected=IOException.class)
+	public void testDimensionMismatch() throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		writeMatrixMarket(output("X"), new double[rows][rows], "real", "general", false);
+		new ReaderMatrixMarketParallel().readMatrixFromHDFS(output("X"), rows, rows+1, -1, -1, -1);
+	}
+	
+	private void runReadMMParallelTest(String field, String symmetry, boolean sparse) {
+		runReadMMParallelTest(field, symmetry, sparse, false);
+	}
+	
+	private void runReadMMParallelTest(String field, String symmetry, boolean sparse, boolean dupes) {
+		runReadMMParallelTest(field, symmetry, rows, rows, sparse, dupes);
+	}
+	
+	private void runReadMMParallelTest(String field, String symmetry, int rows, int cols, boolean sparse, boolean dupes)
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		
+		try {
+			//generate input according to field and symmetry
+			double[][] X = getRandomMatrix(rows, cols, 1, 9, sparse?sparsity2:sparsity1, 7);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					if( field.equals("integer") )
+						X[i][j] = Math.round(X[i][j]);
+					else if( field.equals("pattern") && X[i][j] != 0 )
+						X[i][j] = 1;
+					if( symmetry.equals("symmetric") && j > i )
+						X[i][j] = X[j][i];
+				}
+			writeMatrixMarket(output("X"), X, field, symmetry, dupes);
+			
+			//read matrix market file (w/o known dimensions)
+			MatrixBlock mb = new ReaderMatrixMarketParallel()
+				.readMatrixFromHDFS(output("X"), -1, -1, -1, -1, -1);
+			
+			//compare matrices incl nnz
+			MatrixBlock mb2 = DataConverter.convertToMatrixBlock(X);
+			Assert.assertEquals(rows, mb.getNumRows());
+			Assert.assertEquals(cols, mb.getNumColumns());
+			Assert.assertEquals(mb2.getNonZeros(), mb.getNonZeros());
+			Assert.assertEquals(mb2.isInSparseFormat(), mb.isInSparseFormat());
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void writeMatrixMarket(String fname, double[][] X, String field, String symmetry, boolean dupes) 
+		throws IOException
+	{
+		boolean sym = symmetry.equals("symmetric");
+		long entries = 0;
+		for( int i=0; i<X.length; i++ )
+			for( int j=0; j<(sym ? i+1 : X[i].length); j++ )
+				entries += (X[i][j] != 0) ? 1 : 0;
+		if( dupes ) //halves of all cells twice, plus cancelling pair
+			entries = 2 * entries + 2;
+		
+		File f = new File(fname);
+		f.getParentFile().mkdirs();
+		try( BufferedWriter bw = new BufferedWriter(new FileWriter(f)) ) {
+			bw.write("%%MatrixMarket matrix coordinate "+field+" "+symmetry+"\n");
+			bw.write("% test matrix with comments\n%\n");
+			bw.write(X.length+" "+X[0].length+" "+entries+"\n");
+			for( int i=0; i<X.length; i++ )
+				for( int j=0; j<(sym ? i+1 : X[i].length); j++ ) {
+					if( X[i][j] == 0 ) continue;
+					bw.write((i+1)+" "+(j+1));
+					if( field.equals("integer") )
+						bw.write(" "+(long)X[i][j]);
+					else if( field.equals("real") )
+						bw.write(" "+(dupes ? X[i][j]/2 : X[i][j]));
+					bw.write("\n");
+				}
+			if( dupes ) {
+				//second halves in reverse order (across splits)
+				for( int i=X.length-1; i>=0; i-- )
+					for( int j=X[i].length-1; j>=0; j-- )
+						if( X[i][j] != 0 )
+							bw.write((i+1)+" "+(j+1)+" "+(X[i][j]/2)+"\n");
+				//cancelling pair for a zero cell
+				int[] zero = findZeroCell(X);
+				bw.write(zero[0]+" "+zero[1]+" 3.0\n");
+				bw.write(zero[0]+" "+zero[1]+" -3.0\n");
+			}
+		}
+	}
+	
+	private static int[] findZeroCell(double[][] X) {
+		for( int i=0; i<X.length; i++ )
+			for( int j=0; j<X[i].length; j++ )
+				if( X[i][j] == 0 )
+					return new int[]{i+1, j+1};
+		throw new RuntimeException("No zero cell found.");
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixStreamReader;
+import org.apache.sysml.runtime.io.MatrixWriter;
+import org.apache.sysml.runtime.io.MatrixWriterFactory;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class JMLCChunkedScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "jmlc";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCChunkedScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 2071;
+	private final static int cols = 37;
+	private final static int blen = 1000;
+	private final static int chunk = 300; //not a divisor of rows
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	private final static String script = "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "W = read(\"./tmp/W\", rows=-1, cols=-1);\n"
+		+ "Y = X %*% W;\n"
+		+ "write(Y, \"./tmp/Y\");";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "Y" }) ); 
+	}
+	
+	@Test
+	public void testChunkedScoringDenseCSV() {
+		runJMLCChunkedScoringTest(OutputInfo.CSVOutputInfo, false, false);
+	}
+	
+	@Test
+	public void testChunkedScoringSparseCSV() {
+		runJMLCChunkedScoringTest(OutputInfo.CSVOutputInfo, true, false);
+	}
+	
+	@Test
+	public void testChunkedScoringDenseText() {
+		runJMLCChunkedScoringTest(OutputInfo.TextCellOutputInfo, false, false);
+	}
+	
+	@Test
+	public void testChunkedScoringSparseText() {
+		runJMLCChunkedScoringTest(OutputInfo.TextCellOutputInfo, true, false);
+	}
+	
+	@Test
+	public void testChunkedScoringDenseBinary() {
+		runJMLCChunkedScoringTest(OutputInfo.BinaryBlockOutputInfo, false, false);
+	}
+	
+	@Test
+	public void testChunkedScoringSparseBinary() {
+		runJMLCChunkedScoringTest(OutputInfo.BinaryBlockOutputInfo, true, false);
+	}
+	
+	@Test
+	public void testChunkedScoringDenseCSVIncrementalWrite() {
+		runJMLCChunkedScoringTest(OutputInfo.CSVOutputInfo, false, true);
+	}
+	
+	@Test
+	public void testChunkedScoringSparseBinaryIncrementalWrite() {
+		runJMLCChunkedScoringTest(OutputInfo.BinaryBlockOutputInfo, true, true);
+	}
+	
+	private void runJMLCChunkedScoringTest(OutputInfo oinfo, boolean sparse, boolean write) 
+	{
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		//generate inputs and expected output
+		MatrixBlock X = DataConverter.convertToMatrixBlock(
+			getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7));
+		MatrixBlock W = DataConverter.convertToMatrixBlock(getRandomMatrix(cols, 3, -1, 1, 1.0, 3));
+		double[][] R = TestUtils.performMatrixMultiplication(
+			DataConverter.convertToDoubleMatrix(X), DataConverter.convertToDoubleMatrix(W));
+		InputInfo iinfo = OutputInfo.getMatchingInputInfo(oinfo);
+		
+		Connection conn = new Connection();
+		try
+		{
+			//write input matrix
+			MatrixWriter writer = MatrixWriterFactory.createMatrixWriter(oinfo);
+			writer.writeMatrixToHDFS(X, output("X"), rows, cols, blen, blen, X.getNonZeros());
+			
+			//stream chunks and check chunk sizes and concatenated input
+			MatrixStreamReader reader = conn.openMatrixStream(output("X"), iinfo, rows, cols, blen, blen, -1, chunk);
+			MatrixBlock X2 = new MatrixBlock(rows, cols, false);
+			int rix = 0;
+			try {
+				while( reader.hasNext() ) {
+					MatrixBlock tmp = reader.next();
+					Assert.assertTrue(tmp.getNumRows() <= Math.max(chunk, blen));
+					Assert.assertEquals(cols, tmp.getNumColumns());
+					X2.copy(rix, rix+tmp.getNumRows()-1, 0, cols-1, tmp, true);
+					rix += tmp.getNumRows();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			Assert.assertEquals(rows, rix);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(X),
+				DataConverter.convertToDoubleMatrix(X2), rows, cols, 0);
+			
+			//chunked scoring with reused model
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"Y"}, false);
+			pstmt.setMatrix("W", W, true);
+			reader = conn.openMatrixStream(output("X"), iinfo, rows, cols, blen, blen, -1, chunk);
+			double[][] Y = null;
+			if( write ) {
+				long rlen = pstmt.executeScriptChunked(reader, "X", "Y", output("Y"));
+				Assert.assertEquals(rows, rlen);
+				Y = conn.readDoubleMatrix(output("Y"));
+			}
+			else {
+				MatrixBlock out = pstmt.executeScriptChunked(reader, "X", "Y");
+				Y = DataConverter.convertToDoubleMatrix(out);
+			}
+			TestUtils.compareMatrices(R, Y, rows, 3, 1e-10);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			try {
+				MapReduceTool.deleteFileIfExistOnHDFS(output("X"));
+				MapReduceTool.deleteFileWithMTDIfExistOnHDFS(output("Y"));
+			}
+			catch(Exception ex) {}
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+}
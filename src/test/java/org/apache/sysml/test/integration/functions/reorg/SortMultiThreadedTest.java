@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded sort,
+ * comparing the sorted data and index vectors of single- and multi-column
+ * order with the single-threaded results, including ties and descending order.
+ */
+public class SortMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows = 100000;
+	private final static int cols = 7;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOrderDenseVectorAsc() {
+		runSortTest(1, sparsity1, new int[]{1}, false, false);
+	}
+
+	@Test
+	public void testOrderDenseVectorDesc() {
+		runSortTest(1, sparsity1, new int[]{1}, true, false);
+	}
+
+	@Test
+	public void testOrderDenseVectorIndexDesc() {
+		runSortTest(1, sparsity1, new int[]{1}, true, true);
+	}
+
+	@Test
+	public void testOrderDenseMultiColAsc() {
+		runSortTest(cols, sparsity1, new int[]{2,5,1}, false, false);
+	}
+
+	@Test
+	public void testOrderDenseMultiColIndexDesc() {
+		runSortTest(cols, sparsity1, new int[]{2,5,1}, true, true);
+	}
+
+	@Test
+	public void testOrderSparseMultiColDesc() {
+		runSortTest(cols, sparsity2, new int[]{3,4}, true, false);
+	}
+
+	@Test
+	public void testOrderSparseSingleColIndexAsc() {
+		runSortTest(cols, sparsity2, new int[]{6}, false, true);
+	}
+
+	@Test
+	public void testOrderNaNTiesMultiColIndexAsc() {
+		runSortNaNTest(false);
+	}
+
+	@Test
+	public void testOrderNaNTiesMultiColIndexDesc() {
+		runSortNaNTest(true);
+	}
+
+	@Test
+	public void testQuantileSortUnweighted() {
+		MatrixBlock A = createInput(1, sparsity1);
+		MatrixBlock C1 = (MatrixBlock) A.sortOperations(null, new MatrixBlock(), 1);
+		MatrixBlock C2 = (MatrixBlock) A.sortOperations(null, new MatrixBlock(), k);
+		compare(C1, C2);
+	}
+
+	@Test
+	public void testQuantileSortWeighted() {
+		MatrixBlock A = createInput(1, sparsity1);
+		MatrixBlock W = MatrixBlock.randOperations(rows, 1, 1.0, 1, 5, "uniform", 3);
+		MatrixBlock C1 = (MatrixBlock) A.sortOperations(W, new MatrixBlock(), 1);
+		MatrixBlock C2 = (MatrixBlock) A.sortOperations(W, new MatrixBlock(), k);
+		compare(C1, C2);
+	}
+
+	private static void runSortTest(int ncol, double sparsity, int[] by, boolean desc, boolean ixret) {
+		MatrixBlock A = createInput(ncol, sparsity);
+		MatrixBlock C1 = LibMatrixReorg.sort(A, new MatrixBlock(), by, desc, ixret, 1);
+		MatrixBlock C2 = LibMatrixReorg.sort(A, new MatrixBlock(), by, desc, ixret, k);
+		compare(C1, C2);
+	}
+
+	private static void runSortNaNTest(boolean desc) {
+		//NaN ties on the first order-by column, resolved by the second column
+		double[][] a = DataConverter.convertToDoubleMatrix(createInput(cols, sparsity1));
+		for( int i=0; i<rows; i+=2 )
+			a[i][1] = Double.NaN;
+		MatrixBlock A = DataConverter.convertToMatrixBlock(a);
+		MatrixBlock C = LibMatrixReorg.sort(A, new MatrixBlock(), new int[]{2,5}, desc, true, k);
+		
+		//check lexicographic order with NaN last (ascending) and index tie-break
+		for( int i=1; i<rows; i++ ) {
+			int p = (int)C.quickGetValue(i-1, 0) - 1;
+			int q = (int)C.quickGetValue(i, 0) - 1;
+			int cmp = 0;
+			for( int j : new int[]{1,4} ) {
+				cmp = Double.compare(a[p][j]+0.0, a[q][j]+0.0);
+				if( cmp != 0 ) break;
+			}
+			cmp = desc ? -cmp : cmp;
+			Assert.assertTrue("Invalid order at row "+i, cmp < 0 || (cmp == 0 && p < q));
+		}
+	}
+
+	private static MatrixBlock createInput(int ncol, double sparsity) {
+		//small integer domain to obtain many ties
+		MatrixBlock A = MatrixBlock.randOperations(rows, ncol, sparsity, -10, 10, "uniform", 7);
+		double[][] a = DataConverter.convertToDoubleMatrix(A);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<ncol; j++ )
+				a[i][j] = Math.round(a[i][j]);
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(a);
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		double[][] e = DataConverter.convertToDoubleMatrix(expected);
+		double[][] a = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(e, a, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
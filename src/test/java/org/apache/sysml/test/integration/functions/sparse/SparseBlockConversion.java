@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for the multi-threaded
+ * conversion between sparse block types and from dense to sparse blocks.
+ * The inputs are sized to exceed the thresholds for parallel conversion.
+ */
+public class SparseBlockConversion extends AutomatedTestBase 
+{
+	private final static int rows = 2113;
+	private final static int cols = 1003;
+	private final static double sparsity1 = 0.07;
+	private final static double sparsity2 = 0.6;
+	private final static int k = 4;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testDenseToCSR()  {
+		runDenseToSparseTest(SparseBlock.Type.CSR);
+	}
+	
+	@Test
+	public void testDenseToMCSR()  {
+		runDenseToSparseTest(SparseBlock.Type.MCSR);
+	}
+	
+	@Test
+	public void testDenseToCSRSequentialStaleNnz()  {
+		runDenseToSparseTest(SparseBlock.Type.CSR, 1, true);
+	}
+	
+	@Test
+	public void testDenseToMCSRSequentialStaleNnz()  {
+		runDenseToSparseTest(SparseBlock.Type.MCSR, 1, true);
+	}
+	
+	@Test
+	public void testDenseToCSRStaleNnz()  {
+		runDenseToSparseTest(SparseBlock.Type.CSR, k, true);
+	}
+	
+	@Test
+	public void testMCSRToCSR()  {
+		runSparseConversionTest(SparseBlock.Type.MCSR, SparseBlock.Type.CSR);
+	}
+	
+	@Test
+	public void testCSRToMCSR()  {
+		runSparseConversionTest(SparseBlock.Type.CSR, SparseBlock.Type.MCSR);
+	}
+	
+	@Test
+	public void testCOOToCSR()  {
+		runSparseConversionTest(SparseBlock.Type.COO, SparseBlock.Type.CSR);
+	}
+	
+	@Test
+	public void testCOOToMCSR()  {
+		runSparseConversionTest(SparseBlock.Type.COO, SparseBlock.Type.MCSR);
+	}
+	
+	@Test
+	public void testCSRToCOO()  {
+		runSparseConversionTest(SparseBlock.Type.CSR, SparseBlock.Type.COO);
+	}
+	
+	private void runDenseToSparseTest(SparseBlock.Type btype) {
+		runDenseToSparseTest(btype, k, false);
+	}
+	
+	private void runDenseToSparseTest(SparseBlock.Type btype, int k, boolean staleNnz) {
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity1, 7);
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		if( mb.isInSparseFormat() )
+			mb.sparseToDense();
+		
+		//overestimated nnz meta data (e.g., after in-place updates)
+		long nnz = mb.getNonZeros();
+		if( staleNnz )
+			mb.setNonZeros(nnz + 7);
+		
+		//dense to sparse conversion (sequential or multi-threaded)
+		mb.examSparsity(btype==SparseBlock.Type.CSR, k);
+		if( !mb.isInSparseFormat() )
+			fail("Wrong representation: dense, expected: sparse");
+		if( !SparseBlockFactory.isSparseBlockType(mb.getSparseBlock(), btype) )
+			fail("Wrong sparse block type: "+SparseBlockFactory.getSparseBlockType(mb.getSparseBlock()));
+		checkSparseBlock(mb.getSparseBlock(), A);
+		if( mb.getNonZeros() != nnz || mb.getSparseBlock().size() != nnz )
+			fail("Wrong number of non-zeros: "+mb.getNonZeros()+"/"+mb.getSparseBlock().size()+", expected: "+nnz);
+	}
+	
+	private void runSparseConversionTest(SparseBlock.Type itype, SparseBlock.Type otype) {
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity2, 3);
+		MatrixBlock mb = new MatrixBlock(rows, cols, true);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				mb.appendValue(i, j, A[i][j]);
+		SparseBlock sblock = SparseBlockFactory.copySparseBlock(itype, mb.getSparseBlock(), true);
+		
+		//multi-threaded sparse block conversion
+		SparseBlock sblock2 = SparseBlockFactory.copySparseBlock(otype, sblock, false, k);
+		if( !SparseBlockFactory.isSparseBlockType(sblock2, otype) )
+			fail("Wrong sparse block type: "+SparseBlockFactory.getSparseBlockType(sblock2));
+		if( sblock.size() != sblock2.size() )
+			fail("Wrong number of non-zeros: "+sblock2.size()+", expected: "+sblock.size());
+		checkSparseBlock(sblock2, A);
+	}
+	
+	private void checkSparseBlock(SparseBlock sblock, double[][] A) {
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( sblock.get(i, j) != A[i][j] )
+					fail("Wrong get value for cell ("+i+","+j+"): "+sblock.get(i, j)+", expected: "+A[i][j]);
+	}
+}
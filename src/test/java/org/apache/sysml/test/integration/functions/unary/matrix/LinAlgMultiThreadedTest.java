@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysml.runtime.matrix.data.LibMatrixLinAlg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded linear algebra
+ * kernels (cholesky, lu, qr, eigen, solve, inverse), comparing the factors via
+ * reconstruction, the QR output with commons-math, and the single-threaded results.
+ */
+public class LinAlgMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows = 317;
+	private final static int cols = 211;
+	private final static double eps = 1e-8;
+	private final static int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCholesky() {
+		double[][] a = createSymmetric(rows, true);
+		for( int t : new int[]{1, k} ) {
+			double[][] l = DataConverter.convertToDoubleMatrix(LibCommonsMath
+				.unaryOperations(DataConverter.convertToMatrixBlock(a), "cholesky", t));
+			for( int i=0; i<rows; i++ )
+				for( int j=i+1; j<rows; j++ )
+					Assert.assertEquals(0, l[i][j], 0);
+			TestUtils.compareMatrices(a, mult(l, transpose(l)), rows, rows, eps);
+		}
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testCholeskyNonPositiveDefinite() {
+		MatrixBlock A = DataConverter.convertToMatrixBlock(createSymmetric(rows, false));
+		LibCommonsMath.unaryOperations(A, "cholesky", k);
+	}
+
+	@Test
+	public void testCholeskySingleCell() {
+		MatrixBlock L = LibCommonsMath.unaryOperations(
+			DataConverter.convertToMatrixBlock(new double[][]{{4}}), "cholesky", k);
+		Assert.assertEquals(2, L.quickGetValue(0, 0), 0);
+	}
+
+	@Test
+	public void testLU() {
+		runLUTest(rows);
+	}
+
+	@Test
+	public void testLUBlockBoundary() {
+		//one column beyond the panel width
+		runLUTest(LibMatrixLinAlg.BLOCKSIZE + 1);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testLUSingular() {
+		MatrixBlock A = DataConverter.convertToMatrixBlock(createSingular(rows));
+		LibCommonsMath.multiReturnOperations(A, "lu", k);
+	}
+
+	@Test
+	public void testQRTall() {
+		runQRTest(rows, cols, 1.0);
+	}
+
+	@Test
+	public void testQRWide() {
+		runQRTest(cols, rows, 1.0);
+	}
+
+	@Test
+	public void testQRSparse() {
+		runQRTest(rows, cols, 0.1);
+	}
+
+	@Test
+	public void testEigen() {
+		double[][] a = createSymmetric(rows, false);
+		for( int t : new int[]{1, k} ) {
+			MatrixBlock[] out = LibCommonsMath.multiReturnOperations(
+				DataConverter.convertToMatrixBlock(a), "eigen", t);
+			double[][] d = DataConverter.convertToDoubleMatrix(out[0]);
+			double[][] v = DataConverter.convertToDoubleMatrix(out[1]);
+			double[][] vd = new double[rows][rows];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<rows; j++ )
+					vd[i][j] = v[i][j] * d[j][0];
+			for( int i=1; i<rows; i++ )
+				Assert.assertTrue(d[i-1][0] <= d[i][0]);
+			TestUtils.compareMatrices(mult(a, v), vd, rows, rows, eps);
+		}
+	}
+
+	@Test
+	public void testSolve() {
+		double[][] a = createInput(rows, rows, 1.0);
+		double[][] b = createInput(rows, 3, 1.0);
+		MatrixBlock X1 = LibCommonsMath.matrixMatrixOperations(DataConverter.convertToMatrixBlock(a),
+			DataConverter.convertToMatrixBlock(b), "solve", 1);
+		MatrixBlock X2 = LibCommonsMath.matrixMatrixOperations(DataConverter.convertToMatrixBlock(a),
+			DataConverter.convertToMatrixBlock(b), "solve", k);
+		double[][] x1 = DataConverter.convertToDoubleMatrix(X1);
+		double[][] x2 = DataConverter.convertToDoubleMatrix(X2);
+		TestUtils.compareMatrices(b, mult(a, x2), rows, 3, eps);
+		TestUtils.compareMatrices(x1, x2, rows, 3, 0);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testSolveSingular() {
+		MatrixBlock A = DataConverter.convertToMatrixBlock(createSingular(rows));
+		MatrixBlock b = DataConverter.convertToMatrixBlock(createInput(rows, 1, 1.0));
+		LibCommonsMath.matrixMatrixOperations(A, b, "solve", k);
+	}
+
+	@Test
+	public void testInverse() {
+		double[][] a = createInput(rows, rows, 1.0);
+		double[][] ainv = DataConverter.convertToDoubleMatrix(LibCommonsMath
+			.unaryOperations(DataConverter.convertToMatrixBlock(a), "inverse", k));
+		double[][] eye = new double[rows][rows];
+		for( int i=0; i<rows; i++ )
+			eye[i][i] = 1;
+		TestUtils.compareMatrices(eye, mult(a, ainv), rows, rows, eps);
+	}
+
+	private static void runLUTest(int n) {
+		double[][] a = createInput(n, n, 1.0);
+		for( int t : new int[]{1, k} ) {
+			MatrixBlock[] out = LibCommonsMath.multiReturnOperations(
+				DataConverter.convertToMatrixBlock(a), "lu", t);
+			double[][] p = DataConverter.convertToDoubleMatrix(out[0]);
+			double[][] l = DataConverter.convertToDoubleMatrix(out[1]);
+			double[][] u = DataConverter.convertToDoubleMatrix(out[2]);
+			TestUtils.compareMatrices(mult(p, a), mult(l, u), n, n, eps);
+		}
+	}
+
+	private static void runQRTest(int m, int n, double sparsity) {
+		double[][] a = createInput(m, n, sparsity);
+		QRDecomposition qr = new QRDecomposition(new Array2DRowRealMatrix(a));
+		for( int t : new int[]{1, k} ) {
+			MatrixBlock[] out = LibCommonsMath.multiReturnOperations(
+				DataConverter.convertToMatrixBlock(a), "qr", t);
+			TestUtils.compareMatrices(qr.getH().getData(),
+				DataConverter.convertToDoubleMatrix(out[0]), m, n, 0);
+			TestUtils.compareMatrices(qr.getR().getData(),
+				DataConverter.convertToDoubleMatrix(out[1]), m, n, 0);
+		}
+	}
+
+	private static double[][] createInput(int m, int n, double sparsity) {
+		return DataConverter.convertToDoubleMatrix(
+			MatrixBlock.randOperations(m, n, sparsity, -1, 1, "uniform", 7));
+	}
+
+	private static double[][] createSingular(int n) {
+		//zero column, i.e., exactly zero pivot and R diagonal
+		double[][] a = createInput(n, n, 1.0);
+		for( int i=0; i<n; i++ )
+			a[i][n/2] = 0;
+		return a;
+	}
+
+	private static double[][] createSymmetric(int n, boolean posdef) {
+		double[][] a = createInput(n, n, 1.0);
+		double[][] ret = posdef ? mult(a, transpose(a)) : a;
+		for( int i=0; i<n; i++ ) {
+			for( int j=0; j<i; j++ )
+				ret[i][j] = ret[j][i];
+			ret[i][i] += posdef ? n : 0;
+		}
+		return ret;
+	}
+
+	private static double[][] mult(double[][] a, double[][] b) {
+		double[][] c = new double[a.length][b[0].length];
+		for( int i=0; i<a.length; i++ )
+			for( int p=0; p<b.length; p++ )
+				for( int j=0; j<b[0].length; j++ )
+					c[i][j] += a[i][p] * b[p][j];
+		return c;
+	}
+
+	private static double[][] transpose(double[][] a) {
+		double[][] c = new double[a[0].length][a.length];
+		for( int i=0; i<a.length; i++ )
+			for( int j=0; j<a[0].length; j++ )
+				c[j][i] = a[i][j];
+		return c;
+	}
+}
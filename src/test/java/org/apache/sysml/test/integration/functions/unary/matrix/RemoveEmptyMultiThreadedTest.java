@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded removeEmpty,
+ * comparing the results for row and column removal, with and without
+ * select vector, with the single-threaded results over dense/sparse inputs.
+ */
+public class RemoveEmptyMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows = 2017;
+	private final static int cols = 1001;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testRemoveEmptyRowsDense() {
+		runRemoveEmptyTest(sparsity1, true, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSparse() {
+		runRemoveEmptyTest(sparsity2, true, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsDense() {
+		runRemoveEmptyTest(sparsity1, false, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSparse() {
+		runRemoveEmptyTest(sparsity2, false, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelectDense() {
+		runRemoveEmptyTest(sparsity1, true, true);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelectSparse() {
+		runRemoveEmptyTest(sparsity2, true, true);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSelectSparse() {
+		runRemoveEmptyTest(sparsity2, false, true);
+	}
+
+	private static void runRemoveEmptyTest(double sparsity, boolean margin, boolean select) {
+		//create input with empty rows and columns
+		double[][] a = DataConverter.convertToDoubleMatrix(
+			MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7));
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( i%3 == 0 || j%4 == 0 )
+					a[i][j] = 0;
+		MatrixBlock A = DataConverter.convertToMatrixBlock(a);
+		A.examSparsity();
+
+		MatrixBlock S = null;
+		if( select ) {
+			int len = margin ? rows : cols;
+			double[] s = new double[len];
+			for( int i=0; i<len; i++ )
+				s[i] = (i%5 == 1) ? 1 : 0;
+			S = DataConverter.convertToMatrixBlock(s, true);
+		}
+
+		MatrixBlock C1 = A.removeEmptyOperations(new MatrixBlock(), margin, true, S, 1);
+		MatrixBlock C2 = A.removeEmptyOperations(new MatrixBlock(), margin, true, S, k);
+		Assert.assertEquals(C1.getNumRows(), C2.getNumRows());
+		Assert.assertEquals(C1.getNumColumns(), C2.getNumColumns());
+		Assert.assertEquals(C1.getNonZeros(), C2.getNonZeros());
+		double[][] c1 = DataConverter.convertToDoubleMatrix(C1);
+		double[][] c2 = DataConverter.convertToDoubleMatrix(C2);
+		TestUtils.compareMatrices(c1, c2, C1.getNumRows(), C1.getNumColumns(), 0);
+	}
+}
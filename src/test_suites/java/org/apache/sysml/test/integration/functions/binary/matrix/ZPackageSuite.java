@@ -36,12 +36,15 @@ import org.junit.runners.Suite;
 	ElementwiseLogicalTest.class,
 	ElementwiseBitwLogicalTest.class,
 	ElementwiseModulusTest.class,
+	ElementwiseMultiThreadedTest.class,
 	ElementwiseMultiplicationTest.class,
 	ElementwiseSubtractionTest.class,
 	MapMultChainTest.class,
 	MapMultLimitTest.class,
 	MatrixMultiplicationTest.class,
 	MatrixVectorTest.class,
+	SinglePrecisionMatrixTest.class,
+	SparseMatrixMultiplicationTest.class,
 	OuterProductTest.class,
 	QuantileTest.class,
 	ScalarAdditionTest.class,
@@ -26,7 +26,13 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	CachingPWriteExportTest.class
+	CachingCompressedTierTest.class,
+	CachingEvictionPolicyTest.class,
+	CachingOffHeapTest.class,
+	CachingPWriteExportTest.class,
+	CachingPageCacheTest.class,
+	CachingPrefetchTest.class,
+	CachingStripedBufferPoolTest.class
 })
 
 
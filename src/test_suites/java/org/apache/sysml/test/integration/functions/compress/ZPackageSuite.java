@@ -26,12 +26,15 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	BasicBitPackedDDCTest.class,
 	BasicCompressionTest.class,
+	BasicFrameOfReferenceTest.class,
 	BasicGetValueTest.class,
 	BasicMatrixAppendTest.class,
 	BasicMatrixCentralMomentTest.class,
 	BasicMatrixMultChainTest.class,
 	BasicMatrixQuantileTest.class,
+	BasicMatrixRowVectorOperationsTest.class,
 	BasicMatrixTransposeSelfMultTest.class,
 	BasicMatrixVectorMultTest.class,
 	BasicScalarOperationsSparseUnsafeTest.class,
@@ -39,9 +42,11 @@ import org.junit.runners.Suite;
 	BasicTransposeSelfLeftMatrixMultTest.class,
 	BasicUnaryAggregateTest.class,
 	BasicVectorMatrixMultTest.class,
+	CompressedBlockFormatTest.class,
 	CompressedL2SVM.class,
 	CompressedLinregCG.class,
 	CompressedSerializationTest.class,
+	CompressionPlanningTest.class,
 	LargeCompressionTest.class,
 	LargeMatrixMatrixMultTest.class,
 	LargeMatrixVectorMultTest.class,
@@ -49,6 +54,7 @@ import org.junit.runners.Suite;
 	LargeParUnaryAggregateTest.class,
 	LargeVectorMatrixMultTest.class,
 	ParCompressionTest.class,
+	ParMatrixMatrixMultTest.class,
 	ParMatrixMultChainTest.class,
 	ParMatrixVectorMultTest.class,
 	ParTransposeSelfLeftMatrixMultTest.class,
@@ -27,6 +27,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	FormatChangeTest.class,
+	ReadMMParallelTest.class,
 	ReadMMTest.class
 })
 
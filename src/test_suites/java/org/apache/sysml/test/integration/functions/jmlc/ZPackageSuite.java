@@ -35,6 +35,7 @@ import org.junit.runners.Suite;
 	FrameReadMetaTest.class,
 	FrameTransformTest.class,
 	InputToStringTest.class,
+	JMLCChunkedScoringTest.class,
 	JMLCClonedPreparedScriptTest.class,
 	JMLCInputOutputTest.class,
 	JMLCInputStreamReadTest.class,
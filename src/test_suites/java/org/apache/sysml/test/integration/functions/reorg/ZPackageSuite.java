@@ -31,6 +31,7 @@ import org.junit.runners.Suite;
 	FullReverseTest.class,
 	FullTransposeTest.class,
 	MatrixReshapeTest.class,
+	SortMultiThreadedTest.class,
 	VectorReshapeTest.class,
 })
 
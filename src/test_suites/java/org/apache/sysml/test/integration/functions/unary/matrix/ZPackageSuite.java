@@ -43,6 +43,7 @@ import org.junit.runners.Suite;
 	FullSelectPosTest.class,
 	FullSignTest.class,
 	IQMTest.class,
+	LinAlgMultiThreadedTest.class,
 	LUFactorizeTest.class,
 	SVDFactorizeTest.class,
 	MatrixInverseTest.class,
@@ -51,6 +52,7 @@ import org.junit.runners.Suite;
 	NegationTest.class,
 	PrintTest.class,
 	QRSolverTest.class,
+	RemoveEmptyMultiThreadedTest.class,
 	RemoveEmptySelTest.class,
 	RemoveEmptyTest.class,
 	ReplaceTest.class,